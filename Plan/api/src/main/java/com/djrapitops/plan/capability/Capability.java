@@ -79,7 +79,11 @@ enum Capability {
     /**
      * {@link com.djrapitops.plan.delivery.web.ResourceService}
      */
-    PAGE_EXTENSION_RESOURCES;
+    PAGE_EXTENSION_RESOURCES,
+    /**
+     * {@link com.djrapitops.plan.delivery.web.resolver.AsyncResolver}
+     */
+    PAGE_EXTENSION_ASYNC_RESOLVERS;
 
     static Optional<Capability> getByName(String name) {
         if (name == null) {
@@ -0,0 +1,65 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.web.resolver;
+
+import com.djrapitops.plan.delivery.web.resolver.request.Request;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Resolver that does not block the webserver thread while the response is being created.
+ * <p>
+ * Useful when the response waits for something slow, like a database query.
+ * Requires Capability PAGE_EXTENSION_ASYNC_RESOLVERS.
+ *
+ * @author AuroraLS3
+ */
+public interface AsyncResolver extends Resolver {
+
+    /**
+     * Implement request resolution.
+     * <p>
+     * Exceptions (eg. {@link com.djrapitops.plan.delivery.web.resolver.exception.NotFoundException})
+     * can be thrown directly or used to complete the future exceptionally.
+     *
+     * @param request HTTP request, contains all information necessary to resolve the request.
+     * @return Future that completes with the Response, or empty if the response should be 404 (not found).
+     * @see Response for return value
+     */
+    CompletableFuture<Optional<Response>> resolveAsync(Request request);
+
+    /**
+     * Blocks until {@link #resolveAsync(Request)} completes.
+     * <p>
+     * Used when the caller can not wait for the response asynchronously.
+     *
+     * @param request HTTP request, contains all information necessary to resolve the request.
+     * @return Response or empty if the response should be 404 (not found).
+     */
+    @Override
+    default Optional<Response> resolve(Request request) {
+        try {
+            return resolveAsync(request).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw e;
+        }
+    }
+}
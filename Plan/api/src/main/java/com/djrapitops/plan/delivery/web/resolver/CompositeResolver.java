@@ -22,6 +22,7 @@ import com.djrapitops.plan.delivery.web.resolver.request.URIPath;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -33,13 +34,15 @@ import java.util.function.Predicate;
  * <p>
  * Example: {@code resolverService.registerResolver("/test/", compositeResolver);}
  * The Resolvers added to CompositeResolver will be given Request with URIPath "/".
+ * <p>
+ * {@link AsyncResolver}s added to CompositeResolver stay asynchronous.
  *
  * @author AuroraLS3
  */
-public final class CompositeResolver implements Resolver {
+public final class CompositeResolver implements AsyncResolver {
 
     private final List<String> prefixes;
-    private final List<Function<Request, Optional<Response>>> resolvers;
+    private final List<Function<Request, CompletableFuture<Optional<Response>>>> resolvers;
     private final List<Predicate<Request>> canAccess;
 
     CompositeResolver() {
@@ -52,7 +55,7 @@ public final class CompositeResolver implements Resolver {
         return new Builder();
     }
 
-    private Optional<Function<Request, Optional<Response>>> getResolver(URIPath target) {
+    private Optional<Function<Request, CompletableFuture<Optional<Response>>>> getResolver(URIPath target) {
         return target.getPart(0).flatMap(this::findResolver);
     }
 
@@ -60,7 +63,7 @@ public final class CompositeResolver implements Resolver {
         return target.getPart(0).flatMap(this::findAccessCheck);
     }
 
-    private Optional<Function<Request, Optional<Response>>> findResolver(String prefix) {
+    private Optional<Function<Request, CompletableFuture<Optional<Response>>>> findResolver(String prefix) {
         for (int i = 0; i < prefixes.size(); i++) {
             if (prefixes.get(i).equals(prefix)) {
                 return Optional.of(resolvers.get(i));
@@ -82,7 +85,11 @@ public final class CompositeResolver implements Resolver {
         if (prefix == null) throw new IllegalArgumentException("Prefix can not be null");
         if (resolver == null) throw new IllegalArgumentException("Resolver can not be null");
         prefixes.add(prefix);
-        resolvers.add(resolver::resolve);
+        if (resolver instanceof AsyncResolver) {
+            resolvers.add(((AsyncResolver) resolver)::resolveAsync);
+        } else {
+            resolvers.add(request -> CompletableFuture.completedFuture(resolver.resolve(request)));
+        }
         canAccess.add(resolver::canAccess);
     }
 
@@ -92,7 +99,7 @@ public final class CompositeResolver implements Resolver {
             throw new IllegalArgumentException("Function<Request, Response> resolver can not be null");
         if (accessCheck == null) throw new IllegalArgumentException("Predicate<Request> accessCheck can not be null");
         prefixes.add(prefix);
-        resolvers.add(request -> Optional.ofNullable(resolver.apply(request)));
+        resolvers.add(request -> CompletableFuture.completedFuture(Optional.ofNullable(resolver.apply(request))));
         canAccess.add(accessCheck);
     }
 
@@ -105,9 +112,11 @@ public final class CompositeResolver implements Resolver {
     }
 
     @Override
-    public Optional<Response> resolve(Request request) {
+    public CompletableFuture<Optional<Response>> resolveAsync(Request request) {
         Request forThis = request.omitFirstInPath();
-        return getResolver(forThis.getPath()).flatMap(resolver -> resolver.apply(forThis));
+        return getResolver(forThis.getPath())
+                .map(resolver -> resolver.apply(forThis))
+                .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()));
     }
 
     public static class Builder {
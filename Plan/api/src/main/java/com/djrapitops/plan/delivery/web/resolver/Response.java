@@ -21,6 +21,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * Represents a response that will be sent over HTTP.
@@ -33,6 +34,7 @@ public final class Response {
     final Map<String, String> headers;
     int code = 200;
     byte[] bytes;
+    Supplier<byte[]> gzippedBytes; // can be null (compressed when sent)
     Charset charset; // can be null (raw bytes)
 
     Response() {
@@ -47,6 +49,26 @@ public final class Response {
         return bytes;
     }
 
+    /**
+     * Get the content compressed with gzip, if a compressed version was set.
+     * <p>
+     * The content may be compressed on this call, so only call this when sending the compressed content.
+     *
+     * @return Optional of the gzip compressed content.
+     */
+    public Optional<byte[]> getGzippedBytes() {
+        return Optional.ofNullable(gzippedBytes).map(Supplier::get);
+    }
+
+    /**
+     * Check if a compressed version of the content was set, without compressing it.
+     *
+     * @return true if {@link #getGzippedBytes()} can give compressed content.
+     */
+    public boolean hasGzippedBytes() {
+        return gzippedBytes != null;
+    }
+
     public String getAsString() {
         return new String(bytes, StandardCharsets.UTF_8);
     }
@@ -19,8 +19,13 @@ package com.djrapitops.plan.delivery.web.resolver;
 import com.djrapitops.plan.delivery.web.resource.WebResource;
 import com.google.gson.Gson;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
 
 public class ResponseBuilder {
 
@@ -86,6 +91,33 @@ public class ResponseBuilder {
                 .setHeader("Accept-Ranges", "bytes"); // Does not compress
     }
 
+    /**
+     * Set a gzip compressed version of the content.
+     * <p>
+     * The compressed bytes are sent as is to clients that accept gzip encoding,
+     * so content that is sent often does not need to be compressed again for every request.
+     *
+     * @param gzippedBytes The content given to setContent, compressed with gzip.
+     * @return this builder.
+     */
+    public ResponseBuilder setGzippedContent(byte[] gzippedBytes) {
+        return setGzippedContent(() -> gzippedBytes);
+    }
+
+    /**
+     * Set a gzip compressed version of the content that is compressed only if it is sent.
+     * <p>
+     * The supplier is called when the response is sent to a client that accepts gzip encoding,
+     * so it should return the same bytes every time instead of compressing again.
+     *
+     * @param gzippedBytes Supplier for the content given to setContent, compressed with gzip.
+     * @return this builder.
+     */
+    public ResponseBuilder setGzippedContent(Supplier<byte[]> gzippedBytes) {
+        response.gzippedBytes = gzippedBytes;
+        return this;
+    }
+
     public ResponseBuilder setContent(String utf8String) {
         return setContent(utf8String, StandardCharsets.UTF_8);
     }
@@ -114,13 +146,33 @@ public class ResponseBuilder {
      */
     public ResponseBuilder setJSONContent(Object objectToSerialize) {
         if (objectToSerialize instanceof String) return setJSONContent((String) objectToSerialize);
-        return setJSONContent(new Gson().toJson(objectToSerialize));
+
+        // Serialize straight to UTF-8 bytes to avoid holding the json as a String as well.
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream(8192);
+        try (Writer writer = new OutputStreamWriter(serialized, StandardCharsets.UTF_8)) {
+            new Gson().toJson(objectToSerialize, writer);
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw IOException
+            throw new IllegalStateException(e);
+        }
+        return setJSONContent(serialized.toByteArray());
     }
 
     public ResponseBuilder setJSONContent(String json) {
         return setMimeType(MimeType.JSON).setContent(json);
     }
 
+    /**
+     * Set content as already serialized JSON.
+     *
+     * @param utf8Json UTF-8 bytes of valid JSON, not copied.
+     * @return this builder.
+     */
+    public ResponseBuilder setJSONContent(byte[] utf8Json) {
+        response.charset = StandardCharsets.UTF_8;
+        return setMimeType(MimeType.JSON + "; charset=utf-8").setContent(utf8Json);
+    }
+
     /**
      * Finish building.
      *
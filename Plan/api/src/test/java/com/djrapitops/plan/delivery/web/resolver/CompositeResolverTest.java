@@ -0,0 +1,92 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.web.resolver;
+
+import com.djrapitops.plan.delivery.web.resolver.exception.NotFoundException;
+import com.djrapitops.plan.delivery.web.resolver.request.Request;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link CompositeResolver} with {@link AsyncResolver}s.
+ *
+ * @author AuroraLS3
+ */
+class CompositeResolverTest {
+
+    private static Request request(String target) {
+        return new Request("GET", target, null, Collections.emptyMap());
+    }
+
+    @Test
+    void asyncResolverIsNotWaitedFor() {
+        CompletableFuture<Optional<Response>> pending = new CompletableFuture<>();
+        CompositeResolver resolver = CompositeResolver.builder()
+                .add("async", (NoAuthAsyncResolver) request -> pending)
+                .build();
+
+        CompletableFuture<Optional<Response>> result = resolver.resolveAsync(request("/v1/async"));
+        assertFalse(result.isDone());
+
+        Response response = Response.builder().setJSONContent("{}").build();
+        pending.complete(Optional.of(response));
+        assertSame(response, result.join().orElseThrow(AssertionError::new));
+    }
+
+    @Test
+    void blockingResolverCompletesImmediately() {
+        Response response = Response.builder().setJSONContent("{}").build();
+        CompositeResolver resolver = CompositeResolver.builder()
+                .add("blocking", (NoAuthResolver) request -> Optional.of(response))
+                .build();
+
+        CompletableFuture<Optional<Response>> result = resolver.resolveAsync(request("/v1/blocking"));
+        assertTrue(result.isDone());
+        assertSame(response, result.join().orElseThrow(AssertionError::new));
+    }
+
+    @Test
+    void unknownTargetIsEmpty() {
+        CompositeResolver resolver = CompositeResolver.builder().build();
+        assertFalse(resolver.resolve(request("/v1/unknown")).isPresent());
+    }
+
+    @Test
+    void blockingResolveThrowsOriginalException() {
+        CompositeResolver resolver = CompositeResolver.builder()
+                .add("async", (NoAuthAsyncResolver) request -> {
+                    CompletableFuture<Optional<Response>> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(new NotFoundException("Not found"));
+                    return failed;
+                })
+                .build();
+
+        assertThrows(NotFoundException.class, () -> resolver.resolve(request("/v1/async")));
+    }
+
+    interface NoAuthAsyncResolver extends AsyncResolver {
+        @Override
+        default boolean canAccess(Request request) {
+            return true;
+        }
+    }
+}
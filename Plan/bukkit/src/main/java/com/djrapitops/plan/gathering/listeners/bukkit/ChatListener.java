@@ -77,7 +77,7 @@ public class ChatListener implements Listener {
         UUID uuid = player.getUniqueId();
         String displayName = player.getDisplayName();
 
-        dbSystem.getDatabase().executeTransaction(new NicknameStoreTransaction(
+        dbSystem.getDatabase().executeBufferedTransaction(new NicknameStoreTransaction(
                 uuid, new Nickname(displayName, time, serverInfo.getServerUUID()),
                 (playerUUID, name) -> nicknameCache.getDisplayName(playerUUID).map(name::equals).orElse(false)
         ));
@@ -103,8 +103,8 @@ public class PlayerOnlineListener implements Listener {
             UUID playerUUID = event.getPlayer().getUniqueId();
             boolean operator = event.getPlayer().isOp();
             boolean banned = result == PlayerLoginEvent.Result.KICK_BANNED;
-            dbSystem.getDatabase().executeTransaction(new BanStatusTransaction(playerUUID, () -> banned));
-            dbSystem.getDatabase().executeTransaction(new OperatorStatusTransaction(playerUUID, operator));
+            dbSystem.getDatabase().executeBufferedTransaction(new BanStatusTransaction(playerUUID, () -> banned));
+            dbSystem.getDatabase().executeBufferedTransaction(new OperatorStatusTransaction(playerUUID, operator));
         } catch (Exception e) {
             errorLogger.log(L.ERROR, e, ErrorContext.builder().related(event, event.getResult()).build());
         }
@@ -157,7 +157,7 @@ public class PlayerOnlineListener implements Listener {
         String gm = player.getGameMode().name();
 
         Database database = dbSystem.getDatabase();
-        database.executeTransaction(new WorldNameStoreTransaction(serverUUID, world));
+        database.executeBufferedTransaction(new WorldNameStoreTransaction(serverUUID, world));
 
         InetAddress address = player.getAddress().getAddress();
 
@@ -166,19 +166,19 @@ public class PlayerOnlineListener implements Listener {
 
         boolean gatheringGeolocations = config.isTrue(DataGatheringSettings.GEOLOCATIONS);
         if (gatheringGeolocations) {
-            database.executeTransaction(
+            database.executeBufferedTransaction(
                     new GeoInfoStoreTransaction(playerUUID, address, time, geolocationCache::getCountry)
             );
         }
 
-        database.executeTransaction(new PlayerServerRegisterTransaction(playerUUID, player::getFirstPlayed, playerName, serverUUID));
+        database.executeBufferedTransaction(new PlayerServerRegisterTransaction(playerUUID, player::getFirstPlayed, playerName, serverUUID));
         Session session = new Session(playerUUID, serverUUID, time, world, gm);
         session.putRawData(SessionKeys.NAME, playerName);
         session.putRawData(SessionKeys.SERVER_NAME, serverInfo.getServer().getIdentifiableName());
         sessionCache.cacheSession(playerUUID, session)
                 .ifPresent(previousSession -> database.executeTransaction(new SessionEndTransaction(previousSession)));
 
-        database.executeTransaction(new NicknameStoreTransaction(
+        database.executeBufferedTransaction(new NicknameStoreTransaction(
                 playerUUID, new Nickname(displayName, time, serverUUID),
                 (uuid, name) -> nicknameCache.getDisplayName(playerUUID).map(name::equals).orElse(false)
         ));
@@ -216,7 +216,7 @@ public class PlayerOnlineListener implements Listener {
 
         nicknameCache.removeDisplayName(playerUUID);
 
-        dbSystem.getDatabase().executeTransaction(new BanStatusTransaction(playerUUID, player::isBanned));
+        dbSystem.getDatabase().executeBufferedTransaction(new BanStatusTransaction(playerUUID, player::isBanned));
 
         sessionCache.endSession(playerUUID, time)
                 .ifPresent(endedSession -> dbSystem.getDatabase().executeTransaction(new SessionEndTransaction(endedSession)));
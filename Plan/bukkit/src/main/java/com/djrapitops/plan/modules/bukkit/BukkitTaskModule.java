@@ -17,15 +17,17 @@
 package com.djrapitops.plan.modules.bukkit;
 
 import com.djrapitops.plan.TaskSystem;
-import com.djrapitops.plan.delivery.webserver.cache.JSONFileStorage;
+import com.djrapitops.plan.delivery.webserver.cache.JSONMappedFileStorage;
 import com.djrapitops.plan.extension.ExtensionServerDataUpdater;
 import com.djrapitops.plan.gathering.ShutdownHook;
 import com.djrapitops.plan.gathering.timed.BukkitPingCounter;
 import com.djrapitops.plan.gathering.timed.ServerTPSCounter;
 import com.djrapitops.plan.gathering.timed.SystemUsageBuffer;
 import com.djrapitops.plan.settings.upkeep.ConfigStoreTask;
+import com.djrapitops.plan.storage.upkeep.ActivitySnapshotTask;
 import com.djrapitops.plan.storage.upkeep.DBCleanTask;
 import com.djrapitops.plan.storage.upkeep.LogsFolderCleanTask;
+import com.djrapitops.plan.storage.upkeep.RollupBackfillTask;
 import dagger.Binds;
 import dagger.Module;
 import dagger.multibindings.IntoSet;
@@ -58,6 +60,14 @@ public interface BukkitTaskModule {
     @IntoSet
     TaskSystem.Task bindDBCleanTask(DBCleanTask cleanTask);
 
+    @Binds
+    @IntoSet
+    TaskSystem.Task bindActivitySnapshotTask(ActivitySnapshotTask activitySnapshotTask);
+
+    @Binds
+    @IntoSet
+    TaskSystem.Task bindRollupBackfillTask(RollupBackfillTask rollupBackfillTask);
+
     @Binds
     @IntoSet
     TaskSystem.Task bindRamAndCpuTask(SystemUsageBuffer.RamAndCpuTask ramAndCpuTask);
@@ -72,6 +82,6 @@ public interface BukkitTaskModule {
 
     @Binds
     @IntoSet
-    TaskSystem.Task bindJSONFileStorageCleanTask(JSONFileStorage.CleanTask cleanTask);
+    TaskSystem.Task bindJSONFileStorageCleanTask(JSONMappedFileStorage.CleanTask cleanTask);
 
 }
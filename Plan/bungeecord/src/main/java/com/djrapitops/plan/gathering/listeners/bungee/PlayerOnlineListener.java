@@ -110,12 +110,12 @@ public class PlayerOnlineListener implements Listener {
 
         boolean gatheringGeolocations = config.isTrue(DataGatheringSettings.GEOLOCATIONS);
         if (gatheringGeolocations) {
-            database.executeTransaction(
+            database.executeBufferedTransaction(
                     new GeoInfoStoreTransaction(playerUUID, address, time, geolocationCache::getCountry)
             );
         }
 
-        database.executeTransaction(new PlayerRegisterTransaction(playerUUID, () -> time, playerName));
+        database.executeBufferedTransaction(new PlayerRegisterTransaction(playerUUID, () -> time, playerName));
         processing.submitNonCritical(() -> extensionService.updatePlayerValues(playerUUID, playerName, CallEvents.PLAYER_JOIN));
         if (config.isTrue(ExportSettings.EXPORT_ON_ONLINE_STATUS_CHANGE)) {
             processing.submitNonCritical(() -> exporter.exportPlayerPage(playerUUID, playerName));
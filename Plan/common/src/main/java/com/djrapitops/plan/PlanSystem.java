@@ -198,6 +198,7 @@ public class PlanSystem implements SubSystem {
     @Override
     public void disable() {
         enabled = false;
+        extensionService.disable();
         disableSystems(
                 taskSystem,
                 cacheSystem,
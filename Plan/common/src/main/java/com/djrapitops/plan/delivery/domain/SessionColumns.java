@@ -0,0 +1,497 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.domain;
+
+import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
+import com.djrapitops.plan.delivery.domain.mutators.PlayersOnlineResolver;
+import com.djrapitops.plan.gathering.domain.GMTimes;
+import com.djrapitops.plan.gathering.domain.PlayerKill;
+import com.djrapitops.plan.gathering.domain.Session;
+import com.djrapitops.plan.gathering.domain.WorldTimes;
+
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * Compact, column oriented representation of sessions fetched from the database.
+ * <p>
+ * Values of each session are stored in primitive arrays, and UUIDs and Strings are interned into int ids,
+ * so a large amount of sessions can be held without creating a {@link Session} for each.
+ * World times and player kills are stored in arrays as well, and turned into objects only when requested.
+ * <p>
+ * Filtering returns a view that shares the stored values.
+ *
+ * @author AuroraLS3
+ */
+public class SessionColumns {
+
+    private static final int NONE = -1;
+    private static final int GM_COUNT = 4;
+
+    private final Data data;
+    private final int[] rows;
+
+    private SessionColumns(Data data, int[] rows) {
+        this.data = data;
+        this.rows = rows;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static SessionColumns empty() {
+        return builder().build();
+    }
+
+    public int count() {
+        return rows.length;
+    }
+
+    public boolean isEmpty() {
+        return rows.length == 0;
+    }
+
+    public UUID getPlayerUUID(int index) {
+        return data.uuids.get(data.playerIds[rows[index]]);
+    }
+
+    public UUID getServerUUID(int index) {
+        return data.uuids.get(data.serverIds[rows[index]]);
+    }
+
+    public long getStart(int index) {
+        return data.starts[rows[index]];
+    }
+
+    public long getEnd(int index) {
+        return data.ends[rows[index]];
+    }
+
+    public long getLength(int index) {
+        int row = rows[index];
+        return data.ends[row] - data.starts[row];
+    }
+
+    public long getAfkTime(int index) {
+        return data.afkTimes[rows[index]];
+    }
+
+    public SessionColumns filterBy(IntPredicate byIndex) {
+        int[] filtered = new int[rows.length];
+        int count = 0;
+        for (int index = 0; index < rows.length; index++) {
+            if (byIndex.test(index)) filtered[count++] = rows[index];
+        }
+        return new SessionColumns(data, Arrays.copyOf(filtered, count));
+    }
+
+    public SessionColumns filterSessionsBetween(long after, long before) {
+        return filterBy(index -> after <= getEnd(index) && getStart(index) <= before);
+    }
+
+    public SessionColumns filterPlayedBy(UUID playerUUID) {
+        Integer playerId = data.uuidIds.get(playerUUID);
+        if (playerId == null) return new SessionColumns(data, new int[0]);
+        return filterBy(index -> data.playerIds[rows[index]] == playerId);
+    }
+
+    /**
+     * Split the sessions by player.
+     *
+     * @return Map: Player UUID - Sessions of the player, in the same order.
+     */
+    public Map<UUID, SessionColumns> groupByPlayer() {
+        Map<Integer, int[]> counts = new HashMap<>();
+        for (int row : rows) {
+            counts.computeIfAbsent(data.playerIds[row], id -> new int[1])[0]++;
+        }
+        Map<Integer, int[]> grouped = new HashMap<>();
+        Map<Integer, int[]> positions = new HashMap<>();
+        for (Map.Entry<Integer, int[]> entry : counts.entrySet()) {
+            grouped.put(entry.getKey(), new int[entry.getValue()[0]]);
+            positions.put(entry.getKey(), new int[1]);
+        }
+        for (int row : rows) {
+            int playerId = data.playerIds[row];
+            grouped.get(playerId)[positions.get(playerId)[0]++] = row;
+        }
+        Map<UUID, SessionColumns> byPlayer = new HashMap<>();
+        for (Map.Entry<Integer, int[]> entry : grouped.entrySet()) {
+            byPlayer.put(data.uuids.get(entry.getKey()), new SessionColumns(data, entry.getValue()));
+        }
+        return byPlayer;
+    }
+
+    public long toPlaytime() {
+        long playtime = 0L;
+        for (int row : rows) playtime += data.ends[row] - data.starts[row];
+        return playtime;
+    }
+
+    public long toAfkTime() {
+        long afkTime = 0L;
+        for (int row : rows) afkTime += data.afkTimes[row];
+        return afkTime;
+    }
+
+    public long toActivePlaytime() {
+        return toPlaytime() - toAfkTime();
+    }
+
+    public long toLastSeen() {
+        long lastSeen = -1L;
+        for (int row : rows) lastSeen = Math.max(lastSeen, Math.max(data.starts[row], data.ends[row]));
+        return lastSeen;
+    }
+
+    public long toLongestSessionLength() {
+        long longest = -1L;
+        for (int row : rows) longest = Math.max(longest, data.ends[row] - data.starts[row]);
+        return longest;
+    }
+
+    public long toAverageSessionLength() {
+        return rows.length == 0 ? 0L : toPlaytime() / rows.length;
+    }
+
+    public long toMedianSessionLength() {
+        if (rows.length == 0) return -1L;
+        long[] lengths = new long[rows.length];
+        for (int index = 0; index < rows.length; index++) lengths[index] = getLength(index);
+        Arrays.sort(lengths);
+        int middle = lengths.length / 2;
+        if (lengths.length % 2 == 0) {
+            return (long) ((lengths[middle - 1] + lengths[middle]) / 2.0);
+        }
+        return lengths[middle];
+    }
+
+    public int toMobKillCount() {
+        int mobKills = 0;
+        for (int row : rows) mobKills += data.mobKills[row];
+        return mobKills;
+    }
+
+    public int toDeathCount() {
+        int deaths = 0;
+        for (int row : rows) deaths += data.deaths[row];
+        return deaths;
+    }
+
+    public int toPlayerKillCount() {
+        int kills = 0;
+        for (int row : rows) {
+            for (int kill = data.firstKill[row]; kill != NONE; kill = data.nextKill[kill]) kills++;
+        }
+        return kills;
+    }
+
+    public int toUniquePlayers() {
+        BitSet players = new BitSet();
+        for (int row : rows) players.set(data.playerIds[row]);
+        return players.cardinality();
+    }
+
+    /**
+     * Get the session start dates.
+     *
+     * @return Start dates in ascending order.
+     */
+    public long[] toSessionStartArray() {
+        long[] starts = new long[rows.length];
+        for (int index = 0; index < rows.length; index++) starts[index] = getStart(index);
+        Arrays.sort(starts);
+        return starts;
+    }
+
+    public List<Long> toSessionStarts() {
+        long[] starts = toSessionStartArray();
+        List<Long> list = new ArrayList<>(starts.length);
+        for (long start : starts) list.add(start);
+        return list;
+    }
+
+    public double toAveragePlayersOnline(PlayersOnlineResolver playersOnlineResolver) {
+        double sum = 0.0;
+        int count = 0;
+        for (int index = 0; index < rows.length; index++) {
+            Optional<Integer> online = playersOnlineResolver.getOnlineOn(getStart(index));
+            if (online.isPresent()) {
+                sum += online.get();
+                count++;
+            }
+        }
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    public WorldTimes toTotalWorldTimes() {
+        WorldTimes total = new WorldTimes();
+        for (int row : rows) total.add(data.toWorldTimes(row));
+        return total;
+    }
+
+    public List<PlayerKill> toPlayerKillList() {
+        List<PlayerKill> kills = new ArrayList<>();
+        for (int row : rows) kills.addAll(data.toPlayerKills(row));
+        return kills;
+    }
+
+    /**
+     * Turn the sessions into {@link Session} objects.
+     *
+     * @return List of sessions in the same order.
+     */
+    public List<Session> toSessions() {
+        List<Session> sessions = new ArrayList<>(rows.length);
+        for (int row : rows) sessions.add(data.toSession(row));
+        return sessions;
+    }
+
+    /**
+     * Stores rows of a session select one by one.
+     * <p>
+     * Rows of the same session (identified by database ID) can appear multiple times,
+     * eg. once for each world and kill, which are then added to the same session.
+     */
+    public static class Builder {
+
+        private final Data data;
+        private final Map<Integer, Integer> rowsByDbId;
+
+        private Builder() {
+            data = new Data();
+            rowsByDbId = new HashMap<>();
+        }
+
+        /**
+         * Add a session, or find one already added with the same database ID.
+         *
+         * @return Row of the session, for adding world times and kills.
+         */
+        public int addSession(int dbId, UUID playerUUID, UUID serverUUID, long start, long end, int mobKills, int deaths, long afkTime) {
+            Integer existing = rowsByDbId.get(dbId);
+            if (existing != null) return existing;
+
+            int row = data.addSession(dbId, data.intern(playerUUID), data.intern(serverUUID), start, end, mobKills, deaths, afkTime);
+            rowsByDbId.put(dbId, row);
+            return row;
+        }
+
+        public Builder setNames(int row, String playerName, String serverName) {
+            data.playerNames[row] = data.intern(playerName);
+            data.serverNames[row] = data.intern(serverName);
+            return this;
+        }
+
+        public Builder setRegistered(int row, Long registered) {
+            data.registered[row] = registered != null ? registered : Long.MIN_VALUE;
+            return this;
+        }
+
+        public Builder addWorldTimes(int row, String worldName, long survival, long creative, long adventure, long spectator) {
+            int worldId = data.intern(worldName);
+            for (int entry = data.firstWorld[row]; entry != NONE; entry = data.nextWorld[entry]) {
+                if (data.worldIds[entry] == worldId) return this;
+            }
+            data.addWorldTimes(row, worldId, survival, creative, adventure, spectator);
+            return this;
+        }
+
+        public Builder addKill(int row, UUID killer, UUID victim, String victimName, String weapon, long date) {
+            int killerId = data.intern(killer);
+            int victimId = data.intern(victim);
+            for (int kill = data.firstKill[row]; kill != NONE; kill = data.nextKill[kill]) {
+                if (data.killerIds[kill] == killerId && data.victimIds[kill] == victimId && data.killDates[kill] == date) {
+                    return this;
+                }
+            }
+            data.addKill(row, killerId, victimId, data.intern(victimName), data.intern(weapon), date);
+            return this;
+        }
+
+        public SessionColumns build() {
+            int[] rows = new int[data.size];
+            for (int row = 0; row < rows.length; row++) rows[row] = row;
+            return new SessionColumns(data, rows);
+        }
+    }
+
+    private static class Data {
+        private final List<UUID> uuids = new ArrayList<>();
+        private final Map<UUID, Integer> uuidIds = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Integer> stringIds = new HashMap<>();
+
+        private int size;
+        private int[] dbIds = new int[16];
+        private int[] playerIds = new int[16];
+        private int[] serverIds = new int[16];
+        private long[] starts = new long[16];
+        private long[] ends = new long[16];
+        private long[] afkTimes = new long[16];
+        private int[] mobKills = new int[16];
+        private int[] deaths = new int[16];
+        private int[] playerNames = new int[16];
+        private int[] serverNames = new int[16];
+        private long[] registered = new long[16];
+        private int[] firstWorld = new int[16];
+        private int[] firstKill = new int[16];
+
+        // World times of all sessions, linked per session through nextWorld
+        private int worldCount;
+        private int[] nextWorld = new int[16];
+        private int[] worldIds = new int[16];
+        private long[] gmTimes = new long[16 * GM_COUNT];
+
+        // Player kills of all sessions, linked per session through nextKill
+        private int killCount;
+        private int[] nextKill = new int[4];
+        private int[] killerIds = new int[4];
+        private int[] victimIds = new int[4];
+        private int[] victimNames = new int[4];
+        private int[] weapons = new int[4];
+        private long[] killDates = new long[4];
+
+        int intern(UUID uuid) {
+            return uuidIds.computeIfAbsent(uuid, key -> {
+                uuids.add(key);
+                return uuids.size() - 1;
+            });
+        }
+
+        int intern(String string) {
+            if (string == null) return NONE;
+            return stringIds.computeIfAbsent(string, key -> {
+                strings.add(key);
+                return strings.size() - 1;
+            });
+        }
+
+        String getString(int id) {
+            return id == NONE ? null : strings.get(id);
+        }
+
+        int addSession(int dbId, int playerId, int serverId, long start, long end, int mobKillCount, int deathCount, long afkTime) {
+            if (size == starts.length) {
+                int capacity = size * 2;
+                dbIds = Arrays.copyOf(dbIds, capacity);
+                playerIds = Arrays.copyOf(playerIds, capacity);
+                serverIds = Arrays.copyOf(serverIds, capacity);
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                afkTimes = Arrays.copyOf(afkTimes, capacity);
+                mobKills = Arrays.copyOf(mobKills, capacity);
+                deaths = Arrays.copyOf(deaths, capacity);
+                playerNames = Arrays.copyOf(playerNames, capacity);
+                serverNames = Arrays.copyOf(serverNames, capacity);
+                registered = Arrays.copyOf(registered, capacity);
+                firstWorld = Arrays.copyOf(firstWorld, capacity);
+                firstKill = Arrays.copyOf(firstKill, capacity);
+            }
+            int row = size++;
+            dbIds[row] = dbId;
+            playerIds[row] = playerId;
+            serverIds[row] = serverId;
+            starts[row] = start;
+            ends[row] = end;
+            afkTimes[row] = afkTime;
+            mobKills[row] = mobKillCount;
+            deaths[row] = deathCount;
+            playerNames[row] = NONE;
+            serverNames[row] = NONE;
+            registered[row] = Long.MIN_VALUE;
+            firstWorld[row] = NONE;
+            firstKill[row] = NONE;
+            return row;
+        }
+
+        void addWorldTimes(int row, int worldId, long survival, long creative, long adventure, long spectator) {
+            if (worldCount == worldIds.length) {
+                int capacity = worldCount * 2;
+                nextWorld = Arrays.copyOf(nextWorld, capacity);
+                worldIds = Arrays.copyOf(worldIds, capacity);
+                gmTimes = Arrays.copyOf(gmTimes, capacity * GM_COUNT);
+            }
+            int entry = worldCount++;
+            worldIds[entry] = worldId;
+            gmTimes[entry * GM_COUNT] = survival;
+            gmTimes[entry * GM_COUNT + 1] = creative;
+            gmTimes[entry * GM_COUNT + 2] = adventure;
+            gmTimes[entry * GM_COUNT + 3] = spectator;
+            nextWorld[entry] = firstWorld[row];
+            firstWorld[row] = entry;
+        }
+
+        void addKill(int row, int killerId, int victimId, int victimName, int weapon, long date) {
+            if (killCount == killerIds.length) {
+                int capacity = killCount * 2;
+                nextKill = Arrays.copyOf(nextKill, capacity);
+                killerIds = Arrays.copyOf(killerIds, capacity);
+                victimIds = Arrays.copyOf(victimIds, capacity);
+                victimNames = Arrays.copyOf(victimNames, capacity);
+                weapons = Arrays.copyOf(weapons, capacity);
+                killDates = Arrays.copyOf(killDates, capacity);
+            }
+            int kill = killCount++;
+            killerIds[kill] = killerId;
+            victimIds[kill] = victimId;
+            victimNames[kill] = victimName;
+            weapons[kill] = weapon;
+            killDates[kill] = date;
+            nextKill[kill] = firstKill[row];
+            firstKill[row] = kill;
+        }
+
+        WorldTimes toWorldTimes(int row) {
+            String[] gms = GMTimes.getGMKeyArray();
+            Map<String, GMTimes> times = new HashMap<>();
+            for (int entry = firstWorld[row]; entry != NONE; entry = nextWorld[entry]) {
+                Map<String, Long> gmMap = new HashMap<>();
+                for (int gm = 0; gm < GM_COUNT; gm++) {
+                    gmMap.put(gms[gm], gmTimes[entry * GM_COUNT + gm]);
+                }
+                times.put(getString(worldIds[entry]), new GMTimes(gmMap));
+            }
+            return new WorldTimes(times);
+        }
+
+        List<PlayerKill> toPlayerKills(int row) {
+            List<PlayerKill> kills = new ArrayList<>();
+            for (int kill = firstKill[row]; kill != NONE; kill = nextKill[kill]) {
+                kills.add(new PlayerKill(
+                        uuids.get(killerIds[kill]), uuids.get(victimIds[kill]),
+                        getString(weapons[kill]), killDates[kill], getString(victimNames[kill])
+                ));
+            }
+            return kills;
+        }
+
+        Session toSession(int row) {
+            Session session = new Session(
+                    dbIds[row], uuids.get(playerIds[row]), uuids.get(serverIds[row]),
+                    starts[row], ends[row], mobKills[row], deaths[row], afkTimes[row]
+            );
+            session.setWorldTimes(toWorldTimes(row));
+            session.setPlayerKills(toPlayerKills(row));
+            if (playerNames[row] != NONE) session.putRawData(SessionKeys.NAME, getString(playerNames[row]));
+            if (serverNames[row] != NONE) session.putRawData(SessionKeys.SERVER_NAME, getString(serverNames[row]));
+            if (registered[row] != Long.MIN_VALUE) session.setAsFirstSessionIfMatches(registered[row]);
+            return session;
+        }
+    }
+}
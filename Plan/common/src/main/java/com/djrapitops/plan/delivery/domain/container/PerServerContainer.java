@@ -16,6 +16,7 @@
  */
 package com.djrapitops.plan.delivery.domain.container;
 
+import com.djrapitops.plan.delivery.domain.SessionColumns;
 import com.djrapitops.plan.delivery.domain.keys.Key;
 import com.djrapitops.plan.delivery.domain.keys.PerServerKeys;
 import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
@@ -74,6 +75,29 @@ public class PerServerContainer extends HashMap<UUID, DataContainer> {
         }
     }
 
+    /**
+     * Put sessions of a server, turning them into Session objects only when they are requested.
+     * <p>
+     * Replaces the calculating suppliers of the server with ones that use the columns directly.
+     *
+     * @param serverUUID UUID of the server the sessions are from.
+     * @param sessions   Sessions of the player on the server.
+     */
+    public void putSessions(UUID serverUUID, SessionColumns sessions) {
+        if (sessions == null) {
+            return;
+        }
+
+        DataContainer container = getOrDefault(serverUUID, new DynamicDataContainer());
+        container.putCachingSupplier(PerServerKeys.SESSIONS, sessions::toSessions);
+        container.putSupplier(PerServerKeys.LAST_SEEN, sessions::toLastSeen);
+        container.putSupplier(PerServerKeys.WORLD_TIMES, sessions::toTotalWorldTimes);
+        container.putSupplier(PerServerKeys.PLAYER_KILL_COUNT, sessions::toPlayerKillCount);
+        container.putSupplier(PerServerKeys.MOB_KILL_COUNT, sessions::toMobKillCount);
+        container.putSupplier(PerServerKeys.DEATH_COUNT, sessions::toDeathCount);
+        put(serverUUID, container);
+    }
+
     private void putSession(Session session) {
         if (session == null) {
             return;
@@ -34,4 +34,17 @@ public class PlaceholderReplacer extends HashMap<String, Serializable> implement
         sub.setEnableSubstitutionInVariables(true);
         return sub.replace(string);
     }
+
+    /**
+     * Apply a formatter to the placeholder values.
+     * <p>
+     * Used for translating the values that are placed into an already translated template.
+     *
+     * @param formatter Formatter to apply to the String forms of the values.
+     * @return this replacer.
+     */
+    public PlaceholderReplacer formatValues(Formatter<String> formatter) {
+        replaceAll((placeholder, value) -> value != null ? formatter.apply(value.toString()) : null);
+        return this;
+    }
 }
\ No newline at end of file
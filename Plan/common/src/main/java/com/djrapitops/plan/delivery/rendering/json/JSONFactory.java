@@ -23,7 +23,9 @@ import com.djrapitops.plan.delivery.domain.mutators.TPSMutator;
 import com.djrapitops.plan.delivery.formatting.Formatter;
 import com.djrapitops.plan.delivery.formatting.Formatters;
 import com.djrapitops.plan.delivery.rendering.json.graphs.Graphs;
+import com.djrapitops.plan.delivery.domain.TablePlayer;
 import com.djrapitops.plan.extension.implementation.results.ExtensionTabData;
+import com.djrapitops.plan.extension.implementation.storage.queries.ExtensionInformationQueries;
 import com.djrapitops.plan.extension.implementation.storage.queries.ExtensionServerTableDataQuery;
 import com.djrapitops.plan.gathering.cache.SessionCache;
 import com.djrapitops.plan.gathering.domain.Ping;
@@ -42,6 +44,8 @@ import com.djrapitops.plan.storage.database.Database;
 import com.djrapitops.plan.storage.database.queries.analysis.PlayerCountQueries;
 import com.djrapitops.plan.storage.database.queries.objects.*;
 import com.djrapitops.plan.storage.database.queries.objects.playertable.NetworkTablePlayersQuery;
+import com.djrapitops.plan.storage.database.queries.objects.playertable.PlayersTablePage;
+import com.djrapitops.plan.storage.database.queries.objects.playertable.ServerPlayerSummaryQueries;
 import com.djrapitops.plan.storage.database.queries.objects.playertable.ServerTablePlayersQuery;
 import com.djrapitops.plan.utilities.comparators.SessionStartComparator;
 import com.djrapitops.plan.utilities.java.Maps;
@@ -98,6 +102,62 @@ public class JSONFactory {
         ).toJSONMap();
     }
 
+    /**
+     * Create a single page of /server page players table.
+     * <p>
+     * Until the players table summary of the server has been created the page is taken from
+     * the x most recent players, like in {@link #serverPlayersTableJSON(UUID)}.
+     *
+     * @param serverUUID UUID of the server.
+     * @param page       Page of the table.
+     * @return Map with columns, data, recordsTotal, recordsFiltered and next (cursor for the next page, if there is one)
+     */
+    public Map<String, Object> serverPlayersTablePageJSON(UUID serverUUID, PlayersTablePage page) {
+        boolean openPlayerLinksInNewTab = config.isTrue(DisplaySettings.OPEN_PLAYER_LINKS_IN_NEW_TAB);
+
+        Database database = dbSystem.getDatabase();
+
+        List<TablePlayer> players;
+        int recordsTotal;
+        int recordsFiltered;
+        String next = null;
+        if (database.query(ServerPlayerSummaryQueries.fetchLatestUpdate(serverUUID)).isPresent()) {
+            players = database.query(ServerPlayerSummaryQueries.fetchPage(serverUUID, page));
+            recordsTotal = database.query(ServerPlayerSummaryQueries.countPlayers(serverUUID, null));
+            recordsFiltered = page.getSearch().isPresent()
+                    ? database.query(ServerPlayerSummaryQueries.countPlayers(serverUUID, page.getSearch().get()))
+                    : recordsTotal;
+            if (players.size() == page.getLength()) {
+                next = PlayersTablePage.Cursor.of(players.get(players.size() - 1), page.getSort())
+                        .map(PlayersTablePage.Cursor::toString).orElse(null);
+            }
+        } else {
+            Integer xMostRecentPlayers = config.get(DisplaySettings.PLAYERS_PER_SERVER_PAGE);
+            Long playtimeThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
+            List<TablePlayer> allPlayers = database.query(new ServerTablePlayersQuery(serverUUID, System.currentTimeMillis(), playtimeThreshold, xMostRecentPlayers));
+            List<TablePlayer> found = page.searchAndSort(allPlayers);
+            recordsTotal = allPlayers.size();
+            recordsFiltered = found.size();
+            players = found.subList(Math.min(page.getStart(), found.size()), Math.min(page.getStart() + page.getLength(), found.size()));
+        }
+
+        Set<UUID> playerUUIDs = new HashSet<>();
+        for (TablePlayer player : players) {
+            playerUUIDs.add(player.getPlayerUUID());
+        }
+        Map<String, Object> json = new HashMap<>(new PlayersTableJSONCreator(
+                players,
+                database.query(ExtensionInformationQueries.playersTableColumnsOfServer(serverUUID)),
+                database.query(new ExtensionServerTableDataQuery(serverUUID, playerUUIDs)),
+                openPlayerLinksInNewTab,
+                formatters, locale
+        ).toJSONMap());
+        json.put("recordsTotal", recordsTotal);
+        json.put("recordsFiltered", recordsFiltered);
+        json.put("next", next);
+        return json;
+    }
+
     public Map<String, Object> networkPlayersTableJSON() {
         Integer xMostRecentPlayers = config.get(DisplaySettings.PLAYERS_PER_PLAYERS_PAGE);
         Long playtimeThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
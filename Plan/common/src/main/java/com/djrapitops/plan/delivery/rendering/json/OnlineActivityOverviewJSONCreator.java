@@ -16,10 +16,10 @@
  */
 package com.djrapitops.plan.delivery.rendering.json;
 
-import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
+import com.djrapitops.plan.delivery.domain.SessionColumns;
+import com.djrapitops.plan.delivery.domain.mutators.ActivityIndex;
 import com.djrapitops.plan.delivery.domain.mutators.PlayersOnlineResolver;
 import com.djrapitops.plan.delivery.domain.mutators.RetentionData;
-import com.djrapitops.plan.delivery.domain.mutators.SessionsMutator;
 import com.djrapitops.plan.delivery.domain.mutators.TPSMutator;
 import com.djrapitops.plan.delivery.formatting.Formatter;
 import com.djrapitops.plan.delivery.formatting.Formatters;
@@ -29,14 +29,19 @@ import com.djrapitops.plan.settings.config.paths.DisplaySettings;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.queries.QueryBatch;
 import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexQueries;
 import com.djrapitops.plan.storage.database.queries.analysis.PlayerCountQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.TimeWindow;
+import com.djrapitops.plan.storage.database.queries.analysis.WindowedQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.WindowedResult;
 import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
 import com.djrapitops.plan.storage.database.queries.objects.TPSQueries;
 import com.djrapitops.plan.storage.database.queries.objects.UserInfoQueries;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -89,49 +94,89 @@ public class OnlineActivityOverviewJSONCreator implements ServerTabJSONCreator<M
         int timeZoneOffset = config.getTimeZone().getOffset(now);
         Long playThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
 
+        TimeWindow month = TimeWindow.between(monthAgo, now);
+        TimeWindow firstHalfOfMonth = TimeWindow.between(monthAgo, halfMonthAgo);
+        TimeWindow secondHalfOfMonth = TimeWindow.between(halfMonthAgo, now);
+        TimeWindow week = TimeWindow.between(weekAgo, now);
+        TimeWindow day = TimeWindow.between(dayAgo, now);
+        // Counts of all windows are calculated with one scan of the table
+        TimeWindow[] windows = {month, firstHalfOfMonth, secondHalfOfMonth, week, day};
+
+        // The queries are independent, so they are executed together to avoid waiting for each one in turn.
+        QueryBatch queries = new QueryBatch();
+        QueryBatch.Result<WindowedResult<Integer>> uniqueResult = queries.add(WindowedQueries.uniquePlayerCounts(serverUUID, windows));
+        QueryBatch.Result<Integer> uniqueAvgMonth = queries.add(PlayerCountQueries.averageUniquePlayerCount(monthAgo, now, timeZoneOffset, serverUUID));
+        QueryBatch.Result<Integer> uniqueAvgBefore = queries.add(PlayerCountQueries.averageUniquePlayerCount(monthAgo, halfMonthAgo, timeZoneOffset, serverUUID));
+        QueryBatch.Result<Integer> uniqueAvgAfter = queries.add(PlayerCountQueries.averageUniquePlayerCount(halfMonthAgo, now, timeZoneOffset, serverUUID));
+        QueryBatch.Result<Integer> uniqueAvgWeek = queries.add(PlayerCountQueries.averageUniquePlayerCount(weekAgo, now, timeZoneOffset, serverUUID));
+        QueryBatch.Result<Integer> uniqueAvgDay = queries.add(PlayerCountQueries.averageUniquePlayerCount(dayAgo, now, timeZoneOffset, serverUUID));
+        QueryBatch.Result<WindowedResult<Integer>> newPlayersResult = queries.add(WindowedQueries.newPlayerCounts(serverUUID, windows));
+        QueryBatch.Result<Integer> newAvgMonth = queries.add(PlayerCountQueries.averageNewPlayerCount(monthAgo, now, timeZoneOffset, serverUUID));
+        QueryBatch.Result<Integer> newAvgBefore = queries.add(PlayerCountQueries.averageNewPlayerCount(monthAgo, halfMonthAgo, timeZoneOffset, serverUUID));
+        QueryBatch.Result<Integer> newAvgAfter = queries.add(PlayerCountQueries.averageNewPlayerCount(halfMonthAgo, now, timeZoneOffset, serverUUID));
+        QueryBatch.Result<Integer> newAvgWeek = queries.add(PlayerCountQueries.averageNewPlayerCount(weekAgo, now, timeZoneOffset, serverUUID));
+        QueryBatch.Result<Integer> newAvgDay = queries.add(PlayerCountQueries.averageNewPlayerCount(dayAgo, now, timeZoneOffset, serverUUID));
+        QueryBatch.Result<Integer> retainedMonth = queries.add(PlayerCountQueries.retainedPlayerCount(monthAgo, now, serverUUID));
+        QueryBatch.Result<Integer> retainedWeek = queries.add(PlayerCountQueries.retainedPlayerCount(weekAgo, now, serverUUID));
+        QueryBatch.Result<Collection<ActivityIndex>> newPlayerActivity = queries.add(ActivityIndexQueries.activityIndexForNewPlayers(dayAgo, now, serverUUID, playThreshold));
+        QueryBatch.Result<ActivityIndex> retainedActivity = queries.add(ActivityIndexQueries.averageActivityIndexForRetainedPlayers(monthAgo, now, serverUUID, playThreshold));
+        QueryBatch.Result<ActivityIndex> notRetainedActivity = queries.add(ActivityIndexQueries.averageActivityIndexForNonRetainedPlayers(monthAgo, now, serverUUID, playThreshold));
+        QueryBatch.Result<WindowedResult<Long>> playtimeResult = queries.add(WindowedQueries.playtime(serverUUID, windows));
+        QueryBatch.Result<Long> playtimeAvgMonth = queries.add(SessionQueries.averagePlaytimePerDay(monthAgo, now, timeZoneOffset, serverUUID));
+        QueryBatch.Result<Long> playtimeAvgBefore = queries.add(SessionQueries.averagePlaytimePerDay(monthAgo, halfMonthAgo, timeZoneOffset, serverUUID));
+        QueryBatch.Result<Long> playtimeAvgAfter = queries.add(SessionQueries.averagePlaytimePerDay(halfMonthAgo, now, timeZoneOffset, serverUUID));
+        QueryBatch.Result<Long> playtimeAvgWeek = queries.add(SessionQueries.averagePlaytimePerDay(weekAgo, now, timeZoneOffset, serverUUID));
+        QueryBatch.Result<WindowedResult<Long>> sessionsResult = queries.add(WindowedQueries.sessionCounts(serverUUID, windows));
+        QueryBatch.Result<List<TPS>> tpsData = queries.add(TPSQueries.fetchTPSDataOfServer(monthAgo, now, serverUUID));
+        db.queryAll(queries);
+        WindowedResult<Integer> unique = uniqueResult.get();
+        WindowedResult<Integer> newPlayers = newPlayersResult.get();
+        WindowedResult<Long> playtime = playtimeResult.get();
+        WindowedResult<Long> sessions = sessionsResult.get();
+
         Map<String, Object> numbers = new HashMap<>();
 
-        numbers.put("unique_players_30d", db.query(PlayerCountQueries.uniquePlayerCount(monthAgo, now, serverUUID)));
+        numbers.put("unique_players_30d", unique.get(month));
         numbers.put("unique_players_30d_trend", new Trend(
-                db.query(PlayerCountQueries.uniquePlayerCount(monthAgo, halfMonthAgo, serverUUID)),
-                db.query(PlayerCountQueries.uniquePlayerCount(halfMonthAgo, now, serverUUID)),
+                unique.get(firstHalfOfMonth),
+                unique.get(secondHalfOfMonth),
                 false
         ));
-        numbers.put("unique_players_7d", db.query(PlayerCountQueries.uniquePlayerCount(weekAgo, now, serverUUID)));
-        numbers.put("unique_players_24h", db.query(PlayerCountQueries.uniquePlayerCount(dayAgo, now, serverUUID)));
+        numbers.put("unique_players_7d", unique.get(week));
+        numbers.put("unique_players_24h", unique.get(day));
 
-        numbers.put("unique_players_30d_avg", db.query(PlayerCountQueries.averageUniquePlayerCount(monthAgo, now, timeZoneOffset, serverUUID)));
+        numbers.put("unique_players_30d_avg", uniqueAvgMonth.get());
         numbers.put("unique_players_30d_avg_trend", new Trend(
-                db.query(PlayerCountQueries.averageUniquePlayerCount(monthAgo, halfMonthAgo, timeZoneOffset, serverUUID)),
-                db.query(PlayerCountQueries.averageUniquePlayerCount(halfMonthAgo, now, timeZoneOffset, serverUUID)),
+                uniqueAvgBefore.get(),
+                uniqueAvgAfter.get(),
                 false
         ));
-        numbers.put("unique_players_7d_avg", db.query(PlayerCountQueries.averageUniquePlayerCount(weekAgo, now, timeZoneOffset, serverUUID)));
-        numbers.put("unique_players_24h_avg", db.query(PlayerCountQueries.averageUniquePlayerCount(dayAgo, now, timeZoneOffset, serverUUID)));
+        numbers.put("unique_players_7d_avg", uniqueAvgWeek.get());
+        numbers.put("unique_players_24h_avg", uniqueAvgDay.get());
 
-        Integer new30d = db.query(PlayerCountQueries.newPlayerCount(monthAgo, now, serverUUID));
-        Integer new7d = db.query(PlayerCountQueries.newPlayerCount(weekAgo, now, serverUUID));
-        Integer new1d = db.query(PlayerCountQueries.newPlayerCount(dayAgo, now, serverUUID));
+        Integer new30d = newPlayers.get(month);
+        Integer new7d = newPlayers.get(week);
+        Integer new1d = newPlayers.get(day);
         numbers.put("new_players_30d", new30d);
         numbers.put("new_players_30d_trend", new Trend(
-                db.query(PlayerCountQueries.newPlayerCount(monthAgo, halfMonthAgo, serverUUID)),
-                db.query(PlayerCountQueries.newPlayerCount(halfMonthAgo, now, serverUUID)),
+                newPlayers.get(firstHalfOfMonth),
+                newPlayers.get(secondHalfOfMonth),
                 false
         ));
         numbers.put("new_players_7d", new7d);
         numbers.put("new_players_24h", new1d);
 
-        numbers.put("new_players_30d_avg", db.query(PlayerCountQueries.averageNewPlayerCount(monthAgo, now, timeZoneOffset, serverUUID)));
+        numbers.put("new_players_30d_avg", newAvgMonth.get());
         numbers.put("new_players_30d_avg_trend", new Trend(
-                db.query(PlayerCountQueries.averageNewPlayerCount(monthAgo, halfMonthAgo, timeZoneOffset, serverUUID)),
-                db.query(PlayerCountQueries.averageNewPlayerCount(halfMonthAgo, now, timeZoneOffset, serverUUID)),
+                newAvgBefore.get(),
+                newAvgAfter.get(),
                 false
         ));
-        numbers.put("new_players_7d_avg", db.query(PlayerCountQueries.averageNewPlayerCount(weekAgo, now, timeZoneOffset, serverUUID)));
-        numbers.put("new_players_24h_avg", db.query(PlayerCountQueries.averageNewPlayerCount(dayAgo, now, timeZoneOffset, serverUUID)));
+        numbers.put("new_players_7d_avg", newAvgWeek.get());
+        numbers.put("new_players_24h_avg", newAvgDay.get());
 
-        int retained30d = db.query(PlayerCountQueries.retainedPlayerCount(monthAgo, now, serverUUID));
-        int retained7d = db.query(PlayerCountQueries.retainedPlayerCount(weekAgo, now, serverUUID));
+        int retained30d = retainedMonth.get();
+        int retained7d = retainedWeek.get();
         double retentionPerc30d = new30d != 0 ? (double) retained30d / new30d : -1;
         double retentionPerc7d = new7d != 0 ? (double) retained7d / new7d : -1;
         numbers.put("new_players_retention_30d", retained30d);
@@ -140,39 +185,39 @@ public class OnlineActivityOverviewJSONCreator implements ServerTabJSONCreator<M
         numbers.put("new_players_retention_7d_perc", percentageFormatter.apply(retentionPerc7d));
 
         int prediction1d = RetentionData.countRetentionPrediction(
-                db.query(ActivityIndexQueries.activityIndexForNewPlayers(dayAgo, now, serverUUID, playThreshold)),
-                db.query(ActivityIndexQueries.averageActivityIndexForRetainedPlayers(monthAgo, now, serverUUID, playThreshold)),
-                db.query(ActivityIndexQueries.averageActivityIndexForNonRetainedPlayers(monthAgo, now, serverUUID, playThreshold))
+                newPlayerActivity.get(),
+                retainedActivity.get(),
+                notRetainedActivity.get()
         );
         double retentionPerc1d = new1d != 0 ? (double) prediction1d / new1d : -1;
         numbers.put("new_players_retention_24h", prediction1d);
         numbers.put("new_players_retention_24h_perc", percentageFormatter.apply(retentionPerc1d));
 
-        Long playtimeMonth = db.query(SessionQueries.playtime(monthAgo, now, serverUUID));
-        Long playtimeWeek = db.query(SessionQueries.playtime(weekAgo, now, serverUUID));
-        Long playtimeDay = db.query(SessionQueries.playtime(dayAgo, now, serverUUID));
-        Long playtimeBefore = db.query(SessionQueries.playtime(monthAgo, halfMonthAgo, serverUUID));
-        Long playtimeAfter = db.query(SessionQueries.playtime(halfMonthAgo, now, serverUUID));
+        Long playtimeMonth = playtime.get(month);
+        Long playtimeWeek = playtime.get(week);
+        Long playtimeDay = playtime.get(day);
+        Long playtimeBefore = playtime.get(firstHalfOfMonth);
+        Long playtimeAfter = playtime.get(secondHalfOfMonth);
         numbers.put("playtime_30d", timeAmountFormatter.apply(playtimeMonth));
         numbers.put("playtime_30d_trend", new Trend(playtimeBefore, playtimeAfter, false, timeAmountFormatter));
         numbers.put("playtime_7d", timeAmountFormatter.apply(playtimeWeek));
         numbers.put("playtime_24h", timeAmountFormatter.apply(playtimeDay));
 
-        numbers.put("playtime_30d_avg", timeAmountFormatter.apply(db.query(SessionQueries.averagePlaytimePerDay(monthAgo, now, timeZoneOffset, serverUUID))));
+        numbers.put("playtime_30d_avg", timeAmountFormatter.apply(playtimeAvgMonth.get()));
         numbers.put("playtime_30d_avg_trend", new Trend(
-                db.query(SessionQueries.averagePlaytimePerDay(monthAgo, halfMonthAgo, timeZoneOffset, serverUUID)),
-                db.query(SessionQueries.averagePlaytimePerDay(halfMonthAgo, now, timeZoneOffset, serverUUID)),
+                playtimeAvgBefore.get(),
+                playtimeAvgAfter.get(),
                 false,
                 timeAmountFormatter
         ));
-        numbers.put("playtime_7d_avg", timeAmountFormatter.apply(db.query(SessionQueries.averagePlaytimePerDay(weekAgo, now, timeZoneOffset, serverUUID))));
-        numbers.put("playtime_24h_avg", timeAmountFormatter.apply(db.query(SessionQueries.playtime(dayAgo, now, serverUUID))));
-
-        Long sessionsMonth = db.query(SessionQueries.sessionCount(monthAgo, now, serverUUID));
-        Long sessionsWeek = db.query(SessionQueries.sessionCount(weekAgo, now, serverUUID));
-        Long sessionsDay = db.query(SessionQueries.sessionCount(dayAgo, now, serverUUID));
-        Long sessionsBefore = db.query(SessionQueries.sessionCount(monthAgo, halfMonthAgo, serverUUID));
-        Long sessionsAfter = db.query(SessionQueries.sessionCount(halfMonthAgo, now, serverUUID));
+        numbers.put("playtime_7d_avg", timeAmountFormatter.apply(playtimeAvgWeek.get()));
+        numbers.put("playtime_24h_avg", timeAmountFormatter.apply(playtimeDay));
+
+        Long sessionsMonth = sessions.get(month);
+        Long sessionsWeek = sessions.get(week);
+        Long sessionsDay = sessions.get(day);
+        Long sessionsBefore = sessions.get(firstHalfOfMonth);
+        Long sessionsAfter = sessions.get(secondHalfOfMonth);
         numbers.put("sessions_30d", sessionsMonth);
         numbers.put("sessions_30d_trend", new Trend(sessionsBefore, sessionsAfter, false));
         numbers.put("sessions_7d", sessionsWeek);
@@ -191,7 +236,7 @@ public class OnlineActivityOverviewJSONCreator implements ServerTabJSONCreator<M
         numbers.put("session_length_7d_avg", timeAmountFormatter.apply(sessionLengthAvgWeek));
         numbers.put("session_length_24h_avg", timeAmountFormatter.apply(sessionLengthAvgDay));
 
-        TPSMutator tpsMutator = new TPSMutator(db.query(TPSQueries.fetchTPSDataOfServer(monthAgo, now, serverUUID)));
+        TPSMutator tpsMutator = new TPSMutator(tpsData.get());
         numbers.put("average_tps", decimalFormatter.apply(tpsMutator.averageTPS()));
         numbers.put("low_tps_spikes", tpsMutator.lowTpsSpikeCount(config.get(DisplaySettings.GRAPH_TPS_THRESHOLD_MED)));
         numbers.put("downtime", timeAmountFormatter.apply(tpsMutator.serverDownTime()));
@@ -207,18 +252,24 @@ public class OnlineActivityOverviewJSONCreator implements ServerTabJSONCreator<M
 
         Map<String, Object> insights = new HashMap<>();
 
-        SessionsMutator sessions = new SessionsMutator(db.query(SessionQueries.fetchServerSessionsWithoutKillOrWorldData(monthAgo, now, serverUUID)));
-        List<TPS> tpsData = db.query(TPSQueries.fetchTPSDataOfServer(monthAgo, now, serverUUID));
-        Map<UUID, Long> registerDates = db.query(UserInfoQueries.fetchRegisterDates(monthAgo, now, serverUUID));
+        QueryBatch queries = new QueryBatch();
+        QueryBatch.Result<SessionColumns> sessionsResult = queries.add(SessionQueries.fetchServerSessionColumnsWithoutKillOrWorldData(monthAgo, now, serverUUID));
+        QueryBatch.Result<List<TPS>> tpsResult = queries.add(TPSQueries.fetchTPSDataOfServer(monthAgo, now, serverUUID));
+        QueryBatch.Result<Map<UUID, Long>> registerDatesResult = queries.add(UserInfoQueries.fetchRegisterDates(monthAgo, now, serverUUID));
+        db.queryAll(queries);
+
+        SessionColumns sessions = sessionsResult.get();
+        List<TPS> tpsData = tpsResult.get();
+        Map<UUID, Long> registerDates = registerDatesResult.get();
 
         PlayersOnlineResolver playersOnlineResolver = new PlayersOnlineResolver(new TPSMutator(tpsData));
-        SessionsMutator firstSessions = sessions.filterBy(session -> {
-            long registered = registerDates.getOrDefault(session.getValue(SessionKeys.UUID).orElse(null), -501L);
-            long start = session.getDate();
+        SessionColumns firstSessions = sessions.filterBy(index -> {
+            long registered = registerDates.getOrDefault(sessions.getPlayerUUID(index), -501L);
+            long start = sessions.getStart(index);
             return Math.abs(registered - start) < 500L;
         });
-        SessionsMutator firstSessionsBefore = firstSessions.filterSessionsBetween(monthAgo, halfMonthAgo);
-        SessionsMutator firstSessionsAfter = firstSessions.filterSessionsBetween(halfMonthAgo, now);
+        SessionColumns firstSessionsBefore = firstSessions.filterSessionsBetween(monthAgo, halfMonthAgo);
+        SessionColumns firstSessionsAfter = firstSessions.filterSessionsBetween(halfMonthAgo, now);
 
         long avgFirstSessionLength = firstSessions.toAverageSessionLength();
         long avgFirstSessionLengthBefore = firstSessionsBefore.toAverageSessionLength();
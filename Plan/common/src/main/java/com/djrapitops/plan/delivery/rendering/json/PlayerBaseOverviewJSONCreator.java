@@ -22,9 +22,11 @@ import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.queries.QueryBatch;
 import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexQueries;
-import com.djrapitops.plan.storage.database.queries.analysis.PlayerCountQueries;
-import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.TimeWindow;
+import com.djrapitops.plan.storage.database.queries.analysis.WindowedQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.WindowedResult;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -74,48 +76,70 @@ public class PlayerBaseOverviewJSONCreator implements ServerTabJSONCreator<Map<S
         long twoMonthsAgo = now - TimeUnit.DAYS.toMillis(60L);
         Long playThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
 
+        TimeWindow untilMonthAgo = TimeWindow.between(0L, monthAgo);
+        TimeWindow untilNow = TimeWindow.between(0L, now);
+        TimeWindow previousMonth = TimeWindow.between(twoMonthsAgo, monthAgo);
+        TimeWindow lastMonth = TimeWindow.between(monthAgo, now);
+
+        QueryBatch queries = new QueryBatch();
+        QueryBatch.Result<WindowedResult<Integer>> playersResult = queries.add(WindowedQueries.newPlayerCounts(serverUUID, untilMonthAgo, untilNow));
+        QueryBatch.Result<Integer> regularBeforeResult = queries.add(ActivityIndexQueries.fetchRegularPlayerCount(monthAgo, serverUUID, playThreshold));
+        QueryBatch.Result<Integer> regularAfterResult = queries.add(ActivityIndexQueries.fetchRegularPlayerCount(now, serverUUID, playThreshold));
+        QueryBatch.Result<WindowedResult<Long>> avgPlaytimeResult = queries.add(WindowedQueries.averagePlaytimePerPlayer(serverUUID, previousMonth, lastMonth));
+        QueryBatch.Result<WindowedResult<Long>> avgAfkResult = queries.add(WindowedQueries.averageAfkPerPlayer(serverUUID, previousMonth, lastMonth));
+        QueryBatch.Result<Long> avgRegularPlaytimeBeforeResult = queries.add(ActivityIndexQueries.averagePlaytimePerRegularPlayer(twoMonthsAgo, monthAgo, serverUUID, playThreshold));
+        QueryBatch.Result<Long> avgRegularPlaytimeAfterResult = queries.add(ActivityIndexQueries.averagePlaytimePerRegularPlayer(monthAgo, now, serverUUID, playThreshold));
+        QueryBatch.Result<Long> avgRegularSessionLengthBeforeResult = queries.add(ActivityIndexQueries.averageSessionLengthPerRegularPlayer(twoMonthsAgo, monthAgo, serverUUID, playThreshold));
+        QueryBatch.Result<Long> avgRegularSessionLengthAfterResult = queries.add(ActivityIndexQueries.averageSessionLengthPerRegularPlayer(monthAgo, now, serverUUID, playThreshold));
+        QueryBatch.Result<Long> avgRegularAfkBeforeResult = queries.add(ActivityIndexQueries.averageAFKPerRegularPlayer(twoMonthsAgo, monthAgo, serverUUID, playThreshold));
+        QueryBatch.Result<Long> avgRegularAfkAfterResult = queries.add(ActivityIndexQueries.averageAFKPerRegularPlayer(monthAgo, now, serverUUID, playThreshold));
+        db.queryAll(queries);
+        WindowedResult<Integer> players = playersResult.get();
+        WindowedResult<Long> avgPlaytime = avgPlaytimeResult.get();
+        WindowedResult<Long> avgAfk = avgAfkResult.get();
+
         Map<String, Object> trends = new HashMap<>();
 
-        Integer playersBefore = db.query(PlayerCountQueries.newPlayerCount(0L, monthAgo, serverUUID));
-        Integer playersAfter = db.query(PlayerCountQueries.newPlayerCount(0L, now, serverUUID));
+        Integer playersBefore = players.get(untilMonthAgo);
+        Integer playersAfter = players.get(untilNow);
         trends.put("total_players_then", playersBefore);
         trends.put("total_players_now", playersAfter);
         trends.put("total_players_trend", new Trend(playersBefore, playersAfter, false));
 
-        Integer regularBefore = db.query(ActivityIndexQueries.fetchRegularPlayerCount(monthAgo, serverUUID, playThreshold));
-        Integer regularAfter = db.query(ActivityIndexQueries.fetchRegularPlayerCount(now, serverUUID, playThreshold));
+        Integer regularBefore = regularBeforeResult.get();
+        Integer regularAfter = regularAfterResult.get();
         trends.put("regular_players_then", regularBefore);
         trends.put("regular_players_now", regularAfter);
         trends.put("regular_players_trend", new Trend(regularBefore, regularAfter, false));
 
-        Long avgPlaytimeBefore = db.query(SessionQueries.averagePlaytimePerPlayer(twoMonthsAgo, monthAgo, serverUUID));
-        Long avgPlaytimeAfter = db.query(SessionQueries.averagePlaytimePerPlayer(monthAgo, now, serverUUID));
+        Long avgPlaytimeBefore = avgPlaytime.get(previousMonth);
+        Long avgPlaytimeAfter = avgPlaytime.get(lastMonth);
         trends.put("playtime_avg_then", timeAmount.apply(avgPlaytimeBefore));
         trends.put("playtime_avg_now", timeAmount.apply(avgPlaytimeAfter));
         trends.put("playtime_avg_trend", new Trend(avgPlaytimeBefore, avgPlaytimeAfter, false, timeAmount));
 
-        Long avgAfkBefore = db.query(SessionQueries.averageAfkPerPlayer(twoMonthsAgo, monthAgo, serverUUID));
-        Long avgAfkAfter = db.query(SessionQueries.averageAfkPerPlayer(monthAgo, now, serverUUID));
+        Long avgAfkBefore = avgAfk.get(previousMonth);
+        Long avgAfkAfter = avgAfk.get(lastMonth);
         double afkPercBefore = avgPlaytimeBefore != 0 ? (double) avgAfkBefore / avgPlaytimeBefore : 0;
         double afkPercAfter = avgPlaytimeAfter != 0 ? (double) avgAfkAfter / avgPlaytimeAfter : 0;
         trends.put("afk_then", percentage.apply(afkPercBefore));
         trends.put("afk_now", percentage.apply(afkPercAfter));
         trends.put("afk_trend", new Trend(afkPercBefore, afkPercAfter, Trend.REVERSED, percentage));
 
-        Long avgRegularPlaytimeBefore = db.query(ActivityIndexQueries.averagePlaytimePerRegularPlayer(twoMonthsAgo, monthAgo, serverUUID, playThreshold));
-        Long avgRegularPlaytimeAfter = db.query(ActivityIndexQueries.averagePlaytimePerRegularPlayer(monthAgo, now, serverUUID, playThreshold));
+        Long avgRegularPlaytimeBefore = avgRegularPlaytimeBeforeResult.get();
+        Long avgRegularPlaytimeAfter = avgRegularPlaytimeAfterResult.get();
         trends.put("regular_playtime_avg_then", timeAmount.apply(avgRegularPlaytimeBefore));
         trends.put("regular_playtime_avg_now", timeAmount.apply(avgRegularPlaytimeAfter));
         trends.put("regular_playtime_avg_trend", new Trend(avgRegularPlaytimeBefore, avgRegularPlaytimeAfter, false, timeAmount));
 
-        Long avgRegularSessionLengthBefore = db.query(ActivityIndexQueries.averageSessionLengthPerRegularPlayer(twoMonthsAgo, monthAgo, serverUUID, playThreshold));
-        Long avgRegularSessionLengthAfter = db.query(ActivityIndexQueries.averageSessionLengthPerRegularPlayer(monthAgo, now, serverUUID, playThreshold));
+        Long avgRegularSessionLengthBefore = avgRegularSessionLengthBeforeResult.get();
+        Long avgRegularSessionLengthAfter = avgRegularSessionLengthAfterResult.get();
         trends.put("regular_session_avg_then", timeAmount.apply(avgRegularSessionLengthBefore));
         trends.put("regular_session_avg_now", timeAmount.apply(avgRegularSessionLengthAfter));
         trends.put("regular_session_avg_trend", new Trend(avgRegularSessionLengthBefore, avgRegularSessionLengthAfter, false, timeAmount));
 
-        Long avgRegularAfkBefore = db.query(ActivityIndexQueries.averageAFKPerRegularPlayer(twoMonthsAgo, monthAgo, serverUUID, playThreshold));
-        Long avgRegularAfkAfter = db.query(ActivityIndexQueries.averageAFKPerRegularPlayer(monthAgo, now, serverUUID, playThreshold));
+        Long avgRegularAfkBefore = avgRegularAfkBeforeResult.get();
+        Long avgRegularAfkAfter = avgRegularAfkAfterResult.get();
         double afkRegularPercBefore = avgRegularPlaytimeBefore != 0 ? (double) avgRegularAfkBefore / avgRegularPlaytimeBefore : 0;
         double afkRegularPercAfter = avgRegularPlaytimeAfter != 0 ? (double) avgRegularAfkAfter / avgRegularPlaytimeAfter : 0;
         trends.put("regular_afk_avg_then", percentage.apply(afkRegularPercBefore));
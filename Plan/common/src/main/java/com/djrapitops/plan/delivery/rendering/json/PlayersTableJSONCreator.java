@@ -61,15 +61,41 @@ public class PlayersTableJSONCreator {
             boolean openPlayerPageInNewTab,
             Formatters formatters,
             Locale locale
+    ) {
+        this(players, null, extensionData, openPlayerPageInNewTab, formatters, locale);
+    }
+
+    /**
+     * Create a players table with fixed extension columns, eg. for a single page of a table.
+     *
+     * @param players                Players in the table.
+     * @param extensionDescriptives  Extension columns in the table, null to use the columns found in extension data.
+     * @param extensionData          Extension data of the players.
+     * @param openPlayerPageInNewTab Setting
+     * @param formatters             Formatters
+     * @param locale                 Locale
+     */
+    public PlayersTableJSONCreator(
+            List<TablePlayer> players,
+            List<ExtensionDescriptive> extensionDescriptives,
+            Map<UUID, ExtensionTabData> extensionData,
+            // Settings
+            boolean openPlayerPageInNewTab,
+            Formatters formatters,
+            Locale locale
     ) {
         // Data
         this.players = players;
         this.extensionData = extensionData;
         this.locale = locale;
 
-        extensionDescriptives = new ArrayList<>();
-        addExtensionDescriptives(extensionData);
-        extensionDescriptives.sort((one, two) -> String.CASE_INSENSITIVE_ORDER.compare(one.getName(), two.getName()));
+        this.extensionDescriptives = new ArrayList<>();
+        if (extensionDescriptives != null) {
+            this.extensionDescriptives.addAll(extensionDescriptives);
+        } else {
+            addExtensionDescriptives(extensionData);
+        }
+        this.extensionDescriptives.sort((one, two) -> String.CASE_INSENSITIVE_ORDER.compare(one.getName(), two.getName()));
 
         // Settings
         this.openPlayerPageInNewTab = openPlayerPageInNewTab;
@@ -23,6 +23,7 @@ import com.djrapitops.plan.gathering.domain.GMTimes;
 import com.djrapitops.plan.gathering.domain.TPS;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.queries.QueryBatch;
 import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
 import com.djrapitops.plan.storage.database.queries.objects.TPSQueries;
 import com.djrapitops.plan.storage.database.queries.objects.WorldTimesQueries;
@@ -66,7 +67,14 @@ public class SessionsOverviewJSONCreator implements ServerTabJSONCreator<Map<Str
         long now = System.currentTimeMillis();
         long monthAgo = now - TimeUnit.DAYS.toMillis(30L);
 
-        List<TPS> tpsData = db.query(TPSQueries.fetchTPSDataOfServer(monthAgo, now, serverUUID));
+        QueryBatch queries = new QueryBatch();
+        QueryBatch.Result<List<TPS>> tpsResult = queries.add(TPSQueries.fetchTPSDataOfServer(monthAgo, now, serverUUID));
+        QueryBatch.Result<Long> playtimeResult = queries.add(SessionQueries.playtime(monthAgo, now, serverUUID));
+        QueryBatch.Result<Long> afkTimeResult = queries.add(SessionQueries.afkTime(monthAgo, now, serverUUID));
+        QueryBatch.Result<GMTimes> gmTimesResult = queries.add(WorldTimesQueries.fetchGMTimes(monthAgo, now, serverUUID));
+        db.queryAll(queries);
+
+        List<TPS> tpsData = tpsResult.get();
         TPSMutator tpsMutator = new TPSMutator(tpsData);
 
         Map<String, Object> insights = new HashMap<>();
@@ -76,13 +84,13 @@ public class SessionsOverviewJSONCreator implements ServerTabJSONCreator<Map<Str
         insights.put("server_occupied", timeAmount.apply(occupied));
         insights.put("server_occupied_perc", uptime != 0 ? percentage.apply(1.0 * occupied / uptime) : "-");
 
-        Long playtime = db.query(SessionQueries.playtime(monthAgo, now, serverUUID));
-        Long afkTime = db.query(SessionQueries.afkTime(monthAgo, now, serverUUID));
+        Long playtime = playtimeResult.get();
+        Long afkTime = afkTimeResult.get();
         insights.put("total_playtime", timeAmount.apply(playtime));
         insights.put("afk_time", timeAmount.apply(afkTime));
         insights.put("afk_time_perc", playtime != 0 ? percentage.apply(1.0 * afkTime / playtime) : "-");
 
-        GMTimes gmTimes = db.query(WorldTimesQueries.fetchGMTimes(monthAgo, now, serverUUID));
+        GMTimes gmTimes = gmTimesResult.get();
         Optional<String> mostUsedGameMode = gmTimes.getMostUsedGameMode();
         Long longestGMTime = mostUsedGameMode.map(gmTimes::getTime).orElse(-1L);
         insights.put("most_active_gamemode", mostUsedGameMode.map(WordUtils::capitalizeFully).orElse("Not Known"));
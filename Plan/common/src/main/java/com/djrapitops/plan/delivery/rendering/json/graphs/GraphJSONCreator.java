@@ -17,6 +17,7 @@
 package com.djrapitops.plan.delivery.rendering.json.graphs;
 
 import com.djrapitops.plan.delivery.domain.DateMap;
+import com.djrapitops.plan.delivery.domain.SessionColumns;
 import com.djrapitops.plan.delivery.domain.mutators.MutatorFunctions;
 import com.djrapitops.plan.delivery.domain.mutators.PingMutator;
 import com.djrapitops.plan.delivery.domain.mutators.TPSMutator;
@@ -27,10 +28,10 @@ import com.djrapitops.plan.delivery.rendering.json.graphs.line.PingGraph;
 import com.djrapitops.plan.delivery.rendering.json.graphs.line.Point;
 import com.djrapitops.plan.delivery.rendering.json.graphs.pie.Pie;
 import com.djrapitops.plan.delivery.rendering.json.graphs.pie.WorldPie;
+import com.djrapitops.plan.delivery.rendering.json.graphs.special.PunchCard;
 import com.djrapitops.plan.delivery.rendering.json.graphs.special.WorldMap;
 import com.djrapitops.plan.delivery.rendering.json.graphs.stack.StackGraph;
 import com.djrapitops.plan.gathering.domain.Ping;
-import com.djrapitops.plan.gathering.domain.Session;
 import com.djrapitops.plan.gathering.domain.WorldTimes;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.DataGatheringSettings;
@@ -40,9 +41,9 @@ import com.djrapitops.plan.settings.theme.Theme;
 import com.djrapitops.plan.settings.theme.ThemeVal;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.Database;
-import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexQueries;
-import com.djrapitops.plan.storage.database.queries.analysis.NetworkActivityIndexQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.ActivitySnapshotQueries;
 import com.djrapitops.plan.storage.database.queries.analysis.PlayerCountQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.RollupQueries;
 import com.djrapitops.plan.storage.database.queries.objects.*;
 import com.djrapitops.plan.utilities.java.Lists;
 import com.djrapitops.plan.utilities.java.Maps;
@@ -303,9 +304,7 @@ public class GraphJSONCreator {
         Long threshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
 
         DateMap<Map<String, Integer>> activityData = new DateMap<>();
-        for (long time = date; time >= date - TimeAmount.MONTH.toMillis(2L); time -= TimeAmount.WEEK.toMillis(1L)) {
-            activityData.put(time, db.query(ActivityIndexQueries.fetchActivityIndexGroupingsOn(time, serverUUID, threshold)));
-        }
+        activityData.putAll(db.query(ActivitySnapshotQueries.fetchActivityIndexGroupingsOn(getActivityGraphDates(date), serverUUID, threshold)));
 
         return createActivityGraphJSON(activityData);
     }
@@ -328,13 +327,19 @@ public class GraphJSONCreator {
         Long threshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
 
         DateMap<Map<String, Integer>> activityData = new DateMap<>();
-        for (long time = date; time >= date - TimeAmount.MONTH.toMillis(2L); time -= TimeAmount.WEEK.toMillis(1L)) {
-            activityData.put(time, db.query(NetworkActivityIndexQueries.fetchActivityIndexGroupingsOn(time, threshold)));
-        }
+        activityData.putAll(db.query(ActivitySnapshotQueries.fetchActivityIndexGroupingsOn(getActivityGraphDates(date), threshold)));
 
         return createActivityGraphJSON(activityData);
     }
 
+    private List<Long> getActivityGraphDates(long date) {
+        List<Long> dates = new ArrayList<>();
+        for (long time = date; time >= date - TimeAmount.MONTH.toMillis(2L); time -= TimeAmount.WEEK.toMillis(1L)) {
+            dates.add(time);
+        }
+        return dates;
+    }
+
     public Map<String, Object> geolocationGraphsJSONAsMap(UUID serverUUID) {
         Database db = dbSystem.getDatabase();
         Map<String, Integer> geolocationCounts = db.query(GeoInfoQueries.serverGeolocationCounts(serverUUID));
@@ -383,13 +388,21 @@ public class GraphJSONCreator {
     }
 
     public Map<String, Object> punchCardJSONAsMap(UUID serverUUID) {
+        Database db = dbSystem.getDatabase();
         long now = System.currentTimeMillis();
         long monthAgo = now - TimeUnit.DAYS.toMillis(30L);
-        List<Session> sessions = dbSystem.getDatabase().query(
-                SessionQueries.fetchServerSessionsWithoutKillOrWorldData(monthAgo, now, serverUUID)
-        );
+        PunchCard punchCard;
+        // Hours of timezones with a partial hour offset do not line up with the hourly rollups
+        if (config.getTimeZone().getOffset(now) % RollupQueries.HOUR_MS == 0 && db.query(RollupQueries.hasHourlyRollups(serverUUID))) {
+            punchCard = graphs.special().punchCard(db.query(RollupQueries.sessionCountsPerHour(monthAgo, now, serverUUID)));
+        } else {
+            SessionColumns sessions = db.query(
+                    SessionQueries.fetchServerSessionColumnsWithoutKillOrWorldData(monthAgo, now, serverUUID)
+            );
+            punchCard = graphs.special().punchCard(sessions);
+        }
         return Maps.builder(String.class, Object.class)
-                .put("punchCard", graphs.special().punchCard(sessions).getDots())
+                .put("punchCard", punchCard.getDots())
                 .put("color", theme.getValue(ThemeVal.GRAPH_PUNCHCARD))
                 .build();
     }
@@ -16,9 +16,14 @@
  */
 package com.djrapitops.plan.delivery.rendering.json.graphs.special;
 
+import com.djrapitops.plan.delivery.domain.SessionColumns;
 import com.djrapitops.plan.delivery.domain.mutators.SessionsMutator;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
 
 /**
  * Bubble Chart that represents login "punches" of players.
@@ -27,7 +32,8 @@ import java.util.*;
  */
 public class PunchCard {
 
-    private final SessionsMutator sessions;
+    private final long[] sessionStarts;
+    private final int[] sessionCounts;
     private final TimeZone timeZone;
 
     /**
@@ -37,18 +43,52 @@ public class PunchCard {
      * @param timeZone TimeZone to use for the hour grouping.
      */
     PunchCard(SessionsMutator sessions, TimeZone timeZone) {
-        this.sessions = sessions;
+        this(sessions.toSessionStarts().stream().mapToLong(Long::longValue).toArray(), timeZone);
+    }
+
+    /**
+     * Constructor for the graph.
+     *
+     * @param sessions All sessions of All users this PunchCard represents.
+     * @param timeZone TimeZone to use for the hour grouping.
+     */
+    PunchCard(SessionColumns sessions, TimeZone timeZone) {
+        this(sessions.toSessionStartArray(), timeZone);
+    }
+
+    /**
+     * Constructor for the graph.
+     *
+     * @param sessionsPerHour Start of hour (epoch ms) - How many sessions started that hour.
+     * @param timeZone        TimeZone to use for the hour grouping, hours are placed by their start.
+     */
+    PunchCard(Map<Long, Integer> sessionsPerHour, TimeZone timeZone) {
+        this.sessionStarts = new long[sessionsPerHour.size()];
+        this.sessionCounts = new int[sessionsPerHour.size()];
+        this.timeZone = timeZone;
+        int i = 0;
+        for (Map.Entry<Long, Integer> hour : sessionsPerHour.entrySet()) {
+            sessionStarts[i] = hour.getKey();
+            sessionCounts[i] = hour.getValue();
+            i++;
+        }
+    }
+
+    private PunchCard(long[] sessionStarts, TimeZone timeZone) {
+        this.sessionStarts = sessionStarts;
+        this.sessionCounts = null;
         this.timeZone = timeZone;
     }
 
     /*
-     * First number signifies the Day of Week. (0 = Monday, 6 = Sunday)
-     * Second number signifies the Hour of Day. (0 = 0 AM, 23 = 11 PM)
+     * First index signifies the Day of Week. (0 = Monday, 6 = Sunday)
+     * Second index signifies the Hour of Day. (0 = 0 AM, 23 = 11 PM)
      */
-    private int[][] getDaysAndHours(Collection<Long> sessionStarts) {
-        return sessionStarts.stream().map((Long start) -> {
-            Calendar day = Calendar.getInstance(timeZone);
-            day.setTimeInMillis(start);
+    private int[][] turnIntoMatrix(long[] sessionStarts) {
+        int[][] matrix = createZeroMatrix();
+        Calendar day = Calendar.getInstance(timeZone);
+        for (int i = 0; i < sessionStarts.length; i++) {
+            day.setTimeInMillis(sessionStarts[i]);
             int hourOfDay = day.get(Calendar.HOUR_OF_DAY); // 0 AM is 0
             int dayOfWeek = day.get(Calendar.DAY_OF_WEEK) - 2; // Monday is 0, Sunday is -1
             if (dayOfWeek > 6) { // If Hour added a day on Sunday, move to Monday
@@ -57,17 +97,7 @@ public class PunchCard {
             if (dayOfWeek < 0) { // Move Sunday to 6
                 dayOfWeek = 6;
             }
-            return new int[]{dayOfWeek, hourOfDay};
-        }).toArray(int[][]::new);
-    }
-
-    private int[][] turnIntoMatrix(Collection<Long> sessionStarts) {
-        int[][] daysAndHours = getDaysAndHours(sessionStarts);
-        int[][] matrix = createZeroMatrix();
-        for (int[] dayAndHour : daysAndHours) {
-            int day = dayAndHour[0];
-            int hour = dayAndHour[1];
-            matrix[day][hour] = matrix[day][hour] + 1;
+            matrix[dayOfWeek][hourOfDay] += sessionCounts != null ? sessionCounts[i] : 1;
         }
         return matrix;
     }
@@ -75,8 +105,6 @@ public class PunchCard {
     public List<Dot> getDots() {
         List<Dot> dots = new ArrayList<>();
 
-        List<Long> sessionStarts = sessions.toSessionStarts();
-
         int[][] dayHourMatrix = turnIntoMatrix(sessionStarts);
         int big = findBiggestValue(dayHourMatrix);
         int[][] scaled = scale(dayHourMatrix, big);
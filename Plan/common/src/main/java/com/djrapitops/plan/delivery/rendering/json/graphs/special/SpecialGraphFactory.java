@@ -16,6 +16,7 @@
  */
 package com.djrapitops.plan.delivery.rendering.json.graphs.special;
 
+import com.djrapitops.plan.delivery.domain.SessionColumns;
 import com.djrapitops.plan.delivery.domain.mutators.SessionsMutator;
 import com.djrapitops.plan.gathering.domain.Session;
 import com.djrapitops.plan.settings.config.PlanConfig;
@@ -49,6 +50,14 @@ public class SpecialGraphFactory {
         return new PunchCard(sessions, config.getTimeZone());
     }
 
+    public PunchCard punchCard(SessionColumns sessions) {
+        return new PunchCard(sessions, config.getTimeZone());
+    }
+
+    public PunchCard punchCard(Map<Long, Integer> sessionsPerHour) {
+        return new PunchCard(sessionsPerHour, config.getTimeZone());
+    }
+
     public WorldMap worldMap(Map<String, Integer> geolocationCounts) {
         return new WorldMap(geolocationCounts);
     }
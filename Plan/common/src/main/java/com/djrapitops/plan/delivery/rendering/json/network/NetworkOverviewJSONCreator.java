@@ -27,6 +27,7 @@ import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.queries.QueryBatch;
 import com.djrapitops.plan.storage.database.queries.analysis.NetworkActivityIndexQueries;
 import com.djrapitops.plan.storage.database.queries.analysis.PlayerCountQueries;
 import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
@@ -91,14 +92,19 @@ public class NetworkOverviewJSONCreator implements NetworkTabJSONCreator<Map<Str
 
         Map<String, Object> sevenDays = new HashMap<>();
 
-        sevenDays.put("unique_players_1d", db.query(PlayerCountQueries.uniquePlayerCount(dayAgo, now)));
-        sevenDays.put("unique_players_7d", db.query(PlayerCountQueries.uniquePlayerCount(weekAgo, now)));
-        sevenDays.put("unique_players_30d", db.query(PlayerCountQueries.uniquePlayerCount(monthAgo, now)));
+        // Results are stored as is, so they are keyed by the json keys.
+        QueryBatch queries = new QueryBatch();
+        Map<String, QueryBatch.Result<Integer>> results = new HashMap<>();
+        results.put("unique_players_1d", queries.add(PlayerCountQueries.uniquePlayerCount(dayAgo, now)));
+        results.put("unique_players_7d", queries.add(PlayerCountQueries.uniquePlayerCount(weekAgo, now)));
+        results.put("unique_players_30d", queries.add(PlayerCountQueries.uniquePlayerCount(monthAgo, now)));
 
-        sevenDays.put("new_players_1d", db.query(PlayerCountQueries.newPlayerCount(dayAgo, now)));
-        sevenDays.put("new_players_7d", db.query(PlayerCountQueries.newPlayerCount(weekAgo, now)));
-        sevenDays.put("new_players_30d", db.query(PlayerCountQueries.newPlayerCount(monthAgo, now)));
+        results.put("new_players_1d", queries.add(PlayerCountQueries.newPlayerCount(dayAgo, now)));
+        results.put("new_players_7d", queries.add(PlayerCountQueries.newPlayerCount(weekAgo, now)));
+        results.put("new_players_30d", queries.add(PlayerCountQueries.newPlayerCount(monthAgo, now)));
 
+        db.queryAll(queries);
+        results.forEach((key, result) -> sevenDays.put(key, result.get()));
         return sevenDays;
     }
 
@@ -108,23 +114,32 @@ public class NetworkOverviewJSONCreator implements NetworkTabJSONCreator<Map<Str
         long twoDaysAgo = now - TimeUnit.DAYS.toMillis(2L);
         Long playtimeThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
 
+        UUID serverUUID = serverInfo.getServerUUID();
+        QueryBatch queries = new QueryBatch();
+        QueryBatch.Result<Integer> totalPlayersResult = queries.add(PlayerCountQueries.newPlayerCount(0L, now));
+        QueryBatch.Result<Integer> regularPlayersResult = queries.add(NetworkActivityIndexQueries.fetchRegularPlayerCount(now, playtimeThreshold));
+        QueryBatch.Result<Optional<DateObj<Integer>>> lastPeakResult = queries.add(TPSQueries.fetchPeakPlayerCount(serverUUID, twoDaysAgo));
+        QueryBatch.Result<Optional<DateObj<Integer>>> allTimePeakResult = queries.add(TPSQueries.fetchAllTimePeakPlayerCount(serverUUID));
+        QueryBatch.Result<Long> playtimeResult = queries.add(SessionQueries.playtime(0L, now));
+        QueryBatch.Result<Long> sessionsResult = queries.add(SessionQueries.sessionCount(0L, now));
+        db.queryAll(queries);
+
         Map<String, Object> numbers = new HashMap<>();
 
-        Integer userCount = db.query(PlayerCountQueries.newPlayerCount(0L, now));
+        Integer userCount = totalPlayersResult.get();
         numbers.put("total_players", userCount);
-        numbers.put("regular_players", db.query(NetworkActivityIndexQueries.fetchRegularPlayerCount(now, playtimeThreshold)));
+        numbers.put("regular_players", regularPlayersResult.get());
         numbers.put("online_players", serverSensor.getOnlinePlayerCount());
-        UUID serverUUID = serverInfo.getServerUUID();
-        Optional<DateObj<Integer>> lastPeak = db.query(TPSQueries.fetchPeakPlayerCount(serverUUID, twoDaysAgo));
-        Optional<DateObj<Integer>> allTimePeak = db.query(TPSQueries.fetchAllTimePeakPlayerCount(serverUUID));
+        Optional<DateObj<Integer>> lastPeak = lastPeakResult.get();
+        Optional<DateObj<Integer>> allTimePeak = allTimePeakResult.get();
         numbers.put("last_peak_date", lastPeak.map(year).orElse("-"));
         numbers.put("last_peak_players", lastPeak.map(dateObj -> dateObj.getValue().toString()).orElse("-"));
         numbers.put("best_peak_date", allTimePeak.map(year).orElse("-"));
         numbers.put("best_peak_players", allTimePeak.map(dateObj -> dateObj.getValue().toString()).orElse("-"));
-        Long totalPlaytime = db.query(SessionQueries.playtime(0L, now));
+        Long totalPlaytime = playtimeResult.get();
         numbers.put("playtime", timeAmount.apply(totalPlaytime));
         numbers.put("player_playtime", userCount != 0 ? timeAmount.apply(totalPlaytime / userCount) : "-");
-        Long sessionCount = db.query(SessionQueries.sessionCount(0L, now));
+        Long sessionCount = sessionsResult.get();
         numbers.put("sessions", sessionCount);
         numbers.put("session_length_avg", sessionCount != 0 ? timeAmount.apply(totalPlaytime / sessionCount) : "-");
 
@@ -138,34 +153,47 @@ public class NetworkOverviewJSONCreator implements NetworkTabJSONCreator<Map<Str
         long twoWeeksAgo = now - TimeUnit.DAYS.toMillis(14L);
         Long playtimeThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
 
+        QueryBatch queries = new QueryBatch();
+        QueryBatch.Result<Integer> uniqueBeforeResult = queries.add(PlayerCountQueries.uniquePlayerCount(twoWeeksAgo, oneWeekAgo));
+        QueryBatch.Result<Integer> uniqueAfterResult = queries.add(PlayerCountQueries.uniquePlayerCount(oneWeekAgo, now));
+        QueryBatch.Result<Integer> newBeforeResult = queries.add(PlayerCountQueries.newPlayerCount(twoWeeksAgo, oneWeekAgo));
+        QueryBatch.Result<Integer> newAfterResult = queries.add(PlayerCountQueries.newPlayerCount(oneWeekAgo, now));
+        QueryBatch.Result<Integer> regularBeforeResult = queries.add(NetworkActivityIndexQueries.fetchRegularPlayerCount(oneWeekAgo, playtimeThreshold));
+        QueryBatch.Result<Integer> regularAfterResult = queries.add(NetworkActivityIndexQueries.fetchRegularPlayerCount(now, playtimeThreshold));
+        QueryBatch.Result<Long> playtimeBeforeResult = queries.add(SessionQueries.playtime(twoWeeksAgo, oneWeekAgo));
+        QueryBatch.Result<Long> playtimeAfterResult = queries.add(SessionQueries.playtime(oneWeekAgo, now));
+        QueryBatch.Result<Long> sessionsBeforeResult = queries.add(SessionQueries.sessionCount(twoWeeksAgo, oneWeekAgo));
+        QueryBatch.Result<Long> sessionsAfterResult = queries.add(SessionQueries.sessionCount(oneWeekAgo, now));
+        db.queryAll(queries);
+
         Map<String, Object> weeks = new HashMap<>();
 
         weeks.put("start", day.apply(twoWeeksAgo));
         weeks.put("midpoint", day.apply(oneWeekAgo));
         weeks.put("end", day.apply(now));
 
-        Integer uniqueBefore = db.query(PlayerCountQueries.uniquePlayerCount(twoWeeksAgo, oneWeekAgo));
-        Integer uniqueAfter = db.query(PlayerCountQueries.uniquePlayerCount(oneWeekAgo, now));
+        Integer uniqueBefore = uniqueBeforeResult.get();
+        Integer uniqueAfter = uniqueAfterResult.get();
         Trend uniqueTrend = new Trend(uniqueBefore, uniqueAfter, false);
         weeks.put("unique_before", uniqueBefore);
         weeks.put("unique_after", uniqueAfter);
         weeks.put("unique_trend", uniqueTrend);
 
-        Integer newBefore = db.query(PlayerCountQueries.newPlayerCount(twoWeeksAgo, oneWeekAgo));
-        Integer newAfter = db.query(PlayerCountQueries.newPlayerCount(oneWeekAgo, now));
+        Integer newBefore = newBeforeResult.get();
+        Integer newAfter = newAfterResult.get();
         Trend newTrend = new Trend(newBefore, newAfter, false);
         weeks.put("new_before", newBefore);
         weeks.put("new_after", newAfter);
         weeks.put("new_trend", newTrend);
 
-        int regularBefore = db.query(NetworkActivityIndexQueries.fetchRegularPlayerCount(oneWeekAgo, playtimeThreshold));
-        int regularAfter = db.query(NetworkActivityIndexQueries.fetchRegularPlayerCount(now, playtimeThreshold));
+        int regularBefore = regularBeforeResult.get();
+        int regularAfter = regularAfterResult.get();
         weeks.put("regular_before", regularBefore);
         weeks.put("regular_after", regularAfter);
         weeks.put("regular_trend", new Trend(regularBefore, regularAfter, false));
 
-        Long playtimeBefore = db.query(SessionQueries.playtime(twoWeeksAgo, oneWeekAgo));
-        Long playtimeAfter = db.query(SessionQueries.playtime(oneWeekAgo, now));
+        Long playtimeBefore = playtimeBeforeResult.get();
+        Long playtimeAfter = playtimeAfterResult.get();
         long avgPlaytimeBefore = uniqueBefore != 0 ? playtimeBefore / uniqueBefore : 0L;
         long avgPlaytimeAfter = uniqueAfter != 0 ? playtimeAfter / uniqueAfter : 0L;
         Trend avgPlaytimeTrend = new Trend(avgPlaytimeBefore, avgPlaytimeAfter, false, timeAmount);
@@ -173,8 +201,8 @@ public class NetworkOverviewJSONCreator implements NetworkTabJSONCreator<Map<Str
         weeks.put("average_playtime_after", timeAmount.apply(avgPlaytimeAfter));
         weeks.put("average_playtime_trend", avgPlaytimeTrend);
 
-        Long sessionsBefore = db.query(SessionQueries.sessionCount(twoWeeksAgo, oneWeekAgo));
-        Long sessionsAfter = db.query(SessionQueries.sessionCount(oneWeekAgo, now));
+        Long sessionsBefore = sessionsBeforeResult.get();
+        Long sessionsAfter = sessionsAfterResult.get();
         Trend sessionsTrend = new Trend(sessionsBefore, sessionsAfter, false);
         weeks.put("sessions_before", sessionsBefore);
         weeks.put("sessions_after", sessionsAfter);
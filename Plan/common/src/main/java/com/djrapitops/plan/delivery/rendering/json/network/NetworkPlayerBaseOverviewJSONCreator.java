@@ -23,6 +23,7 @@ import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.queries.QueryBatch;
 import com.djrapitops.plan.storage.database.queries.analysis.NetworkActivityIndexQueries;
 import com.djrapitops.plan.storage.database.queries.analysis.PlayerCountQueries;
 import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
@@ -74,48 +75,65 @@ public class NetworkPlayerBaseOverviewJSONCreator implements NetworkTabJSONCreat
         long twoMonthsAgo = now - TimeUnit.DAYS.toMillis(60L);
         Long playThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
 
+        QueryBatch queries = new QueryBatch();
+        QueryBatch.Result<Integer> playersBeforeResult = queries.add(PlayerCountQueries.newPlayerCount(0L, monthAgo));
+        QueryBatch.Result<Integer> playersAfterResult = queries.add(PlayerCountQueries.newPlayerCount(0L, now));
+        QueryBatch.Result<Integer> regularBeforeResult = queries.add(NetworkActivityIndexQueries.fetchRegularPlayerCount(monthAgo, playThreshold));
+        QueryBatch.Result<Integer> regularAfterResult = queries.add(NetworkActivityIndexQueries.fetchRegularPlayerCount(now, playThreshold));
+        QueryBatch.Result<Long> avgPlaytimeBeforeResult = queries.add(SessionQueries.averagePlaytimePerPlayer(twoMonthsAgo, monthAgo));
+        QueryBatch.Result<Long> avgPlaytimeAfterResult = queries.add(SessionQueries.averagePlaytimePerPlayer(monthAgo, now));
+        QueryBatch.Result<Long> avgAfkBeforeResult = queries.add(SessionQueries.averageAfkPerPlayer(twoMonthsAgo, monthAgo));
+        QueryBatch.Result<Long> avgAfkAfterResult = queries.add(SessionQueries.averageAfkPerPlayer(monthAgo, now));
+        QueryBatch.Result<Long> avgRegularPlaytimeBeforeResult = queries.add(NetworkActivityIndexQueries.averagePlaytimePerRegularPlayer(twoMonthsAgo, monthAgo, playThreshold));
+        QueryBatch.Result<Long> avgRegularPlaytimeAfterResult = queries.add(NetworkActivityIndexQueries.averagePlaytimePerRegularPlayer(monthAgo, now, playThreshold));
+        QueryBatch.Result<Long> avgRegularSessionLengthBeforeResult = queries.add(NetworkActivityIndexQueries.averageSessionLengthPerRegularPlayer(twoMonthsAgo, monthAgo, playThreshold));
+        QueryBatch.Result<Long> avgRegularSessionLengthAfterResult = queries.add(NetworkActivityIndexQueries.averageSessionLengthPerRegularPlayer(monthAgo, now, playThreshold));
+        QueryBatch.Result<Long> avgRegularAfkBeforeResult = queries.add(NetworkActivityIndexQueries.averageAFKPerRegularPlayer(twoMonthsAgo, monthAgo, playThreshold));
+        QueryBatch.Result<Long> avgRegularAfkAfterResult = queries.add(NetworkActivityIndexQueries.averageAFKPerRegularPlayer(monthAgo, now, playThreshold));
+        db.queryAll(queries);
+
         Map<String, Object> trends = new HashMap<>();
 
-        Integer playersBefore = db.query(PlayerCountQueries.newPlayerCount(0L, monthAgo));
-        Integer playersAfter = db.query(PlayerCountQueries.newPlayerCount(0L, now));
+        Integer playersBefore = playersBeforeResult.get();
+        Integer playersAfter = playersAfterResult.get();
         trends.put("total_players_then", playersBefore);
         trends.put("total_players_now", playersAfter);
         trends.put("total_players_trend", new Trend(playersBefore, playersAfter, false));
 
-        Integer regularBefore = db.query(NetworkActivityIndexQueries.fetchRegularPlayerCount(monthAgo, playThreshold));
-        Integer regularAfter = db.query(NetworkActivityIndexQueries.fetchRegularPlayerCount(now, playThreshold));
+        Integer regularBefore = regularBeforeResult.get();
+        Integer regularAfter = regularAfterResult.get();
         trends.put("regular_players_then", regularBefore);
         trends.put("regular_players_now", regularAfter);
         trends.put("regular_players_trend", new Trend(regularBefore, regularAfter, false));
 
-        Long avgPlaytimeBefore = db.query(SessionQueries.averagePlaytimePerPlayer(twoMonthsAgo, monthAgo));
-        Long avgPlaytimeAfter = db.query(SessionQueries.averagePlaytimePerPlayer(monthAgo, now));
+        Long avgPlaytimeBefore = avgPlaytimeBeforeResult.get();
+        Long avgPlaytimeAfter = avgPlaytimeAfterResult.get();
         trends.put("playtime_avg_then", timeAmount.apply(avgPlaytimeBefore));
         trends.put("playtime_avg_now", timeAmount.apply(avgPlaytimeAfter));
         trends.put("playtime_avg_trend", new Trend(avgPlaytimeBefore, avgPlaytimeAfter, false, timeAmount));
 
-        Long avgAfkBefore = db.query(SessionQueries.averageAfkPerPlayer(twoMonthsAgo, monthAgo));
-        Long avgAfkAfter = db.query(SessionQueries.averageAfkPerPlayer(monthAgo, now));
+        Long avgAfkBefore = avgAfkBeforeResult.get();
+        Long avgAfkAfter = avgAfkAfterResult.get();
         double afkPercBefore = avgPlaytimeBefore != 0 ? (double) avgAfkBefore / avgPlaytimeBefore : 0;
         double afkPercAfter = avgPlaytimeAfter != 0 ? (double) avgAfkAfter / avgPlaytimeAfter : 0;
         trends.put("afk_then", percentage.apply(afkPercBefore));
         trends.put("afk_now", percentage.apply(afkPercAfter));
         trends.put("afk_trend", new Trend(afkPercBefore, afkPercAfter, Trend.REVERSED, percentage));
 
-        Long avgRegularPlaytimeBefore = db.query(NetworkActivityIndexQueries.averagePlaytimePerRegularPlayer(twoMonthsAgo, monthAgo, playThreshold));
-        Long avgRegularPlaytimeAfter = db.query(NetworkActivityIndexQueries.averagePlaytimePerRegularPlayer(monthAgo, now, playThreshold));
+        Long avgRegularPlaytimeBefore = avgRegularPlaytimeBeforeResult.get();
+        Long avgRegularPlaytimeAfter = avgRegularPlaytimeAfterResult.get();
         trends.put("regular_playtime_avg_then", timeAmount.apply(avgRegularPlaytimeBefore));
         trends.put("regular_playtime_avg_now", timeAmount.apply(avgRegularPlaytimeAfter));
         trends.put("regular_playtime_avg_trend", new Trend(avgRegularPlaytimeBefore, avgRegularPlaytimeAfter, false, timeAmount));
 
-        Long avgRegularSessionLengthBefore = db.query(NetworkActivityIndexQueries.averageSessionLengthPerRegularPlayer(twoMonthsAgo, monthAgo, playThreshold));
-        Long avgRegularSessionLengthAfter = db.query(NetworkActivityIndexQueries.averageSessionLengthPerRegularPlayer(monthAgo, now, playThreshold));
+        Long avgRegularSessionLengthBefore = avgRegularSessionLengthBeforeResult.get();
+        Long avgRegularSessionLengthAfter = avgRegularSessionLengthAfterResult.get();
         trends.put("regular_session_avg_then", timeAmount.apply(avgRegularSessionLengthBefore));
         trends.put("regular_session_avg_now", timeAmount.apply(avgRegularSessionLengthAfter));
         trends.put("regular_session_avg_trend", new Trend(avgRegularSessionLengthBefore, avgRegularSessionLengthAfter, false, timeAmount));
 
-        Long avgRegularAfkBefore = db.query(NetworkActivityIndexQueries.averageAFKPerRegularPlayer(twoMonthsAgo, monthAgo, playThreshold));
-        Long avgRegularAfkAfter = db.query(NetworkActivityIndexQueries.averageAFKPerRegularPlayer(monthAgo, now, playThreshold));
+        Long avgRegularAfkBefore = avgRegularAfkBeforeResult.get();
+        Long avgRegularAfkAfter = avgRegularAfkAfterResult.get();
         double afkRegularPercBefore = avgRegularPlaytimeBefore != 0 ? (double) avgRegularAfkBefore / avgRegularPlaytimeBefore : 0;
         double afkRegularPercAfter = avgRegularPlaytimeAfter != 0 ? (double) avgRegularAfkAfter / avgRegularPlaytimeAfter : 0;
         trends.put("regular_afk_avg_then", percentage.apply(afkRegularPercBefore));
@@ -132,17 +150,26 @@ public class NetworkPlayerBaseOverviewJSONCreator implements NetworkTabJSONCreat
         long monthAgo = now - TimeUnit.DAYS.toMillis(30L);
         Long playThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
 
+        QueryBatch queries = new QueryBatch();
+        QueryBatch.Result<Integer> newToRegularResult = queries.add(NetworkActivityIndexQueries.countNewPlayersTurnedRegular(monthAgo, now, playThreshold));
+        QueryBatch.Result<Integer> newToRegularBeforeResult = queries.add(NetworkActivityIndexQueries.countNewPlayersTurnedRegular(monthAgo, halfMonthAgo, playThreshold));
+        QueryBatch.Result<Integer> newToRegularAfterResult = queries.add(NetworkActivityIndexQueries.countNewPlayersTurnedRegular(halfMonthAgo, now, playThreshold));
+        QueryBatch.Result<Integer> regularToInactiveResult = queries.add(NetworkActivityIndexQueries.countRegularPlayersTurnedInactive(monthAgo, now, playThreshold));
+        QueryBatch.Result<Integer> regularToInactiveBeforeResult = queries.add(NetworkActivityIndexQueries.countRegularPlayersTurnedInactive(monthAgo, halfMonthAgo, playThreshold));
+        QueryBatch.Result<Integer> regularToInactiveAfterResult = queries.add(NetworkActivityIndexQueries.countRegularPlayersTurnedInactive(halfMonthAgo, now, playThreshold));
+        db.queryAll(queries);
+
         Map<String, Object> insights = new HashMap<>();
 
-        int newToRegular = db.query(NetworkActivityIndexQueries.countNewPlayersTurnedRegular(monthAgo, now, playThreshold));
-        Integer newToRegularBefore = db.query(NetworkActivityIndexQueries.countNewPlayersTurnedRegular(monthAgo, halfMonthAgo, playThreshold));
-        Integer newToRegularAfter = db.query(NetworkActivityIndexQueries.countNewPlayersTurnedRegular(halfMonthAgo, now, playThreshold));
+        int newToRegular = newToRegularResult.get();
+        Integer newToRegularBefore = newToRegularBeforeResult.get();
+        Integer newToRegularAfter = newToRegularAfterResult.get();
         insights.put("new_to_regular", newToRegular);
         insights.put("new_to_regular_trend", new Trend(newToRegularBefore, newToRegularAfter, false));
 
-        Integer regularToInactive = db.query(NetworkActivityIndexQueries.countRegularPlayersTurnedInactive(monthAgo, now, playThreshold));
-        Integer regularToInactiveBefore = db.query(NetworkActivityIndexQueries.countRegularPlayersTurnedInactive(monthAgo, halfMonthAgo, playThreshold));
-        Integer regularToInactiveAfter = db.query(NetworkActivityIndexQueries.countRegularPlayersTurnedInactive(halfMonthAgo, now, playThreshold));
+        Integer regularToInactive = regularToInactiveResult.get();
+        Integer regularToInactiveBefore = regularToInactiveBeforeResult.get();
+        Integer regularToInactiveAfter = regularToInactiveAfterResult.get();
         insights.put("regular_to_inactive", regularToInactive);
         insights.put("regular_to_inactive_trend", new Trend(regularToInactiveBefore, regularToInactiveAfter, Trend.REVERSED));
 
@@ -24,12 +24,22 @@ import com.djrapitops.plan.delivery.rendering.html.Contributors;
 import com.djrapitops.plan.delivery.rendering.html.Html;
 import com.djrapitops.plan.delivery.rendering.html.icon.Icon;
 import com.djrapitops.plan.delivery.rendering.html.structure.TabsElement;
+import com.djrapitops.plan.delivery.webserver.WebServerThreadPools;
+import com.djrapitops.plan.delivery.webserver.cache.RequestCoalescer;
+import com.djrapitops.plan.extension.ExtensionSvc;
+import com.djrapitops.plan.extension.implementation.ExtensionCircuitBreaker;
 import com.djrapitops.plan.gathering.cache.SessionCache;
 import com.djrapitops.plan.gathering.domain.Session;
+import com.djrapitops.plan.gathering.geolocation.GeolocationCache;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.identification.properties.ServerProperties;
+import com.djrapitops.plan.storage.database.ConnectionPoolMetrics;
 import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.MySQLDB;
+import com.djrapitops.plan.storage.database.SQLDB;
+import com.djrapitops.plan.storage.database.TransactionMetrics;
 import com.djrapitops.plan.storage.file.ResourceCache;
+import com.djrapitops.plan.utilities.analysis.LatencyHistogram;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
 import com.djrapitops.plan.version.VersionChecker;
@@ -39,6 +49,7 @@ import com.djrapitops.plugin.logging.L;
 import com.djrapitops.plugin.logging.debug.CombineDebugLogger;
 import com.djrapitops.plugin.logging.debug.DebugLogger;
 import com.djrapitops.plugin.logging.debug.MemoryDebugLogger;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
 import java.util.*;
 
@@ -56,6 +67,10 @@ public class DebugPage implements Page {
     private final CombineDebugLogger debugLogger;
     private final Timings timings;
     private final ErrorLogger errorLogger;
+    private final GeolocationCache geolocationCache;
+    private final ExtensionSvc extensionService;
+    private final WebServerThreadPools webServerThreadPools;
+    private final RequestCoalescer requestCoalescer;
 
     private final Formatter<Long> yearFormatter;
 
@@ -68,7 +83,11 @@ public class DebugPage implements Page {
             VersionChecker versionChecker,
             DebugLogger debugLogger,
             Timings timings,
-            ErrorLogger errorLogger
+            ErrorLogger errorLogger,
+            GeolocationCache geolocationCache,
+            ExtensionSvc extensionService,
+            WebServerThreadPools webServerThreadPools,
+            RequestCoalescer requestCoalescer
     ) {
         this.template = htmlTemplate;
 
@@ -78,6 +97,10 @@ public class DebugPage implements Page {
         this.debugLogger = (CombineDebugLogger) debugLogger;
         this.timings = timings;
         this.errorLogger = errorLogger;
+        this.geolocationCache = geolocationCache;
+        this.extensionService = extensionService;
+        this.webServerThreadPools = webServerThreadPools;
+        this.requestCoalescer = requestCoalescer;
 
         this.yearFormatter = formatters.yearLong();
     }
@@ -109,8 +132,9 @@ public class DebugPage implements Page {
         TabsElement.Tab errors = new TabsElement.Tab(Icon.called("exclamation-circle") + " Errors", createErrorContent());
         TabsElement.Tab debugLog = new TabsElement.Tab(Icon.called("bug") + " Debug Log", createDebugLogContent());
         TabsElement.Tab caches = new TabsElement.Tab(Icon.called("archive") + " Plan Caches", createCacheContent());
+        TabsElement.Tab performance = new TabsElement.Tab(Icon.called("tachometer-alt") + " Performance", createPerformanceContent());
 
-        TabsElement tabs = new TabsElement(info, errors, debugLog, caches);
+        TabsElement tabs = new TabsElement(info, errors, debugLog, caches, performance);
 
         return preContent + tabs.toHtmlFull();
     }
@@ -119,6 +143,7 @@ public class DebugPage implements Page {
         StringBuilder content = new StringBuilder();
         appendResourceCache(content);
         appendSessionCache(content);
+        appendGeolocationCache(content);
         return content.toString();
     }
 
@@ -159,6 +184,134 @@ public class DebugPage implements Page {
         }
     }
 
+    private void appendGeolocationCache(StringBuilder content) {
+        try {
+            CacheStats stats = geolocationCache.getCacheStats();
+            content.append("<pre>### Geolocation Cache:<br><br>")
+                    .append("Geolocation enabled: ").append(geolocationCache.canGeolocate()).append("<br>")
+                    .append("Cached addresses: ").append(geolocationCache.getCachedAddressCount()).append("<br>")
+                    .append("Hits: ").append(stats.hitCount()).append("<br>")
+                    .append("Misses: ").append(stats.missCount()).append("<br>")
+                    .append("Hit rate: ").append(String.format("%.2f", stats.hitRate() * 100.0)).append("%<br>")
+                    .append("Average lookup time: ").append(String.format("%.3f", stats.averageLoadPenalty() / 1_000_000.0)).append("ms<br>")
+                    .append("</pre>");
+        } catch (Exception e) {
+            errorLogger.log(L.WARN, e, ErrorContext.builder().related("/debug page access, Geolocation cache").build());
+        }
+    }
+
+    private String createPerformanceContent() {
+        StringBuilder content = new StringBuilder();
+        appendConnectionPoolMetrics(content);
+        appendTransactionMetrics(content);
+        appendStatementCache(content);
+        appendExtensionGathering(content);
+        appendWebServerThreads(content);
+        return content.toString();
+    }
+
+    private void appendStatementCache(StringBuilder content) {
+        if (!(database instanceof SQLDB)) return;
+        content.append("<pre>### Prepared Statement Cache:<br><br>");
+        if (database instanceof MySQLDB) {
+            content.append("Cached by MySQL driver (cachePrepStmts)");
+        } else {
+            content.append(((SQLDB) database).getStatementCache());
+        }
+        content.append("</pre>");
+    }
+
+    private void appendExtensionGathering(StringBuilder content) {
+        try {
+            content.append("<pre>### DataExtension gathering:<br><br>")
+                    .append("Extension | State | Gathering time<br>")
+                    .append("-- | -- | --<br>");
+            for (Map.Entry<String, ExtensionCircuitBreaker> entry : extensionService.getCircuitBreakers().entrySet()) {
+                ExtensionCircuitBreaker circuitBreaker = entry.getValue();
+                String state = circuitBreaker.isSuspended()
+                        ? "Suspended for " + circuitBreaker.getSuspendedForMs() / 1000L + "s"
+                        : "Running: " + circuitBreaker.getRunningCount();
+                content.append(entry.getKey()).append(" | ")
+                        .append(state).append(", suspended ").append(circuitBreaker.getTimesSuspended()).append(" times | ")
+                        .append(circuitBreaker.getGatheringLatency()).append("<br>");
+            }
+            content.append("<br>Method | Call time<br>")
+                    .append("-- | --<br>");
+            for (Map.Entry<String, LatencyHistogram> entry : extensionService.getMethodCallLatencies().entrySet()) {
+                content.append(entry.getKey()).append(" | ").append(entry.getValue()).append("<br>");
+            }
+            content.append("</pre>");
+        } catch (Exception e) {
+            errorLogger.log(L.WARN, e, ErrorContext.builder().related("/debug page access, extension gathering").build());
+        }
+    }
+
+    private void appendWebServerThreads(StringBuilder content) {
+        try {
+            content.append("<pre>### Webserver:<br><br>")
+                    .append("Request handling: ").append(webServerThreadPools.getMode()).append("<br>")
+                    .append("Generating responses: ").append(webServerThreadPools.getActiveGenerators())
+                    .append(" / ").append(webServerThreadPools.getGeneratorThreads()).append(" threads<br>")
+                    .append("Queued generation requests: ").append(webServerThreadPools.getGeneratorQueueDepth()).append("<br>")
+                    .append("Fast lane active: ").append(webServerThreadPools.getActiveFastLane()).append("<br>")
+                    .append("Queued fast lane requests: ").append(webServerThreadPools.getFastLaneQueueDepth()).append("<br>")
+                    .append("Rejected generation requests (503): ").append(webServerThreadPools.getRejectedGenerations()).append("<br>")
+                    .append("Rejected connections: ").append(webServerThreadPools.getRejectedConnections()).append("<br><br>")
+                    .append("Resolver | Response time<br>")
+                    .append("-- | --<br>");
+            for (Map.Entry<String, LatencyHistogram> entry : webServerThreadPools.getResolverLatencies().entrySet()) {
+                content.append(entry.getKey()).append(" | ").append(entry.getValue()).append("<br>");
+            }
+            content.append("<br>Json generations: ").append(requestCoalescer.getGenerations()).append("<br>")
+                    .append("Requests that shared a generation: ").append(requestCoalescer.getCoalesced()).append("<br>")
+                    .append("Generating now: ").append(requestCoalescer.getInFlight()).append("<br><br>")
+                    .append("Resolver | Time waited for shared generation<br>")
+                    .append("-- | --<br>");
+            for (Map.Entry<String, LatencyHistogram> entry : requestCoalescer.getWaitLatencies().entrySet()) {
+                content.append(entry.getKey()).append(" | ").append(entry.getValue()).append("<br>");
+            }
+            content.append("</pre>");
+        } catch (Exception e) {
+            errorLogger.log(L.WARN, e, ErrorContext.builder().related("/debug page access, webserver metrics").build());
+        }
+    }
+
+    private void appendTransactionMetrics(StringBuilder content) {
+        if (!(database instanceof SQLDB)) return;
+        try {
+            SQLDB sqlDB = (SQLDB) database;
+            TransactionMetrics metrics = sqlDB.getTransactionMetrics();
+            content.append("<pre>### Transactions:<br><br>")
+                    .append("Queued transactions by writer: ").append(sqlDB.getTransactionQueueSizes()).append("<br>")
+                    .append("Time in queue: ").append(metrics.getQueueLatency()).append("<br><br>")
+                    .append("Transaction | Execution time <br>")
+                    .append("-- | -- <br>");
+            for (Map.Entry<String, LatencyHistogram> entry : metrics.getExecutionLatencies().entrySet()) {
+                content.append(entry.getKey()).append(" | ").append(entry.getValue()).append("<br>");
+            }
+            content.append("</pre>");
+        } catch (Exception e) {
+            errorLogger.log(L.WARN, e, ErrorContext.builder().related("/debug page access, transaction metrics").build());
+        }
+    }
+
+    private void appendConnectionPoolMetrics(StringBuilder content) {
+        if (!(database instanceof MySQLDB)) return;
+        try {
+            ConnectionPoolMetrics metrics = ((MySQLDB) database).getPoolMetrics();
+            content.append("<pre>### Connection Pool:<br><br>")
+                    .append("Active connections: ").append(metrics.getActiveConnections()).append("<br>")
+                    .append("Idle connections: ").append(metrics.getIdleConnections()).append("<br>")
+                    .append("Threads waiting for connection: ").append(metrics.getThreadsAwaitingConnection()).append("<br>")
+                    .append("Connection timeouts: ").append(metrics.getTimeouts()).append("<br>")
+                    .append("Acquire latency: ").append(metrics.getAcquireLatency()).append("<br>")
+                    .append("Connection usage time: ").append(metrics.getUsageLatency()).append("<br>")
+                    .append("</pre>");
+        } catch (Exception e) {
+            errorLogger.log(L.WARN, e, ErrorContext.builder().related("/debug page access, connection pool metrics").build());
+        }
+    }
+
     private String createDebugLogContent() {
         StringBuilder content = new StringBuilder();
         appendDebugLog(content);
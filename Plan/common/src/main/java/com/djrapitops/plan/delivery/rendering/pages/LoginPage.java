@@ -19,8 +19,6 @@ package com.djrapitops.plan.delivery.rendering.pages;
 import com.djrapitops.plan.delivery.formatting.PlaceholderReplacer;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.settings.locale.Locale;
-import com.djrapitops.plan.settings.theme.Theme;
-import com.djrapitops.plan.utilities.java.UnaryChain;
 import com.djrapitops.plugin.api.Check;
 
 /**
@@ -33,29 +31,23 @@ public class LoginPage implements Page {
     private final String template;
     private final ServerInfo serverInfo;
     private final Locale locale;
-    private final Theme theme;
 
     LoginPage(
             String htmlTemplate,
             ServerInfo serverInfo,
-            Locale locale,
-            Theme theme
+            Locale locale
     ) {
         this.template = htmlTemplate;
         this.serverInfo = serverInfo;
         this.locale = locale;
-        this.theme = theme;
     }
 
     @Override
     public String toHtml() {
         PlaceholderReplacer placeholders = new PlaceholderReplacer();
         placeholders.put("command", getCommand());
-        return UnaryChain.of(template)
-                .chain(theme::replaceThemeColors)
-                .chain(placeholders::apply)
-                .chain(locale::replaceLanguageInHtml)
-                .apply();
+        // Template is already translated, so only the values need to be translated.
+        return placeholders.formatValues(locale::replaceLanguageInHtml).apply(template);
     }
 
     private String getCommand() {
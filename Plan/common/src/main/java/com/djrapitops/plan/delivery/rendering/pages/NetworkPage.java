@@ -114,11 +114,11 @@ public class NetworkPage implements Page {
         String nav = jsonStorage.fetchJsonMadeAfter(navIdentifier, after).orElseGet(() -> {
             jsonStorage.invalidateOlder(navIdentifier, after);
             return jsonStorage.storeJson(navIdentifier, pluginTabs.get().getNav());
-        }).json;
+        }).getJson();
         String tabs = jsonStorage.fetchJsonMadeAfter(tabIdentifier, after).orElseGet(() -> {
             jsonStorage.invalidateOlder(tabIdentifier, after);
             return jsonStorage.storeJson(tabIdentifier, pluginTabs.get().getTabs());
-        }).json;
+        }).getJson();
 
         PlaceholderReplacer pluginPlaceholders = new PlaceholderReplacer();
         pluginPlaceholders.put("networkDisplayName", config.get(ProxySettings.NETWORK_NAME));
@@ -127,11 +127,10 @@ public class NetworkPage implements Page {
         pluginPlaceholders.put("navPluginsTabs", nav);
         pluginPlaceholders.put("tabsPlugins", StringUtils.remove(tabs, "${backButton}"));
 
+        // Template is already translated, so only the values need to be translated.
         return UnaryChain.of(templateHtml)
-                .chain(theme::replaceThemeColors)
-                .chain(placeholders::apply)
-                .chain(pluginPlaceholders::apply)
-                .chain(locale::replaceLanguageInHtml)
+                .chain(placeholders.formatValues(locale::replaceLanguageInHtml)::apply)
+                .chain(pluginPlaceholders.formatValues(locale::replaceLanguageInHtml)::apply)
                 .apply();
     }
 }
\ No newline at end of file
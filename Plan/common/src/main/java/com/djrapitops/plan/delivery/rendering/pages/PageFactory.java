@@ -21,9 +21,14 @@ import com.djrapitops.plan.delivery.formatting.Formatters;
 import com.djrapitops.plan.delivery.rendering.html.icon.Icon;
 import com.djrapitops.plan.delivery.web.ResourceService;
 import com.djrapitops.plan.delivery.web.resolver.exception.NotFoundException;
+import com.djrapitops.plan.delivery.webserver.WebServerThreadPools;
 import com.djrapitops.plan.delivery.webserver.cache.JSONStorage;
+import com.djrapitops.plan.delivery.webserver.cache.RequestCoalescer;
+import com.djrapitops.plan.delivery.webserver.cache.TranslatedResourceCache;
+import com.djrapitops.plan.extension.ExtensionSvc;
 import com.djrapitops.plan.extension.implementation.results.ExtensionData;
 import com.djrapitops.plan.extension.implementation.storage.queries.ExtensionPlayerDataQuery;
+import com.djrapitops.plan.gathering.geolocation.GeolocationCache;
 import com.djrapitops.plan.identification.Server;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.settings.config.PlanConfig;
@@ -66,6 +71,11 @@ public class PageFactory {
     private final Lazy<DebugLogger> debugLogger;
     private final Lazy<Timings> timings;
     private final Lazy<ErrorLogger> errorLogger;
+    private final Lazy<GeolocationCache> geolocationCache;
+    private final Lazy<ExtensionSvc> extensionService;
+    private final Lazy<WebServerThreadPools> webServerThreadPools;
+    private final Lazy<RequestCoalescer> requestCoalescer;
+    private final Lazy<TranslatedResourceCache> translatedResources;
 
     @Inject
     public PageFactory(
@@ -80,7 +90,12 @@ public class PageFactory {
             Lazy<Formatters> formatters,
             Lazy<DebugLogger> debugLogger,
             Lazy<Timings> timings,
-            Lazy<ErrorLogger> errorLogger
+            Lazy<ErrorLogger> errorLogger,
+            Lazy<GeolocationCache> geolocationCache,
+            Lazy<ExtensionSvc> extensionService,
+            Lazy<WebServerThreadPools> webServerThreadPools,
+            Lazy<RequestCoalescer> requestCoalescer,
+            Lazy<TranslatedResourceCache> translatedResources
     ) {
         this.versionChecker = versionChecker;
         this.files = files;
@@ -94,19 +109,25 @@ public class PageFactory {
         this.debugLogger = debugLogger;
         this.timings = timings;
         this.errorLogger = errorLogger;
+        this.geolocationCache = geolocationCache;
+        this.extensionService = extensionService;
+        this.webServerThreadPools = webServerThreadPools;
+        this.requestCoalescer = requestCoalescer;
+        this.translatedResources = translatedResources;
     }
 
     public DebugPage debugPage() throws IOException {
         return new DebugPage(
                 getResource("error.html"),
                 dbSystem.get().getDatabase(), serverInfo.get(), formatters.get(), versionChecker.get(),
-                debugLogger.get(), timings.get(), errorLogger.get()
+                debugLogger.get(), timings.get(), errorLogger.get(), geolocationCache.get(), extensionService.get(),
+                webServerThreadPools.get(), requestCoalescer.get()
         );
     }
 
     public PlayersPage playersPage() throws IOException {
-        return new PlayersPage(getResource("players.html"), versionChecker.get(),
-                config.get(), locale.get(), theme.get(), serverInfo.get());
+        return new PlayersPage(getTranslatedResource("players.html"), versionChecker.get(),
+                config.get(), locale.get(), serverInfo.get());
     }
 
     /**
@@ -121,7 +142,7 @@ public class PageFactory {
         Server server = dbSystem.get().getDatabase().query(ServerQueries.fetchServerMatchingIdentifier(serverUUID))
                 .orElseThrow(() -> new NotFoundException("Server not found in the database"));
         return new ServerPage(
-                getResource("server.html"),
+                getTranslatedResource("server.html"),
                 server,
                 config.get(),
                 theme.get(),
@@ -138,7 +159,7 @@ public class PageFactory {
         Database db = dbSystem.get().getDatabase();
         PlayerContainer player = db.query(ContainerFetchQueries.fetchPlayerContainer(playerUUID));
         return new PlayerPage(
-                getResource("player.html"), player,
+                getTranslatedResource("player.html"), player,
                 versionChecker.get(),
                 config.get(), this, theme.get(), locale.get(),
                 formatters.get(), serverInfo.get()
@@ -179,7 +200,7 @@ public class PageFactory {
     }
 
     public NetworkPage networkPage() throws IOException {
-        return new NetworkPage(getResource("network.html"),
+        return new NetworkPage(getTranslatedResource("network.html"),
                 dbSystem.get(),
                 versionChecker.get(),
                 config.get(), theme.get(), locale.get(),
@@ -202,14 +223,14 @@ public class PageFactory {
 
     public Page errorPage(String title, String error) throws IOException {
         return new ErrorMessagePage(
-                getResource("error.html"), title, error,
-                versionChecker.get(), locale.get(), theme.get());
+                getTranslatedResource("error.html"), title, error,
+                versionChecker.get(), locale.get());
     }
 
     public Page errorPage(Icon icon, String title, String error) throws IOException {
         return new ErrorMessagePage(
-                getResource("error.html"), icon, title, error,
-                locale.get(), theme.get(), versionChecker.get());
+                getTranslatedResource("error.html"), icon, title, error,
+                locale.get(), versionChecker.get());
     }
 
     public String getResource(String name) throws IOException {
@@ -222,18 +243,31 @@ public class PageFactory {
         }
     }
 
+    /**
+     * Get a html template with theme colors and locale applied.
+     * <p>
+     * Placeholders are left in the template, their values need to be translated separately.
+     *
+     * @param name Name of the template file.
+     * @return Translated template.
+     * @throws IOException If the template file can not be read.
+     */
+    private String getTranslatedResource(String name) throws IOException {
+        return translatedResources.get().getTranslatedHtml(name, getResource(name));
+    }
+
     public Page loginPage() throws IOException {
-        return new LoginPage(getResource("login.html"), serverInfo.get(), locale.get(), theme.get());
+        return new LoginPage(getTranslatedResource("login.html"), serverInfo.get(), locale.get());
     }
 
     public Page registerPage() throws IOException {
-        return new LoginPage(getResource("register.html"), serverInfo.get(), locale.get(), theme.get());
+        return new LoginPage(getTranslatedResource("register.html"), serverInfo.get(), locale.get());
     }
 
     public Page queryPage() throws IOException {
         return new QueryPage(
-                getResource("query.html"),
-                locale.get(), theme.get(), versionChecker.get()
+                getTranslatedResource("query.html"),
+                locale.get(), versionChecker.get()
         );
     }
 }
\ No newline at end of file
@@ -113,11 +113,10 @@ public class PlayerPage implements Page {
         pluginPlaceholders.put("navPluginsTabs", pluginTabs.getNav());
         pluginPlaceholders.put("pluginsTabs", pluginTabs.getTab());
 
+        // Template is already translated, so only the values need to be translated.
         return UnaryChain.of(templateHtml)
-                .chain(theme::replaceThemeColors)
-                .chain(placeholders::apply)
-                .chain(pluginPlaceholders::apply)
-                .chain(locale::replaceLanguageInHtml)
+                .chain(placeholders.formatValues(locale::replaceLanguageInHtml)::apply)
+                .chain(pluginPlaceholders.formatValues(locale::replaceLanguageInHtml)::apply)
                 .apply();
     }
 }
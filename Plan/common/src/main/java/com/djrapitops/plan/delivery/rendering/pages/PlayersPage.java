@@ -24,7 +24,6 @@ import com.djrapitops.plan.settings.config.paths.PluginSettings;
 import com.djrapitops.plan.settings.config.paths.ProxySettings;
 import com.djrapitops.plan.settings.config.paths.WebserverSettings;
 import com.djrapitops.plan.settings.locale.Locale;
-import com.djrapitops.plan.settings.theme.Theme;
 import com.djrapitops.plan.version.VersionChecker;
 
 /**
@@ -38,7 +37,6 @@ public class PlayersPage implements Page {
     private final VersionChecker versionChecker;
     private final PlanConfig config;
     private final Locale locale;
-    private final Theme theme;
     private final ServerInfo serverInfo;
 
     PlayersPage(
@@ -46,14 +44,12 @@ public class PlayersPage implements Page {
             VersionChecker versionChecker,
             PlanConfig config,
             Locale locale,
-            Theme theme,
             ServerInfo serverInfo
     ) {
         this.templateHtml = templateHtml;
         this.versionChecker = versionChecker;
         this.config = config;
         this.locale = locale;
-        this.theme = theme;
         this.serverInfo = serverInfo;
     }
 
@@ -71,6 +67,7 @@ public class PlayersPage implements Page {
             placeholders.put("networkName", config.get(PluginSettings.SERVER_NAME));
         }
 
-        return locale.replaceLanguageInHtml(placeholders.apply(theme.replaceThemeColors(templateHtml)));
+        // Template is already translated, so only the values need to be translated.
+        return placeholders.formatValues(locale::replaceLanguageInHtml).apply(templateHtml);
     }
 }
\ No newline at end of file
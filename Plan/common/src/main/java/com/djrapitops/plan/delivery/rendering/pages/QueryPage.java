@@ -19,8 +19,6 @@ package com.djrapitops.plan.delivery.rendering.pages;
 import com.djrapitops.plan.delivery.formatting.PlaceholderReplacer;
 import com.djrapitops.plan.delivery.rendering.html.Contributors;
 import com.djrapitops.plan.settings.locale.Locale;
-import com.djrapitops.plan.settings.theme.Theme;
-import com.djrapitops.plan.utilities.java.UnaryChain;
 import com.djrapitops.plan.version.VersionChecker;
 
 /**
@@ -33,16 +31,14 @@ public class QueryPage implements Page {
     private final String template;
 
     private final Locale locale;
-    private final Theme theme;
     private final VersionChecker versionChecker;
 
     public QueryPage(
             String template,
-            Locale locale, Theme theme, VersionChecker versionChecker
+            Locale locale, VersionChecker versionChecker
     ) {
         this.template = template;
         this.locale = locale;
-        this.theme = theme;
         this.versionChecker = versionChecker;
     }
 
@@ -52,10 +48,7 @@ public class QueryPage implements Page {
         placeholders.put("version", versionChecker.getUpdateButton().orElse(versionChecker.getCurrentVersionButton()));
         placeholders.put("updateModal", versionChecker.getUpdateModal());
         placeholders.put("contributors", Contributors.generateContributorHtml());
-        return UnaryChain.of(template)
-                .chain(theme::replaceThemeColors)
-                .chain(placeholders::apply)
-                .chain(locale::replaceLanguageInHtml)
-                .apply();
+        // Template is already translated, so only the values need to be translated.
+        return placeholders.formatValues(locale::replaceLanguageInHtml).apply(template);
     }
 }
\ No newline at end of file
@@ -108,11 +108,11 @@ public class ServerPage implements Page {
         String nav = jsonStorage.fetchJsonMadeAfter(navIdentifier, after).orElseGet(() -> {
             jsonStorage.invalidateOlder(navIdentifier, after);
             return jsonStorage.storeJson(navIdentifier, pluginTabs.get().getNav());
-        }).json;
+        }).getJson();
         String tabs = jsonStorage.fetchJsonMadeAfter(tabIdentifier, after).orElseGet(() -> {
             jsonStorage.invalidateOlder(tabIdentifier, after);
             return jsonStorage.storeJson(tabIdentifier, pluginTabs.get().getTabs());
-        }).json;
+        }).getJson();
 
         PlaceholderReplacer pluginPlaceholders = new PlaceholderReplacer();
         pluginPlaceholders.put("serverUUID", serverUUID.toString());
@@ -122,11 +122,10 @@ public class ServerPage implements Page {
         pluginPlaceholders.put("navPluginsTabs", nav);
         pluginPlaceholders.put("tabsPlugins", tabs);
 
+        // Template is already translated, so only the values need to be translated.
         return UnaryChain.of(templateHtml)
-                .chain(theme::replaceThemeColors)
-                .chain(placeholders::apply)
-                .chain(pluginPlaceholders::apply)
-                .chain(locale::replaceLanguageInHtml)
+                .chain(placeholders.formatValues(locale::replaceLanguageInHtml)::apply)
+                .chain(pluginPlaceholders.formatValues(locale::replaceLanguageInHtml)::apply)
                 .apply();
     }
 }
\ No newline at end of file
@@ -46,8 +46,13 @@ import org.apache.commons.text.TextStringBuilder;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
 
 /**
  * HttpHandler for WebServer request management.
@@ -57,12 +62,15 @@ import java.util.concurrent.atomic.AtomicBoolean;
 @Singleton
 public class RequestHandler implements HttpHandler {
 
+    private static final Pattern STATIC_RESOURCE = Pattern.compile("^.*/(vendor|css|js|img)/.*");
+
     private final Locale locale;
     private final PlanConfig config;
     private final DBSystem dbSystem;
     private final Addresses addresses;
     private final ResponseResolver responseResolver;
     private final ResponseFactory responseFactory;
+    private final WebServerThreadPools threadPools;
     private final PluginLogger logger;
     private final ErrorLogger errorLogger;
 
@@ -79,6 +87,7 @@ public class RequestHandler implements HttpHandler {
             Addresses addresses,
             ResponseResolver responseResolver,
             ResponseFactory responseFactory,
+            WebServerThreadPools threadPools,
             PluginLogger logger,
             ErrorLogger errorLogger
     ) {
@@ -88,6 +97,7 @@ public class RequestHandler implements HttpHandler {
         this.addresses = addresses;
         this.responseResolver = responseResolver;
         this.responseFactory = responseFactory;
+        this.threadPools = threadPools;
         this.logger = logger;
         this.errorLogger = errorLogger;
 
@@ -96,60 +106,180 @@ public class RequestHandler implements HttpHandler {
 
     @Override
     public void handle(HttpExchange exchange) {
+        if (isFastLane(exchange)) {
+            respond(exchange);
+            return;
+        }
         try {
-            Response response = getResponse(exchange);
-            response.getHeaders().putIfAbsent("Access-Control-Allow-Origin", config.get(WebserverSettings.CORS_ALLOW_ORIGIN));
-            response.getHeaders().putIfAbsent("Access-Control-Allow-Methods", "GET, OPTIONS");
-            response.getHeaders().putIfAbsent("Access-Control-Allow-Credentials", "true");
-            response.getHeaders().putIfAbsent("X-Robots-Tag", "noindex, nofollow");
-            ResponseSender sender = new ResponseSender(addresses, exchange, response);
-            sender.send();
-        } catch (Exception e) {
-            if (config.isTrue(PluginSettings.DEV_MODE)) {
-                logger.warn("THIS ERROR IS ONLY LOGGED IN DEV MODE:");
-                errorLogger.log(L.WARN, e, ErrorContext.builder()
-                        .whatToDo("THIS ERROR IS ONLY LOGGED IN DEV MODE")
-                        .related(exchange.getRequestMethod(), exchange.getRemoteAddress(), exchange.getRequestHeaders(), exchange.getResponseHeaders(), exchange.getRequestURI())
-                        .build());
+            if (threadPools.isNonBlocking()) {
+                threadPools.executeGeneration(() -> respondWhenReady(exchange));
+            } else {
+                threadPools.executeGeneration(() -> respond(exchange));
+            }
+        } catch (RejectedExecutionException queueFull) {
+            try {
+                new ResponseSender(addresses, exchange, responseFactory.serverBusy503()).send();
+            } catch (IOException | RuntimeException e) {
+                // Client is not waiting anymore
+            } finally {
+                exchange.close();
             }
+        }
+    }
+
+    /**
+     * Check if the request can be answered without generating anything.
+     * <p>
+     * Json requests can not be told apart by their timestamp parameter, since the frontend adds one to every json request.
+     *
+     * @param exchange Request
+     * @return true for static resources.
+     */
+    private boolean isFastLane(HttpExchange exchange) {
+        return isStaticResource(exchange.getRequestURI().getPath());
+    }
+
+    static boolean isStaticResource(String path) {
+        if (path == null) return false;
+        return STATIC_RESOURCE.matcher(path).matches()
+                || "/favicon.ico".equals(path)
+                || "/robots.txt".equals(path);
+    }
+
+    private void respond(HttpExchange exchange) {
+        try {
+            long start = System.nanoTime();
+            send(exchange, getResponse(exchange), start);
+        } catch (Exception e) {
+            logInDevMode(exchange, e);
         } finally {
             exchange.close();
         }
     }
 
+    /**
+     * Send the response when it is ready, instead of waiting for it on this thread.
+     *
+     * @param exchange Request to respond to.
+     */
+    private void respondWhenReady(HttpExchange exchange) {
+        long start = System.nanoTime();
+        CompletableFuture<Response> response;
+        try {
+            response = getResponseAsync(exchange);
+        } catch (Exception e) {
+            response = new CompletableFuture<>();
+            response.completeExceptionally(e);
+        }
+        response.whenCompleteAsync((ready, failure) -> {
+            try {
+                if (failure != null) {
+                    logInDevMode(exchange, failure);
+                } else {
+                    send(exchange, ready, start);
+                }
+            } catch (Exception e) {
+                logInDevMode(exchange, e);
+            } finally {
+                exchange.close();
+            }
+        }, threadPools.getResponseSender());
+    }
+
+    private void send(HttpExchange exchange, Response response, long start) throws IOException {
+        threadPools.recordLatency(getResolverName(exchange.getRequestURI().getPath()), System.nanoTime() - start);
+        response.getHeaders().putIfAbsent("Access-Control-Allow-Origin", config.get(WebserverSettings.CORS_ALLOW_ORIGIN));
+        response.getHeaders().putIfAbsent("Access-Control-Allow-Methods", "GET, OPTIONS");
+        response.getHeaders().putIfAbsent("Access-Control-Allow-Credentials", "true");
+        response.getHeaders().putIfAbsent("X-Robots-Tag", "noindex, nofollow");
+        ResponseSender sender = new ResponseSender(addresses, exchange, response);
+        sender.send();
+    }
+
+    private void logInDevMode(HttpExchange exchange, Throwable e) {
+        if (config.isTrue(PluginSettings.DEV_MODE)) {
+            logger.warn("THIS ERROR IS ONLY LOGGED IN DEV MODE:");
+            errorLogger.log(L.WARN, e, ErrorContext.builder()
+                    .whatToDo("THIS ERROR IS ONLY LOGGED IN DEV MODE")
+                    .related(exchange.getRequestMethod(), exchange.getRemoteAddress(), exchange.getRequestHeaders(), exchange.getResponseHeaders(), exchange.getRequestURI())
+                    .build());
+        }
+    }
+
+    static String getResolverName(String path) {
+        if (path == null || STATIC_RESOURCE.matcher(path).matches()) return "static resources";
+        String[] parts = StringUtils.split(path, '/');
+        if (parts.length == 0) return "/";
+        // Json endpoints are identified by the second part, pages by the first, eg. /v1/network or /player
+        return parts.length > 1 && "v1".equals(parts[0]) ? '/' + parts[0] + '/' + parts[1] : '/' + parts[0];
+    }
+
     public Response getResponse(HttpExchange exchange) {
+        try {
+            return getResponseAsync(exchange).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Get the response without blocking the thread on {@link com.djrapitops.plan.delivery.web.resolver.AsyncResolver}s.
+     *
+     * @param exchange Request to respond to.
+     * @return Future that completes with the response.
+     */
+    public CompletableFuture<Response> getResponseAsync(HttpExchange exchange) {
         if (ipWhitelist == null) {
             ipWhitelist = config.isTrue(WebserverSettings.IP_WHITELIST)
                     ? config.get(WebserverSettings.WHITELIST)
                     : Collections.emptyList();
         }
         String accessor = getAccessorAddress(exchange);
-        Request request = null;
-        Response response;
+        Request request;
         try {
             request = buildRequest(exchange);
-            if (bruteForceGuard.shouldPreventRequest(accessor)) {
-                response = responseFactory.failedLoginAttempts403();
-            } else if (!ipWhitelist.isEmpty() && !ipWhitelist.contains(accessor)) {
-                response = responseFactory.ipWhitelist403(accessor);
-                logger.info(locale.getString(PluginLang.WEB_SERVER_NOTIFY_IP_WHITELIST_BLOCK, accessor, exchange.getRequestURI().toString()));
-            } else {
-                response = responseResolver.getResponse(request);
-            }
         } catch (WebUserAuthException thrownByAuthentication) {
-            FailReason failReason = thrownByAuthentication.getFailReason();
-            if (failReason == FailReason.USER_PASS_MISMATCH) {
-                bruteForceGuard.increaseAttemptCountOnFailedLogin(accessor);
-                response = responseFactory.badRequest(failReason.getReason(), "/auth/login");
-            } else {
-                String from = exchange.getRequestURI().toASCIIString();
-                response = Response.builder()
-                        .redirectTo(StringUtils.startsWithAny(from, "/auth/", "/login") ? "/login" : "/login?from=." + from)
-                        .setHeader("Set-Cookie", "auth=expired; Path=/; Max-Age=1; SameSite=Lax; Secure;")
-                        .build();
+            return CompletableFuture.completedFuture(
+                    checkBruteForce(accessor, null, getAuthFailureResponse(exchange, accessor, thrownByAuthentication))
+            );
+        }
+
+        CompletableFuture<Response> response;
+        if (bruteForceGuard.shouldPreventRequest(accessor)) {
+            response = CompletableFuture.completedFuture(responseFactory.failedLoginAttempts403());
+        } else if (!ipWhitelist.isEmpty() && !ipWhitelist.contains(accessor)) {
+            response = CompletableFuture.completedFuture(responseFactory.ipWhitelist403(accessor));
+            logger.info(locale.getString(PluginLang.WEB_SERVER_NOTIFY_IP_WHITELIST_BLOCK, accessor, exchange.getRequestURI().toString()));
+        } else {
+            response = responseResolver.getResponseAsync(request);
+        }
+        return response.handle((resolved, throwable) -> {
+            if (throwable == null) return checkBruteForce(accessor, request, resolved);
+
+            Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+            if (cause instanceof WebUserAuthException) {
+                return checkBruteForce(accessor, request, getAuthFailureResponse(exchange, accessor, (WebUserAuthException) cause));
             }
+            throw throwable instanceof CompletionException ? (CompletionException) throwable : new CompletionException(throwable);
+        });
+    }
+
+    private Response getAuthFailureResponse(HttpExchange exchange, String accessor, WebUserAuthException thrownByAuthentication) {
+        FailReason failReason = thrownByAuthentication.getFailReason();
+        if (failReason == FailReason.USER_PASS_MISMATCH) {
+            bruteForceGuard.increaseAttemptCountOnFailedLogin(accessor);
+            return responseFactory.badRequest(failReason.getReason(), "/auth/login");
+        } else {
+            String from = exchange.getRequestURI().toASCIIString();
+            return Response.builder()
+                    .redirectTo(StringUtils.startsWithAny(from, "/auth/", "/login") ? "/login" : "/login?from=." + from)
+                    .setHeader("Set-Cookie", "auth=expired; Path=/; Max-Age=1; SameSite=Lax; Secure;")
+                    .build();
         }
+    }
 
+    private Response checkBruteForce(String accessor, Request request, Response response) {
         if (bruteForceGuard.shouldPreventRequest(accessor)) {
             response = responseFactory.failedLoginAttempts403();
         }
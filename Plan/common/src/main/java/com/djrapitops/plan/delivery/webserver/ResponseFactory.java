@@ -27,6 +27,7 @@ import com.djrapitops.plan.delivery.web.resolver.Response;
 import com.djrapitops.plan.delivery.web.resolver.exception.NotFoundException;
 import com.djrapitops.plan.delivery.web.resource.WebResource;
 import com.djrapitops.plan.delivery.webserver.auth.FailReason;
+import com.djrapitops.plan.delivery.webserver.cache.TranslatedResourceCache;
 import com.djrapitops.plan.exceptions.WebUserAuthException;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.settings.locale.lang.ErrorPageLang;
@@ -36,7 +37,6 @@ import com.djrapitops.plan.storage.database.Database;
 import com.djrapitops.plan.storage.database.queries.containers.ContainerFetchQueries;
 import com.djrapitops.plan.storage.file.PlanFiles;
 import com.djrapitops.plan.utilities.java.Maps;
-import com.djrapitops.plan.utilities.java.UnaryChain;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -60,6 +60,7 @@ public class ResponseFactory {
     private final Locale locale;
     private final DBSystem dbSystem;
     private final Theme theme;
+    private final TranslatedResourceCache translatedResources;
 
     @Inject
     public ResponseFactory(
@@ -67,13 +68,15 @@ public class ResponseFactory {
             PageFactory pageFactory,
             Locale locale,
             DBSystem dbSystem,
-            Theme theme
+            Theme theme,
+            TranslatedResourceCache translatedResources
     ) {
         this.files = files;
         this.pageFactory = pageFactory;
         this.locale = locale;
         this.dbSystem = dbSystem;
         this.theme = theme;
+        this.translatedResources = translatedResources;
     }
 
     public WebResource getResource(String resourceName) {
@@ -173,14 +176,13 @@ public class ResponseFactory {
 
     public Response javaScriptResponse(String fileName) {
         try {
-            String content = UnaryChain.of(getResource(fileName).asString())
-                    .chain(theme::replaceThemeColors)
-                    .chain(resource -> {
-                        if (fileName.startsWith("vendor/") || fileName.startsWith("/vendor/"))
-                            return resource;
-                        return locale.replaceLanguageInJavascript(resource);
-                    })
-                    .apply();
+            String resource = getResource(fileName).asString();
+            String content;
+            if (fileName.startsWith("vendor/") || fileName.startsWith("/vendor/")) {
+                content = theme.replaceThemeColors(resource);
+            } else {
+                content = translatedResources.getTranslatedJavascript(fileName, resource);
+            }
             return Response.builder()
                     .setMimeType(MimeType.JS)
                     .setContent(content)
@@ -349,6 +351,17 @@ public class ResponseFactory {
         }
     }
 
+    public Response serverBusy503() {
+        // Not using the error page template to keep this cheap while the server is under load.
+        return Response.builder()
+                .setMimeType(MimeType.HTML)
+                .setContent("<h1>503 Service Unavailable</h1>" +
+                        "<p>The webserver is busy with other requests. Please try again in a moment.</p>")
+                .setHeader("Retry-After", "5")
+                .setStatus(503)
+                .build();
+    }
+
     public Response failedLoginAttempts403() {
         return Response.builder()
                 .setMimeType(MimeType.HTML)
@@ -18,13 +18,13 @@ package com.djrapitops.plan.delivery.webserver;
 
 import com.djrapitops.plan.delivery.web.ResolverService;
 import com.djrapitops.plan.delivery.web.ResolverSvc;
+import com.djrapitops.plan.delivery.web.resolver.AsyncResolver;
 import com.djrapitops.plan.delivery.web.resolver.NoAuthResolver;
 import com.djrapitops.plan.delivery.web.resolver.Resolver;
 import com.djrapitops.plan.delivery.web.resolver.Response;
 import com.djrapitops.plan.delivery.web.resolver.exception.BadRequestException;
 import com.djrapitops.plan.delivery.web.resolver.exception.NotFoundException;
 import com.djrapitops.plan.delivery.web.resolver.request.Request;
-import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
 import com.djrapitops.plan.delivery.webserver.auth.FailReason;
 import com.djrapitops.plan.delivery.webserver.resolver.*;
 import com.djrapitops.plan.delivery.webserver.resolver.auth.*;
@@ -38,8 +38,11 @@ import dagger.Lazy;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.regex.Pattern;
 
 /**
@@ -139,16 +142,43 @@ public class ResponseResolver {
 
     public Response getResponse(Request request) {
         try {
-            return tryToGetResponse(request);
-        } catch (NotFoundException e) {
+            return getResponseAsync(request).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof WebUserAuthException) throw (WebUserAuthException) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Resolve a response without blocking the thread on {@link AsyncResolver}s.
+     * <p>
+     * The future is already completed if none of the resolvers were asynchronous.
+     *
+     * @param request Request to resolve.
+     * @return Future that completes with the response, or exceptionally with {@link WebUserAuthException}.
+     */
+    public CompletableFuture<Response> getResponseAsync(Request request) {
+        CompletableFuture<Response> resolved;
+        try {
+            resolved = tryToGetResponse(request);
+        } catch (Exception e) {
+            resolved = new CompletableFuture<>();
+            resolved.completeExceptionally(e);
+        }
+        return resolved.handle((response, throwable) -> throwable == null ? response : toErrorResponse(request, throwable));
+    }
+
+    private Response toErrorResponse(Request request, Throwable throwable) {
+        Throwable e = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        if (e instanceof NotFoundException) {
             return responseFactory.notFound404(e.getMessage());
-        } catch (ForbiddenException e) {
+        } else if (e instanceof ForbiddenException) {
             return responseFactory.forbidden403(e.getMessage());
-        } catch (BadRequestException e) {
+        } else if (e instanceof BadRequestException) {
             return responseFactory.badRequest(e.getMessage(), request.getPath().asString());
-        } catch (WebUserAuthException e) {
-            throw e; // Pass along
-        } catch (Exception e) {
+        } else if (e instanceof WebUserAuthException) {
+            throw (WebUserAuthException) e; // Pass along
+        } else {
             errorLogger.log(L.ERROR, e, ErrorContext.builder().related(request).build());
             return responseFactory.internalErrorResponse(e, "Failed to get a response");
         }
@@ -159,39 +189,46 @@ public class ResponseResolver {
      * @throws ForbiddenException  If the user is not allowed to see the page
      * @throws BadRequestException If the request did not have required things.
      */
-    private Response tryToGetResponse(Request request) {
+    private CompletableFuture<Response> tryToGetResponse(Request request) {
         if ("OPTIONS".equalsIgnoreCase(request.getMethod())) {
             // https://developer.mozilla.org/en-US/docs/Web/HTTP/Methods/OPTIONS
-            return Response.builder().setStatus(204).build();
+            return CompletableFuture.completedFuture(Response.builder().setStatus(204).build());
         }
 
-        Optional<WebUser> user = request.getUser();
-
         List<Resolver> foundResolvers = resolverService.getResolvers(request.getPath().asString());
-        if (foundResolvers.isEmpty()) return responseFactory.pageNotFound404();
-
-        for (Resolver resolver : foundResolvers) {
-            boolean isAuthRequired = webServer.get().isAuthRequired() && resolver.requiresAuth(request);
-            if (isAuthRequired) {
-                if (!user.isPresent()) {
-                    if (webServer.get().isUsingHTTPS()) {
-                        throw new WebUserAuthException(FailReason.NO_USER_PRESENT);
-                    } else {
-                        return responseFactory.forbidden403();
-                    }
-                }
+        if (foundResolvers.isEmpty()) return CompletableFuture.completedFuture(responseFactory.pageNotFound404());
+
+        return resolveWithNext(foundResolvers.iterator(), request);
+    }
+
+    private CompletableFuture<Response> resolveWithNext(Iterator<Resolver> resolvers, Request request) {
+        if (!resolvers.hasNext()) return CompletableFuture.completedFuture(responseFactory.pageNotFound404());
 
-                if (resolver.canAccess(request)) {
-                    Optional<Response> resolved = resolver.resolve(request);
-                    if (resolved.isPresent()) return resolved.get();
+        Resolver resolver = resolvers.next();
+        boolean isAuthRequired = webServer.get().isAuthRequired() && resolver.requiresAuth(request);
+        if (isAuthRequired) {
+            if (!request.getUser().isPresent()) {
+                if (webServer.get().isUsingHTTPS()) {
+                    throw new WebUserAuthException(FailReason.NO_USER_PRESENT);
                 } else {
-                    return responseFactory.forbidden403();
+                    return CompletableFuture.completedFuture(responseFactory.forbidden403());
                 }
-            } else {
-                Optional<Response> resolved = resolver.resolve(request);
-                if (resolved.isPresent()) return resolved.get();
             }
+            if (!resolver.canAccess(request)) {
+                return CompletableFuture.completedFuture(responseFactory.forbidden403());
+            }
+        }
+
+        // Resolvers are tried in order until one of them gives a response
+        return resolve(resolver, request).thenCompose(resolved -> resolved.isPresent()
+                ? CompletableFuture.completedFuture(resolved.get())
+                : resolveWithNext(resolvers, request));
+    }
+
+    private CompletableFuture<Optional<Response>> resolve(Resolver resolver, Request request) {
+        if (resolver instanceof AsyncResolver) {
+            return ((AsyncResolver) resolver).resolveAsync(request);
         }
-        return responseFactory.pageNotFound404();
+        return CompletableFuture.completedFuture(resolver.resolve(request));
     }
 }
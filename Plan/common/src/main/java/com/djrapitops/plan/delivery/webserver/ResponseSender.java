@@ -19,11 +19,13 @@ package com.djrapitops.plan.delivery.webserver;
 import com.djrapitops.plan.delivery.web.resolver.Response;
 import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpExchange;
+import org.apache.commons.lang3.StringUtils;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.zip.GZIPOutputStream;
 
 /**
@@ -45,15 +47,66 @@ public class ResponseSender {
 
     public void send() throws IOException {
         setResponseHeaders();
-        if ("HEAD".equals(exchange.getRequestMethod()) || response.getCode() == 204) {
+        if (isNotModified()) {
+            sendNotModified();
+        } else if ("HEAD".equals(exchange.getRequestMethod()) || response.getCode() == 204) {
             sendHeadResponse();
-        } else if ("bytes".equalsIgnoreCase(response.getHeaders().get("Accept-Ranges"))) {
+        } else if (response.hasGzippedBytes() && acceptsGzip()) {
+            Optional<byte[]> gzippedBytes = response.getGzippedBytes();
+            if (gzippedBytes.isPresent()) {
+                sendPrecompressed(gzippedBytes.get());
+            } else {
+                sendCompressed();
+            }
+        } else if ("bytes".equalsIgnoreCase(response.getHeaders().get("Accept-Ranges")) || !acceptsGzip()) {
             sendRawBytes();
         } else {
             sendCompressed();
         }
     }
 
+    private boolean acceptsGzip() {
+        List<String> acceptedEncodings = exchange.getRequestHeaders().get("Accept-Encoding");
+        if (acceptedEncodings == null) return false;
+        for (String acceptedEncoding : acceptedEncodings) {
+            if (StringUtils.containsIgnoreCase(acceptedEncoding, "gzip")) return true;
+        }
+        return false;
+    }
+
+    private boolean isNotModified() {
+        String eTag = response.getHeaders().get("ETag");
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (eTag == null || ifNoneMatch == null || response.getCode() != 200) return false;
+        for (String requestedTag : StringUtils.split(ifNoneMatch, ',')) {
+            String tag = StringUtils.removeStart(requestedTag.trim(), "W/");
+            if (eTag.equals(tag) || "*".equals(tag)) return true;
+        }
+        return false;
+    }
+
+    private void sendNotModified() throws IOException {
+        try {
+            exchange.getResponseHeaders().remove("Content-Length");
+            exchange.getResponseHeaders().remove("Content-Type");
+            exchange.sendResponseHeaders(304, -1);
+        } finally {
+            exchange.getRequestBody().close();
+        }
+    }
+
+    private void sendPrecompressed(byte[] gzippedBytes) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Encoding", "gzip");
+        headers.set("Vary", "Accept-Encoding");
+        headers.remove("Accept-Ranges");
+        headers.remove("Content-Length");
+        exchange.sendResponseHeaders(response.getCode(), gzippedBytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(gzippedBytes);
+        }
+    }
+
     public void sendHeadResponse() throws IOException {
         try {
             exchange.getResponseHeaders().remove("Content-Length");
@@ -108,14 +161,7 @@ public class ResponseSender {
     }
 
     private void send(OutputStream out) throws IOException {
-        try (
-                ByteArrayInputStream bis = new ByteArrayInputStream(response.getBytes())
-        ) {
-            byte[] buffer = new byte[2048];
-            int count;
-            while ((count = bis.read(buffer)) != -1) {
-                out.write(buffer, 0, count);
-            }
-        }
+        // The content is already fully in memory, write it without copying through an intermediate buffer.
+        out.write(response.getBytes());
     }
-}
\ No newline at end of file
+}
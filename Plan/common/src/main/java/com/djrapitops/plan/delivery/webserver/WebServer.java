@@ -18,7 +18,6 @@ package com.djrapitops.plan.delivery.webserver;
 
 import com.djrapitops.plan.SubSystem;
 import com.djrapitops.plan.settings.config.PlanConfig;
-import com.djrapitops.plan.settings.config.paths.PluginSettings;
 import com.djrapitops.plan.settings.config.paths.WebserverSettings;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.settings.locale.lang.PluginLang;
@@ -31,7 +30,6 @@ import com.sun.net.httpserver.HttpServer;
 import com.sun.net.httpserver.HttpsConfigurator;
 import com.sun.net.httpserver.HttpsParameters;
 import com.sun.net.httpserver.HttpsServer;
-import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -44,7 +42,6 @@ import java.nio.file.Paths;
 import java.security.*;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateException;
-import java.util.concurrent.*;
 
 /**
  * @author AuroraLS3
@@ -58,6 +55,7 @@ public class WebServer implements SubSystem {
 
     private final Addresses addresses;
     private final RequestHandler requestHandler;
+    private final WebServerThreadPools threadPools;
 
     private final PluginLogger logger;
     private final ErrorLogger errorLogger;
@@ -76,7 +74,8 @@ public class WebServer implements SubSystem {
             Addresses addresses,
             PluginLogger logger,
             ErrorLogger errorLogger,
-            RequestHandler requestHandler
+            RequestHandler requestHandler,
+            WebServerThreadPools threadPools
     ) {
         this.locale = locale;
         this.files = files;
@@ -84,6 +83,7 @@ public class WebServer implements SubSystem {
         this.addresses = addresses;
 
         this.requestHandler = requestHandler;
+        this.threadPools = threadPools;
 
         this.logger = logger;
         this.errorLogger = errorLogger;
@@ -133,28 +133,17 @@ public class WebServer implements SubSystem {
 
             if (!usingHttps) {
                 logger.log(L.INFO_COLOR, "§e" + locale.getString(PluginLang.WEB_SERVER_NOTIFY_HTTP_USER_AUTH));
-                server = HttpServer.create(new InetSocketAddress(config.get(WebserverSettings.INTERNAL_IP), port), 10);
+                server = HttpServer.create(new InetSocketAddress(config.get(WebserverSettings.INTERNAL_IP), port), config.get(WebserverSettings.CONNECTION_BACKLOG));
             } else if (server == null) {
                 logger.log(L.INFO_COLOR, "§e" + locale.getString(PluginLang.WEB_SERVER_NOTIFY_USING_PROXY_MODE));
-                server = HttpServer.create(new InetSocketAddress(config.get(WebserverSettings.INTERNAL_IP), port), 10);
+                server = HttpServer.create(new InetSocketAddress(config.get(WebserverSettings.INTERNAL_IP), port), config.get(WebserverSettings.CONNECTION_BACKLOG));
             } else if (config.isTrue(WebserverSettings.DISABLED_AUTHENTICATION)) {
                 logger.info(locale.getString(PluginLang.WEB_SERVER_NOTIFY_HTTPS_USER_AUTH));
             }
             server.createContext("/", requestHandler);
 
-            ExecutorService executor = new ThreadPoolExecutor(
-                    4, 8, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(100),
-                    new BasicThreadFactory.Builder()
-                            .namingPattern("Plan WebServer Thread-%d")
-                            .uncaughtExceptionHandler((thread, throwable) -> {
-                                if (config.isTrue(PluginSettings.DEV_MODE)) {
-                                    errorLogger.log(L.WARN, throwable, ErrorContext.builder()
-                                            .whatToDo("THIS ERROR IS ONLY LOGGED IN DEV MODE")
-                                            .build());
-                                }
-                            }).build()
-            );
-            server.setExecutor(executor);
+            threadPools.start();
+            server.setExecutor(threadPools.getFastLane());
             server.start();
 
             enabled = true;
@@ -217,7 +206,7 @@ public class WebServer implements SubSystem {
             TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance("SunX509");
             trustManagerFactory.init(keystore);
 
-            server = HttpsServer.create(new InetSocketAddress(config.get(WebserverSettings.INTERNAL_IP), port), 10);
+            server = HttpsServer.create(new InetSocketAddress(config.get(WebserverSettings.INTERNAL_IP), port), config.get(WebserverSettings.CONNECTION_BACKLOG));
             SSLContext sslContext = SSLContext.getInstance("TLSv1.2");
             sslContext.init(keyManagerFactory.getKeyManagers(), null/*trustManagerFactory.getTrustManagers()*/, null);
 
@@ -279,18 +268,11 @@ public class WebServer implements SubSystem {
 
     private void shutdown() {
         server.stop(0);
-        Executor executor = server.getExecutor();
-        if (executor instanceof ExecutorService) {
-            ExecutorService service = (ExecutorService) executor;
-            service.shutdown();
-            try {
-                if (!service.awaitTermination(5, TimeUnit.SECONDS)) {
-                    service.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                logger.error("WebServer ExecutorService shutdown thread interrupted on disable: " + e.getMessage());
-                Thread.currentThread().interrupt();
-            }
+        try {
+            threadPools.shutdown();
+        } catch (InterruptedException e) {
+            logger.error("WebServer ExecutorService shutdown thread interrupted on disable: " + e.getMessage());
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -0,0 +1,272 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.PluginSettings;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import com.djrapitops.plan.utilities.analysis.LatencyHistogram;
+import com.djrapitops.plan.utilities.logging.ErrorContext;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import com.djrapitops.plugin.logging.L;
+import com.djrapitops.plugin.logging.console.PluginLogger;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Threads of the {@link WebServer}, with metrics for the /debug page.
+ * <p>
+ * The fast lane accepts all requests and sends static resources directly.
+ * Other requests are passed to the generator pool, which has a bounded queue.
+ * If the queue is full the request is answered with 503 instead of being dropped.
+ * <p>
+ * With Async_requests enabled, Java 21+ runs each generating request on its own virtual thread instead of the pool.
+ * On older versions the pool is used, but requests to {@link com.djrapitops.plan.delivery.web.resolver.AsyncResolver}s
+ * give the thread back while waiting, and the response is sent by the fast lane when it is ready.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class WebServerThreadPools {
+
+    private final PlanConfig config;
+    private final PluginLogger logger;
+    private final ErrorLogger errorLogger;
+
+    private final LongAdder rejectedGenerations;
+    private final LongAdder rejectedConnections;
+    private final Map<String, LatencyHistogram> resolverLatencies;
+
+    private ThreadPoolExecutor fastLane;
+    private ThreadPoolExecutor generators;
+    private ExecutorService virtualThreads;
+    private Semaphore virtualThreadPermits;
+    private int virtualThreadLimit;
+    private boolean asyncRequests;
+
+    @Inject
+    public WebServerThreadPools(
+            PlanConfig config,
+            PluginLogger logger,
+            ErrorLogger errorLogger
+    ) {
+        this.config = config;
+        this.logger = logger;
+        this.errorLogger = errorLogger;
+
+        rejectedGenerations = new LongAdder();
+        rejectedConnections = new LongAdder();
+        resolverLatencies = new ConcurrentHashMap<>();
+    }
+
+    public void start() {
+        int coreThreads = config.get(WebserverSettings.CORE_THREADS);
+        int maxThreads = Math.max(coreThreads, config.get(WebserverSettings.MAX_THREADS));
+        int queueSize = config.get(WebserverSettings.QUEUE_SIZE);
+        int fastLaneThreads = config.get(WebserverSettings.FAST_LANE_THREADS);
+        asyncRequests = config.isTrue(WebserverSettings.ASYNC_REQUESTS);
+
+        if (asyncRequests) {
+            virtualThreads = createVirtualThreadExecutor();
+            if (virtualThreads == null) {
+                logger.info("Virtual threads require Java 21, continuing webserver requests asynchronously instead.");
+            } else {
+                // Same limit as the pool so that the database is not flooded with requests
+                virtualThreadLimit = maxThreads + queueSize;
+                virtualThreadPermits = new Semaphore(virtualThreadLimit);
+            }
+        }
+
+        generators = virtualThreads != null ? null : new ThreadPoolExecutor(
+                coreThreads, maxThreads, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize),
+                threadFactory("Plan WebServer Thread-%d"),
+                (rejected, executor) -> {
+                    rejectedGenerations.increment();
+                    throw new RejectedExecutionException("WebServer generator queue is full");
+                }
+        );
+        // Connections are only parsed here, so the queue can be larger than the generator queue.
+        fastLane = new ThreadPoolExecutor(
+                fastLaneThreads, fastLaneThreads, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize * 2),
+                threadFactory("Plan WebServer Fast Lane-%d"),
+                (rejected, executor) -> {
+                    rejectedConnections.increment();
+                    throw new RejectedExecutionException("WebServer connection queue is full");
+                }
+        );
+    }
+
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            // Looked up reflectively since Plan is compiled for Java 8.
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private ThreadFactory threadFactory(String namingPattern) {
+        return new BasicThreadFactory.Builder()
+                .namingPattern(namingPattern)
+                .uncaughtExceptionHandler((thread, throwable) -> {
+                    if (config.isTrue(PluginSettings.DEV_MODE)) {
+                        errorLogger.log(L.WARN, throwable, ErrorContext.builder()
+                                .whatToDo("THIS ERROR IS ONLY LOGGED IN DEV MODE")
+                                .build());
+                    }
+                }).build();
+    }
+
+    /**
+     * Get the executor that accepts connections.
+     *
+     * @return Executor to give to the HttpServer.
+     */
+    public Executor getFastLane() {
+        return fastLane;
+    }
+
+    /**
+     * Run a request that needs to generate its response on the generator pool.
+     *
+     * @param task Task that sends the response.
+     * @throws RejectedExecutionException If the generator queue is full.
+     */
+    public void executeGeneration(Runnable task) {
+        if (virtualThreads != null) {
+            executeOnVirtualThread(task);
+        } else if (generators == null) {
+            task.run();
+        } else {
+            generators.execute(task);
+        }
+    }
+
+    private void executeOnVirtualThread(Runnable task) {
+        if (!virtualThreadPermits.tryAcquire()) {
+            rejectedGenerations.increment();
+            throw new RejectedExecutionException("WebServer virtual thread limit reached");
+        }
+        try {
+            virtualThreads.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    virtualThreadPermits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            virtualThreadPermits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Check if responses should be sent when they are ready instead of waiting for them on the generator thread.
+     *
+     * @return true if Async_requests is enabled, but virtual threads are not available.
+     */
+    public boolean isNonBlocking() {
+        return asyncRequests && virtualThreads == null;
+    }
+
+    /**
+     * Get the executor that sends responses that were completed asynchronously.
+     *
+     * @return Executor that uses the fast lane, or the calling thread if the fast lane is full.
+     */
+    public Executor getResponseSender() {
+        return task -> {
+            try {
+                Executor sender = fastLane;
+                if (sender == null) {
+                    task.run();
+                } else {
+                    sender.execute(task);
+                }
+            } catch (RejectedExecutionException fastLaneFull) {
+                task.run();
+            }
+        };
+    }
+
+    public void recordLatency(String resolver, long durationNanos) {
+        resolverLatencies.computeIfAbsent(resolver, key -> new LatencyHistogram()).record(durationNanos);
+    }
+
+    public void shutdown() throws InterruptedException {
+        shutdown(fastLane);
+        shutdown(generators);
+        shutdown(virtualThreads);
+        fastLane = null;
+        generators = null;
+        virtualThreads = null;
+    }
+
+    private void shutdown(ExecutorService service) throws InterruptedException {
+        if (service == null) return;
+        service.shutdown();
+        if (!service.awaitTermination(5, TimeUnit.SECONDS)) {
+            service.shutdownNow();
+        }
+    }
+
+    public String getMode() {
+        if (virtualThreads != null) return "Virtual threads";
+        return isNonBlocking() ? "Thread pool, non-blocking" : "Thread pool";
+    }
+
+    public int getActiveGenerators() {
+        if (virtualThreads != null) return virtualThreadLimit - virtualThreadPermits.availablePermits();
+        return generators != null ? generators.getActiveCount() : 0;
+    }
+
+    public int getGeneratorThreads() {
+        if (virtualThreads != null) return getActiveGenerators();
+        return generators != null ? generators.getPoolSize() : 0;
+    }
+
+    public int getGeneratorQueueDepth() {
+        return generators != null ? generators.getQueue().size() : 0;
+    }
+
+    public int getActiveFastLane() {
+        return fastLane != null ? fastLane.getActiveCount() : 0;
+    }
+
+    public int getFastLaneQueueDepth() {
+        return fastLane != null ? fastLane.getQueue().size() : 0;
+    }
+
+    public long getRejectedGenerations() {
+        return rejectedGenerations.sum();
+    }
+
+    public long getRejectedConnections() {
+        return rejectedConnections.sum();
+    }
+
+    public Map<String, LatencyHistogram> getResolverLatencies() {
+        return new TreeMap<>(resolverLatencies);
+    }
+}
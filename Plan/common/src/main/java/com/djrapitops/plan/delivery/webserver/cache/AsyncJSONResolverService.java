@@ -25,9 +25,9 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -42,7 +42,7 @@ public class AsyncJSONResolverService {
     private final PlanConfig config;
     private final Processing processing;
     private final JSONStorage jsonStorage;
-    private final Map<String, Future<JSONStorage.StoredJSON>> currentlyProcessing;
+    private final Map<String, CompletableFuture<JSONStorage.StoredJSON>> currentlyProcessing;
     private final Map<String, Long> previousUpdates;
     private final UnitSemaphoreAccessLock accessLock; // Access lock prevents double processing same resource
 
@@ -63,43 +63,64 @@ public class AsyncJSONResolverService {
 
     public <T> JSONStorage.StoredJSON resolve(
             long newerThanTimestamp, DataID dataID, UUID serverUUID, Function<UUID, T> creator
+    ) {
+        return waitAndGetUpdated(resolveAsync(newerThanTimestamp, dataID, serverUUID, creator));
+    }
+
+    public <T> JSONStorage.StoredJSON resolve(
+            long newerThanTimestamp, DataID dataID, Supplier<T> jsonCreator
+    ) {
+        return waitAndGetUpdated(resolveAsync(newerThanTimestamp, dataID, jsonCreator));
+    }
+
+    /**
+     * Non-blocking version of {@link #resolve(long, DataID, UUID, Function)}.
+     *
+     * @return Future that completes when json is available, already completed if there was a stored version.
+     */
+    public <T> CompletableFuture<JSONStorage.StoredJSON> resolveAsync(
+            long newerThanTimestamp, DataID dataID, UUID serverUUID, Function<UUID, T> creator
     ) {
         String identifier = dataID.of(serverUUID);
         Supplier<T> jsonCreator = () -> creator.apply(serverUUID);
         return getStoredOrCreateJSON(newerThanTimestamp, identifier, jsonCreator);
     }
 
-
-    public <T> JSONStorage.StoredJSON resolve(
+    /**
+     * Non-blocking version of {@link #resolve(long, DataID, Supplier)}.
+     *
+     * @return Future that completes when json is available, already completed if there was a stored version.
+     */
+    public <T> CompletableFuture<JSONStorage.StoredJSON> resolveAsync(
             long newerThanTimestamp, DataID dataID, Supplier<T> jsonCreator
     ) {
         String identifier = dataID.name();
         return getStoredOrCreateJSON(newerThanTimestamp, identifier, jsonCreator);
     }
 
-    private <T> JSONStorage.StoredJSON getStoredOrCreateJSON(
+    private <T> CompletableFuture<JSONStorage.StoredJSON> getStoredOrCreateJSON(
             long timestamp, String identifier, Supplier<T> jsonCreator
     ) {
         JSONStorage.StoredJSON storedJSON = getNewFromCache(timestamp, identifier);
-        if (storedJSON != null) return storedJSON;
+        if (storedJSON != null) return CompletableFuture.completedFuture(storedJSON);
 
         // No new enough version, let's refresh and send old version of the file
-        Future<JSONStorage.StoredJSON> updatedJSON = scheduleJSONForUpdate(timestamp, identifier, jsonCreator);
+        CompletableFuture<JSONStorage.StoredJSON> updatedJSON = scheduleJSONForUpdate(timestamp, identifier, jsonCreator);
 
         storedJSON = getOldFromCache(timestamp, identifier);
         if (storedJSON != null) {
-            return storedJSON;
+            return CompletableFuture.completedFuture(storedJSON);
         } else {
             // Update not performed if the last update was recent and the file is deleted before next update
             // Fall back to waiting for the updated file if old version of the file doesn't exist.
             if (updatedJSON == null) {
                 updatedJSON = submitToProcessing(identifier, jsonCreator);
             }
-            return waitAndGetUpdated(updatedJSON);
+            return updatedJSON;
         }
     }
 
-    private JSONStorage.StoredJSON waitAndGetUpdated(Future<JSONStorage.StoredJSON> updatedJSON) {
+    private JSONStorage.StoredJSON waitAndGetUpdated(CompletableFuture<JSONStorage.StoredJSON> updatedJSON) {
         // If there is no version available, block thread until the new finishes being generated.
         try {
             return updatedJSON.get();
@@ -121,10 +142,10 @@ public class AsyncJSONResolverService {
                         .orElse(null));
     }
 
-    private <T> Future<JSONStorage.StoredJSON> scheduleJSONForUpdate(long newerThanTimestamp, String identifier, Supplier<T> jsonCreator) {
+    private <T> CompletableFuture<JSONStorage.StoredJSON> scheduleJSONForUpdate(long newerThanTimestamp, String identifier, Supplier<T> jsonCreator) {
         long updateThreshold = config.get(WebserverSettings.REDUCED_REFRESH_BARRIER);
 
-        Future<JSONStorage.StoredJSON> updatedJSON;
+        CompletableFuture<JSONStorage.StoredJSON> updatedJSON;
         accessLock.enter();
         try {
             // Check if the json is already being created
@@ -140,13 +161,19 @@ public class AsyncJSONResolverService {
         return updatedJSON;
     }
 
-    private <T> Future<JSONStorage.StoredJSON> submitToProcessing(String identifier, Supplier<T> jsonCreator) {
-        return processing.submitNonCritical(() -> {
+    private <T> CompletableFuture<JSONStorage.StoredJSON> submitToProcessing(String identifier, Supplier<T> jsonCreator) {
+        CompletableFuture<JSONStorage.StoredJSON> submitted = processing.submitNonCritical(() -> {
             JSONStorage.StoredJSON created = jsonStorage.storeJson(identifier, jsonCreator.get());
             currentlyProcessing.remove(identifier);
             jsonStorage.invalidateOlder(identifier, created.timestamp);
             previousUpdates.put(identifier, created.timestamp);
             return created;
         });
+        if (submitted == null) {
+            CompletableFuture<JSONStorage.StoredJSON> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IllegalStateException("Processing is disabled, can not create json"));
+            return failed;
+        }
+        return submitted;
     }
 }
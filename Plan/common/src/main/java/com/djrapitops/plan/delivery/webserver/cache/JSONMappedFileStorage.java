@@ -0,0 +1,345 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import com.djrapitops.plan.DebugChannels;
+import com.djrapitops.plan.TaskSystem;
+import com.djrapitops.plan.delivery.formatting.Formatter;
+import com.djrapitops.plan.delivery.formatting.Formatters;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import com.djrapitops.plan.storage.file.PlanFiles;
+import com.djrapitops.plugin.api.TimeAmount;
+import com.djrapitops.plugin.logging.console.PluginLogger;
+import com.djrapitops.plugin.logging.debug.DebugLogger;
+import com.djrapitops.plugin.task.RunnableFactory;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In charge of storing json files on disk, keeping an in-memory index of the stored files.
+ * <p>
+ * The index (identifier -> sorted timestamps) is built once from the directory on enable,
+ * so lookups do not need to list or regex-parse the whole cache directory.
+ * Larger files are read through a memory mapping instead of line by line.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class JSONMappedFileStorage implements JSONStorage {
+
+    private static final String JSON_FILE_EXTENSION = ".json";
+    // Smaller files are cheaper to read directly than to map.
+    private static final long MAPPING_THRESHOLD_BYTES = 64L * 1024L;
+
+    private final PluginLogger logger;
+    private final DebugLogger debugLogger;
+    private final Formatter<Long> dateFormatter;
+    private final Path jsonDirectory;
+
+    private final Map<String, ConcurrentNavigableMap<Long, Path>> index;
+
+    @Inject
+    public JSONMappedFileStorage(
+            PlanFiles files,
+            Formatters formatters,
+            PluginLogger logger
+    ) {
+        this(files, formatters.yearLong(), logger);
+    }
+
+    // for testing
+    JSONMappedFileStorage(
+            PlanFiles files, Formatter<Long> dateFormatter, PluginLogger logger
+    ) {
+        this.logger = logger;
+        debugLogger = logger.getDebugLogger();
+
+        this.dateFormatter = dateFormatter;
+
+        jsonDirectory = files.getJSONStorageDirectory();
+        index = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void enable() {
+        rebuildIndex();
+    }
+
+    @Override
+    public void disable() {
+        index.clear();
+    }
+
+    void rebuildIndex() {
+        index.clear();
+        File[] stored = jsonDirectory.toFile().listFiles();
+        if (stored == null) return;
+        for (File file : stored) {
+            String fileName = file.getName();
+            if (!fileName.endsWith(JSON_FILE_EXTENSION)) continue;
+
+            String withoutExtension = fileName.substring(0, fileName.length() - JSON_FILE_EXTENSION.length());
+            int separator = withoutExtension.lastIndexOf('-');
+            if (separator <= 0) continue;
+            try {
+                long timestamp = Long.parseLong(withoutExtension.substring(separator + 1));
+                getTimestamps(withoutExtension.substring(0, separator)).put(timestamp, file.toPath());
+            } catch (NumberFormatException e) {
+                // Ignore this file, malformed timestamp
+            }
+        }
+        debugLogger.logOn(DebugChannels.JSON_CACHE, "Indexed " + index.size() + " json identifiers in " + jsonDirectory.toFile().getAbsolutePath());
+    }
+
+    private ConcurrentNavigableMap<Long, Path> getTimestamps(String identifier) {
+        return index.computeIfAbsent(identifier, key -> new ConcurrentSkipListMap<>());
+    }
+
+    @Override
+    public StoredJSON storeJson(String identifier, String json, long timestamp) {
+        String jsonToWrite = addMissingTimestamp(json, timestamp, dateFormatter);
+        return write(identifier, jsonToWrite.getBytes(StandardCharsets.UTF_8), timestamp);
+    }
+
+    static String addMissingTimestamp(String json, long timestamp, Formatter<Long> dateFormatter) {
+        String writtenJSON;
+        if (!json.startsWith("{\"") || json.contains("timestamp")) {
+            if (!json.contains("timestamp_f")) {
+                writtenJSON = StringUtils.replaceOnce(json,
+                        "\"timestamp\"",
+                        "\"timestamp_f\":\"" + dateFormatter.apply(timestamp) + "\",\"timestamp\""
+                );
+            } else {
+                writtenJSON = json;
+            }
+        } else {
+            writtenJSON = "{\"timestamp\": " + timestamp +
+                    ",\"timestamp_f\":\"" + dateFormatter.apply(timestamp) +
+                    "\",\"" + json.substring(2);
+        }
+        return writtenJSON;
+    }
+
+    static Map<?, ?> addMissingTimestamp(Map<?, ?> json, long timestamp, Formatter<Long> dateFormatter) {
+        if (json.containsKey("timestamp_f")) return json;
+
+        Map<Object, Object> writtenJSON = new LinkedHashMap<>();
+        if (json.containsKey("timestamp")) {
+            for (Map.Entry<?, ?> entry : json.entrySet()) {
+                if ("timestamp".equals(entry.getKey())) {
+                    writtenJSON.put("timestamp_f", dateFormatter.apply(timestamp));
+                }
+                writtenJSON.put(entry.getKey(), entry.getValue());
+            }
+        } else {
+            writtenJSON.put("timestamp", timestamp);
+            writtenJSON.put("timestamp_f", dateFormatter.apply(timestamp));
+            writtenJSON.putAll(json);
+        }
+        return writtenJSON;
+    }
+
+    /**
+     * Store json, serializing Maps straight to bytes so that no intermediate String is created.
+     * <p>
+     * The same bytes are written to the file and held by the returned {@link StoredJSON}.
+     */
+    @Override
+    public StoredJSON storeJson(String identifier, Object json, long timestamp) {
+        if (!(json instanceof Map)) return JSONStorage.super.storeJson(identifier, json, timestamp);
+
+        Map<?, ?> jsonToWrite = addMissingTimestamp((Map<?, ?>) json, timestamp, dateFormatter);
+        return write(identifier, JSONSerializer.toBytes(jsonToWrite), timestamp);
+    }
+
+    private StoredJSON write(String identifier, byte[] jsonBytes, long timestamp) {
+        Path writingTo = jsonDirectory.resolve(identifier + '-' + timestamp + JSON_FILE_EXTENSION);
+        try {
+            Files.createDirectories(jsonDirectory);
+            Files.write(writingTo, jsonBytes, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            getTimestamps(identifier).put(timestamp, writingTo);
+        } catch (IOException e) {
+            logger.warn("Could not write a file to " + writingTo.toFile().getAbsolutePath() + ": " + e.getMessage());
+        }
+        return new StoredJSON(jsonBytes, timestamp);
+    }
+
+    @Override
+    public Optional<StoredJSON> fetchJSON(String identifier) {
+        ConcurrentNavigableMap<Long, Path> timestamps = index.get(identifier);
+        if (timestamps == null) {
+            // Fall back to a prefix match of the identifier
+            for (Map.Entry<String, ConcurrentNavigableMap<Long, Path>> entry : index.entrySet()) {
+                if (entry.getKey().startsWith(identifier)) {
+                    return readLatest(entry.getKey(), entry.getValue());
+                }
+            }
+            return Optional.empty();
+        }
+        return readLatest(identifier, timestamps);
+    }
+
+    private Optional<StoredJSON> readLatest(String identifier, ConcurrentNavigableMap<Long, Path> timestamps) {
+        Map.Entry<Long, Path> latest = timestamps.lastEntry();
+        return latest != null ? read(identifier, latest) : Optional.empty();
+    }
+
+    @Override
+    public Optional<StoredJSON> fetchExactJson(String identifier, long timestamp) {
+        ConcurrentNavigableMap<Long, Path> timestamps = index.get(identifier);
+        if (timestamps == null) return Optional.empty();
+        Path found = timestamps.get(timestamp);
+        if (found == null) return Optional.empty();
+        return read(identifier, new AbstractMap.SimpleImmutableEntry<>(timestamp, found));
+    }
+
+    @Override
+    public Optional<StoredJSON> fetchJsonMadeBefore(String identifier, long timestamp) {
+        ConcurrentNavigableMap<Long, Path> timestamps = index.get(identifier);
+        if (timestamps == null) return Optional.empty();
+        Map.Entry<Long, Path> found = timestamps.lowerEntry(timestamp);
+        return found != null ? read(identifier, found) : Optional.empty();
+    }
+
+    @Override
+    public Optional<StoredJSON> fetchJsonMadeAfter(String identifier, long timestamp) {
+        ConcurrentNavigableMap<Long, Path> timestamps = index.get(identifier);
+        if (timestamps == null) return Optional.empty();
+        Map.Entry<Long, Path> latest = timestamps.lastEntry();
+        return latest != null && latest.getKey() > timestamp ? read(identifier, latest) : Optional.empty();
+    }
+
+    private Optional<StoredJSON> read(String identifier, Map.Entry<Long, Path> entry) {
+        long timestamp = entry.getKey();
+        Path from = entry.getValue();
+        try {
+            return Optional.of(new StoredJSON(readContents(from), timestamp));
+        } catch (NoSuchFileException e) {
+            // File was removed from outside Plan, drop it from the index.
+            ConcurrentNavigableMap<Long, Path> timestamps = index.get(identifier);
+            if (timestamps != null) timestamps.remove(timestamp);
+        } catch (IOException e) {
+            logger.warn(jsonDirectory.toFile().getAbsolutePath() + " file '" + from.getFileName() + "' could not be read: " + e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    private byte[] readContents(Path from) throws IOException {
+        try (FileChannel channel = FileChannel.open(from, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= MAPPING_THRESHOLD_BYTES) {
+                ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                byte[] contents = new byte[(int) size];
+                mapped.get(contents);
+                return contents;
+            }
+            ByteBuffer contents = ByteBuffer.allocate((int) size);
+            while (contents.hasRemaining() && channel.read(contents) != -1) {
+                // Read until full
+            }
+            return contents.position() == contents.capacity() ? contents.array() : Arrays.copyOf(contents.array(), contents.position());
+        }
+    }
+
+    @Override
+    public void invalidateOlder(String identifier, long timestamp) {
+        ConcurrentNavigableMap<Long, Path> timestamps = index.get(identifier);
+        if (timestamps == null) return;
+        deleteFiles(timestamps.headMap(timestamp));
+    }
+
+    void invalidateOlderButIgnore(long timestamp, String... ignoredIdentifiers) {
+        List<String> ignored = Arrays.asList(ignoredIdentifiers);
+        for (Map.Entry<String, ConcurrentNavigableMap<Long, Path>> entry : index.entrySet()) {
+            if (!ignored.contains(entry.getKey())) {
+                deleteFiles(entry.getValue().headMap(timestamp));
+            }
+        }
+    }
+
+    private void deleteFiles(ConcurrentNavigableMap<Long, Path> toDelete) {
+        for (Path fileToDelete : toDelete.values()) {
+            try {
+                debugLogger.logOn(DebugChannels.JSON_CACHE, "Deleting " + fileToDelete.toFile().getAbsolutePath());
+                Files.deleteIfExists(fileToDelete);
+            } catch (IOException e) {
+                // Failed to delete (mapped file on Windows), set for deletion on next server shutdown.
+                fileToDelete.toFile().deleteOnExit();
+            }
+        }
+        // Removes the entries from the index as well, since this is a view of the index map.
+        toDelete.clear();
+    }
+
+    @Singleton
+    public static class CleanTask extends TaskSystem.Task {
+        private final PlanConfig config;
+        private final JSONMappedFileStorage jsonFileStorage;
+        private final DebugLogger debugLogger;
+
+        @Inject
+        public CleanTask(
+                PlanConfig config,
+                JSONMappedFileStorage jsonFileStorage,
+                DebugLogger debugLogger
+        ) {
+            this.config = config;
+            this.jsonFileStorage = jsonFileStorage;
+            this.debugLogger = debugLogger;
+        }
+
+        @Override
+        public void register(RunnableFactory runnableFactory) {
+            long delay = TimeAmount.toTicks(ThreadLocalRandom.current().nextInt(60), TimeUnit.SECONDS);
+            long period = TimeAmount.toTicks(1, TimeUnit.HOURS);
+            runnableFactory.create(null, this).runTaskTimerAsynchronously(delay, period);
+        }
+
+        @Override
+        public void run() {
+            long now = System.currentTimeMillis();
+            long invalidateDiskCacheAfterMs = config.get(WebserverSettings.INVALIDATE_DISK_CACHE);
+            long invalidateQueriesAfterMs = config.get(WebserverSettings.INVALIDATE_QUERY_RESULTS);
+            debugLogger.logOn(DebugChannels.JSON_CACHE, "Running clean task..");
+
+            jsonFileStorage.invalidateOlder("query", now - invalidateQueriesAfterMs);
+            jsonFileStorage.invalidateOlderButIgnore(now - invalidateDiskCacheAfterMs, "query");
+        }
+
+        public DebugLogger getDebugLogger() {
+            return debugLogger;
+        }
+    }
+}
@@ -41,11 +41,17 @@ public class JSONMemoryStorageShim implements JSONStorage {
 
     @Override
     public void enable() {
+        underlyingStorage.enable();
         cache = Caffeine.newBuilder()
                 .expireAfterWrite(config.get(WebserverSettings.INVALIDATE_MEMORY_CACHE), TimeUnit.MILLISECONDS)
                 .build();
     }
 
+    @Override
+    public void disable() {
+        underlyingStorage.disable();
+    }
+
     @Override
     public StoredJSON storeJson(String identifier, String json, long timestamp) {
         StoredJSON storedJSON = underlyingStorage.storeJson(identifier, json, timestamp);
@@ -53,6 +59,13 @@ public class JSONMemoryStorageShim implements JSONStorage {
         return storedJSON;
     }
 
+    @Override
+    public StoredJSON storeJson(String identifier, Object json, long timestamp) {
+        StoredJSON storedJSON = underlyingStorage.storeJson(identifier, json, timestamp);
+        cache.put(new TimestampedIdentifier(identifier, timestamp), storedJSON);
+        return storedJSON;
+    }
+
     @Override
     public Optional<StoredJSON> fetchJSON(String identifier) {
         for (Map.Entry<TimestampedIdentifier, StoredJSON> entry : cache.asMap().entrySet()) {
@@ -0,0 +1,76 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Utility for serializing objects into UTF-8 json bytes with Gson without creating a String in between.
+ * <p>
+ * {@link JsonWriter} writes to the byte sink as the object is traversed, so large json is held in memory only once.
+ *
+ * @author AuroraLS3
+ */
+public class JSONSerializer {
+
+    private static final Gson GSON = new Gson();
+
+    private JSONSerializer() {
+        /* Static utility class */
+    }
+
+    /**
+     * Serialize an object into json.
+     *
+     * @param object Object to serialize. If the object is a String it is assumed to be valid json.
+     * @return UTF-8 bytes of the json.
+     */
+    public static byte[] toBytes(Object object) {
+        if (object instanceof String) return ((String) object).getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        try {
+            write(object, out);
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw IOException
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Serialize an object into json written to an output stream.
+     *
+     * @param object Object to serialize.
+     * @param out    Stream to write UTF-8 json to, not closed.
+     * @throws IOException If writing to the stream fails.
+     */
+    public static void write(Object object, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        JsonWriter jsonWriter = GSON.newJsonWriter(writer);
+        if (object == null) {
+            jsonWriter.nullValue();
+        } else {
+            GSON.toJson(object, object.getClass(), jsonWriter);
+        }
+        jsonWriter.flush();
+    }
+}
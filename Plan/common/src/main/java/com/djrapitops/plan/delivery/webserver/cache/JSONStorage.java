@@ -19,8 +19,14 @@ package com.djrapitops.plan.delivery.webserver.cache;
 import com.djrapitops.plan.SubSystem;
 import com.google.gson.Gson;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * In charge of storing json somewhere for later retrieval.
@@ -42,8 +48,7 @@ public interface JSONStorage extends SubSystem {
     }
 
     default StoredJSON storeJson(String identifier, Object json) {
-        if (json instanceof String) return storeJson(identifier, (String) json);
-        return storeJson(identifier, new Gson().toJson(json));
+        return storeJson(identifier, json, System.currentTimeMillis());
     }
 
     StoredJSON storeJson(String identifier, String json, long timestamp);
@@ -63,26 +68,110 @@ public interface JSONStorage extends SubSystem {
 
     void invalidateOlder(String identifier, long timestamp);
 
+    /**
+     * Stored json, held as UTF-8 bytes so that it can be written to files and responses without copying.
+     */
     final class StoredJSON {
-        public final String json;
         public final long timestamp;
 
+        private final byte[] jsonBytes;
+        private volatile String json;
+        private volatile byte[] gzippedJson;
+        private volatile int hash;
+
         public StoredJSON(String json, long timestamp) {
             this.json = json;
+            this.jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+            this.timestamp = timestamp;
+        }
+
+        public StoredJSON(byte[] jsonBytes, long timestamp) {
+            this.jsonBytes = jsonBytes;
             this.timestamp = timestamp;
         }
 
+        /**
+         * Get the json as a String.
+         *
+         * @return the json, decoded on first call if stored as bytes.
+         */
+        public String getJson() {
+            String decoded = json;
+            if (decoded == null) {
+                decoded = new String(jsonBytes, StandardCharsets.UTF_8);
+                json = decoded;
+            }
+            return decoded;
+        }
+
+        /**
+         * Get the json as UTF-8 bytes.
+         * <p>
+         * The returned array is not copied and should not be modified.
+         *
+         * @return UTF-8 bytes of the json.
+         */
+        public byte[] getJsonBytes() {
+            return jsonBytes;
+        }
+
+        /**
+         * Get the json compressed with gzip.
+         * <p>
+         * The json is compressed on first call and the same bytes are returned afterwards,
+         * so that cached json doesn't need to be compressed again for every request.
+         *
+         * @return gzip compressed UTF-8 bytes of the json.
+         */
+        public byte[] getGzippedJson() {
+            byte[] compressed = gzippedJson;
+            if (compressed == null) {
+                compressed = gzip(jsonBytes);
+                gzippedJson = compressed;
+            }
+            return compressed;
+        }
+
+        private static byte[] gzip(byte[] bytes) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4 + 64);
+            try (OutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(bytes);
+            } catch (IOException e) {
+                // ByteArrayOutputStream does not throw IOException
+                throw new IllegalStateException(e);
+            }
+            return compressed.toByteArray();
+        }
+
+        /**
+         * Get entity tag identifying this version of the json, for If-None-Match requests.
+         *
+         * @return Quoted ETag value.
+         */
+        public String getETag() {
+            return "\"" + Long.toHexString(timestamp) + '-' + Integer.toHexString(getContentHash()) + "\"";
+        }
+
+        private int getContentHash() {
+            int contentHash = hash;
+            if (contentHash == 0) {
+                contentHash = Arrays.hashCode(jsonBytes);
+                hash = contentHash;
+            }
+            return contentHash;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             StoredJSON that = (StoredJSON) o;
-            return timestamp == that.timestamp && Objects.equals(json, that.json);
+            return timestamp == that.timestamp && Arrays.equals(jsonBytes, that.jsonBytes);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(json, timestamp);
+            return Objects.hash(getContentHash(), timestamp);
         }
     }
 }
@@ -0,0 +1,204 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import com.djrapitops.plan.delivery.web.resolver.AsyncResolver;
+import com.djrapitops.plan.delivery.web.resolver.Resolver;
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.web.resolver.ResponseBuilder;
+import com.djrapitops.plan.delivery.web.resolver.request.Request;
+import com.djrapitops.plan.identification.Identifiers;
+import com.djrapitops.plan.utilities.analysis.LatencyHistogram;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Makes simultaneous identical requests share a single generation of the response.
+ * <p>
+ * Requests are identical if they go to the same resolver with the same path and query parameters, except timestamp.
+ * The first request generates the response and the rest wait for it.
+ * A request only waits for a generation that was started for the same or a newer timestamp,
+ * so that the shared response is never older than what the request asked for.
+ * The resolvers need to give the same response regardless of the user, access is still checked per request.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class RequestCoalescer {
+
+    private final Map<String, Generation> inFlight;
+    private final LongAdder generations;
+    private final LongAdder coalesced;
+    private final Map<String, LatencyHistogram> waitLatencies;
+
+    @Inject
+    public RequestCoalescer() {
+        inFlight = new ConcurrentHashMap<>();
+        generations = new LongAdder();
+        coalesced = new LongAdder();
+        waitLatencies = new ConcurrentHashMap<>();
+    }
+
+    static String getKey(String resolverName, Request request) {
+        String[] parameters = Arrays.stream(StringUtils.split(request.getQuery().asString().substring(1), '&'))
+                .filter(parameter -> !parameter.startsWith("timestamp="))
+                .sorted()
+                .toArray(String[]::new);
+        return resolverName + request.getPath().asString() + '?' + String.join("&", parameters);
+    }
+
+    static Optional<Response> copy(Optional<Response> resolved) {
+        return resolved.map(RequestCoalescer::copy);
+    }
+
+    // Headers are modified when the response is sent, so every request gets its own Response.
+    private static Response copy(Response response) {
+        ResponseBuilder copy = Response.builder().setStatus(response.getCode());
+        if (response.getBytes() != null) copy.setContent(response.getBytes());
+        if (response.hasGzippedBytes()) {
+            // Compressed once on first send, if ever
+            copy.setGzippedContent(() -> response.getGzippedBytes().orElse(null));
+        }
+        for (Map.Entry<String, String> header : response.getHeaders().entrySet()) {
+            copy.setHeader(header.getKey(), header.getValue());
+        }
+        return copy.build();
+    }
+
+    /**
+     * Wrap a resolver so that simultaneous identical requests are resolved once.
+     *
+     * @param resolverName Name of the resolver, used for the key and metrics.
+     * @param resolver     Resolver that gives the same response to all users.
+     * @return Resolver that coalesces requests.
+     */
+    public AsyncResolver coalesce(String resolverName, Resolver resolver) {
+        return new CoalescingResolver(resolverName, resolver, this);
+    }
+
+    CompletableFuture<Optional<Response>> resolve(String resolverName, Request request, Resolver resolver) {
+        String key = getKey(resolverName, request);
+        // Without timestamp the resolver uses current time, which an ongoing generation already satisfies.
+        long timestamp = Identifiers.getTimestamp(request);
+        long newerThan = request.getQuery().get("timestamp").isPresent() ? timestamp : Long.MIN_VALUE;
+        Generation generating = new Generation(timestamp);
+        while (true) {
+            Generation existing = inFlight.get(key);
+            if (existing != null && existing.timestamp >= newerThan) {
+                return waitFor(resolverName, existing);
+            }
+            boolean started = existing == null
+                    ? inFlight.putIfAbsent(key, generating) == null
+                    : inFlight.replace(key, existing, generating);
+            if (started) break;
+        }
+
+        generations.increment();
+        CompletableFuture<Optional<Response>> future = generating.future;
+        try {
+            generate(request, resolver).whenComplete((response, failure) -> {
+                inFlight.remove(key, generating);
+                if (failure != null) {
+                    future.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+                } else {
+                    future.complete(response);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, generating);
+            future.completeExceptionally(e);
+        }
+        return future.thenApply(RequestCoalescer::copy);
+    }
+
+    private CompletableFuture<Optional<Response>> waitFor(String resolverName, Generation existing) {
+        coalesced.increment();
+        long waitStart = System.nanoTime();
+        return existing.future.whenComplete((response, failure) -> waitLatencies
+                .computeIfAbsent(resolverName, name -> new LatencyHistogram())
+                .record(System.nanoTime() - waitStart)
+        ).thenApply(RequestCoalescer::copy);
+    }
+
+    private static CompletableFuture<Optional<Response>> generate(Request request, Resolver resolver) {
+        if (resolver instanceof AsyncResolver) {
+            return ((AsyncResolver) resolver).resolveAsync(request);
+        }
+        return CompletableFuture.completedFuture(resolver.resolve(request));
+    }
+
+    public long getGenerations() {
+        return generations.sum();
+    }
+
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    public Map<String, LatencyHistogram> getWaitLatencies() {
+        return new TreeMap<>(waitLatencies);
+    }
+
+    private static class Generation {
+        private final long timestamp;
+        private final CompletableFuture<Optional<Response>> future;
+
+        Generation(long timestamp) {
+            this.timestamp = timestamp;
+            this.future = new CompletableFuture<>();
+        }
+    }
+
+    static class CoalescingResolver implements AsyncResolver {
+
+        private final String resolverName;
+        private final Resolver resolver;
+        private final RequestCoalescer coalescer;
+
+        CoalescingResolver(String resolverName, Resolver resolver, RequestCoalescer coalescer) {
+            this.resolverName = resolverName;
+            this.resolver = resolver;
+            this.coalescer = coalescer;
+        }
+
+        @Override
+        public boolean canAccess(Request request) {
+            return resolver.canAccess(request);
+        }
+
+        @Override
+        public boolean requiresAuth(Request request) {
+            return resolver.requiresAuth(request);
+        }
+
+        @Override
+        public CompletableFuture<Optional<Response>> resolveAsync(Request request) {
+            return coalescer.resolve(resolverName, request, resolver);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import com.djrapitops.plan.settings.locale.Locale;
+import com.djrapitops.plan.settings.theme.Theme;
+import com.djrapitops.plan.settings.theme.ThemeVal;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory cache for web resources that have theme colors and locale applied.
+ * <p>
+ * Templates, theme and locale don't change between reloads, so the resources are translated once per
+ * resource, locale and theme instead of on every request.
+ * ${placeholders} are left untranslated in the cached resources so that server dependent values can be
+ * replaced per request.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class TranslatedResourceCache {
+
+    private final Locale locale;
+    private final Theme theme;
+
+    private final Map<String, Translated> cache;
+
+    @Inject
+    public TranslatedResourceCache(
+            Locale locale,
+            Theme theme
+    ) {
+        this.locale = locale;
+        this.theme = theme;
+        cache = new ConcurrentHashMap<>();
+    }
+
+    public String getTranslatedHtml(String resourceName, String template) {
+        return getOrTranslate("html:" + resourceName, template,
+                html -> locale.replaceLanguageInHtml(theme.replaceThemeColors(html)));
+    }
+
+    public String getTranslatedJavascript(String resourceName, String script) {
+        return getOrTranslate("js:" + resourceName, script,
+                javascript -> locale.replaceLanguageInJavascript(theme.replaceThemeColors(javascript)));
+    }
+
+    private String getOrTranslate(String resourceKey, String resource, UnaryOperator<String> translator) {
+        String key = resourceKey + ':' + locale.getLangCode() + ':' + theme.getValue(ThemeVal.THEME_DEFAULT);
+        Translated cached = cache.get(key);
+        // Resources can be customized or have snippets added while running, so the original is compared.
+        if (cached != null && cached.original.equals(resource)) {
+            return cached.translated;
+        }
+        String translated = translator.apply(resource);
+        cache.put(key, new Translated(resource, translated));
+        return translated;
+    }
+
+    private static class Translated {
+        final String original;
+        final String translated;
+
+        Translated(String original, String translated) {
+            this.original = original;
+            this.translated = translated;
+        }
+    }
+}
@@ -80,9 +80,12 @@ public class GraphsJSONResolver implements Resolver {
 
         DataID dataID = getDataID(type);
 
+        JSONStorage.StoredJSON storedJSON = getGraphJSON(request, dataID);
         return Response.builder()
                 .setMimeType(MimeType.JSON)
-                .setJSONContent(getGraphJSON(request, dataID).json)
+                .setJSONContent(storedJSON.getJsonBytes())
+                .setGzippedContent(storedJSON::getGzippedJson)
+                .setHeader("ETag", storedJSON.getETag())
                 .build();
     }
 
@@ -17,16 +17,18 @@
 package com.djrapitops.plan.delivery.webserver.resolver.json;
 
 import com.djrapitops.plan.delivery.rendering.json.network.NetworkTabJSONCreator;
+import com.djrapitops.plan.delivery.web.resolver.AsyncResolver;
 import com.djrapitops.plan.delivery.web.resolver.MimeType;
-import com.djrapitops.plan.delivery.web.resolver.Resolver;
 import com.djrapitops.plan.delivery.web.resolver.Response;
 import com.djrapitops.plan.delivery.web.resolver.request.Request;
 import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
 import com.djrapitops.plan.delivery.webserver.cache.AsyncJSONResolverService;
 import com.djrapitops.plan.delivery.webserver.cache.DataID;
+import com.djrapitops.plan.delivery.webserver.cache.JSONStorage;
 import com.djrapitops.plan.identification.Identifiers;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 /**
@@ -34,7 +36,7 @@ import java.util.function.Supplier;
  *
  * @author AuroraLS3
  */
-public class NetworkTabJSONResolver<T> implements Resolver {
+public class NetworkTabJSONResolver<T> implements AsyncResolver {
 
     private final DataID dataID;
     private final Supplier<T> jsonCreator;
@@ -55,14 +57,20 @@ public class NetworkTabJSONResolver<T> implements Resolver {
     }
 
     @Override
-    public Optional<Response> resolve(Request request) {
-        return Optional.of(getResponse(request));
+    public CompletableFuture<Optional<Response>> resolveAsync(Request request) {
+        return getStoredJSON(request).thenApply(storedJSON -> Optional.of(getResponse(storedJSON)));
     }
 
-    private Response getResponse(Request request) {
+    private CompletableFuture<JSONStorage.StoredJSON> getStoredJSON(Request request) {
+        return asyncJSONResolverService.resolveAsync(Identifiers.getTimestamp(request), dataID, jsonCreator);
+    }
+
+    private Response getResponse(JSONStorage.StoredJSON storedJSON) {
         return Response.builder()
                 .setMimeType(MimeType.JSON)
-                .setJSONContent(asyncJSONResolverService.resolve(Identifiers.getTimestamp(request), dataID, jsonCreator).json)
+                .setJSONContent(storedJSON.getJsonBytes())
+                .setGzippedContent(storedJSON::getGzippedJson)
+                .setHeader("ETag", storedJSON.getETag())
                 .build();
     }
 }
\ No newline at end of file
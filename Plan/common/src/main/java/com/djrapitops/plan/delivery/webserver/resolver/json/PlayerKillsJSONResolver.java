@@ -74,7 +74,9 @@ public class PlayerKillsJSONResolver implements Resolver {
         );
         return Response.builder()
                 .setMimeType(MimeType.JSON)
-                .setJSONContent(storedJSON.json)
+                .setJSONContent(storedJSON.getJsonBytes())
+                .setGzippedContent(storedJSON::getGzippedJson)
+                .setHeader("ETag", storedJSON.getETag())
                 .build();
     }
 }
\ No newline at end of file
@@ -20,20 +20,26 @@ import com.djrapitops.plan.delivery.rendering.json.JSONFactory;
 import com.djrapitops.plan.delivery.web.resolver.MimeType;
 import com.djrapitops.plan.delivery.web.resolver.Resolver;
 import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.web.resolver.exception.BadRequestException;
 import com.djrapitops.plan.delivery.web.resolver.request.Request;
 import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
 import com.djrapitops.plan.delivery.webserver.cache.AsyncJSONResolverService;
 import com.djrapitops.plan.delivery.webserver.cache.DataID;
 import com.djrapitops.plan.delivery.webserver.cache.JSONStorage;
 import com.djrapitops.plan.identification.Identifiers;
+import com.djrapitops.plan.storage.database.queries.objects.playertable.PlayersTablePage;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Resolves /v1/players JSON requests.
+ * <p>
+ * /server page players table is requested a page at a time with jQuery DataTables server-side processing parameters
+ * (draw, start, length, order, dir, search) and optional 'after' cursor of the last row of the previous page.
  *
  * @author AuroraLS3
  */
@@ -71,12 +77,46 @@ public class PlayersTableJSONResolver implements Resolver {
     }
 
     private Response getResponse(Request request) {
+        if (request.getQuery().get("server").isPresent() && request.getQuery().get("draw").isPresent()) {
+            return getPageResponse(request);
+        }
+        JSONStorage.StoredJSON storedJSON = getStoredJSON(request);
+        return Response.builder()
+                .setMimeType(MimeType.JSON)
+                .setJSONContent(storedJSON.getJsonBytes())
+                .setGzippedContent(storedJSON::getGzippedJson)
+                .setHeader("ETag", storedJSON.getETag())
+                .build();
+    }
+
+    private Response getPageResponse(Request request) {
+        UUID serverUUID = identifiers.getServerUUID(request); // Can throw BadRequestException
+        PlayersTablePage.Sort sort = PlayersTablePage.Sort.fromColumnIndex(getNumber(request, "order", 5));
+        PlayersTablePage page = new PlayersTablePage(
+                sort,
+                !"asc".equalsIgnoreCase(request.getQuery().get("dir").orElse("desc")),
+                request.getQuery().get("search").orElse(null),
+                request.getQuery().get("after").flatMap(cursor -> PlayersTablePage.Cursor.parse(cursor, sort)).orElse(null),
+                getNumber(request, "start", 0),
+                Math.min(getNumber(request, "length", 25), 1000)
+        );
+
+        Map<String, Object> json = jsonFactory.serverPlayersTablePageJSON(serverUUID, page);
+        json.put("draw", getNumber(request, "draw", 0));
         return Response.builder()
                 .setMimeType(MimeType.JSON)
-                .setJSONContent(getStoredJSON(request).json)
+                .setJSONContent(json)
                 .build();
     }
 
+    private int getNumber(Request request, String parameter, int defaultValue) {
+        try {
+            return request.getQuery().get(parameter).map(Integer::parseInt).orElse(defaultValue);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("'" + parameter + "' was not a number: " + e.getMessage());
+        }
+    }
+
     private JSONStorage.StoredJSON getStoredJSON(Request request) {
         long timestamp = Identifiers.getTimestamp(request);
         JSONStorage.StoredJSON storedJSON;
@@ -33,6 +33,7 @@ import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.DisplaySettings;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.Database;
@@ -45,6 +46,8 @@ import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
 import com.djrapitops.plan.storage.database.queries.objects.playertable.QueryTablePlayersQuery;
 import com.djrapitops.plan.utilities.java.Maps;
 import com.djrapitops.plugin.api.TimeAmount;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.gson.Gson;
 
 import javax.inject.Inject;
@@ -54,11 +57,14 @@ import java.net.URLDecoder;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 @Singleton
 public class QueryJSONResolver implements Resolver {
 
     private final QueryFilters filters;
+    // Filter chain and view -> timestamp of the stored result
+    private final Cache<QueryKey, Long> recentQueries;
 
     private final PlanConfig config;
     private final DBSystem dbSystem;
@@ -86,6 +92,11 @@ public class QueryJSONResolver implements Resolver {
         this.graphJSONCreator = graphJSONCreator;
         this.locale = locale;
         this.formatters = formatters;
+
+        recentQueries = Caffeine.newBuilder()
+                .expireAfterAccess(1, TimeUnit.HOURS)
+                .maximumSize(500)
+                .build();
     }
 
     @Override
@@ -109,11 +120,15 @@ public class QueryJSONResolver implements Resolver {
         try {
             String query = URLDecoder.decode(q, "UTF-8");
             List<SpecifiedFilterInformation> queries = SpecifiedFilterInformation.parse(query);
+            QueryKey key = new QueryKey(queries, new Gson().fromJson(view, FiltersJSONResolver.ViewJSON.class));
+            Optional<Response> recentResult = checkForRecentResult(key);
+            if (recentResult.isPresent()) return recentResult.get();
+
             Filter.Result result = filters.apply(queries);
             List<Filter.ResultPath> resultPath = result.getInverseResultPath();
             Collections.reverse(resultPath);
 
-            return buildAndStoreResponse(view, result, resultPath);
+            return buildAndStoreResponse(key, view, result, resultPath);
         } catch (IOException e) {
             throw new BadRequestException("Failed to decode json: '" + q + "', " + e.getMessage());
         }
@@ -123,16 +138,32 @@ public class QueryJSONResolver implements Resolver {
         try {
             return request.getQuery().get("timestamp")
                     .flatMap(queryTimestamp -> jsonStorage.fetchExactJson("query", Long.parseLong(queryTimestamp)))
-                    .map(results -> Response.builder()
-                            .setMimeType(MimeType.JSON)
-                            .setJSONContent(results.json)
-                            .build());
+                    .map(this::toResponse);
         } catch (NumberFormatException e) {
             throw new BadRequestException("Could not parse 'timestamp' into a number. Remove parameter or fix it.");
         }
     }
 
-    private Response buildAndStoreResponse(String view, Filter.Result result, List<Filter.ResultPath> resultPath) {
+    private Optional<Response> checkForRecentResult(QueryKey key) {
+        Long timestamp = recentQueries.getIfPresent(key);
+        if (timestamp == null) return Optional.empty();
+        if (System.currentTimeMillis() - timestamp > config.get(WebserverSettings.INVALIDATE_MEMORY_CACHE)) {
+            recentQueries.invalidate(key);
+            return Optional.empty();
+        }
+        return jsonStorage.fetchExactJson("query", timestamp).map(this::toResponse);
+    }
+
+    private Response toResponse(JSONStorage.StoredJSON results) {
+        return Response.builder()
+                .setMimeType(MimeType.JSON)
+                .setJSONContent(results.getJsonBytes())
+                .setGzippedContent(results::getGzippedJson)
+                .setHeader("ETag", results.getETag())
+                .build();
+    }
+
+    private Response buildAndStoreResponse(QueryKey key, String view, Filter.Result result, List<Filter.ResultPath> resultPath) {
         try {
             long timestamp = System.currentTimeMillis();
             Map<String, Object> json = Maps.builder(String.class, Object.class)
@@ -141,37 +172,38 @@ public class QueryJSONResolver implements Resolver {
                     .put("timestamp", timestamp)
                     .build();
             if (!result.isEmpty()) {
-                json.put("data", getDataFor(result.getResultUUIDs(), view));
+                json.put("data", getDataFor(result.getResultUserIds(), view));
             }
 
             JSONStorage.StoredJSON stored = jsonStorage.storeJson("query", json, timestamp);
+            recentQueries.put(key, timestamp);
 
             return Response.builder()
                     .setMimeType(MimeType.JSON)
-                    .setJSONContent(stored.json)
+                    .setJSONContent(stored.getJsonBytes())
                     .build();
         } catch (ParseException e) {
             throw new BadRequestException("'view' date format was incorrect (expecting afterDate dd/mm/yyyy, afterTime hh:mm, beforeDate dd/mm/yyyy, beforeTime hh:mm}): " + e.getMessage());
         }
     }
 
-    private Map<String, Object> getDataFor(Set<UUID> playerUUIDs, String view) throws ParseException {
+    private Map<String, Object> getDataFor(BitSet userIds, String view) throws ParseException {
         FiltersJSONResolver.ViewJSON viewJSON = new Gson().fromJson(view, FiltersJSONResolver.ViewJSON.class);
         SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM/yyyy kk:mm");
         long after = dateFormat.parse(viewJSON.afterDate + " " + viewJSON.afterTime).getTime();
         long before = dateFormat.parse(viewJSON.beforeDate + " " + viewJSON.beforeTime).getTime();
 
         return Maps.builder(String.class, Object.class)
-                .put("players", getPlayersTableData(playerUUIDs, after, before))
-                .put("activity", getActivityGraphData(playerUUIDs, after, before))
-                .put("geolocation", getGeolocationData(playerUUIDs))
-                .put("sessions", getSessionSummaryData(playerUUIDs, after, before))
+                .put("players", getPlayersTableData(userIds, after, before))
+                .put("activity", getActivityGraphData(userIds, after, before))
+                .put("geolocation", getGeolocationData(userIds))
+                .put("sessions", getSessionSummaryData(userIds, after, before))
                 .build();
     }
 
-    private Map<String, String> getSessionSummaryData(Set<UUID> playerUUIDs, long after, long before) {
+    private Map<String, String> getSessionSummaryData(BitSet userIds, long after, long before) {
         Database database = dbSystem.getDatabase();
-        Map<String, Long> summary = database.query(SessionQueries.summaryOfPlayers(playerUUIDs, after, before));
+        Map<String, Long> summary = database.query(SessionQueries.summaryOfPlayers(userIds, after, before));
         Map<String, String> formattedSummary = new HashMap<>();
         Formatter<Long> timeAmount = formatters.timeAmount();
         for (Map.Entry<String, Long> entry : summary.entrySet()) {
@@ -182,14 +214,14 @@ public class QueryJSONResolver implements Resolver {
         return formattedSummary;
     }
 
-    private Map<String, Object> getGeolocationData(Set<UUID> playerUUIDs) {
+    private Map<String, Object> getGeolocationData(BitSet userIds) {
         Database database = dbSystem.getDatabase();
         return graphJSONCreator.createGeolocationJSON(
-                database.query(GeoInfoQueries.networkGeolocationCounts(playerUUIDs))
+                database.query(GeoInfoQueries.networkGeolocationCounts(userIds))
         );
     }
 
-    private Map<String, Object> getActivityGraphData(Set<UUID> playerUUIDs, long after, long before) {
+    private Map<String, Object> getActivityGraphData(BitSet userIds, long after, long before) {
         Database database = dbSystem.getDatabase();
         Long threshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
 
@@ -198,19 +230,42 @@ public class QueryJSONResolver implements Resolver {
 
         DateMap<Map<String, Integer>> activityData = new DateMap<>();
         for (long time = before; time >= stopDate; time -= TimeAmount.WEEK.toMillis(1L)) {
-            activityData.put(time, database.query(NetworkActivityIndexQueries.fetchActivityIndexGroupingsOn(time, threshold, playerUUIDs)));
+            activityData.put(time, database.query(NetworkActivityIndexQueries.fetchActivityIndexGroupingsOn(time, threshold, userIds)));
         }
 
         return graphJSONCreator.createActivityGraphJSON(activityData);
     }
 
-    private Map<String, Object> getPlayersTableData(Set<UUID> playerUUIDs, long after, long before) {
+    private Map<String, Object> getPlayersTableData(BitSet userIds, long after, long before) {
         Database database = dbSystem.getDatabase();
         return new PlayersTableJSONCreator(
-                database.query(new QueryTablePlayersQuery(playerUUIDs, after, before, config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD))),
-                database.query(new ExtensionQueryResultTableDataQuery(serverInfo.getServerUUID(), playerUUIDs)),
+                database.query(new QueryTablePlayersQuery(userIds, after, before, config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD))),
+                database.query(new ExtensionQueryResultTableDataQuery(serverInfo.getServerUUID(), userIds)),
                 config.get(DisplaySettings.OPEN_PLAYER_LINKS_IN_NEW_TAB),
                 formatters, locale
         ).toJSONMap();
     }
+
+    private static class QueryKey {
+        private final List<SpecifiedFilterInformation> filters;
+        private final String view;
+
+        QueryKey(List<SpecifiedFilterInformation> filters, FiltersJSONResolver.ViewJSON view) {
+            this.filters = filters;
+            this.view = view.afterDate + ' ' + view.afterTime + " - " + view.beforeDate + ' ' + view.beforeTime;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            QueryKey queryKey = (QueryKey) o;
+            return filters.equals(queryKey.filters) && view.equals(queryKey.view);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(filters, view);
+        }
+    }
 }
@@ -20,6 +20,7 @@ import com.djrapitops.plan.delivery.rendering.json.*;
 import com.djrapitops.plan.delivery.web.resolver.CompositeResolver;
 import com.djrapitops.plan.delivery.webserver.cache.AsyncJSONResolverService;
 import com.djrapitops.plan.delivery.webserver.cache.DataID;
+import com.djrapitops.plan.delivery.webserver.cache.RequestCoalescer;
 import com.djrapitops.plan.identification.Identifiers;
 
 import javax.inject.Inject;
@@ -27,6 +28,8 @@ import javax.inject.Singleton;
 
 /**
  * Root resolver for JSON requests, resolves /v1/ URLs.
+ * <p>
+ * Simultaneous identical requests are coalesced with {@link RequestCoalescer}.
  *
  * @author AuroraLS3
  */
@@ -35,12 +38,14 @@ public class RootJSONResolver {
 
     private final Identifiers identifiers;
     private final AsyncJSONResolverService asyncJSONResolverService;
+    private final RequestCoalescer coalescer;
     private final CompositeResolver resolver;
 
     @Inject
     public RootJSONResolver(
             Identifiers identifiers,
             AsyncJSONResolverService asyncJSONResolverService,
+            RequestCoalescer coalescer,
             JSONFactory jsonFactory,
 
             GraphsJSONResolver graphsJSONResolver,
@@ -61,23 +66,24 @@ public class RootJSONResolver {
     ) {
         this.identifiers = identifiers;
         this.asyncJSONResolverService = asyncJSONResolverService;
+        this.coalescer = coalescer;
 
         resolver = CompositeResolver.builder()
-                .add("players", playersTableJSONResolver)
-                .add("sessions", sessionsJSONResolver)
-                .add("kills", playerKillsJSONResolver)
-                .add("graph", graphsJSONResolver)
-                .add("pingTable", forJSON(DataID.PING_TABLE, jsonFactory::pingPerGeolocation))
-                .add("serverOverview", forJSON(DataID.SERVER_OVERVIEW, serverOverviewJSONCreator))
-                .add("onlineOverview", forJSON(DataID.ONLINE_OVERVIEW, onlineActivityOverviewJSONCreator))
-                .add("sessionsOverview", forJSON(DataID.SESSIONS_OVERVIEW, sessionsOverviewJSONCreator))
-                .add("playerVersus", forJSON(DataID.PVP_PVE, pvPPvEJSONCreator))
-                .add("playerbaseOverview", forJSON(DataID.PLAYERBASE_OVERVIEW, playerBaseOverviewJSONCreator))
-                .add("performanceOverview", forJSON(DataID.PERFORMANCE_OVERVIEW, performanceJSONCreator))
-                .add("player", playerJSONResolver)
-                .add("network", networkJSONResolver.getResolver())
-                .add("filters", filtersJSONResolver)
-                .add("query", queryJSONResolver)
+                .add("players", coalescer.coalesce("players", playersTableJSONResolver))
+                .add("sessions", coalescer.coalesce("sessions", sessionsJSONResolver))
+                .add("kills", coalescer.coalesce("kills", playerKillsJSONResolver))
+                .add("graph", coalescer.coalesce("graph", graphsJSONResolver))
+                .add("pingTable", coalescer.coalesce("pingTable", forJSON(DataID.PING_TABLE, jsonFactory::pingPerGeolocation)))
+                .add("serverOverview", coalescer.coalesce("serverOverview", forJSON(DataID.SERVER_OVERVIEW, serverOverviewJSONCreator)))
+                .add("onlineOverview", coalescer.coalesce("onlineOverview", forJSON(DataID.ONLINE_OVERVIEW, onlineActivityOverviewJSONCreator)))
+                .add("sessionsOverview", coalescer.coalesce("sessionsOverview", forJSON(DataID.SESSIONS_OVERVIEW, sessionsOverviewJSONCreator)))
+                .add("playerVersus", coalescer.coalesce("playerVersus", forJSON(DataID.PVP_PVE, pvPPvEJSONCreator)))
+                .add("playerbaseOverview", coalescer.coalesce("playerbaseOverview", forJSON(DataID.PLAYERBASE_OVERVIEW, playerBaseOverviewJSONCreator)))
+                .add("performanceOverview", coalescer.coalesce("performanceOverview", forJSON(DataID.PERFORMANCE_OVERVIEW, performanceJSONCreator)))
+                .add("player", coalescer.coalesce("player", playerJSONResolver))
+                .add("network", coalescer.coalesce("network", networkJSONResolver.getResolver()))
+                .add("filters", coalescer.coalesce("filters", filtersJSONResolver))
+                .add("query", coalescer.coalesce("query", queryJSONResolver))
                 .build();
     }
 
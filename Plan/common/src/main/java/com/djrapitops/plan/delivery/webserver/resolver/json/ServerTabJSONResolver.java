@@ -17,17 +17,19 @@
 package com.djrapitops.plan.delivery.webserver.resolver.json;
 
 import com.djrapitops.plan.delivery.rendering.json.ServerTabJSONCreator;
+import com.djrapitops.plan.delivery.web.resolver.AsyncResolver;
 import com.djrapitops.plan.delivery.web.resolver.MimeType;
-import com.djrapitops.plan.delivery.web.resolver.Resolver;
 import com.djrapitops.plan.delivery.web.resolver.Response;
 import com.djrapitops.plan.delivery.web.resolver.request.Request;
 import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
 import com.djrapitops.plan.delivery.webserver.cache.AsyncJSONResolverService;
 import com.djrapitops.plan.delivery.webserver.cache.DataID;
+import com.djrapitops.plan.delivery.webserver.cache.JSONStorage;
 import com.djrapitops.plan.identification.Identifiers;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 /**
@@ -35,7 +37,7 @@ import java.util.function.Function;
  *
  * @author AuroraLS3
  */
-public class ServerTabJSONResolver<T> implements Resolver {
+public class ServerTabJSONResolver<T> implements AsyncResolver {
 
     private final DataID dataID;
     private final Identifiers identifiers;
@@ -58,15 +60,21 @@ public class ServerTabJSONResolver<T> implements Resolver {
     }
 
     @Override
-    public Optional<Response> resolve(Request request) {
-        return Optional.of(getResponse(request));
+    public CompletableFuture<Optional<Response>> resolveAsync(Request request) {
+        return getStoredJSON(request).thenApply(storedJSON -> Optional.of(getResponse(storedJSON)));
     }
 
-    private Response getResponse(Request request) {
+    private CompletableFuture<JSONStorage.StoredJSON> getStoredJSON(Request request) {
         UUID serverUUID = identifiers.getServerUUID(request); // Can throw BadRequestException
+        return asyncJSONResolverService.resolveAsync(Identifiers.getTimestamp(request), dataID, serverUUID, jsonCreator);
+    }
+
+    private Response getResponse(JSONStorage.StoredJSON storedJSON) {
         return Response.builder()
                 .setMimeType(MimeType.JSON)
-                .setJSONContent(asyncJSONResolverService.resolve(Identifiers.getTimestamp(request), dataID, serverUUID, jsonCreator).json)
+                .setJSONContent(storedJSON.getJsonBytes())
+                .setGzippedContent(storedJSON::getGzippedJson)
+                .setHeader("ETag", storedJSON.getETag())
                 .build();
     }
 }
\ No newline at end of file
@@ -67,9 +67,12 @@ public class SessionsJSONResolver implements Resolver {
     }
 
     private Response getResponse(Request request) {
+        JSONStorage.StoredJSON storedJSON = getStoredJSON(request);
         return Response.builder()
                 .setMimeType(MimeType.JSON)
-                .setJSONContent(getStoredJSON(request).json)
+                .setJSONContent(storedJSON.getJsonBytes())
+                .setGzippedContent(storedJSON::getGzippedJson)
+                .setHeader("ETag", storedJSON.getETag())
                 .build();
     }
 
@@ -19,6 +19,7 @@ package com.djrapitops.plan.extension;
 import com.djrapitops.plan.DebugChannels;
 import com.djrapitops.plan.exceptions.DataExtensionMethodCallException;
 import com.djrapitops.plan.extension.implementation.CallerImplementation;
+import com.djrapitops.plan.extension.implementation.ExtensionCircuitBreaker;
 import com.djrapitops.plan.extension.implementation.ExtensionRegister;
 import com.djrapitops.plan.extension.implementation.ExtensionWrapper;
 import com.djrapitops.plan.extension.implementation.providers.MethodWrapper;
@@ -27,19 +28,21 @@ import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.processing.Processing;
 import com.djrapitops.plan.settings.config.ExtensionSettings;
 import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.TimeSettings;
 import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.utilities.analysis.LatencyHistogram;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
 import com.djrapitops.plugin.logging.L;
 import com.djrapitops.plugin.logging.console.PluginLogger;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
 
 /**
  * Implementation for {@link ExtensionService}.
@@ -49,6 +52,8 @@ import java.util.UUID;
 @Singleton
 public class ExtensionSvc implements ExtensionService {
 
+    private static final int GATHERING_THREADS = 4;
+
     private final PlanConfig config;
     private final DBSystem dbSystem;
     private final ServerInfo serverInfo;
@@ -58,6 +63,8 @@ public class ExtensionSvc implements ExtensionService {
     private final ErrorLogger errorLogger;
 
     private final Map<String, ProviderValueGatherer> extensionGatherers;
+    private final Map<String, ExtensionCircuitBreaker> circuitBreakers;
+    private ExecutorService gatheringExecutor;
 
     @Inject
     public ExtensionSvc(
@@ -77,11 +84,26 @@ public class ExtensionSvc implements ExtensionService {
         this.logger = logger;
         this.errorLogger = errorLogger;
 
-        extensionGatherers = new HashMap<>();
+        extensionGatherers = new ConcurrentHashMap<>();
+        circuitBreakers = new ConcurrentHashMap<>();
     }
 
     public void register() {
         Holder.set(this);
+        if (gatheringExecutor == null || gatheringExecutor.isShutdown()) {
+            gatheringExecutor = Executors.newFixedThreadPool(GATHERING_THREADS, new BasicThreadFactory.Builder()
+                    .namingPattern("Plan Extension-pool-%d")
+                    .uncaughtExceptionHandler((thread, throwable) ->
+                            errorLogger.log(L.WARN, throwable, ErrorContext.builder().build())
+                    ).build());
+        }
+    }
+
+    public void disable() {
+        if (gatheringExecutor != null) {
+            // Extension methods are third party code, so they are not waited for.
+            gatheringExecutor.shutdownNow();
+        }
     }
 
     public void registerExtensions() {
@@ -112,6 +134,7 @@ public class ExtensionSvc implements ExtensionService {
 
         ProviderValueGatherer gatherer = new ProviderValueGatherer(extractor, dbSystem, serverInfo);
         gatherer.storeExtensionInformation();
+        circuitBreakers.put(pluginName, new ExtensionCircuitBreaker(config.get(TimeSettings.EXTENSION_GATHERING_TIMEOUT)));
         extensionGatherers.put(pluginName, gatherer);
 
         processing.submitNonCritical(() -> updateServerValues(gatherer, CallEvents.SERVER_EXTENSION_REGISTER));
@@ -124,6 +147,7 @@ public class ExtensionSvc implements ExtensionService {
     public void unregister(DataExtension extension) {
         ExtensionWrapper extractor = new ExtensionWrapper(extension);
         String pluginName = extractor.getPluginName();
+        circuitBreakers.remove(pluginName);
         if (extensionGatherers.remove(pluginName) != null) {
             logger.getDebugLogger().logOn(DebugChannels.DATA_EXTENSIONS, pluginName + " extension unregistered.");
         }
@@ -152,15 +176,21 @@ public class ExtensionSvc implements ExtensionService {
     }
 
     public void updatePlayerValues(UUID playerUUID, String playerName, CallEvents event) {
-        for (ProviderValueGatherer gatherer : extensionGatherers.values()) {
-            updatePlayerValues(gatherer, playerUUID, playerName, event);
-        }
+        updatePlayerValues(extensionGatherers.values(), playerUUID, playerName, event);
     }
 
     public void updatePlayerValues(ProviderValueGatherer gatherer, UUID playerUUID, String playerName, CallEvents event) {
-        if (gatherer.shouldSkipEvent(event)) return;
+        updatePlayerValues(Collections.singletonList(gatherer), playerUUID, playerName, event);
+    }
+
+    private void updatePlayerValues(Collection<ProviderValueGatherer> gatherers, UUID playerUUID, String playerName, CallEvents event) {
         if (playerUUID == null && playerName == null) return;
 
+        gatherInParallel(gatherers, event, "Player: " + playerName + " " + playerUUID,
+                gatherer -> updatePlayerValuesOf(gatherer, playerUUID, playerName, event));
+    }
+
+    private void updatePlayerValuesOf(ProviderValueGatherer gatherer, UUID playerUUID, String playerName, CallEvents event) {
         try {
             logger.getDebugLogger().logOn(DebugChannels.DATA_EXTENSIONS, "Gathering values for: " + playerName);
 
@@ -180,6 +210,69 @@ public class ExtensionSvc implements ExtensionService {
         }
     }
 
+    /**
+     * Gather values of each extension on the gathering threads, waiting until they finish or the time limit is reached.
+     * <p>
+     * Gathering that is not finished in time keeps running, but the calling thread is no longer held up by it.
+     * Extensions that are slow repeatedly are suspended by their {@link ExtensionCircuitBreaker}.
+     *
+     * @param gatherers Gatherers of the extensions.
+     * @param event     Event that caused the gathering, extensions that do not want to be called on the event are skipped.
+     * @param target    Description of what is being gathered, for logging.
+     * @param gathering Gathering to perform with each gatherer.
+     */
+    private void gatherInParallel(
+            Collection<ProviderValueGatherer> gatherers, CallEvents event, String target,
+            Consumer<ProviderValueGatherer> gathering
+    ) {
+        Map<String, Future<?>> running = new HashMap<>();
+        for (ProviderValueGatherer gatherer : gatherers) {
+            if (gatherer.shouldSkipEvent(event)) continue;
+
+            String pluginName = gatherer.getPluginName();
+            ExtensionCircuitBreaker circuitBreaker = circuitBreakers.get(pluginName);
+            if (circuitBreaker == null) continue; // Unregistered
+            if (!circuitBreaker.allowsCall()) {
+                logger.getDebugLogger().logOn(DebugChannels.DATA_EXTENSIONS, pluginName + " extension is suspended, skipped gathering for " + target);
+                continue;
+            }
+
+            try {
+                running.put(pluginName, gatheringExecutor.submit(() -> {
+                    long callId = circuitBreaker.callStarted();
+                    try {
+                        gathering.accept(gatherer);
+                    } finally {
+                        if (circuitBreaker.callFinished(callId)) {
+                            logger.warn(pluginName + " extension was repeatedly slow to gather data, suspending it for " +
+                                    TimeUnit.MILLISECONDS.toMinutes(circuitBreaker.getSuspendedForMs()) + " minutes.");
+                        }
+                    }
+                }));
+            } catch (RejectedExecutionException pluginIsDisabling) {
+                return;
+            }
+        }
+
+        awaitGathering(running, target);
+    }
+
+    private void awaitGathering(Map<String, Future<?>> running, String target) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.get(TimeSettings.EXTENSION_GATHERING_TIMEOUT));
+        for (Map.Entry<String, Future<?>> gathering : running.entrySet()) {
+            try {
+                gathering.getValue().get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException slow) {
+                logger.getDebugLogger().logOn(DebugChannels.DATA_EXTENSIONS, gathering.getKey() + " extension did not finish gathering in time for " + target);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException | CancellationException e) {
+                // Errors are logged during gathering
+            }
+        }
+    }
+
     private void logFailure(String playerName, DataExtensionMethodCallException methodCallFailed) {
         Throwable cause = methodCallFailed.getCause();
         ErrorContext.Builder context = ErrorContext.builder()
@@ -191,14 +284,16 @@ public class ExtensionSvc implements ExtensionService {
     }
 
     public void updateServerValues(CallEvents event) {
-        for (ProviderValueGatherer gatherer : extensionGatherers.values()) {
-            updateServerValues(gatherer, event);
-        }
+        gatherInParallel(extensionGatherers.values(), event, "server",
+                gatherer -> updateServerValuesOf(gatherer, event));
     }
 
     public void updateServerValues(ProviderValueGatherer gatherer, CallEvents event) {
-        if (gatherer.shouldSkipEvent(event)) return;
+        gatherInParallel(Collections.singletonList(gatherer), event, "server",
+                ofGatherer -> updateServerValuesOf(ofGatherer, event));
+    }
 
+    private void updateServerValuesOf(ProviderValueGatherer gatherer, CallEvents event) {
         try {
             logger.getDebugLogger().logOn(DebugChannels.DATA_EXTENSIONS, "Gathering values for server");
 
@@ -217,4 +312,23 @@ public class ExtensionSvc implements ExtensionService {
             errorLogger.log(L.WARN, unexpectedError, context.build());
         }
     }
-}
\ No newline at end of file
+
+    public Map<String, ExtensionCircuitBreaker> getCircuitBreakers() {
+        return new TreeMap<>(circuitBreakers);
+    }
+
+    /**
+     * Get call times of DataExtension methods for the /debug page.
+     *
+     * @return Map: 'PluginName.methodName' - call times.
+     */
+    public Map<String, LatencyHistogram> getMethodCallLatencies() {
+        Map<String, LatencyHistogram> latencies = new TreeMap<>();
+        for (ProviderValueGatherer gatherer : extensionGatherers.values()) {
+            for (MethodWrapper<?> method : gatherer.getMethods()) {
+                latencies.put(gatherer.getPluginName() + '.' + method.getMethodName(), method.getCallLatency());
+            }
+        }
+        return latencies;
+    }
+}
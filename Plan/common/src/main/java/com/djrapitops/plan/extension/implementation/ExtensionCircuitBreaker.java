@@ -0,0 +1,153 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation;
+
+import com.djrapitops.plan.utilities.analysis.LatencyHistogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Suspends gathering of a DataExtension that is repeatedly slow.
+ * <p>
+ * After {@link #SLOW_CALLS_TO_SUSPEND} slow gatherings in a row the extension is suspended,
+ * first for {@link #MIN_SUSPEND_MS} and then twice as long each time it is still slow afterwards,
+ * up to {@link #MAX_SUSPEND_MS}. A gathering that is still running past the time limit prevents
+ * new gatherings from starting, so one stuck extension can not occupy every gathering thread.
+ *
+ * @author AuroraLS3
+ */
+public class ExtensionCircuitBreaker {
+
+    static final int SLOW_CALLS_TO_SUSPEND = 3;
+    static final long MIN_SUSPEND_MS = TimeUnit.MINUTES.toMillis(5L);
+    static final long MAX_SUSPEND_MS = TimeUnit.HOURS.toMillis(1L);
+
+    private final long slowThresholdNanos;
+    private final LongSupplier nanoTime;
+
+    private final LatencyHistogram gatheringLatency;
+    private final Map<Long, Long> runningSince;
+    private final AtomicLong callIds;
+
+    private int slowCallsInRow;
+    private long suspendedUntilNanos;
+    private long nextSuspendMs;
+    private int timesSuspended;
+
+    public ExtensionCircuitBreaker(long slowThresholdMs) {
+        this(slowThresholdMs, System::nanoTime);
+    }
+
+    ExtensionCircuitBreaker(long slowThresholdMs, LongSupplier nanoTime) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.nanoTime = nanoTime;
+
+        gatheringLatency = new LatencyHistogram();
+        runningSince = new ConcurrentHashMap<>();
+        callIds = new AtomicLong();
+        nextSuspendMs = MIN_SUSPEND_MS;
+        suspendedUntilNanos = nanoTime.getAsLong();
+    }
+
+    /**
+     * Check if gathering is allowed to start.
+     *
+     * @return false if the extension is suspended or a previous gathering is stuck.
+     */
+    public synchronized boolean allowsCall() {
+        long now = nanoTime.getAsLong();
+        return now - suspendedUntilNanos >= 0 && !hasStuckCall(now);
+    }
+
+    private boolean hasStuckCall(long now) {
+        for (Long startedAt : runningSince.values()) {
+            if (now - startedAt > slowThresholdNanos) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Mark that a gathering started.
+     *
+     * @return id to give to {@link #callFinished(long)}.
+     */
+    public long callStarted() {
+        long id = callIds.incrementAndGet();
+        runningSince.put(id, nanoTime.getAsLong());
+        return id;
+    }
+
+    /**
+     * Mark that a gathering finished.
+     *
+     * @param id id given by {@link #callStarted()}.
+     * @return true if the extension was suspended because of this gathering.
+     */
+    public synchronized boolean callFinished(long id) {
+        Long startedAt = runningSince.remove(id);
+        if (startedAt == null) return false;
+
+        long now = nanoTime.getAsLong();
+        long took = now - startedAt;
+        gatheringLatency.record(took);
+
+        if (took <= slowThresholdNanos) {
+            slowCallsInRow = 0;
+            nextSuspendMs = MIN_SUSPEND_MS;
+            return false;
+        }
+
+        slowCallsInRow++;
+        if (slowCallsInRow < SLOW_CALLS_TO_SUSPEND) return false;
+
+        // Stays above the limit, so a slow gathering after the suspension suspends again.
+        suspendedUntilNanos = now + TimeUnit.MILLISECONDS.toNanos(nextSuspendMs);
+        nextSuspendMs = Math.min(nextSuspendMs * 2, MAX_SUSPEND_MS);
+        timesSuspended++;
+        return true;
+    }
+
+    public synchronized boolean isSuspended() {
+        return nanoTime.getAsLong() - suspendedUntilNanos < 0;
+    }
+
+    /**
+     * Get how long the current suspension still lasts.
+     *
+     * @return milliseconds, 0 if not suspended.
+     */
+    public synchronized long getSuspendedForMs() {
+        long left = suspendedUntilNanos - nanoTime.getAsLong();
+        return left > 0 ? TimeUnit.NANOSECONDS.toMillis(left) : 0L;
+    }
+
+    public synchronized int getTimesSuspended() {
+        return timesSuspended;
+    }
+
+    public int getRunningCount() {
+        return runningSince.size();
+    }
+
+    public LatencyHistogram getGatheringLatency() {
+        return gatheringLatency;
+    }
+}
@@ -73,6 +73,18 @@ public class DataProviders {
         return getProvidersByTypes(MethodType.GROUP, returnType);
     }
 
+    public List<MethodWrapper<?>> getMethods() {
+        List<MethodWrapper<?>> methods = new ArrayList<>();
+        for (Map<Class<?>, List<DataProvider<?>>> byReturnType : byMethodType.values()) {
+            for (List<DataProvider<?>> providers : byReturnType.values()) {
+                for (DataProvider<?> provider : providers) {
+                    methods.add(provider.getMethod());
+                }
+            }
+        }
+        return methods;
+    }
+
     public <T> void removeProviderWithMethod(MethodWrapper<T> toRemove) {
         MethodType methodType = toRemove.getMethodType();
         Map<Class<?>, List<DataProvider<?>>> byResultType = byMethodType.getOrDefault(methodType, Collections.emptyMap());
@@ -19,13 +19,24 @@ package com.djrapitops.plan.extension.implementation.providers;
 import com.djrapitops.plan.extension.DataExtension;
 import com.djrapitops.plan.extension.NotReadyException;
 import com.djrapitops.plan.extension.implementation.MethodType;
+import com.djrapitops.plan.utilities.analysis.LatencyHistogram;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * Wrap a Method so that it is easier to call.
+ * <p>
+ * The method is bound once when the extension is registered, to a generated {@link BiFunction} if possible,
+ * or to a {@link MethodHandle}, so calls do not go through reflective access checks and exception wrapping every time.
  *
  * @author AuroraLS3
  */
@@ -34,16 +45,118 @@ public class MethodWrapper<T> {
     private final Method method;
     private final Class<T> returnType;
     private final MethodType methodType;
+    private final Class<?> parameterType;
+    private final BiFunction<DataExtension, Object, Object> boundMethod;
+    private final LatencyHistogram callLatency;
     private boolean disabled = false;
 
     public MethodWrapper(Method method, Class<T> returnType) {
         this.method = method;
         this.returnType = returnType;
         methodType = MethodType.forMethod(this.method);
+        parameterType = method.getParameterCount() > 0 ? method.getParameterTypes()[0] : null;
+        boundMethod = bind(method);
+        callLatency = new LatencyHistogram();
+    }
+
+    /**
+     * Bind the method to a function that takes the extension and the argument of the method.
+     *
+     * @param method Method to bind.
+     * @return The function, or null if the method can only be called with reflection.
+     */
+    private static BiFunction<DataExtension, Object, Object> bind(Method method) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+
+        // Generated classes are defined in the class loader of Plan, so they can only refer to classes visible to it.
+        if (isVisibleToPlan(method.getDeclaringClass())) {
+            try {
+                return generateFunction(handle, method);
+            } catch (Throwable e) {
+                // Fall back to calling the handle.
+            }
+        }
+
+        try {
+            boolean hasParameter = method.getParameterCount() > 0;
+            MethodHandle adapted = handle.asType(hasParameter
+                    ? java.lang.invoke.MethodType.methodType(Object.class, DataExtension.class, Object.class)
+                    : java.lang.invoke.MethodType.methodType(Object.class, DataExtension.class));
+            return hasParameter
+                    ? (extension, argument) -> invoke(() -> (Object) adapted.invokeExact(extension, argument))
+                    : (extension, argument) -> invoke(() -> (Object) adapted.invokeExact(extension));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static boolean isVisibleToPlan(Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, MethodWrapper.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiFunction<DataExtension, Object, Object> generateFunction(MethodHandle handle, Method method) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        java.lang.invoke.MethodType erasedType = java.lang.invoke.MethodType.methodType(Object.class, Object.class, Object.class);
+        if (method.getParameterCount() > 0) {
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply",
+                    java.lang.invoke.MethodType.methodType(BiFunction.class),
+                    erasedType, handle,
+                    java.lang.invoke.MethodType.methodType(Object.class, method.getDeclaringClass(), method.getParameterTypes()[0]));
+            return (BiFunction<DataExtension, Object, Object>) callSite.getTarget().invoke();
+        }
+        CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply",
+                java.lang.invoke.MethodType.methodType(Function.class),
+                java.lang.invoke.MethodType.methodType(Object.class, Object.class), handle,
+                java.lang.invoke.MethodType.methodType(Object.class, method.getDeclaringClass()));
+        Function<DataExtension, Object> function = (Function<DataExtension, Object>) callSite.getTarget().invoke();
+        return (extension, argument) -> function.apply(extension);
+    }
+
+    private static Object invoke(HandleCall call) {
+        try {
+            return call.invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
     }
 
     public T callMethod(DataExtension extension, Parameters with) {
         if (disabled) return null;
+        long start = System.nanoTime();
+        try {
+            return boundMethod != null ? callBoundMethod(extension, with) : callMethodReflectively(extension, with);
+        } finally {
+            callLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    private T callBoundMethod(DataExtension extension, Parameters with) {
+        try {
+            Object argument = parameterType != null ? with.getArgument(parameterType) : null;
+            return returnType.cast(boundMethod.apply(extension, argument));
+        } catch (NotReadyException | UnsupportedOperationException notReadyToBeCalled) {
+            return null; // Data or API not available to make the call.
+        } catch (VirtualMachineError e) {
+            throw e;
+        } catch (Throwable e) {
+            Throwable cause = e instanceof UndeclaredThrowableException ? e.getCause() : e;
+            throw new IllegalArgumentException(method.getDeclaringClass() + " method " + method.getName() + " could not be called: " + cause.getMessage(), cause);
+        }
+    }
+
+    private T callMethodReflectively(DataExtension extension, Parameters with) {
         try {
             return returnType.cast(with.usingOn(extension, method));
         } catch (InvocationTargetException notReadyToBeCalled) {
@@ -70,6 +183,10 @@ public class MethodWrapper<T> {
         return returnType;
     }
 
+    public LatencyHistogram getCallLatency() {
+        return callLatency;
+    }
+
     public void disable() {
         this.disabled = true;
     }
@@ -88,4 +205,8 @@ public class MethodWrapper<T> {
     public int hashCode() {
         return Objects.hash(method, returnType, methodType);
     }
-}
\ No newline at end of file
+
+    private interface HandleCall {
+        Object invoke() throws Throwable;
+    }
+}
@@ -39,6 +39,16 @@ public interface Parameters {
 
     Object usingOn(DataExtension extension, Method method) throws InvocationTargetException, IllegalAccessException;
 
+    /**
+     * Get the argument to give to a method with a parameter of given type.
+     *
+     * @param parameterType Type of the parameter.
+     * @return the argument, or null if these parameters have no argument of that type.
+     */
+    default Object getArgument(Class<?> parameterType) {
+        return null;
+    }
+
     MethodType getMethodType();
 
     UUID getServerUUID();
@@ -91,12 +101,12 @@ public interface Parameters {
 
         @Override
         public Object usingOn(DataExtension extension, Method method) throws InvocationTargetException, IllegalAccessException {
-            Class<?> parameterType = method.getParameterTypes()[0];
-            if (UUID.class.equals(parameterType)) {
-                return method.invoke(extension, playerUUID);
-            } else {
-                return method.invoke(extension, playerName);
-            }
+            return method.invoke(extension, getArgument(method.getParameterTypes()[0]));
+        }
+
+        @Override
+        public Object getArgument(Class<?> parameterType) {
+            return UUID.class.equals(parameterType) ? playerUUID : playerName;
         }
 
         @Override
@@ -120,8 +130,13 @@ public interface Parameters {
 
         @Override
         public Object usingOn(DataExtension extension, Method method) throws InvocationTargetException, IllegalAccessException {
+            return method.invoke(extension, getArgument(Group.class));
+        }
+
+        @Override
+        public Object getArgument(Class<?> parameterType) {
             Group group = this::getGroupName;
-            return method.invoke(extension, group);
+            return group;
         }
 
         public String getGroupName() {
@@ -24,11 +24,9 @@ import com.djrapitops.plan.extension.implementation.providers.DataProvider;
 import com.djrapitops.plan.extension.implementation.providers.DataProviders;
 import com.djrapitops.plan.extension.implementation.providers.MethodWrapper;
 import com.djrapitops.plan.extension.implementation.providers.Parameters;
-import com.djrapitops.plan.extension.implementation.storage.transactions.StoreIconTransaction;
 import com.djrapitops.plan.extension.implementation.storage.transactions.providers.StoreProviderTransaction;
 import com.djrapitops.plan.extension.implementation.storage.transactions.results.StorePlayerBooleanResultTransaction;
 import com.djrapitops.plan.extension.implementation.storage.transactions.results.StoreServerBooleanResultTransaction;
-import com.djrapitops.plan.storage.database.Database;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
 
 import java.util.*;
@@ -47,22 +45,20 @@ class BooleanProviderValueGatherer {
     private final DataExtension extension;
     private final UUID serverUUID;
 
-    private final Database database;
     private final DataProviders dataProviders;
 
     BooleanProviderValueGatherer(
             String pluginName,
-            UUID serverUUID, Database database,
+            UUID serverUUID,
             ExtensionWrapper extensionWrapper
     ) {
         this.pluginName = pluginName;
         this.extension = extensionWrapper.getExtension();
         this.serverUUID = serverUUID;
-        this.database = database;
         this.dataProviders = extensionWrapper.getProviders();
     }
 
-    Conditions gatherBooleanDataOfPlayer(UUID playerUUID, String playerName) {
+    Conditions gatherBooleanDataOfPlayer(UUID playerUUID, String playerName, StoreBatch batch) {
         Conditions conditions = new Conditions();
 
         List<DataProvider<Boolean>> unsatisfiedProviders = new ArrayList<>(dataProviders.getPlayerMethodsByType(Boolean.class));
@@ -75,7 +71,7 @@ class BooleanProviderValueGatherer {
 
         do {
             // Loop through all unsatisfied providers to see if more conditions are satisfied
-            satisfied = attemptToSatisfyMoreConditionsAndStoreResults(methodCaller, storeTrancationCreator, conditions, unsatisfiedProviders);
+            satisfied = attemptToSatisfyMoreConditionsAndStoreResults(methodCaller, storeTrancationCreator, conditions, unsatisfiedProviders, batch);
             // Remove now satisfied Providers so that they are not called again
             unsatisfiedProviders.removeAll(satisfied);
             // If no new conditions could be satisfied, stop looping.
@@ -84,7 +80,7 @@ class BooleanProviderValueGatherer {
         return conditions;
     }
 
-    Conditions gatherBooleanDataOfServer() {
+    Conditions gatherBooleanDataOfServer(StoreBatch batch) {
         Conditions conditions = new Conditions();
 
         List<DataProvider<Boolean>> unsatisfiedProviders = new ArrayList<>(dataProviders.getServerMethodsByType(Boolean.class));
@@ -97,7 +93,7 @@ class BooleanProviderValueGatherer {
 
         do {
             // Loop through all unsatisfied providers to see if more conditions are satisfied
-            satisfied = attemptToSatisfyMoreConditionsAndStoreResults(methodCaller, storeTransactionCreator, conditions, unsatisfiedProviders);
+            satisfied = attemptToSatisfyMoreConditionsAndStoreResults(methodCaller, storeTransactionCreator, conditions, unsatisfiedProviders, batch);
             // Remove now satisfied Providers so that they are not called again
             unsatisfiedProviders.removeAll(satisfied);
             // If no new conditions could be satisfied, stop looping.
@@ -109,7 +105,7 @@ class BooleanProviderValueGatherer {
     private Set<DataProvider<Boolean>> attemptToSatisfyMoreConditionsAndStoreResults(
             Function<MethodWrapper<Boolean>, Callable<Boolean>> methodCaller,
             BiFunction<MethodWrapper<Boolean>, Boolean, Transaction> storeTransactionCreator,
-            Conditions conditions, List<DataProvider<Boolean>> unsatisfiedProviders
+            Conditions conditions, List<DataProvider<Boolean>> unsatisfiedProviders, StoreBatch batch
     ) {
         Set<DataProvider<Boolean>> satisfied = new HashSet<>();
         for (DataProvider<Boolean> booleanProvider : unsatisfiedProviders) {
@@ -142,9 +138,9 @@ class BooleanProviderValueGatherer {
             }
 
             satisfied.add(booleanProvider); // Prevents further attempts to call this provider for this player.
-            database.executeTransaction(new StoreIconTransaction(information.getIcon()));
-            database.executeTransaction(new StoreProviderTransaction(booleanProvider, serverUUID));
-            database.executeTransaction(storeTransactionCreator.apply(method, result));
+            batch.storeIcon(information.getIcon());
+            batch.storeProvider(information, () -> new StoreProviderTransaction(booleanProvider, serverUUID));
+            batch.storeValue(information, result, () -> storeTransactionCreator.apply(method, result));
         }
         return satisfied;
     }
@@ -25,6 +25,7 @@ import com.djrapitops.plan.extension.implementation.providers.DataProvider;
 import com.djrapitops.plan.extension.implementation.providers.DataProviders;
 import com.djrapitops.plan.extension.implementation.providers.MethodWrapper;
 import com.djrapitops.plan.extension.implementation.providers.Parameters;
+import com.djrapitops.plan.extension.implementation.storage.transactions.StoreExtensionBatchTransaction;
 import com.djrapitops.plan.extension.implementation.storage.transactions.StoreIconTransaction;
 import com.djrapitops.plan.extension.implementation.storage.transactions.StorePluginTransaction;
 import com.djrapitops.plan.extension.implementation.storage.transactions.StoreTabInformationTransaction;
@@ -32,10 +33,9 @@ import com.djrapitops.plan.extension.implementation.storage.transactions.provide
 import com.djrapitops.plan.extension.implementation.storage.transactions.results.*;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.storage.database.Database;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
 
-import java.util.UUID;
+import java.util.*;
 
 /**
  * Object that can be called to place data about players to the database.
@@ -50,6 +50,7 @@ public class ProviderValueGatherer {
     private final ServerInfo serverInfo;
 
     private final DataProviders dataProviders;
+    private final StoredValueCache storedValues;
     private final BooleanProviderValueGatherer booleanGatherer;
     private final TableProviderValueGatherer tableGatherer;
     private final Gatherer<Long> serverNumberGatherer;
@@ -72,13 +73,13 @@ public class ProviderValueGatherer {
 
         String pluginName = extension.getPluginName();
         UUID serverUUID = serverInfo.getServerUUID();
-        Database database = dbSystem.getDatabase();
         dataProviders = extension.getProviders();
+        storedValues = new StoredValueCache();
         booleanGatherer = new BooleanProviderValueGatherer(
-                pluginName, serverUUID, database, extension
+                pluginName, serverUUID, extension
         );
         tableGatherer = new TableProviderValueGatherer(
-                pluginName, serverUUID, database, extension
+                pluginName, serverUUID, extension
         );
 
         serverNumberGatherer = new Gatherer<>(
@@ -125,6 +126,10 @@ public class ProviderValueGatherer {
         return extensionWrapper.getPluginName();
     }
 
+    public List<MethodWrapper<?>> getMethods() {
+        return dataProviders.getMethods();
+    }
+
     public void storeExtensionInformation() {
         String pluginName = extensionWrapper.getPluginName();
         Icon pluginIcon = extensionWrapper.getPluginIcon();
@@ -132,35 +137,45 @@ public class ProviderValueGatherer {
         long time = System.currentTimeMillis();
         UUID serverUUID = serverInfo.getServerUUID();
 
-        Database database = dbSystem.getDatabase();
-        database.executeTransaction(new StoreIconTransaction(pluginIcon));
-        database.executeTransaction(new StorePluginTransaction(pluginName, time, serverUUID, pluginIcon));
+        // Icons are stored first, since the plugin and tabs refer to them.
+        Map<String, Transaction> storeIcons = new LinkedHashMap<>();
+        storeIcons.put(pluginIcon.toString(), new StoreIconTransaction(pluginIcon));
+        List<Transaction> storeInformation = new ArrayList<>();
+        storeInformation.add(new StorePluginTransaction(pluginName, time, serverUUID, pluginIcon));
         for (TabInformation tab : extensionWrapper.getPluginTabs()) {
-            database.executeTransaction(new StoreIconTransaction(tab.getTabIcon()));
-            database.executeTransaction(new StoreTabInformationTransaction(pluginName, serverUUID, tab));
+            Icon tabIcon = tab.getTabIcon();
+            storeIcons.putIfAbsent(tabIcon.toString(), new StoreIconTransaction(tabIcon));
+            storeInformation.add(new StoreTabInformationTransaction(pluginName, serverUUID, tab));
         }
+        storeInformation.add(new RemoveInvalidResultsTransaction(pluginName, serverUUID, extensionWrapper.getInvalidatedMethods()));
 
-        database.executeTransaction(new RemoveInvalidResultsTransaction(pluginName, serverUUID, extensionWrapper.getInvalidatedMethods()));
+        List<Transaction> transactions = new ArrayList<>(storeIcons.values());
+        transactions.addAll(storeInformation);
+        dbSystem.getDatabase().executeTransaction(new StoreExtensionBatchTransaction(transactions));
     }
 
     public void updateValues(UUID playerUUID, String playerName) {
-        Conditions conditions = booleanGatherer.gatherBooleanDataOfPlayer(playerUUID, playerName);
+        StoreBatch batch = new StoreBatch(storedValues, playerUUID);
+        Conditions conditions = booleanGatherer.gatherBooleanDataOfPlayer(playerUUID, playerName, batch);
         Parameters params = Parameters.player(serverInfo.getServerUUID(), playerUUID, playerName);
-        playerNumberGatherer.gather(conditions, params);
-        playerDoubleGatherer.gather(conditions, params);
-        playerStringGatherer.gather(conditions, params);
-        tableGatherer.gatherTableDataOfPlayer(playerUUID, playerName, conditions);
-        playerGroupGatherer.gather(conditions, params);
+        playerNumberGatherer.gather(conditions, params, batch);
+        playerDoubleGatherer.gather(conditions, params, batch);
+        playerStringGatherer.gather(conditions, params, batch);
+        tableGatherer.gatherTableDataOfPlayer(playerUUID, playerName, conditions, batch);
+        playerGroupGatherer.gather(conditions, params, batch);
+        batch.execute(dbSystem.getDatabase());
     }
 
     public void updateValues() {
-        Conditions conditions = booleanGatherer.gatherBooleanDataOfServer();
+        StoreBatch batch = new StoreBatch(storedValues, null);
+        Conditions conditions = booleanGatherer.gatherBooleanDataOfServer(batch);
         Parameters params = Parameters.server(serverInfo.getServerUUID());
 
-        serverNumberGatherer.gather(conditions, params);
-        serverDoubleGatherer.gather(conditions, params);
-        serverStringGatherer.gather(conditions, params);
-        tableGatherer.gatherTableDataOfServer(conditions);
+        serverNumberGatherer.gather(conditions, params, batch);
+        serverDoubleGatherer.gather(conditions, params, batch);
+        serverStringGatherer.gather(conditions, params, batch);
+        tableGatherer.gatherTableDataOfServer(conditions, batch);
+        batch.execute(dbSystem.getDatabase());
     }
 
     interface ResultTransactionConstructor<T> {
@@ -179,15 +194,16 @@ public class ProviderValueGatherer {
             this.resultTransactionConstructor = resultTransactionConstructor;
         }
 
-        public void gather(Conditions conditions, Parameters parameters) {
+        public void gather(Conditions conditions, Parameters parameters, StoreBatch batch) {
             for (DataProvider<T> provider : dataProviders.getProvidersByTypes(parameters.getMethodType(), type)) {
-                gather(conditions, provider, parameters);
+                gather(conditions, provider, parameters, batch);
             }
         }
 
-        private void gather(Conditions conditions, DataProvider<T> provider, Parameters parameters) {
+        private void gather(Conditions conditions, DataProvider<T> provider, Parameters parameters, StoreBatch batch) {
             ProviderInformation information = provider.getProviderInformation();
             if (information.getCondition().map(conditions::isNotFulfilled).orElse(false)) {
+                batch.valueNotAvailable(information);
                 return; // Condition not fulfilled
             }
 
@@ -196,10 +212,9 @@ public class ProviderValueGatherer {
                 return; // Error during method call
             }
 
-            Database db = dbSystem.getDatabase();
-            db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-            db.executeTransaction(new StoreProviderTransaction(provider, parameters.getServerUUID()));
-            db.executeTransaction(resultTransactionConstructor.create(provider, parameters, result));
+            batch.storeIcon(information.getIcon());
+            batch.storeProvider(information, () -> new StoreProviderTransaction(provider, parameters.getServerUUID()));
+            batch.storeValue(information, result, () -> resultTransactionConstructor.create(provider, parameters, result));
         }
     }
 }
\ No newline at end of file
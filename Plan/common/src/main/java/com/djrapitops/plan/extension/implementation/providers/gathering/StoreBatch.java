@@ -0,0 +1,160 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation.providers.gathering;
+
+import com.djrapitops.plan.exceptions.database.DBOpException;
+import com.djrapitops.plan.extension.icon.Icon;
+import com.djrapitops.plan.extension.implementation.ProviderInformation;
+import com.djrapitops.plan.extension.implementation.storage.transactions.StoreExtensionBatchTransaction;
+import com.djrapitops.plan.extension.implementation.storage.transactions.StoreIconTransaction;
+import com.djrapitops.plan.extension.table.Table;
+import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Collects everything gathered during one update of an extension so that it can be stored with few transactions.
+ * <p>
+ * Provider and icon information goes to one transaction and values to another, since storing table values
+ * queries the id of the table provider, which has to be committed first.
+ * Anything already stored according to {@link StoredValueCache} is skipped.
+ *
+ * @author AuroraLS3
+ */
+class StoreBatch {
+
+    private final StoredValueCache storedValues;
+
+    private final Map<String, Object> metadataFingerprints;
+    private final List<Transaction> metadataTransactions;
+    private final Map<String, Object> valueFingerprints;
+    private final List<Transaction> valueTransactions;
+    private final UUID playerUUID;
+
+    StoreBatch(StoredValueCache storedValues, UUID playerUUID) {
+        this.storedValues = storedValues;
+        this.playerUUID = playerUUID;
+        metadataFingerprints = new HashMap<>();
+        metadataTransactions = new ArrayList<>();
+        valueFingerprints = new HashMap<>();
+        valueTransactions = new ArrayList<>();
+    }
+
+    void storeIcon(Icon icon) {
+        if (icon == null) return;
+        String key = "icon:" + icon;
+        if (isMetadataStoredOrQueued(key, Boolean.TRUE)) return;
+
+        metadataFingerprints.put(key, Boolean.TRUE);
+        metadataTransactions.add(new StoreIconTransaction(icon));
+    }
+
+    void storeProvider(ProviderInformation information, Supplier<Transaction> storeTransaction) {
+        storeProvider(information, Arrays.asList(information, String.valueOf(information.getIcon())), storeTransaction);
+    }
+
+    void storeTableProvider(ProviderInformation information, Table table, Supplier<Transaction> storeTransaction) {
+        List<String> icons = new ArrayList<>();
+        for (Icon icon : table.getIcons()) {
+            icons.add(String.valueOf(icon));
+        }
+        Object fingerprint = Arrays.asList(information, String.valueOf(information.getIcon()), Arrays.asList(table.getColumns()), icons);
+        storeProvider(information, fingerprint, storeTransaction);
+    }
+
+    private void storeProvider(ProviderInformation information, Object fingerprint, Supplier<Transaction> storeTransaction) {
+        String key = "provider:" + information.getName();
+        if (isMetadataStoredOrQueued(key, fingerprint)) return;
+
+        metadataFingerprints.put(key, fingerprint);
+        metadataTransactions.add(storeTransaction.get());
+    }
+
+    private boolean isMetadataStoredOrQueued(String key, Object fingerprint) {
+        return metadataFingerprints.containsKey(key) || storedValues.isMetadataStored(key, fingerprint);
+    }
+
+    void storeValue(ProviderInformation information, Object value, Supplier<Transaction> storeTransaction) {
+        String providerName = information.getName();
+        Object fingerprint = fingerprintOf(value);
+        if (storedValues.isValueStored(providerName, playerUUID, fingerprint)) return;
+
+        valueFingerprints.put(providerName, fingerprint);
+        valueTransactions.add(storeTransaction.get());
+    }
+
+    void valueNotAvailable(ProviderInformation information) {
+        storedValues.forgetValue(information.getName(), playerUUID);
+    }
+
+    private static Object fingerprintOf(Object value) {
+        if (value instanceof String[]) {
+            return Arrays.asList(((String[]) value).clone());
+        }
+        if (value instanceof Table) {
+            Table table = (Table) value;
+            List<Object> fingerprint = new ArrayList<>();
+            fingerprint.add(Arrays.asList(table.getColumns()));
+            for (Icon icon : table.getIcons()) {
+                fingerprint.add(String.valueOf(icon));
+            }
+            for (Object[] row : table.getRows()) {
+                List<String> cells = new ArrayList<>(row.length);
+                for (Object cell : row) {
+                    cells.add(String.valueOf(cell));
+                }
+                fingerprint.add(cells);
+            }
+            return fingerprint;
+        }
+        return value;
+    }
+
+    void execute(Database database) {
+        if (!metadataTransactions.isEmpty()) {
+            execute(database, metadataTransactions, write -> {
+                for (Map.Entry<String, Object> entry : metadataFingerprints.entrySet()) {
+                    storedValues.metadataWritten(entry.getKey(), entry.getValue(), write);
+                }
+            });
+        }
+        if (!valueTransactions.isEmpty()) {
+            execute(database, valueTransactions, write -> {
+                for (Map.Entry<String, Object> entry : valueFingerprints.entrySet()) {
+                    storedValues.valueWritten(entry.getKey(), playerUUID, entry.getValue(), write);
+                }
+            });
+        }
+    }
+
+    private void execute(Database database, List<Transaction> transactions, Consumer<StoredValueCache.PendingWrite> rememberWrite) {
+        StoreExtensionBatchTransaction batch = new StoreExtensionBatchTransaction(transactions);
+        StoredValueCache.PendingWrite write = new StoredValueCache.PendingWrite(batch);
+        // Remembered before execution so that concurrent updates do not store the same things again.
+        rememberWrite.accept(write);
+        try {
+            write.executing(database.executeTransaction(batch));
+        } catch (DBOpException e) {
+            write.executing(CompletableFuture.completedFuture(null));
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation.providers.gathering;
+
+import com.djrapitops.plan.extension.implementation.storage.transactions.StoreExtensionBatchTransaction;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers what a {@link ProviderValueGatherer} has already written to the database.
+ * <p>
+ * Provider and icon information is written once per registration (or when it changes),
+ * values are written again only if they changed, or the previous write is older than {@link #VALUE_REWRITE_MINUTES}.
+ * Rewriting periodically makes sure values removed from the database by other means are eventually restored.
+ *
+ * @author AuroraLS3
+ */
+class StoredValueCache {
+
+    private static final long VALUE_REWRITE_MINUTES = 30L;
+
+    private final Map<String, Entry> storedMetadata;
+    private final Cache<ValueKey, Entry> storedValues;
+
+    StoredValueCache() {
+        storedMetadata = new ConcurrentHashMap<>();
+        storedValues = Caffeine.newBuilder()
+                .expireAfterWrite(VALUE_REWRITE_MINUTES, TimeUnit.MINUTES)
+                .maximumSize(50_000)
+                .build();
+    }
+
+    boolean isMetadataStored(String key, Object fingerprint) {
+        Entry entry = storedMetadata.get(key);
+        return entry != null && entry.isStored(fingerprint);
+    }
+
+    void metadataWritten(String key, Object fingerprint, PendingWrite write) {
+        storedMetadata.put(key, new Entry(fingerprint, write));
+    }
+
+    boolean isValueStored(String providerName, UUID playerUUID, Object fingerprint) {
+        Entry entry = storedValues.getIfPresent(new ValueKey(providerName, playerUUID));
+        return entry != null && entry.isStored(fingerprint);
+    }
+
+    void valueWritten(String providerName, UUID playerUUID, Object fingerprint, PendingWrite write) {
+        storedValues.put(new ValueKey(providerName, playerUUID), new Entry(fingerprint, write));
+    }
+
+    /**
+     * Forget a stored value, so that it is written next time even if it has not changed.
+     * <p>
+     * Used when the condition of the provider is not fulfilled, since the value is then removed by
+     * {@link com.djrapitops.plan.extension.implementation.storage.transactions.results.RemoveUnsatisfiedConditionalPlayerResultsTransaction}.
+     *
+     * @param providerName Name of the provider.
+     * @param playerUUID   UUID of the player, null for server values.
+     */
+    void forgetValue(String providerName, UUID playerUUID) {
+        storedValues.invalidate(new ValueKey(providerName, playerUUID));
+    }
+
+    /**
+     * Write of a batch that is either still in progress or already finished.
+     */
+    static class PendingWrite {
+        private final StoreExtensionBatchTransaction transaction;
+        private volatile Future<?> execution;
+
+        PendingWrite(StoreExtensionBatchTransaction transaction) {
+            this.transaction = transaction;
+        }
+
+        void executing(Future<?> execution) {
+            this.execution = execution;
+        }
+
+        boolean isStoredOrInProgress() {
+            Future<?> running = execution;
+            return running == null || !running.isDone() || transaction.wasStored();
+        }
+    }
+
+    private static class Entry {
+        private final Object fingerprint;
+        private final PendingWrite write;
+
+        Entry(Object fingerprint, PendingWrite write) {
+            this.fingerprint = fingerprint;
+            this.write = write;
+        }
+
+        boolean isStored(Object currentFingerprint) {
+            return Objects.equals(fingerprint, currentFingerprint) && write.isStoredOrInProgress();
+        }
+    }
+
+    private static class ValueKey {
+        private final String providerName;
+        private final UUID playerUUID;
+
+        ValueKey(String providerName, UUID playerUUID) {
+            this.providerName = providerName;
+            this.playerUUID = playerUUID;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ValueKey valueKey = (ValueKey) o;
+            return providerName.equals(valueKey.providerName) &&
+                    Objects.equals(playerUUID, valueKey.playerUUID);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(providerName, playerUUID);
+        }
+    }
+}
@@ -25,12 +25,10 @@ import com.djrapitops.plan.extension.implementation.providers.DataProvider;
 import com.djrapitops.plan.extension.implementation.providers.DataProviders;
 import com.djrapitops.plan.extension.implementation.providers.MethodWrapper;
 import com.djrapitops.plan.extension.implementation.providers.Parameters;
-import com.djrapitops.plan.extension.implementation.storage.transactions.StoreIconTransaction;
 import com.djrapitops.plan.extension.implementation.storage.transactions.providers.StoreTableProviderTransaction;
 import com.djrapitops.plan.extension.implementation.storage.transactions.results.StorePlayerTableResultTransaction;
 import com.djrapitops.plan.extension.implementation.storage.transactions.results.StoreServerTableResultTransaction;
 import com.djrapitops.plan.extension.table.Table;
-import com.djrapitops.plan.storage.database.Database;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
 
 import java.util.Optional;
@@ -50,40 +48,38 @@ class TableProviderValueGatherer {
     private final DataExtension extension;
     private final UUID serverUUID;
 
-    private final Database database;
     private final DataProviders dataProviders;
 
     TableProviderValueGatherer(
             String pluginName,
-            UUID serverUUID, Database database,
+            UUID serverUUID,
             ExtensionWrapper extensionWrapper
     ) {
         this.pluginName = pluginName;
         this.extension = extensionWrapper.getExtension();
         this.serverUUID = serverUUID;
-        this.database = database;
         this.dataProviders = extensionWrapper.getProviders();
     }
 
-    void gatherTableDataOfPlayer(UUID playerUUID, String playerName, Conditions conditions) {
+    void gatherTableDataOfPlayer(UUID playerUUID, String playerName, Conditions conditions, StoreBatch batch) {
         // Method parameters abstracted away so that same method can be used for all parameter types
         // Same with Method result store transaction creation
         Function<MethodWrapper<Table>, Callable<Table>> methodCaller = method -> () -> method.callMethod(extension, Parameters.player(serverUUID, playerUUID, playerName));
         BiFunction<MethodWrapper<Table>, Table, Transaction> storeTransactionCreator = (method, result) -> new StorePlayerTableResultTransaction(pluginName, serverUUID, method.getMethodName(), playerUUID, result);
 
         for (DataProvider<Table> tableProvider : dataProviders.getPlayerMethodsByType(Table.class)) {
-            gatherTableDataOfProvider(methodCaller, storeTransactionCreator, conditions, tableProvider);
+            gatherTableDataOfProvider(methodCaller, storeTransactionCreator, conditions, tableProvider, batch);
         }
     }
 
-    void gatherTableDataOfServer(Conditions conditions) {
+    void gatherTableDataOfServer(Conditions conditions, StoreBatch batch) {
         // Method parameters abstracted away so that same method can be used for all parameter types
         // Same with Method result store transaction creation
         Function<MethodWrapper<Table>, Callable<Table>> methodCaller = method -> () -> method.callMethod(extension, Parameters.server(serverUUID));
         BiFunction<MethodWrapper<Table>, Table, Transaction> storeTransactionCreator = (method, result) -> new StoreServerTableResultTransaction(pluginName, serverUUID, method.getMethodName(), result);
 
         for (DataProvider<Table> tableProvider : dataProviders.getServerMethodsByType(Table.class)) {
-            gatherTableDataOfProvider(methodCaller, storeTransactionCreator, conditions, tableProvider);
+            gatherTableDataOfProvider(methodCaller, storeTransactionCreator, conditions, tableProvider, batch);
         }
     }
 
@@ -91,11 +87,13 @@ class TableProviderValueGatherer {
             Function<MethodWrapper<Table>, Callable<Table>> methodCaller,
             BiFunction<MethodWrapper<Table>, Table, Transaction> storeTransactionCreator,
             Conditions conditions,
-            DataProvider<Table> tableProvider
+            DataProvider<Table> tableProvider,
+            StoreBatch batch
     ) {
         ProviderInformation providerInformation = tableProvider.getProviderInformation();
         Optional<String> condition = providerInformation.getCondition();
         if (condition.isPresent() && conditions.isNotFulfilled(condition.get())) {
+            batch.valueNotAvailable(providerInformation);
             return;
         }
 
@@ -106,12 +104,10 @@ class TableProviderValueGatherer {
         }
 
         for (Icon icon : result.getIcons()) {
-            if (icon != null) {
-                database.executeTransaction(new StoreIconTransaction(icon));
-            }
+            batch.storeIcon(icon);
         }
-        database.executeTransaction(new StoreTableProviderTransaction(serverUUID, providerInformation, result));
-        database.executeTransaction(storeTransactionCreator.apply(method, result));
+        batch.storeTableProvider(providerInformation, result, () -> new StoreTableProviderTransaction(serverUUID, providerInformation, result));
+        batch.storeValue(providerInformation, result, () -> storeTransactionCreator.apply(method, result));
     }
 
     private <T> T getMethodResult(Callable<T> callable, MethodWrapper<T> method) {
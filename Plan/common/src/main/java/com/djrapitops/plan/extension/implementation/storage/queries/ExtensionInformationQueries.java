@@ -19,12 +19,15 @@ package com.djrapitops.plan.extension.implementation.storage.queries;
 import com.djrapitops.plan.extension.icon.Color;
 import com.djrapitops.plan.extension.icon.Family;
 import com.djrapitops.plan.extension.icon.Icon;
+import com.djrapitops.plan.extension.implementation.results.ExtensionDescriptive;
 import com.djrapitops.plan.extension.implementation.results.ExtensionInformation;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryAllStatement;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.sql.tables.ExtensionGroupsTable;
 import com.djrapitops.plan.storage.database.sql.tables.ExtensionIconTable;
 import com.djrapitops.plan.storage.database.sql.tables.ExtensionPluginTable;
+import com.djrapitops.plan.storage.database.sql.tables.ExtensionProviderTable;
 import com.djrapitops.plan.utilities.java.Lists;
 
 import java.sql.PreparedStatement;
@@ -112,4 +115,54 @@ public class ExtensionInformationQueries {
         };
     }
 
-}
\ No newline at end of file
+    /**
+     * Query the providers that have a column in the players table of a server.
+     * <p>
+     * Same providers as {@link ExtensionServerTableDataQuery} returns data of, so that the columns
+     * stay the same when the table is loaded a page at a time.
+     *
+     * @param serverUUID UUID of the server.
+     * @return Descriptives of the providers, key of the column is the name of the provider.
+     */
+    public static Query<List<ExtensionDescriptive>> playersTableColumnsOfServer(UUID serverUUID) {
+        String hasGroups = "EXISTS (" + SELECT + "1" + FROM + ExtensionGroupsTable.TABLE_NAME + " g1" +
+                WHERE + "g1." + ExtensionGroupsTable.PROVIDER_ID + "=p1." + ExtensionProviderTable.ID + ')';
+        String sql = SELECT + DISTINCT +
+                "p1." + ExtensionProviderTable.PROVIDER_NAME + " as provider_name," +
+                "p1." + ExtensionProviderTable.TEXT + " as text," +
+                "i1." + ExtensionIconTable.ICON_NAME + " as provider_icon_name," +
+                "i1." + ExtensionIconTable.FAMILY + " as provider_icon_family" +
+                FROM + ExtensionProviderTable.TABLE_NAME + " p1" +
+                INNER_JOIN + ExtensionPluginTable.TABLE_NAME + " e1 on e1." + ExtensionPluginTable.ID + "=p1." + ExtensionProviderTable.PLUGIN_ID +
+                LEFT_JOIN + ExtensionIconTable.TABLE_NAME + " i1 on i1." + ExtensionIconTable.ID + "=p1." + ExtensionProviderTable.ICON_ID +
+                WHERE + "e1." + ExtensionPluginTable.SERVER_UUID + "=?" +
+                AND + "((p1." + ExtensionProviderTable.SHOW_IN_PLAYERS_TABLE + "=?" +
+                AND + "p1." + ExtensionProviderTable.IS_PLAYER_NAME + "=?)" +
+                OR + hasGroups + ')';
+
+        return new QueryStatement<List<ExtensionDescriptive>>(sql, 100) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                statement.setBoolean(2, true);  // Select only providers that should be shown
+                statement.setBoolean(3, false); // Don't select player_name String providers
+            }
+
+            @Override
+            public List<ExtensionDescriptive> processResults(ResultSet set) throws SQLException {
+                List<ExtensionDescriptive> descriptives = new ArrayList<>();
+                Set<String> names = new HashSet<>();
+                while (set.next()) {
+                    String name = set.getString("provider_name");
+                    if (!names.add(name)) continue;
+                    String iconName = set.getString("provider_icon_name");
+                    Family family = Family.getByName(set.getString("provider_icon_family")).orElse(Family.SOLID);
+                    Icon icon = new Icon(family, iconName, Color.NONE);
+                    descriptives.add(new ExtensionDescriptive(name, set.getString(ExtensionProviderTable.TEXT), null, icon, 0));
+                }
+                return descriptives;
+            }
+        };
+    }
+
+}
@@ -24,13 +24,13 @@ import com.djrapitops.plan.extension.implementation.results.*;
 import com.djrapitops.plan.storage.database.SQLDB;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdRanges;
 import com.djrapitops.plan.storage.database.sql.tables.*;
-import org.apache.commons.text.TextStringBuilder;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Collection;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -48,16 +48,20 @@ import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
 public class ExtensionQueryResultTableDataQuery implements Query<Map<UUID, ExtensionTabData>> {
 
     private final UUID serverUUID;
-    private final Collection<UUID> playerUUIDs;
+    private final BitSet userIds;
 
-    public ExtensionQueryResultTableDataQuery(UUID serverUUID, Collection<UUID> playerUUIDs) {
+    public ExtensionQueryResultTableDataQuery(UUID serverUUID, BitSet userIds) {
         this.serverUUID = serverUUID;
-        this.playerUUIDs = playerUUIDs;
+        this.userIds = userIds;
     }
 
     @Override
     public Map<UUID, ExtensionTabData> executeQuery(SQLDB db) {
-        return combine(db.query(fetchPlayerData()), db.query(fetchPlayerGroups()));
+        Map<UUID, ExtensionTabData> dataByPlayer = new HashMap<>();
+        for (UserIdRanges chunk : UserIdRanges.chunksOf(userIds)) {
+            dataByPlayer.putAll(combine(db.query(fetchPlayerData(chunk)), db.query(fetchPlayerGroups(chunk))));
+        }
+        return dataByPlayer;
     }
 
     private Map<UUID, ExtensionTabData> combine(Map<UUID, ExtensionTabData> one, Map<UUID, ExtensionTabData> two) {
@@ -75,7 +79,7 @@ public class ExtensionQueryResultTableDataQuery implements Query<Map<UUID, Exten
         return one;
     }
 
-    private Query<Map<UUID, ExtensionTabData>> fetchPlayerData() {
+    private Query<Map<UUID, ExtensionTabData>> fetchPlayerData(UserIdRanges chunk) {
 
         String sql = SELECT +
                 "v1." + ExtensionPlayerValueTable.USER_UUID + " as uuid," +
@@ -95,8 +99,8 @@ public class ExtensionQueryResultTableDataQuery implements Query<Map<UUID, Exten
                 INNER_JOIN + ExtensionProviderTable.TABLE_NAME + " p1 on p1." + ExtensionProviderTable.ID + "=v1." + ExtensionPlayerValueTable.PROVIDER_ID +
                 INNER_JOIN + ExtensionPluginTable.TABLE_NAME + " e1 on e1." + ExtensionPluginTable.ID + "=p1." + ExtensionProviderTable.PLUGIN_ID +
                 LEFT_JOIN + ExtensionIconTable.TABLE_NAME + " i1 on i1." + ExtensionIconTable.ID + "=p1." + ExtensionProviderTable.ICON_ID +
-                WHERE + "v1." + ExtensionPlayerValueTable.USER_UUID + " IN ('" +
-                new TextStringBuilder().appendWithSeparators(playerUUIDs, "','").build() + "')" +
+                INNER_JOIN + UsersTable.TABLE_NAME + " u on u." + UsersTable.USER_UUID + "=v1." + ExtensionPlayerValueTable.USER_UUID +
+                WHERE + chunk.matching("u." + UsersTable.ID) +
                 AND + "p1." + ExtensionProviderTable.SHOW_IN_PLAYERS_TABLE + "=?" +
                 AND + "p1." + ExtensionProviderTable.IS_PLAYER_NAME + "=?" +
                 AND + "e1." + ExtensionPluginTable.SERVER_UUID + "=?";
@@ -104,9 +108,10 @@ public class ExtensionQueryResultTableDataQuery implements Query<Map<UUID, Exten
         return new QueryStatement<Map<UUID, ExtensionTabData>>(sql, 1000) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setBoolean(1, true);                  // Select only values that should be shown
-                statement.setBoolean(2, false);                 // Don't select player_name String values
-                statement.setString(3, serverUUID.toString());
+                int index = chunk.setParameters(statement, 1);
+                statement.setBoolean(index, true);              // Select only values that should be shown
+                statement.setBoolean(index + 1, false);         // Don't select player_name String values
+                statement.setString(index + 2, serverUUID.toString());
             }
 
             @Override
@@ -116,7 +121,7 @@ public class ExtensionQueryResultTableDataQuery implements Query<Map<UUID, Exten
         };
     }
 
-    private Query<Map<UUID, ExtensionTabData>> fetchPlayerGroups() {
+    private Query<Map<UUID, ExtensionTabData>> fetchPlayerGroups(UserIdRanges chunk) {
         String sql = SELECT +
                 "v1." + ExtensionGroupsTable.USER_UUID + " as uuid," +
                 "v1." + ExtensionGroupsTable.GROUP_NAME + " as group_value," +
@@ -128,14 +133,15 @@ public class ExtensionQueryResultTableDataQuery implements Query<Map<UUID, Exten
                 INNER_JOIN + ExtensionProviderTable.TABLE_NAME + " p1 on p1." + ExtensionProviderTable.ID + "=v1." + ExtensionGroupsTable.PROVIDER_ID +
                 INNER_JOIN + ExtensionPluginTable.TABLE_NAME + " e1 on e1." + ExtensionPluginTable.ID + "=p1." + ExtensionProviderTable.PLUGIN_ID +
                 LEFT_JOIN + ExtensionIconTable.TABLE_NAME + " i1 on i1." + ExtensionIconTable.ID + "=p1." + ExtensionProviderTable.ICON_ID +
-                WHERE + "v1." + ExtensionPlayerValueTable.USER_UUID + " IN ('" +
-                new TextStringBuilder().appendWithSeparators(playerUUIDs, "','").build() + "')" +
+                INNER_JOIN + UsersTable.TABLE_NAME + " u on u." + UsersTable.USER_UUID + "=v1." + ExtensionGroupsTable.USER_UUID +
+                WHERE + chunk.matching("u." + UsersTable.ID) +
                 AND + "e1." + ExtensionPluginTable.SERVER_UUID + "=?";
 
         return new QueryStatement<Map<UUID, ExtensionTabData>>(sql, 1000) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setString(1, serverUUID.toString());
+                int index = chunk.setParameters(statement, 1);
+                statement.setString(index, serverUUID.toString());
             }
 
             @Override
@@ -29,15 +29,13 @@ import com.djrapitops.plan.storage.database.sql.tables.*;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
 import java.util.stream.Collectors;
 
 import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
 
 /**
- * Query Extension data of x most recent players on a server.
+ * Query Extension data of x most recent players on a server, or of specific players on a server.
  * <p>
  * Returns Map: Player UUID - {@link ExtensionTabData} (container for provider based data)
  *
@@ -47,14 +45,29 @@ public class ExtensionServerTableDataQuery implements Query<Map<UUID, ExtensionT
 
     private final UUID serverUUID;
     private final int xMostRecentPlayers;
+    private final List<UUID> playerUUIDs;
 
     public ExtensionServerTableDataQuery(UUID serverUUID, int xMostRecentPlayers) {
         this.serverUUID = serverUUID;
         this.xMostRecentPlayers = xMostRecentPlayers;
+        this.playerUUIDs = null;
+    }
+
+    /**
+     * Query Extension data of specific players, eg. players on a page of the players table.
+     *
+     * @param serverUUID  UUID of the server.
+     * @param playerUUIDs UUIDs of the players.
+     */
+    public ExtensionServerTableDataQuery(UUID serverUUID, Collection<UUID> playerUUIDs) {
+        this.serverUUID = serverUUID;
+        this.xMostRecentPlayers = playerUUIDs.size();
+        this.playerUUIDs = new ArrayList<>(playerUUIDs);
     }
 
     @Override
     public Map<UUID, ExtensionTabData> executeQuery(SQLDB db) {
+        if (playerUUIDs != null && playerUUIDs.isEmpty()) return new HashMap<>();
         return combine(db.query(fetchPlayerData()), db.query(fetchPlayerGroups()));
     }
 
@@ -74,12 +87,7 @@ public class ExtensionServerTableDataQuery implements Query<Map<UUID, ExtensionT
     }
 
     private Query<Map<UUID, ExtensionTabData>> fetchPlayerData() {
-        String selectLimitedNumberOfPlayerUUIDsByLastSeenDate = SELECT +
-                SessionsTable.TABLE_NAME + '.' + SessionsTable.USER_UUID +
-                ",MAX(" + SessionsTable.SESSION_END + ") as last_seen" +
-                FROM + SessionsTable.TABLE_NAME +
-                GROUP_BY + SessionsTable.TABLE_NAME + '.' + SessionsTable.USER_UUID +
-                ORDER_BY + "last_seen DESC LIMIT ?";
+        String selectPlayerUUIDs = selectPlayerUUIDsSQL();
 
         String sql = SELECT +
                 "v1." + ExtensionPlayerValueTable.USER_UUID + " as uuid," +
@@ -96,7 +104,7 @@ public class ExtensionServerTableDataQuery implements Query<Map<UUID, ExtensionT
                 "i1." + ExtensionIconTable.ICON_NAME + " as provider_icon_name," +
                 "i1." + ExtensionIconTable.FAMILY + " as provider_icon_family" +
                 FROM + ExtensionPlayerValueTable.TABLE_NAME + " v1" +
-                INNER_JOIN + '(' + selectLimitedNumberOfPlayerUUIDsByLastSeenDate + ") as last_seen_q on last_seen_q.uuid=v1." + ExtensionPlayerValueTable.USER_UUID +
+                INNER_JOIN + '(' + selectPlayerUUIDs + ") as last_seen_q on last_seen_q.uuid=v1." + ExtensionPlayerValueTable.USER_UUID +
                 INNER_JOIN + ExtensionProviderTable.TABLE_NAME + " p1 on p1." + ExtensionProviderTable.ID + "=v1." + ExtensionPlayerValueTable.PROVIDER_ID +
                 INNER_JOIN + ExtensionPluginTable.TABLE_NAME + " e1 on e1." + ExtensionPluginTable.ID + "=p1." + ExtensionProviderTable.PLUGIN_ID +
                 LEFT_JOIN + ExtensionIconTable.TABLE_NAME + " i1 on i1." + ExtensionIconTable.ID + "=p1." + ExtensionProviderTable.ICON_ID +
@@ -107,10 +115,10 @@ public class ExtensionServerTableDataQuery implements Query<Map<UUID, ExtensionT
         return new QueryStatement<Map<UUID, ExtensionTabData>>(sql, 1000) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setInt(1, xMostRecentPlayers);       // Limit to x most recently seen players
-                statement.setString(2, serverUUID.toString());
-                statement.setBoolean(3, true);                  // Select only values that should be shown
-                statement.setBoolean(4, false);                 // Don't select player_name String values
+                int index = setPlayerUUIDsParameters(statement);
+                statement.setString(index, serverUUID.toString());
+                statement.setBoolean(index + 1, true);          // Select only values that should be shown
+                statement.setBoolean(index + 2, false);         // Don't select player_name String values
             }
 
             @Override
@@ -121,12 +129,7 @@ public class ExtensionServerTableDataQuery implements Query<Map<UUID, ExtensionT
     }
 
     private Query<Map<UUID, ExtensionTabData>> fetchPlayerGroups() {
-        String selectLimitedNumberOfPlayerUUIDsByLastSeenDate = SELECT +
-                SessionsTable.TABLE_NAME + '.' + SessionsTable.USER_UUID +
-                ",MAX(" + SessionsTable.SESSION_END + ") as last_seen" +
-                FROM + SessionsTable.TABLE_NAME +
-                GROUP_BY + SessionsTable.TABLE_NAME + '.' + SessionsTable.USER_UUID +
-                ORDER_BY + "last_seen DESC LIMIT ?";
+        String selectPlayerUUIDs = selectPlayerUUIDsSQL();
 
         String sql = SELECT +
                 "v1." + ExtensionGroupsTable.USER_UUID + " as uuid," +
@@ -136,7 +139,7 @@ public class ExtensionServerTableDataQuery implements Query<Map<UUID, ExtensionT
                 "i1." + ExtensionIconTable.ICON_NAME + " as provider_icon_name," +
                 "i1." + ExtensionIconTable.FAMILY + " as provider_icon_family" +
                 FROM + ExtensionGroupsTable.TABLE_NAME + " v1" +
-                INNER_JOIN + '(' + selectLimitedNumberOfPlayerUUIDsByLastSeenDate + ") as last_seen_q on last_seen_q.uuid=v1." + ExtensionGroupsTable.USER_UUID +
+                INNER_JOIN + '(' + selectPlayerUUIDs + ") as last_seen_q on last_seen_q.uuid=v1." + ExtensionGroupsTable.USER_UUID +
                 INNER_JOIN + ExtensionProviderTable.TABLE_NAME + " p1 on p1." + ExtensionProviderTable.ID + "=v1." + ExtensionGroupsTable.PROVIDER_ID +
                 INNER_JOIN + ExtensionPluginTable.TABLE_NAME + " e1 on e1." + ExtensionPluginTable.ID + "=p1." + ExtensionProviderTable.PLUGIN_ID +
                 LEFT_JOIN + ExtensionIconTable.TABLE_NAME + " i1 on i1." + ExtensionIconTable.ID + "=p1." + ExtensionProviderTable.ICON_ID +
@@ -145,8 +148,8 @@ public class ExtensionServerTableDataQuery implements Query<Map<UUID, ExtensionT
         return new QueryStatement<Map<UUID, ExtensionTabData>>(sql, 1000) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setInt(1, xMostRecentPlayers);       // Limit to x most recently seen players
-                statement.setString(2, serverUUID.toString());
+                int index = setPlayerUUIDsParameters(statement);
+                statement.setString(index, serverUUID.toString());
             }
 
             @Override
@@ -156,6 +159,33 @@ public class ExtensionServerTableDataQuery implements Query<Map<UUID, ExtensionT
         };
     }
 
+    private String selectPlayerUUIDsSQL() {
+        if (playerUUIDs != null) {
+            String parameters = playerUUIDs.stream().map(playerUUID -> "?").collect(Collectors.joining(","));
+            return SELECT + UsersTable.USER_UUID +
+                    FROM + UsersTable.TABLE_NAME +
+                    WHERE + UsersTable.USER_UUID + " IN (" + parameters + ')';
+        }
+        return SELECT +
+                SessionsTable.TABLE_NAME + '.' + SessionsTable.USER_UUID +
+                ",MAX(" + SessionsTable.SESSION_END + ") as last_seen" +
+                FROM + SessionsTable.TABLE_NAME +
+                GROUP_BY + SessionsTable.TABLE_NAME + '.' + SessionsTable.USER_UUID +
+                ORDER_BY + "last_seen DESC LIMIT ?";
+    }
+
+    private int setPlayerUUIDsParameters(PreparedStatement statement) throws SQLException {
+        if (playerUUIDs != null) {
+            int index = 1;
+            for (UUID playerUUID : playerUUIDs) {
+                statement.setString(index++, playerUUID.toString());
+            }
+            return index;
+        }
+        statement.setInt(1, xMostRecentPlayers); // Limit to x most recently seen players
+        return 2;
+    }
+
     private Map<UUID, ExtensionTabData> extractDataByPlayer(ResultSet set) throws SQLException {
         Map<UUID, ExtensionTabData.Builder> dataByPlayer = new HashMap<>();
 
@@ -17,8 +17,10 @@
 package com.djrapitops.plan.extension.implementation.storage.queries;
 
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdRanges;
 import com.djrapitops.plan.storage.database.sql.tables.ExtensionGroupsTable;
 import com.djrapitops.plan.storage.database.sql.tables.ExtensionProviderTable;
+import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
 import org.apache.commons.text.TextStringBuilder;
 
 import java.sql.PreparedStatement;
@@ -28,14 +30,14 @@ import java.util.*;
 
 import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
 
-public class ExtensionUUIDsInGroupQuery extends QueryStatement<Set<UUID>> {
+public class ExtensionUserIdsInGroupQuery extends QueryStatement<BitSet> {
 
     private final String pluginName;
     private final String groupProvider;
     private final UUID serverUUID;
     private final List<String> inGroups;
 
-    public ExtensionUUIDsInGroupQuery(String pluginName, String groupProvider, UUID serverUUID, List<String> inGroups) {
+    public ExtensionUserIdsInGroupQuery(String pluginName, String groupProvider, UUID serverUUID, List<String> inGroups) {
         super(buildSQL(inGroups), 100);
         this.pluginName = pluginName;
         this.groupProvider = groupProvider;
@@ -46,10 +48,14 @@ public class ExtensionUUIDsInGroupQuery extends QueryStatement<Set<UUID>> {
     private static String buildSQL(Collection<String> inGroups) {
         TextStringBuilder dynamicInClauseAllocation = new TextStringBuilder();
         dynamicInClauseAllocation.appendWithSeparators(inGroups.stream().map(group -> "?").toArray(), ",");
-        return SELECT + DISTINCT + ExtensionGroupsTable.USER_UUID +
+        return SELECT + UsersTable.ID +
+                FROM + UsersTable.TABLE_NAME +
+                WHERE + UsersTable.USER_UUID + " IN (" +
+                SELECT + ExtensionGroupsTable.USER_UUID +
                 FROM + ExtensionGroupsTable.TABLE_NAME +
                 WHERE + ExtensionGroupsTable.PROVIDER_ID + "=" + ExtensionProviderTable.STATEMENT_SELECT_PROVIDER_ID +
-                AND + ExtensionGroupsTable.GROUP_NAME + " IN (" + dynamicInClauseAllocation.build() + ")";
+                AND + ExtensionGroupsTable.GROUP_NAME + " IN (" + dynamicInClauseAllocation.build() + ")" +
+                ")";
     }
 
     @Override
@@ -63,11 +69,7 @@ public class ExtensionUUIDsInGroupQuery extends QueryStatement<Set<UUID>> {
     }
 
     @Override
-    public Set<UUID> processResults(ResultSet set) throws SQLException {
-        Set<UUID> uuids = new HashSet<>();
-        while (set.next()) {
-            uuids.add(UUID.fromString(set.getString(ExtensionGroupsTable.USER_UUID)));
-        }
-        return uuids;
+    public BitSet processResults(ResultSet set) throws SQLException {
+        return UserIdRanges.extractUserIds(set, UsersTable.ID);
     }
 }
@@ -0,0 +1,63 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation.storage.transactions;
+
+import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+
+import java.util.List;
+
+/**
+ * Transaction that executes several DataExtension store transactions on a single connection.
+ * <p>
+ * Used for storing everything gathered during one update of an extension with a single commit.
+ *
+ * @author AuroraLS3
+ */
+public class StoreExtensionBatchTransaction extends ThrowawayTransaction {
+
+    private final List<Transaction> transactions;
+    private volatile boolean operationsPerformed;
+
+    public StoreExtensionBatchTransaction(List<Transaction> transactions) {
+        this.transactions = transactions;
+        operationsPerformed = false;
+    }
+
+    @Override
+    protected void performOperations() {
+        for (Transaction transaction : transactions) {
+            executeOther(transaction);
+        }
+        operationsPerformed = true;
+    }
+
+    /**
+     * Check if the batch was written to the database.
+     * <p>
+     * Throwaway transactions are marked successful when they are skipped, so success alone is not enough.
+     *
+     * @return true if the operations were performed and committed.
+     */
+    public boolean wasStored() {
+        return operationsPerformed && wasSuccessful();
+    }
+
+    public int size() {
+        return transactions.size();
+    }
+}
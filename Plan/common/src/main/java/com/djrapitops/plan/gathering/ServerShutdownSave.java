@@ -73,6 +73,8 @@ public abstract class ServerShutdownSave {
             return Optional.empty();
         }
 
+        flushBufferedEvents();
+
         Map<UUID, Session> activeSessions = SessionCache.getActiveSessions();
         if (activeSessions.isEmpty()) {
             return Optional.empty();
@@ -86,6 +88,17 @@ public abstract class ServerShutdownSave {
         return attemptSave(activeSessions);
     }
 
+    private void flushBufferedEvents() {
+        try {
+            Database database = dbSystem.getDatabase();
+            if (database.getState() != Database.State.CLOSED) {
+                database.flushBufferedTransactions();
+            }
+        } catch (IllegalStateException ignored) {
+            /* Database is not initialized or closed, DBOpException included */
+        }
+    }
+
     private Optional<Future<?>> attemptSave(Map<UUID, Session> activeSessions) {
         try {
             prepareSessionsForStorage(activeSessions, System.currentTimeMillis());
@@ -20,6 +20,8 @@ import com.djrapitops.plan.exceptions.PreparationException;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.DataGatheringSettings;
 import com.djrapitops.plan.storage.file.PlanFiles;
+import com.maxmind.db.CHMCache;
+import com.maxmind.db.Reader;
 import com.maxmind.geoip2.DatabaseReader;
 import com.maxmind.geoip2.exception.GeoIp2Exception;
 import com.maxmind.geoip2.model.CountryResponse;
@@ -46,6 +48,10 @@ import java.util.zip.GZIPInputStream;
  * <p>
  * This product includes GeoLite2 data created by MaxMind, available from
  * <a href="http://www.maxmind.com">http://www.maxmind.com</a>.
+ * <p>
+ * The database file is memory mapped by a single reader that is kept open until {@link #close()},
+ * so lookups do not read the file from disk. A mapped file can not be deleted on Windows until it is unmapped,
+ * so updates are downloaded to a new file and old files are deleted when possible, at latest on next start.
  *
  * @author AuroraLS3
  * @see <a href="http://maxmind.com">http://maxmind.com</a>
@@ -53,10 +59,12 @@ import java.util.zip.GZIPInputStream;
 @Singleton
 public class GeoLite2Geolocator implements Geolocator {
 
+    private static final String DATABASE_FILE_NAME = "GeoLite2-Country.mmdb";
+
     private final PlanFiles files;
     private final PlanConfig config;
 
-    private File geolocationDB;
+    private volatile DatabaseReader reader;
 
     @Inject
     public GeoLite2Geolocator(PlanFiles files, PlanConfig config) {
@@ -71,22 +79,70 @@ public class GeoLite2Geolocator implements Geolocator {
                     + DataGatheringSettings.ACCEPT_GEOLITE2_EULA.getPath() + "' in the config.");
         }
 
-        geolocationDB = files.getFileFromPluginFolder("GeoLite2-Country.mmdb");
-
-        if (geolocationDB.exists()) {
-            if (geolocationDB.lastModified() >= System.currentTimeMillis() - TimeUnit.DAYS.toMillis(7L)) {
-                return; // Database is new enough
-            } else {
-                Files.delete(geolocationDB.toPath()); // Delete old data according to restriction 3. in EULA
-            }
+        File databaseFolder = files.getFileFromPluginFolder(DATABASE_FILE_NAME).getParentFile();
+        Optional<File> newest = findDatabaseFiles(databaseFolder).stream().max(Comparator.comparingLong(File::lastModified));
+        if (newest.isPresent() && newest.get().lastModified() >= System.currentTimeMillis() - TimeUnit.DAYS.toMillis(7L)) {
+            if (reader == null) openReader(newest.get());
+            deleteOldDatabases(databaseFolder, newest.get());
+            return; // Database is new enough
         }
 
-        downloadDatabase();
+        File downloaded = new File(databaseFolder, "GeoLite2-Country-" + System.currentTimeMillis() + ".mmdb");
+        try {
+            downloadDatabase(downloaded);
+        } catch (IOException e) {
+            Files.deleteIfExists(downloaded.toPath());
+            throw e;
+        }
         // Delete old Geolocation database file if it still exists (on success to avoid a no-file situation)
         Files.deleteIfExists(files.getFileFromPluginFolder("GeoIP.dat").toPath());
+        openReader(downloaded);
+        deleteOldDatabases(databaseFolder, downloaded);
     }
 
-    private void downloadDatabase() throws IOException {
+    private List<File> findDatabaseFiles(File databaseFolder) {
+        File[] found = databaseFolder.listFiles((folder, name) -> name.startsWith("GeoLite2-Country") && name.endsWith(".mmdb"));
+        return found != null ? Arrays.asList(found) : Collections.emptyList();
+    }
+
+    private void deleteOldDatabases(File databaseFolder, File inUse) {
+        for (File old : findDatabaseFiles(databaseFolder)) {
+            if (old.equals(inUse)) continue;
+            try {
+                Files.deleteIfExists(old.toPath()); // Delete old data according to restriction 3. in EULA
+            } catch (IOException stillMapped) {
+                // Windows does not allow deleting a file that was memory mapped until it is unmapped, try again on next start.
+            }
+        }
+    }
+
+    private synchronized void openReader(File geolocationDB) throws IOException {
+        DatabaseReader previous = reader;
+        reader = new DatabaseReader.Builder(geolocationDB)
+                .fileMode(Reader.FileMode.MEMORY_MAPPED)
+                .withCache(new CHMCache())
+                .build();
+        if (previous != null) previous.close();
+    }
+
+    /**
+     * Close the database reader, releasing the memory mapped file.
+     * <p>
+     * {@link #prepare()} opens the reader again.
+     */
+    @Override
+    public synchronized void close() {
+        DatabaseReader closing = reader;
+        reader = null;
+        if (closing == null) return;
+        try {
+            closing.close();
+        } catch (IOException ignored) {
+            // Closing a memory mapped reader does not throw, nothing to do if it does.
+        }
+    }
+
+    private void downloadDatabase(File geolocationDB) throws IOException {
         // Avoid Socket leak with the parameters in case download url has proxy
         // https://AuroraLS3.github.io/mishaps/java_socket_leak_incident
         Properties properties = System.getProperties();
@@ -132,13 +188,10 @@ public class GeoLite2Geolocator implements Geolocator {
         if (inetAddress == null) return Optional.empty();
         if (inetAddress.getHostAddress().contains("127.0.0.1")) return Optional.of("Local Machine");
 
-        try (
-                // See https://github.com/maxmind/MaxMind-DB-Reader-java#file-lock-on-windows
-                // for why InputStream is being used here instead.
-                InputStream in = Files.newInputStream(geolocationDB.toPath());
-                DatabaseReader reader = new DatabaseReader.Builder(in).build()
-        ) {
-            CountryResponse response = reader.country(inetAddress);
+        DatabaseReader databaseReader = reader;
+        if (databaseReader == null) return Optional.empty();
+        try {
+            CountryResponse response = databaseReader.country(inetAddress);
             Country country = response.getCountry();
             String countryName = country.getName();
 
@@ -27,6 +27,7 @@ import com.djrapitops.plugin.task.AbsRunnable;
 import com.djrapitops.plugin.task.RunnableFactory;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -37,7 +38,7 @@ import java.util.concurrent.TimeUnit;
 /**
  * This class contains the geolocation cache.
  * <p>
- * It caches all IPs with their matching country.
+ * It caches IPs with their matching country, up to a maximum amount of addresses.
  *
  * @author AuroraLS3
  * @author Fuzzlemann
@@ -45,15 +46,19 @@ import java.util.concurrent.TimeUnit;
 @Singleton
 public class GeolocationCache implements SubSystem {
 
+    // Countries of addresses rarely change, so the cache is bounded by size instead of a short expiry.
+    private static final long MAX_CACHED_ADDRESSES = 10_000L;
+
     private final Locale locale;
     private final PlanConfig config;
     private final PluginLogger logger;
     private final RunnableFactory runnableFactory;
+
     private final Cache<String, String> cache;
 
     private final Geolocator geoLite2Geolocator;
 
-    private Geolocator inUseGeolocator;
+    private volatile Geolocator inUseGeolocator;
 
     @Inject
     public GeolocationCache(
@@ -70,7 +75,9 @@ public class GeolocationCache implements SubSystem {
         this.runnableFactory = runnableFactory;
 
         this.cache = Caffeine.newBuilder()
-                .expireAfterAccess(1, TimeUnit.MINUTES)
+                .maximumSize(MAX_CACHED_ADDRESSES)
+                .expireAfterWrite(1, TimeUnit.DAYS)
+                .recordStats()
                 .build();
     }
 
@@ -134,9 +141,26 @@ public class GeolocationCache implements SubSystem {
         return cache.getIfPresent(ipAddress) != null;
     }
 
+    /**
+     * Get statistics about cache usage.
+     *
+     * @return Caffeine cache statistics, eg. hit and miss counts.
+     */
+    public CacheStats getCacheStats() {
+        return cache.stats();
+    }
+
+    public long getCachedAddressCount() {
+        return cache.estimatedSize();
+    }
+
     @Override
     public void disable() {
         clearCache();
+        if (inUseGeolocator != null) {
+            inUseGeolocator.close();
+            inUseGeolocator = null;
+        }
     }
 
     /**
@@ -41,6 +41,14 @@ public interface Geolocator {
 
     Optional<String> getCountry(InetAddress inetAddress);
 
+    /**
+     * Release any resources held by the geolocator.
+     * <p>
+     * {@link #prepare()} is called again before the geolocator is used after this.
+     */
+    default void close() {
+    }
+
     default Optional<String> getCountry(String address) {
         try {
             InetAddress inetAddress = InetAddress.getByName(address);
@@ -19,7 +19,7 @@ package com.djrapitops.plan.modules;
 import com.djrapitops.plan.DataService;
 import com.djrapitops.plan.DataSvc;
 import com.djrapitops.plan.PlanPlugin;
-import com.djrapitops.plan.delivery.webserver.cache.JSONFileStorage;
+import com.djrapitops.plan.delivery.webserver.cache.JSONMappedFileStorage;
 import com.djrapitops.plan.delivery.webserver.cache.JSONMemoryStorageShim;
 import com.djrapitops.plan.delivery.webserver.cache.JSONStorage;
 import com.djrapitops.plan.gathering.importing.importers.Importer;
@@ -103,7 +103,7 @@ public class SystemObjectProvidingModule {
     @Singleton
     JSONStorage provideJSONStorage(
             PlanConfig config,
-            JSONFileStorage jsonFileStorage
+            JSONMappedFileStorage jsonFileStorage
     ) {
         return new JSONMemoryStorageShim(config, jsonFileStorage);
     }
@@ -0,0 +1,140 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.placeholder;
+
+import com.djrapitops.plan.gathering.cache.SessionCache;
+import com.djrapitops.plugin.task.AbsRunnable;
+import com.djrapitops.plugin.task.RunnableFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Short lived cache for placeholder values, as scoreboard and tab plugins request the same values every few ticks.
+ * <p>
+ * Expired values of server placeholders and placeholders of online players (in {@link SessionCache}) are
+ * returned while a new value is loaded asynchronously, so the cache stays warm for those.
+ * Values of offline players are loaded again on request.
+ *
+ * @author AuroraLS3
+ */
+class PlaceholderCache {
+
+    private static final long REFRESH_AFTER_MS = TimeUnit.SECONDS.toMillis(5L);
+
+    private final RunnableFactory runnableFactory;
+    private final Cache<CacheKey, CachedValue> cache;
+    private final Set<CacheKey> refreshing;
+
+    PlaceholderCache(RunnableFactory runnableFactory) {
+        this.runnableFactory = runnableFactory;
+        cache = Caffeine.newBuilder()
+                .expireAfterAccess(1, TimeUnit.MINUTES)
+                .maximumSize(10_000)
+                .build();
+        refreshing = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Get a cached value or load it.
+     *
+     * @param playerUUID  UUID of the player the placeholder is for, null for server placeholders.
+     * @param placeholder Requested placeholder.
+     * @param parameters  Parameters of the placeholder.
+     * @param loader      Loads the value, may return null if the placeholder is not found.
+     * @return Value of the placeholder, or null.
+     */
+    String get(UUID playerUUID, String placeholder, List<String> parameters, Supplier<String> loader) {
+        CacheKey key = new CacheKey(playerUUID, placeholder, parameters);
+        CachedValue cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (System.currentTimeMillis() - cached.loadedAt < REFRESH_AFTER_MS) {
+                return cached.value;
+            }
+            if (playerUUID == null || SessionCache.getCachedSession(playerUUID).isPresent()) {
+                refreshAsync(key, loader);
+                return cached.value;
+            }
+        }
+        return load(key, loader);
+    }
+
+    private String load(CacheKey key, Supplier<String> loader) {
+        long loadedAt = System.currentTimeMillis();
+        String value = loader.get();
+        if (value != null) {
+            cache.put(key, new CachedValue(value, loadedAt));
+        }
+        return value;
+    }
+
+    private void refreshAsync(CacheKey key, Supplier<String> loader) {
+        if (!refreshing.add(key)) return; // Already being refreshed
+
+        runnableFactory.create("Placeholder refresh", new AbsRunnable() {
+            @Override
+            public void run() {
+                try {
+                    load(key, loader);
+                } finally {
+                    refreshing.remove(key);
+                }
+            }
+        }).runTaskAsynchronously();
+    }
+
+    private static class CacheKey {
+        private final UUID playerUUID;
+        private final String placeholder;
+        private final List<String> parameters;
+
+        CacheKey(UUID playerUUID, String placeholder, List<String> parameters) {
+            this.playerUUID = playerUUID;
+            this.placeholder = placeholder;
+            this.parameters = parameters != null ? new ArrayList<>(parameters) : Collections.emptyList();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CacheKey cacheKey = (CacheKey) o;
+            return Objects.equals(playerUUID, cacheKey.playerUUID) &&
+                    placeholder.equals(cacheKey.placeholder) &&
+                    parameters.equals(cacheKey.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(playerUUID, placeholder, parameters);
+        }
+    }
+
+    private static class CachedValue {
+        private final String value;
+        private final long loadedAt;
+
+        CachedValue(String value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -24,6 +24,7 @@ import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.queries.containers.ContainerFetchQueries;
+import com.djrapitops.plugin.task.RunnableFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -52,6 +53,7 @@ public final class PlanPlaceholders {
     private final Map<String, BiFunction<String, PlayerContainer, Serializable>> rawHandlers;
 
     private final DBSystem dbSystem;
+    private final PlaceholderCache cache;
 
     @Inject
     public PlanPlaceholders(
@@ -59,9 +61,11 @@ public final class PlanPlaceholders {
             DBSystem dbSystem,
             ServerInfo serverInfo,
             Formatters formatters,
+            RunnableFactory runnableFactory,
             Set<Placeholders> placeholderRegistries
     ) {
         this.dbSystem = dbSystem;
+        this.cache = new PlaceholderCache(runnableFactory);
 
         this.playerPlaceholders = new HashMap<>();
         this.staticPlaceholders = new HashMap<>();
@@ -100,17 +104,39 @@ public final class PlanPlaceholders {
         return staticPlaceholders;
     }
 
+    /**
+     * Look up the placeholder and get a cached value if it was loaded recently.
+     *
+     * @param uuid        UUID of the player who is viewing the placeholder, or null
+     * @param placeholder the placeholder to look up to.
+     * @param parameters  additional placeholder parameters
+     * @return the value of the placeholder if found, or empty {@link String} if no
+     * value found but the placeholder is registered,
+     * otherwise {@code null}
+     */
     public String onPlaceholderRequest(UUID uuid, String placeholder, List<String> parameters) {
-        PlayerContainer player;
+        if (staticPlaceholders.containsKey(placeholder)) {
+            return cache.get(null, placeholder, parameters, () -> onPlaceholderRequest((PlayerContainer) null, placeholder, parameters));
+        }
+        if (uuid == null || !isPlayerPlaceholder(placeholder)) {
+            return null;
+        }
+        return cache.get(uuid, placeholder, parameters, () -> onPlaceholderRequest(loadPlayer(uuid), placeholder, parameters));
+    }
 
-        if (uuid != null) {
-            player = dbSystem.getDatabase().query(ContainerFetchQueries.fetchPlayerContainer(uuid));
-            SessionCache.getCachedSession(uuid).ifPresent(session -> player.putRawData(PlayerKeys.ACTIVE_SESSION, session));
-        } else {
-            player = null;
+    private boolean isPlayerPlaceholder(String placeholder) {
+        if (playerPlaceholders.containsKey(placeholder)) return true;
+        for (String rawPrefix : rawHandlers.keySet()) {
+            if (placeholder.startsWith(rawPrefix)) return true;
         }
+        return false;
+    }
 
-        return onPlaceholderRequest(player, placeholder, parameters);
+    private PlayerContainer loadPlayer(UUID uuid) {
+        // Data is not loaded until a value is requested from the container
+        PlayerContainer player = dbSystem.getDatabase().query(ContainerFetchQueries.fetchPlayerContainer(uuid));
+        SessionCache.getCachedSession(uuid).ifPresent(session -> player.putRawData(PlayerKeys.ACTIVE_SESSION, session));
+        return player;
     }
 
     /**
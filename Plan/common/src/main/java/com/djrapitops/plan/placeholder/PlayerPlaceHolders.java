@@ -16,28 +16,36 @@
  */
 package com.djrapitops.plan.placeholder;
 
+import com.djrapitops.plan.delivery.domain.container.PlayerContainer;
 import com.djrapitops.plan.delivery.domain.keys.PlayerKeys;
-import com.djrapitops.plan.delivery.domain.mutators.PerServerMutator;
-import com.djrapitops.plan.delivery.domain.mutators.PingMutator;
-import com.djrapitops.plan.delivery.domain.mutators.PlayerVersusMutator;
-import com.djrapitops.plan.delivery.domain.mutators.SessionsMutator;
+import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
 import com.djrapitops.plan.delivery.formatting.Formatter;
 import com.djrapitops.plan.delivery.formatting.Formatters;
+import com.djrapitops.plan.gathering.domain.Session;
+import com.djrapitops.plan.gathering.domain.UserInfo;
 import com.djrapitops.plan.identification.Server;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
 import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.storage.database.queries.objects.ServerQueries;
-import com.djrapitops.plan.utilities.Predicates;
+import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.queries.analysis.ActivitySnapshotQueries;
+import com.djrapitops.plan.storage.database.queries.objects.*;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 import static com.djrapitops.plan.utilities.MiscUtils.*;
 
 /**
  * Placeholders about a player.
+ * <p>
+ * Values are calculated with aggregate queries for the placeholder instead of loading all data of the player,
+ * the active session of the player is added on top of the stored data.
  *
  * @author aidn5, AuroraLS3
  */
@@ -71,18 +79,15 @@ public class PlayerPlaceHolders implements Placeholders {
         Formatter<Long> time = formatters.timeAmount();
 
         placeholders.register("player_banned",
-                player -> player.getValue(PlayerKeys.BANNED)
-                        .orElse(Boolean.FALSE)
+                player -> userInformation(player).stream().anyMatch(UserInfo::isBanned)
         );
 
         placeholders.register("player_operator",
-                player -> player.getValue(PlayerKeys.OPERATOR)
-                        .orElse(Boolean.FALSE)
+                player -> userInformation(player).stream().anyMatch(UserInfo::isOperator)
         );
 
         placeholders.register("player_sessions_count",
-                player -> SessionsMutator.forContainer(player)
-                        .count()
+                player -> sessionValue(player, 0L, false, "session_count")
         );
 
         placeholders.register("player_kick_count",
@@ -91,44 +96,38 @@ public class PlayerPlaceHolders implements Placeholders {
         );
 
         placeholders.register("player_death_count",
-                player -> player.getValue(PlayerKeys.DEATH_COUNT)
-                        .orElse(0)
+                player -> sessionValue(player, 0L, false, "deaths")
         );
 
         placeholders.register("player_mob_kill_count",
-                player -> player.getValue(PlayerKeys.MOB_KILL_COUNT)
-                        .orElse(0)
+                player -> sessionValue(player, 0L, false, "mob_kills")
         );
 
         placeholders.register("player_player_kill_count",
-                player -> player.getValue(PlayerKeys.PLAYER_KILL_COUNT)
-                        .orElse(0)
+                player -> playerKillCount(player)
         );
 
         placeholders.register("player_kill_death_ratio",
-                player -> PlayerVersusMutator.forContainer(player).toKillDeathRatio());
+                player -> {
+                    long deathCount = database().query(KillQueries.playerDeathCountOfPlayer(uuidOf(player)));
+                    return playerKillCount(player) * 1.0 / (deathCount != 0 ? deathCount : 1);
+                });
 
         placeholders.register("player_ping_average_day",
-                player -> decimals.apply(PingMutator.forContainer(player)
-                        .filterBy(Predicates.within(dayAgo(), now()))
-                        .average()) + " ms"
+                player -> decimals.apply(database().query(PingQueries.averagePingOfPlayer(dayAgo(), now(), uuidOf(player)))) + " ms"
         );
 
         placeholders.register("player_ping_average_week",
-                player -> decimals.apply(PingMutator.forContainer(player)
-                        .filterBy(Predicates.within(weekAgo(), now()))
-                        .average()) + " ms"
+                player -> decimals.apply(database().query(PingQueries.averagePingOfPlayer(weekAgo(), now(), uuidOf(player)))) + " ms"
         );
 
         placeholders.register("player_ping_average_month",
-                player -> decimals.apply(PingMutator.forContainer(player)
-                        .filterBy(Predicates.within(monthAgo(), now()))
-                        .average()) + " ms"
+                player -> decimals.apply(database().query(PingQueries.averagePingOfPlayer(monthAgo(), now(), uuidOf(player)))) + " ms"
         );
 
         placeholders.register("player_lastseen",
-                player -> year.apply(player.getValue(PlayerKeys.LAST_SEEN)
-                        .orElse((long) 0))
+                player -> year.apply(activeSession(player).isPresent() ? now()
+                        : database().query(SessionQueries.summaryOfPlayer(uuidOf(player), 0L, now())).get("last_seen"))
         );
 
         placeholders.register("player_registered",
@@ -139,97 +138,148 @@ public class PlayerPlaceHolders implements Placeholders {
         registerPlaytimePlaceholders(placeholders, time);
 
         placeholders.register("player_favorite_server",
-                player -> PerServerMutator.forContainer(player).favoriteServer()
-                        .flatMap(serverUUID -> dbSystem.getDatabase().query(ServerQueries.fetchServerMatchingIdentifier(serverUUID)))
+                player -> favoriteServer(player)
+                        .flatMap(serverUUID -> database().query(ServerQueries.fetchServerMatchingIdentifier(serverUUID)))
                         .map(Server::getName)
                         .orElse("-")
         );
 
         placeholders.register("player_activity_index",
-                player -> player.getActivityIndex(
-                        now(),
-                        config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD)
-                ).getValue()
+                player -> database().query(ActivitySnapshotQueries.activityIndexOf(
+                        uuidOf(player), now(), config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD)
+                )).getValue()
         );
         placeholders.register("player_activity_group",
-                player -> player.getActivityIndex(
-                        now(),
-                        config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD)
-                ).getGroup()
+                player -> database().query(ActivitySnapshotQueries.activityIndexOf(
+                        uuidOf(player), now(), config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD)
+                )).getGroup()
         );
     }
 
     private void registerPlaytimePlaceholders(PlanPlaceholders placeholders, Formatter<Long> time) {
         placeholders.register("player_time_active",
-                player -> time.apply(SessionsMutator.forContainer(player)
-                        .toActivePlaytime())
+                player -> time.apply(sessionValue(player, 0L, false, "active_playtime"))
         );
 
         placeholders.register("player_time_afk",
-                player -> time.apply(SessionsMutator.forContainer(player)
-                        .toAfkTime())
+                player -> time.apply(sessionValue(player, 0L, false, "afk_time"))
         );
 
         placeholders.register("player_time_total",
-                player -> time.apply(SessionsMutator.forContainer(player)
-                        .toPlaytime())
+                player -> time.apply(sessionValue(player, 0L, false, "playtime"))
         );
 
         placeholders.register("player_time_day",
-                player -> time.apply(SessionsMutator.forContainer(player)
-                        .filterSessionsBetween(dayAgo(), now())
-                        .toPlaytime())
+                player -> time.apply(sessionValue(player, dayAgo(), false, "playtime"))
         );
 
         placeholders.register("player_time_week",
-                player -> time.apply(SessionsMutator.forContainer(player)
-                        .filterSessionsBetween(weekAgo(), now())
-                        .toPlaytime())
+                player -> time.apply(sessionValue(player, weekAgo(), false, "playtime"))
         );
 
         placeholders.register("player_time_month",
-                player -> time.apply(SessionsMutator.forContainer(player)
-                        .filterSessionsBetween(monthAgo(), now())
-                        .toPlaytime())
+                player -> time.apply(sessionValue(player, monthAgo(), false, "playtime"))
         );
 
         placeholders.register("player_server_time_active",
-                player -> time.apply(SessionsMutator.forContainer(player)
-                        .filterPlayedOnServer(serverInfo.getServerUUID())
-                        .toActivePlaytime())
+                player -> time.apply(sessionValue(player, 0L, true, "active_playtime"))
         );
 
         placeholders.register("player_server_time_afk",
-                player -> time.apply(SessionsMutator.forContainer(player)
-                        .filterPlayedOnServer(serverInfo.getServerUUID())
-                        .toAfkTime())
+                player -> time.apply(sessionValue(player, 0L, true, "afk_time"))
         );
 
         placeholders.register("player_server_time_total",
-                player -> time.apply(SessionsMutator.forContainer(player)
-                        .filterPlayedOnServer(serverInfo.getServerUUID())
-                        .toPlaytime())
+                player -> time.apply(sessionValue(player, 0L, true, "playtime"))
         );
 
         placeholders.register("player_server_time_day",
-                player -> time.apply(SessionsMutator.forContainer(player)
-                        .filterSessionsBetween(dayAgo(), now())
-                        .filterPlayedOnServer(serverInfo.getServerUUID())
-                        .toPlaytime())
+                player -> time.apply(sessionValue(player, dayAgo(), true, "playtime"))
         );
 
         placeholders.register("player_server_time_week",
-                player -> time.apply(SessionsMutator.forContainer(player)
-                        .filterSessionsBetween(weekAgo(), now())
-                        .filterPlayedOnServer(serverInfo.getServerUUID())
-                        .toPlaytime())
+                player -> time.apply(sessionValue(player, weekAgo(), true, "playtime"))
         );
 
         placeholders.register("player_server_time_month",
-                player -> time.apply(SessionsMutator.forContainer(player)
-                        .filterSessionsBetween(monthAgo(), now())
-                        .filterPlayedOnServer(serverInfo.getServerUUID())
-                        .toPlaytime())
+                player -> time.apply(sessionValue(player, monthAgo(), true, "playtime"))
         );
     }
+
+    private Database database() {
+        return dbSystem.getDatabase();
+    }
+
+    private UUID uuidOf(PlayerContainer player) {
+        return player.getUnsafe(PlayerKeys.UUID);
+    }
+
+    private Optional<Session> activeSession(PlayerContainer player) {
+        return player.getValue(PlayerKeys.ACTIVE_SESSION);
+    }
+
+    private List<UserInfo> userInformation(PlayerContainer player) {
+        return database().query(UserInfoQueries.fetchUserInformationOfUser(uuidOf(player)));
+    }
+
+    /**
+     * Get an aggregate of the sessions of the player, including the active session.
+     *
+     * @param player     Player to get the value for.
+     * @param after      Sessions ending after this date are included.
+     * @param thisServer Include only sessions on this server.
+     * @param key        Key of the value in {@link SessionQueries#summaryOfPlayer(UUID, UUID, long, long)} results.
+     * @return the value.
+     */
+    private long sessionValue(PlayerContainer player, long after, boolean thisServer, String key) {
+        UUID serverUUID = thisServer ? serverInfo.getServerUUID() : null;
+        Map<String, Long> summary = database().query(SessionQueries.summaryOfPlayer(uuidOf(player), serverUUID, after, now()));
+        long value = summary.getOrDefault(key, 0L);
+
+        Optional<Session> activeSession = activeSession(player);
+        if (!activeSession.isPresent()) return value;
+        Session session = activeSession.get();
+        if (serverUUID != null && !serverUUID.equals(session.getValue(SessionKeys.SERVER_UUID).orElse(null))) {
+            return value;
+        }
+        long afkTime = session.getValue(SessionKeys.AFK_TIME).orElse(0L);
+        switch (key) {
+            case "playtime":
+                return value + session.getLength();
+            case "active_playtime":
+                return value + session.getLength() - afkTime;
+            case "afk_time":
+                return value + afkTime;
+            case "session_count":
+                return value + 1;
+            case "mob_kills":
+                return value + session.getValue(SessionKeys.MOB_KILL_COUNT).orElse(0);
+            case "deaths":
+                return value + session.getValue(SessionKeys.DEATH_COUNT).orElse(0);
+            default:
+                return value;
+        }
+    }
+
+    private long playerKillCount(PlayerContainer player) {
+        long storedKills = database().query(KillQueries.playerKillCountOfPlayer(uuidOf(player)));
+        return storedKills + activeSession(player).map(session -> session.getPlayerKills().size()).orElse(0);
+    }
+
+    private Optional<UUID> favoriteServer(PlayerContainer player) {
+        Map<UUID, Long> playtimePerServer = database().query(SessionQueries.playtimeOfPlayer(0L, now(), uuidOf(player)));
+        activeSession(player).ifPresent(session -> session.getValue(SessionKeys.SERVER_UUID).ifPresent(
+                serverUUID -> playtimePerServer.merge(serverUUID, session.getLength(), Long::sum)
+        ));
+
+        long max = 0;
+        UUID maxServer = null;
+        for (Map.Entry<UUID, Long> entry : playtimePerServer.entrySet()) {
+            if (entry.getValue() > max) {
+                max = entry.getValue();
+                maxServer = entry.getKey();
+            }
+        }
+        return Optional.ofNullable(maxServer);
+    }
 }
@@ -96,7 +96,7 @@ public class Processing implements SubSystem {
         return submitNonCritical(task);
     }
 
-    public <T> Future<T> submitNonCritical(Callable<T> task) {
+    public <T> CompletableFuture<T> submitNonCritical(Callable<T> task) {
         if (task == null || nonCriticalExecutor.isShutdown()) {
             return null;
         }
@@ -23,7 +23,7 @@ import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
 import com.djrapitops.plan.storage.database.DBType;
 import com.djrapitops.plan.storage.database.Database;
-import com.djrapitops.plan.storage.database.queries.containers.PlayerContainerQuery;
+import com.djrapitops.plan.storage.database.queries.analysis.ActivitySnapshotQueries;
 import com.djrapitops.plan.storage.database.queries.objects.ServerQueries;
 import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
 import com.djrapitops.plan.storage.database.queries.objects.UserIdentifierQueries;
@@ -107,7 +107,7 @@ public class CommonQueriesImplementation implements CommonQueries {
 
     @Override
     public double fetchActivityIndexOf(UUID playerUUID, long epochMs) {
-        return db.query(new PlayerContainerQuery(playerUUID)).getActivityIndex(epochMs, config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD)).getValue();
+        return db.query(ActivitySnapshotQueries.activityIndexOf(playerUUID, epochMs, config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD))).getValue();
     }
 
     @Override
@@ -64,6 +64,17 @@ public class ConfigNode {
         parent = newParent;
     }
 
+    /**
+     * Called when a value or a node in the tree below this node changes.
+     * <p>
+     * Propagates to the root node, which can drop values it has stored.
+     */
+    protected void valuesChanged() {
+        if (parent != null) {
+            parent.valuesChanged();
+        }
+    }
+
     public Optional<ConfigNode> getNode(String path) {
         if (path == null) {
             return Optional.empty();
@@ -129,9 +140,11 @@ public class ConfigNode {
         if (parent == null) {
             throw new IllegalStateException("Can not remove root node from a tree.");
         }
+        ConfigNode oldParent = parent;
         parent.childNodes.remove(key);
         parent.nodeOrder.remove(key);
         updateParent(null);
+        oldParent.valuesChanged();
 
         // Remove children recursively to avoid memory leaks
         nodeOrder.stream()
@@ -153,6 +166,7 @@ public class ConfigNode {
         childNodes.put(child.key, child);
         nodeOrder.add(child.key);
         child.updateParent(this);
+        valuesChanged();
         return child;
     }
 
@@ -233,6 +247,7 @@ public class ConfigNode {
         } else {
             ConfigValueParser<T> parser = ConfigValueParser.getParserFor(value.getClass());
             this.value = parser.decompose(value);
+            valuesChanged();
         }
     }
 
@@ -308,6 +323,7 @@ public class ConfigNode {
         // Override value conditionally
         if (Verify.isEmpty(value) && from.value != null) {
             value = from.value;
+            valuesChanged();
         }
 
         // Copy all nodes from 'from'
@@ -324,6 +340,7 @@ public class ConfigNode {
         // Override comment and value unconditionally.
         comment = from.comment;
         value = from.value;
+        valuesChanged();
 
         // Copy all nodes from 'from'
         for (String childKey : from.nodeOrder) {
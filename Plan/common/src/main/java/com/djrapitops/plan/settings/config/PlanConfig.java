@@ -29,9 +29,8 @@ import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.ZoneId;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.TimeZone;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -48,6 +47,9 @@ public class PlanConfig extends Config {
     private final WorldAliasSettings worldAliasSettings;
     private final PluginLogger logger;
 
+    // Not initialized here, the tree is read (and changed) in the super constructor.
+    private volatile Snapshot snapshot;
+
     @Inject
     public PlanConfig(
             PlanFiles files,
@@ -74,11 +76,40 @@ public class PlanConfig extends Config {
     }
 
     public <T> T get(Setting<T> setting) {
+        Snapshot current = getSnapshot();
+        Object stored = current.values.get(setting);
+        if (stored != null) {
+            return copyIfMutable(stored);
+        }
+
         T value = setting.getValueFrom(this);
         Verify.isTrue(setting.isValid(value), () -> new IllegalStateException(
                 "Config value for " + setting.getPath() + " has a bad value: '" + value + "'"
         ));
-        return value;
+        if (value != null) current.values.put(setting, value);
+        return copyIfMutable(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T copyIfMutable(Object value) {
+        // Lists are the only mutable setting values, callers are allowed to modify the list they get.
+        return (T) (value instanceof List ? new ArrayList<>((List<?>) value) : value);
+    }
+
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            current = new Snapshot();
+            snapshot = current;
+        }
+        return current;
+    }
+
+    @Override
+    protected void valuesChanged() {
+        // Values are read and validated again to a new snapshot on next access.
+        // Threads still reading the old snapshot only store values to the discarded snapshot.
+        snapshot = null;
     }
 
     public <T> T getOrDefault(Setting<T> setting, T defaultValue) {
@@ -103,9 +134,15 @@ public class PlanConfig extends Config {
     }
 
     public TimeZone getTimeZone() {
-        String timeZone = get(FormatSettings.TIMEZONE);
-        Optional<TimeZone> foundTZ = TimeZoneUtility.parseTimeZone(timeZone);
-        return foundTZ.orElse(TimeZone.getTimeZone(ZoneId.of("UTC")));
+        Snapshot current = getSnapshot();
+        TimeZone timeZone = current.timeZone;
+        if (timeZone == null) {
+            Optional<TimeZone> foundTZ = TimeZoneUtility.parseTimeZone(get(FormatSettings.TIMEZONE));
+            timeZone = foundTZ.orElse(TimeZone.getTimeZone(ZoneId.of("UTC")));
+            current.timeZone = timeZone;
+        }
+        // TimeZone is mutable
+        return (TimeZone) timeZone.clone();
     }
 
     public double getTimeZoneOffsetHours() {
@@ -147,6 +184,16 @@ public class PlanConfig extends Config {
         return worldAliasSettings;
     }
 
+    /**
+     * Validated values of the config, replaced as a whole when the config changes.
+     * <p>
+     * Avoids walking the config tree, parsing and validating values on every read of a setting.
+     */
+    private static class Snapshot {
+        private final Map<Setting<?>, Object> values = new ConcurrentHashMap<>();
+        private volatile TimeZone timeZone;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
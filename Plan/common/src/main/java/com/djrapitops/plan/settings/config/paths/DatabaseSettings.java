@@ -39,6 +39,8 @@ public class DatabaseSettings {
     public static final Setting<String> MYSQL_DATABASE = new StringSetting("Database.MySQL.Database");
     public static final Setting<String> MYSQL_LAUNCH_OPTIONS = new StringSetting("Database.MySQL.Launch_options");
     public static final Setting<Integer> MAX_CONNECTIONS = new IntegerSetting("Database.MySQL.Max_connections", value -> value > 0);
+    public static final Setting<Integer> TRANSACTION_WRITERS = new IntegerSetting("Database.MySQL.Transaction_writers", value -> value > 0);
+    public static final Setting<Integer> PARALLEL_QUERIES = new IntegerSetting("Database.MySQL.Parallel_queries", value -> value > 0);
 
     private DatabaseSettings() {
         /* static variable class */
@@ -43,6 +43,13 @@ public class WebserverSettings {
     public static final Setting<Boolean> DISABLED_AUTHENTICATION = new BooleanSetting("Webserver.Security.Disable_authentication");
     public static final Setting<String> EXTERNAL_LINK = new StringSetting("Webserver.External_Webserver_address");
 
+    public static final Setting<Integer> CORE_THREADS = new IntegerSetting("Webserver.Thread_pool.Core_threads", value -> value > 0);
+    public static final Setting<Integer> MAX_THREADS = new IntegerSetting("Webserver.Thread_pool.Max_threads", value -> value > 0);
+    public static final Setting<Integer> QUEUE_SIZE = new IntegerSetting("Webserver.Thread_pool.Queue_size", value -> value > 0);
+    public static final Setting<Integer> FAST_LANE_THREADS = new IntegerSetting("Webserver.Thread_pool.Fast_lane_threads", value -> value > 0);
+    public static final Setting<Integer> CONNECTION_BACKLOG = new IntegerSetting("Webserver.Thread_pool.Connection_backlog", value -> value >= 0);
+    public static final Setting<Boolean> ASYNC_REQUESTS = new BooleanSetting("Webserver.Thread_pool.Async_requests");
+
     public static final Setting<Long> REDUCED_REFRESH_BARRIER = new TimeSetting("Webserver.Cache.Reduced_refresh_barrier");
     public static final Setting<Long> INVALIDATE_QUERY_RESULTS = new TimeSetting("Webserver.Cache.Invalidate_query_results_on_disk_after");
     public static final Setting<Long> INVALIDATE_DISK_CACHE = new TimeSetting("Webserver.Cache.Invalidate_disk_cache_after");
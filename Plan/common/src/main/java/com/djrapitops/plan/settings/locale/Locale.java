@@ -40,7 +40,14 @@ public class Locale extends HashMap<Lang, Message> {
         return forLangCode(LangCode.fromString(code), files);
     }
 
+    private static final Pattern SCRIPTS = Pattern.compile("(<script id=[\"|'].*[\"|']>[\\s\\S]*?</script>|<script>[\\s\\S]*?</script>|<script src=[\"|'].*[\"|']></script>|<link [\\s\\S]*?>)");
+    private static final Pattern LINKS = Pattern.compile("http(s|)://[\\w.\\-_%/?$#@!()&=]+");
+    // ${placeholders} of templates are left as is in html, so that the values can be placed after translating.
+    private static final Pattern LINKS_AND_PLACEHOLDERS = Pattern.compile(LINKS.pattern() + "|\\$\\{\\w+}");
+
     private LangCode langCode;
+    private transient volatile MultiPatternReplacer htmlReplacer;
+    private transient volatile MultiPatternReplacer javascriptReplacer;
 
     public Locale() {
         this(LangCode.EN);
@@ -107,36 +114,20 @@ public class Locale extends HashMap<Lang, Message> {
             return from;
         }
 
-        Pattern scripts = Pattern.compile("(<script id=[\"|'].*[\"|']>[\\s\\S]*?</script>|<script>[\\s\\S]*?</script>|<script src=[\"|'].*[\"|']></script>|<link [\\s\\S]*?>)");
+        MultiPatternReplacer html = getHtmlReplacer();
+        MultiPatternReplacer javascript = getJavascriptReplacer();
+        StringBuilder translated = new StringBuilder(from.length());
 
-        Matcher scriptMatcher = scripts.matcher(from);
-        List<String> foundScripts = new ArrayList<>();
-        while (scriptMatcher.find()) {
-            foundScripts.add(scriptMatcher.toMatchResult().group(0));
+        Matcher scripts = SCRIPTS.matcher(from);
+        int translatedUntil = 0;
+        while (scripts.find()) {
+            translate(html, LINKS_AND_PLACEHOLDERS, from, translatedUntil, scripts.start(), translated);
+            translate(javascript, LINKS, from, scripts.start(), scripts.end(), translated);
+            translatedUntil = scripts.end();
         }
+        translate(html, LINKS_AND_PLACEHOLDERS, from, translatedUntil, from.length(), translated);
 
-        TranslatedString translated = new TranslatedString(from);
-        Arrays.stream(HtmlLang.values())
-                // Longest first so that entries that contain each other don't partially replace.
-                .sorted((one, two) -> Integer.compare(
-                        two.getIdentifier().length(),
-                        one.getIdentifier().length()
-                ))
-                .forEach(lang -> getNonDefault(lang).ifPresent(replacement ->
-                        translated.translate(lang.getDefault(), replacement.toString()))
-                );
-
-        StringBuilder complete = new StringBuilder(translated.length());
-
-        String[] parts = scripts.split(translated.toString());
-        for (int i = 0; i < parts.length; i++) {
-            complete.append(parts[i]);
-            if (i < parts.length - 1) {
-                complete.append(replaceLanguageInJavascript(foundScripts.get(i)));
-            }
-        }
-
-        return complete.toString();
+        return translated.toString();
     }
 
     public String replaceLanguageInJavascript(String from) {
@@ -144,56 +135,120 @@ public class Locale extends HashMap<Lang, Message> {
             return from;
         }
 
-        TranslatedString translated = new TranslatedString(from);
-        Arrays.stream(JSLang.values())
+        StringBuilder translated = new StringBuilder(from.length());
+        translate(getJavascriptReplacer(), LINKS, from, 0, from.length(), translated);
+        return translated.toString();
+    }
+
+    private void translate(MultiPatternReplacer replacer, Pattern untranslatablePattern, String text, int start, int end, StringBuilder into) {
+        Matcher untranslatable = untranslatablePattern.matcher(text).region(start, end);
+        int translatedUntil = start;
+        while (untranslatable.find()) {
+            replacer.replace(text, translatedUntil, untranslatable.start(), into);
+            into.append(text, untranslatable.start(), untranslatable.end());
+            translatedUntil = untranslatable.end();
+        }
+        replacer.replace(text, translatedUntil, end, into);
+    }
+
+    private MultiPatternReplacer getHtmlReplacer() {
+        MultiPatternReplacer replacer = htmlReplacer;
+        if (replacer == null) {
+            replacer = createReplacer(longestIdentifierFirst(HtmlLang.values()));
+            htmlReplacer = replacer;
+        }
+        return replacer;
+    }
+
+    private MultiPatternReplacer getJavascriptReplacer() {
+        MultiPatternReplacer replacer = javascriptReplacer;
+        if (replacer == null) {
+            List<Lang> translated = new ArrayList<>(Arrays.asList(longestIdentifierFirst(JSLang.values())));
+            translated.addAll(Arrays.asList(
+                    HtmlLang.UNIT_NO_DATA,
+                    HtmlLang.TITLE_WORLD_PLAYTIME,
+                    HtmlLang.LABEL_OPERATOR,
+                    HtmlLang.LABEL_BANNED,
+                    HtmlLang.SIDE_SESSIONS,
+                    HtmlLang.LABEL_PLAYTIME,
+                    HtmlLang.LABEL_AFK_TIME,
+                    HtmlLang.LABEL_LONGEST_SESSION,
+                    HtmlLang.LABEL_SESSION_MEDIAN,
+                    HtmlLang.LABEL_PLAYER_KILLS,
+                    HtmlLang.LABEL_MOB_KILLS,
+                    HtmlLang.LABEL_DEATHS,
+                    HtmlLang.LABEL_PLAYERS_ONLINE,
+                    HtmlLang.LABEL_REGISTERED,
+                    HtmlLang.TITLE_SERVER,
+                    HtmlLang.TITLE_LENGTH,
+                    HtmlLang.TITLE_AVG_PING,
+                    HtmlLang.TITLE_BEST_PING,
+                    HtmlLang.TITLE_WORST_PING,
+                    HtmlLang.LABEL_FREE_DISK_SPACE,
+                    HtmlLang.LABEL_NEW_PLAYERS,
+                    HtmlLang.LABEL_UNIQUE_PLAYERS,
+                    HtmlLang.LABEL_ACTIVE_PLAYTIME,
+                    HtmlLang.LABEL_AVG_SESSION_LENGTH,
+                    HtmlLang.LABEL_AVG_PLAYTIME,
+                    HtmlLang.LABEL_AVG_ACTIVE_PLAYTIME,
+                    HtmlLang.LABEL_AVG_AFK_TIME,
+                    HtmlLang.SIDE_GEOLOCATIONS,
+                    HtmlLang.LABEL_PER_PLAYER
+            ));
+            replacer = createReplacer(translated.toArray(new Lang[0]));
+            javascriptReplacer = replacer;
+        }
+        return replacer;
+    }
+
+    private static Lang[] longestIdentifierFirst(Lang[] values) {
+        return Arrays.stream(values)
                 // Longest first so that entries that contain each other don't partially replace.
                 .sorted((one, two) -> Integer.compare(
                         two.getIdentifier().length(),
                         one.getIdentifier().length()
-                ))
-                .forEach(lang -> getNonDefault(lang).ifPresent(replacement ->
-                        translated.translate(lang.getDefault(), replacement.toString()))
-                );
-
-        for (Lang extra : new Lang[]{
-                HtmlLang.UNIT_NO_DATA,
-                HtmlLang.TITLE_WORLD_PLAYTIME,
-                HtmlLang.LABEL_OPERATOR,
-                HtmlLang.LABEL_BANNED,
-                HtmlLang.SIDE_SESSIONS,
-                HtmlLang.LABEL_PLAYTIME,
-                HtmlLang.LABEL_AFK_TIME,
-                HtmlLang.LABEL_LONGEST_SESSION,
-                HtmlLang.LABEL_SESSION_MEDIAN,
-                HtmlLang.LABEL_PLAYER_KILLS,
-                HtmlLang.LABEL_MOB_KILLS,
-                HtmlLang.LABEL_DEATHS,
-                HtmlLang.LABEL_PLAYERS_ONLINE,
-                HtmlLang.LABEL_REGISTERED,
-                HtmlLang.TITLE_SERVER,
-                HtmlLang.TITLE_LENGTH,
-                HtmlLang.TITLE_AVG_PING,
-                HtmlLang.TITLE_BEST_PING,
-                HtmlLang.TITLE_WORST_PING,
-                HtmlLang.LABEL_FREE_DISK_SPACE,
-                HtmlLang.LABEL_NEW_PLAYERS,
-                HtmlLang.LABEL_UNIQUE_PLAYERS,
-                HtmlLang.LABEL_ACTIVE_PLAYTIME,
-                HtmlLang.LABEL_AFK_TIME,
-                HtmlLang.LABEL_AVG_SESSION_LENGTH,
-                HtmlLang.LABEL_AVG_PLAYTIME,
-                HtmlLang.LABEL_AVG_ACTIVE_PLAYTIME,
-                HtmlLang.LABEL_AVG_AFK_TIME,
-                HtmlLang.LABEL_AVG_PLAYTIME,
-                HtmlLang.SIDE_GEOLOCATIONS,
-                HtmlLang.LABEL_PER_PLAYER
-
-        }) {
-            getNonDefault(extra).ifPresent(replacement ->
-                    translated.translate(extra.getDefault(), replacement.toString()));
+                )).toArray(Lang[]::new);
+    }
+
+    private MultiPatternReplacer createReplacer(Lang[] translated) {
+        List<Map.Entry<String, String>> replacements = new ArrayList<>();
+        for (Lang lang : translated) {
+            getNonDefault(lang).ifPresent(replacement ->
+                    replacements.add(new AbstractMap.SimpleImmutableEntry<>(lang.getDefault(), replacement.toString())));
         }
+        return new MultiPatternReplacer(replacements);
+    }
 
-        return translated.toString();
+    private void translationsChanged() {
+        htmlReplacer = null;
+        javascriptReplacer = null;
+    }
+
+    // Replacers are invalidated after the change, so that a replacer created during the change is not kept.
+    @Override
+    public Message put(Lang key, Message value) {
+        Message previous = super.put(key, value);
+        translationsChanged();
+        return previous;
+    }
+
+    @Override
+    public void putAll(Map<? extends Lang, ? extends Message> m) {
+        super.putAll(m);
+        translationsChanged();
+    }
+
+    @Override
+    public Message remove(Object key) {
+        Message removed = super.remove(key);
+        translationsChanged();
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        translationsChanged();
     }
 
     @Override
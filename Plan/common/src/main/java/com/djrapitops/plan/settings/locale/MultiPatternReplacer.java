@@ -0,0 +1,215 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.settings.locale;
+
+import java.util.*;
+
+/**
+ * Replaces multiple strings in a single pass over the text using an Aho-Corasick automaton.
+ * <p>
+ * The result is the same as replacing the strings one by one in the given order,
+ * except that text that only appears across the boundary of an earlier replacement is not replaced.
+ * This way entries that contain each other don't partially replace, as long as the longer ones are given first.
+ *
+ * @author AuroraLS3
+ */
+class MultiPatternReplacer {
+
+    private final Node root;
+    private final String[] patterns;
+    private final String[] replacements;
+
+    /**
+     * Create a new replacer.
+     *
+     * @param replacements Text to replace and what to replace it with, in the order they should be replaced.
+     *                     Empty texts and texts replaced with themselves are ignored.
+     */
+    MultiPatternReplacer(List<Map.Entry<String, String>> replacements) {
+        int count = replacements.size();
+        patterns = new String[count];
+        this.replacements = new String[count];
+        root = new Node(0);
+        for (int i = 0; i < count; i++) {
+            Map.Entry<String, String> replacement = replacements.get(i);
+            patterns[i] = replacement.getKey();
+            this.replacements[i] = replacement.getValue();
+            // Replacing text with itself would do nothing, but would stop later patterns from matching it.
+            if (patterns[i] != null && !patterns[i].isEmpty()
+                    && this.replacements[i] != null && !patterns[i].equals(this.replacements[i])) {
+                addPattern(i);
+            }
+        }
+        linkFailures();
+
+        // The replacements would be replaced by the later patterns when replacing one by one.
+        for (int i = count - 1; i >= 0; i--) {
+            String replacement = this.replacements[i];
+            if (replacement != null) {
+                StringBuilder replaced = new StringBuilder(replacement.length());
+                replace(replacement, 0, replacement.length(), i + 1, replaced);
+                this.replacements[i] = replaced.toString();
+            }
+        }
+    }
+
+    private void addPattern(int index) {
+        String pattern = patterns[index];
+        Node node = root;
+        for (int i = 0; i < pattern.length(); i++) {
+            Character character = pattern.charAt(i);
+            Node child = node.children.get(character);
+            if (child == null) {
+                child = new Node(i + 1);
+                node.children.put(character, child);
+            }
+            node = child;
+        }
+        node.patternIndexes = Arrays.copyOf(node.patternIndexes, node.patternIndexes.length + 1);
+        node.patternIndexes[node.patternIndexes.length - 1] = index;
+    }
+
+    private void linkFailures() {
+        root.failure = root;
+        Queue<Node> queue = new ArrayDeque<>();
+        for (Node child : root.children.values()) {
+            child.failure = root;
+            child.output = child.patternIndexes.length > 0 ? child : null;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+                Node child = entry.getValue();
+                Node next = step(node.failure, entry.getKey());
+                child.failure = next;
+                // Closest node that ends a pattern, either the node itself or the longest suffix that is a pattern.
+                child.output = child.patternIndexes.length > 0 ? child : next.output;
+                queue.add(child);
+            }
+        }
+    }
+
+    private Node step(Node from, Character character) {
+        Node state = from;
+        while (true) {
+            Node next = state.children.get(character);
+            if (next != null) return next;
+            if (state == root) return root;
+            state = state.failure;
+        }
+    }
+
+    public String replace(String text) {
+        StringBuilder replaced = new StringBuilder(text.length());
+        replace(text, 0, text.length(), replaced);
+        return replaced.toString();
+    }
+
+    /**
+     * Replace the patterns in a part of the text.
+     *
+     * @param text  Text to replace patterns in.
+     * @param start Index of the first character to replace in.
+     * @param end   Index after the last character to replace in.
+     * @param into  StringBuilder the replaced text is appended to.
+     */
+    public void replace(String text, int start, int end, StringBuilder into) {
+        replace(text, start, end, 0, into);
+    }
+
+    private void replace(String text, int start, int end, int firstPattern, StringBuilder into) {
+        long[] matches = findMatches(text, start, end, firstPattern);
+        if (matches.length == 0) {
+            into.append(text, start, end);
+            return;
+        }
+
+        // Earlier patterns take their matches first, like when replacing one by one.
+        Arrays.sort(matches);
+        boolean[] taken = new boolean[end - start];
+        int acceptedCount = 0;
+        for (long match : matches) {
+            int index = (int) (match >>> 32);
+            int matchStart = (int) match - start;
+            int matchEnd = matchStart + patterns[index].length();
+            if (isFree(taken, matchStart, matchEnd)) {
+                Arrays.fill(taken, matchStart, matchEnd, true);
+                // Reuse the array for accepted matches, ordered by position
+                matches[acceptedCount++] = ((long) matchStart << 32) | index;
+            }
+        }
+        Arrays.sort(matches, 0, acceptedCount);
+
+        int copiedUntil = start;
+        for (int i = 0; i < acceptedCount; i++) {
+            int matchStart = (int) (matches[i] >>> 32) + start;
+            int index = (int) matches[i];
+            into.append(text, copiedUntil, matchStart).append(replacements[index]);
+            copiedUntil = matchStart + patterns[index].length();
+        }
+        into.append(text, copiedUntil, end);
+    }
+
+    private static boolean isFree(boolean[] taken, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (taken[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Find every occurrence of the patterns.
+     *
+     * @return Matches as pattern index in the upper 32 bits and start position in the lower 32 bits.
+     */
+    private long[] findMatches(String text, int start, int end, int firstPattern) {
+        long[] matches = new long[16];
+        int count = 0;
+        Node state = root;
+        for (int position = start; position < end; position++) {
+            state = step(state, text.charAt(position));
+            for (Node found = state.output; found != null; found = found.failure.output) {
+                int index = found.getFirstPatternFrom(firstPattern);
+                if (index == -1) continue;
+                if (count == matches.length) matches = Arrays.copyOf(matches, count * 2);
+                matches[count++] = ((long) index << 32) | (position + 1 - found.depth);
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    private static class Node {
+        final Map<Character, Node> children = new HashMap<>();
+        final int depth;
+        Node failure;
+        Node output;
+        // Same text can be given multiple times, only the first one after already replaced patterns can match.
+        int[] patternIndexes = new int[0];
+
+        Node(int depth) {
+            this.depth = depth;
+        }
+
+        int getFirstPatternFrom(int firstPattern) {
+            for (int index : patternIndexes) {
+                if (index >= firstPattern) return index;
+            }
+            return -1;
+        }
+    }
+}
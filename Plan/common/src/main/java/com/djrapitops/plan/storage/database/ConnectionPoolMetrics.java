@@ -0,0 +1,89 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import com.djrapitops.plan.utilities.analysis.LatencyHistogram;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects HikariCP connection pool metrics for the /debug page.
+ *
+ * @author AuroraLS3
+ */
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+
+    private final LatencyHistogram acquireLatency;
+    private final LatencyHistogram usageLatency;
+    private final LongAdder timeouts;
+    private volatile PoolStats poolStats;
+
+    public ConnectionPoolMetrics() {
+        acquireLatency = new LatencyHistogram();
+        usageLatency = new LatencyHistogram();
+        timeouts = new LongAdder();
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquireLatency.record(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageLatency.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    public int getActiveConnections() {
+        return poolStats != null ? poolStats.getActiveConnections() : 0;
+    }
+
+    public int getIdleConnections() {
+        return poolStats != null ? poolStats.getIdleConnections() : 0;
+    }
+
+    public int getThreadsAwaitingConnection() {
+        return poolStats != null ? poolStats.getPendingThreads() : 0;
+    }
+
+    public LatencyHistogram getAcquireLatency() {
+        return acquireLatency;
+    }
+
+    public LatencyHistogram getUsageLatency() {
+        return usageLatency;
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+}
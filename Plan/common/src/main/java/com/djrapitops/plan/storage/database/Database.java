@@ -18,6 +18,7 @@ package com.djrapitops.plan.storage.database;
 
 import com.djrapitops.plan.exceptions.database.DBInitException;
 import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plan.storage.database.queries.QueryBatch;
 import com.djrapitops.plan.storage.database.sql.building.Sql;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
 
@@ -52,6 +53,20 @@ public interface Database {
      */
     <T> T query(Query<T> query);
 
+    /**
+     * Execute independent SQL Query statements and get all of their results.
+     * <p>
+     * The queries are executed concurrently if the database allows it, so they can not depend on each other.
+     * This method should only be called from an asynchronous thread.
+     *
+     * @param queries Queries to execute, their results can be read from the {@link QueryBatch.Result}s after this returns.
+     */
+    default void queryAll(QueryBatch queries) {
+        for (QueryBatch.Result<?> result : queries.getResults()) {
+            result.execute(this);
+        }
+    }
+
     /**
      * Execute an SQL Transaction.
      *
@@ -60,6 +75,22 @@ public interface Database {
      */
     Future<?> executeTransaction(Transaction transaction);
 
+    /**
+     * Execute a frequent event Transaction together with other recent events.
+     * <p>
+     * The transaction is held for a short while so that events of many players can be stored with one batch per table.
+     * Transactions that can not be combined are executed normally.
+     *
+     * @param transaction Transaction to execute.
+     * @return Future that is finished when the transaction has been executed, exceptionally if storing it failed.
+     */
+    Future<?> executeBufferedTransaction(Transaction transaction);
+
+    /**
+     * Execute buffered event transactions without waiting.
+     */
+    void flushBufferedTransactions();
+
     /**
      * Used to get the {@code DBType} of the Database
      *
@@ -0,0 +1,127 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import com.djrapitops.plan.exceptions.database.DBOpException;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+import com.djrapitops.plan.storage.database.transactions.events.StoreBufferedEventsTransaction;
+import com.djrapitops.plan.utilities.logging.ErrorContext;
+import com.djrapitops.plugin.api.TimeAmount;
+import com.djrapitops.plugin.logging.L;
+import com.djrapitops.plugin.task.AbsRunnable;
+import com.djrapitops.plugin.task.RunnableFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer that stores frequent event transactions together.
+ * <p>
+ * Events are held for a short while after the first one is buffered, or until enough events have been buffered,
+ * and then stored with one {@link StoreBufferedEventsTransaction}.
+ *
+ * @author AuroraLS3
+ */
+class EventTransactionBuffer {
+
+    private static final long FLUSH_DELAY_MS = 250L;
+    private static final int MAX_BUFFERED_EVENTS = 200;
+
+    private final SQLDB db;
+    private final RunnableFactory runnableFactory;
+
+    private List<Transaction> buffered;
+    private CompletableFuture<Object> whenStored;
+
+    EventTransactionBuffer(SQLDB db, RunnableFactory runnableFactory) {
+        this.db = db;
+        this.runnableFactory = runnableFactory;
+        buffered = new ArrayList<>();
+        whenStored = new CompletableFuture<>();
+    }
+
+    Future<?> add(Transaction transaction) {
+        boolean firstEvent;
+        boolean full;
+        Future<?> result;
+        synchronized (this) {
+            firstEvent = buffered.isEmpty();
+            buffered.add(transaction);
+            full = buffered.size() >= MAX_BUFFERED_EVENTS;
+            result = whenStored;
+        }
+        if (full) {
+            flush();
+        } else if (firstEvent) {
+            scheduleFlush();
+        }
+        return result;
+    }
+
+    private void scheduleFlush() {
+        try {
+            runnableFactory.create("Buffered event storage", new AbsRunnable() {
+                @Override
+                public void run() {
+                    flush();
+                }
+            }).runTaskLaterAsynchronously(TimeAmount.toTicks(FLUSH_DELAY_MS, TimeUnit.MILLISECONDS));
+        } catch (Exception pluginIsDisabling) {
+            flush();
+        }
+    }
+
+    /**
+     * Store buffered events now.
+     */
+    void flush() {
+        List<Transaction> events;
+        CompletableFuture<Object> stored;
+        synchronized (this) {
+            if (buffered.isEmpty()) return;
+            events = buffered;
+            stored = whenStored;
+            buffered = new ArrayList<>();
+            whenStored = new CompletableFuture<>();
+        }
+        StoreBufferedEventsTransaction transaction = new StoreBufferedEventsTransaction(events);
+        try {
+            // Errors are logged by the database, so the transaction tells if the events were stored.
+            db.executeTransaction(transaction).whenComplete((done, throwable) -> {
+                Optional<DBOpException> failure = transaction.getFailure();
+                if (throwable == null && transaction.wasSuccessful() && failure.isPresent()) {
+                    db.errorLogger.log(L.ERROR, failure.get(), ErrorContext.builder()
+                            .related("Transaction: " + transaction.getClass())
+                            .build());
+                    stored.completeExceptionally(failure.get());
+                } else if (throwable == null && transaction.wasSuccessful()) {
+                    stored.complete(null);
+                } else {
+                    stored.completeExceptionally(throwable != null ? throwable
+                            : new DBOpException(events.size() + " buffered events failed to be stored"));
+                }
+            });
+        } catch (RuntimeException e) {
+            stored.completeExceptionally(e);
+            throw e;
+        }
+    }
+}
@@ -82,7 +82,7 @@ public class H2DB extends SQLDB {
         Connection newConnection = getConnectionFor(dbFilePath);
         logger.debug("H2 " + dbName + ": Opened a new Connection");
         newConnection.setAutoCommit(false);
-        return newConnection;
+        return statementCache.wrap(newConnection);
     }
 
     private Connection getConnectionFor(String dbFilePath) throws SQLException {
@@ -37,6 +37,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
@@ -46,9 +47,11 @@ import java.util.concurrent.TimeUnit;
 @Singleton
 public class MySQLDB extends SQLDB {
 
+    private static final int MAX_CONNECTION_ATTEMPTS = 3;
     private static int increment = 1;
 
     protected HikariDataSource dataSource;
+    private final ConnectionPoolMetrics poolMetrics;
 
     @Inject
     public MySQLDB(
@@ -60,6 +63,33 @@ public class MySQLDB extends SQLDB {
             ErrorLogger errorLogger
     ) {
         super(() -> serverInfo.get().getServerUUID(), locale, config, runnableFactory, pluginLogger, errorLogger);
+        poolMetrics = new ConnectionPoolMetrics();
+    }
+
+    /**
+     * Get the number of connections writers and parallel queries can use together.
+     * <p>
+     * Half of the pool is left for web requests, placeholders and other single queries.
+     *
+     * @return At least 2 so that there is a connection for a writer and a query.
+     */
+    private int getWriterAndQueryConnections() {
+        int maxConnections = config.getOrDefault(DatabaseSettings.MAX_CONNECTIONS, 8);
+        return Math.max(2, maxConnections / 2);
+    }
+
+    @Override
+    protected int getTransactionWriterCount() {
+        int writers = config.getOrDefault(DatabaseSettings.TRANSACTION_WRITERS, 2);
+        // Leave a connection for queries so that writers can not starve them.
+        return Math.max(1, Math.min(writers, getWriterAndQueryConnections() - 1));
+    }
+
+    @Override
+    protected int getQueryParallelism() {
+        int parallelQueries = config.getOrDefault(DatabaseSettings.PARALLEL_QUERIES, 2);
+        // Leave connections for the writers so that one page can not exhaust the pool.
+        return Math.max(1, Math.min(parallelQueries, getWriterAndQueryConnections() - getTransactionWriterCount()));
     }
 
     private static synchronized void increment() {
@@ -107,11 +137,17 @@ public class MySQLDB extends SQLDB {
             hikariConfig.setUsername(username);
             hikariConfig.setPassword(password);
             hikariConfig.addDataSourceProperty("connectionInitSql", "set time_zone = '+00:00'");
+            // Connections are borrowed for each query, so statements are cached by the driver instead of statementCache.
+            hikariConfig.addDataSourceProperty("cachePrepStmts", "true");
+            hikariConfig.addDataSourceProperty("useServerPrepStmts", "true");
+            hikariConfig.addDataSourceProperty("prepStmtCacheSize", "250");
+            // Session queries are longer than the default limit of 256 characters.
+            hikariConfig.addDataSourceProperty("prepStmtCacheSqlLimit", "16384");
 
             hikariConfig.setPoolName("Plan Connection Pool-" + increment);
             increment();
 
-            hikariConfig.setAutoCommit(true);
+            hikariConfig.setAutoCommit(false);
             try {
                 hikariConfig.setMaximumPoolSize(config.get(DatabaseSettings.MAX_CONNECTIONS));
             } catch (IllegalStateException e) {
@@ -120,6 +156,11 @@ public class MySQLDB extends SQLDB {
             }
             hikariConfig.setMaxLifetime(TimeUnit.MINUTES.toMillis(25L));
             hikariConfig.setLeakDetectionThreshold(TimeUnit.MINUTES.toMillis(10L));
+            // Hikari tests connections that have been idle before handing them out,
+            // keepalive makes sure idle connections are not closed by MySQL wait_timeout.
+            hikariConfig.setKeepaliveTime(TimeUnit.MINUTES.toMillis(5L));
+            hikariConfig.setValidationTimeout(TimeUnit.SECONDS.toMillis(5L));
+            hikariConfig.setMetricsTrackerFactory(poolMetrics);
 
             this.dataSource = new HikariDataSource(hikariConfig);
         } catch (HikariPool.PoolInitializationException e) {
@@ -128,18 +169,32 @@ public class MySQLDB extends SQLDB {
     }
 
     @Override
-    public synchronized Connection getConnection() throws SQLException {
-        Connection connection = dataSource.getConnection();
-        if (!connection.isValid(5)) {
-            connection.close();
+    public Connection getConnection() throws SQLException {
+        SQLTransientConnectionException lastFailure = null;
+        for (int attempt = 1; attempt <= MAX_CONNECTION_ATTEMPTS; attempt++) {
             try {
-                return getConnection();
-            } catch (StackOverflowError databaseHasGoneDown) {
-                throw new DBOpException("Valid connection could not be fetched (Is MySQL down?) - attempted until StackOverflowError occurred.", databaseHasGoneDown);
+                Connection connection = dataSource.getConnection();
+                if (connection.getAutoCommit()) connection.setAutoCommit(false);
+                return connection;
+            } catch (SQLTransientConnectionException poolTimedOut) {
+                lastFailure = poolTimedOut;
+                if (attempt < MAX_CONNECTION_ATTEMPTS) waitBeforeRetry(attempt);
             }
         }
-        if (connection.getAutoCommit()) connection.setAutoCommit(false);
-        return connection;
+        throw new DBOpException("Valid connection could not be fetched (Is MySQL down?) - attempted " + MAX_CONNECTION_ATTEMPTS + " times.", lastFailure);
+    }
+
+    private void waitBeforeRetry(int attempt) {
+        try {
+            Thread.sleep(100L << attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DBOpException("Interrupted while waiting to retry getting a connection", e);
+        }
+    }
+
+    public ConnectionPoolMetrics getPoolMetrics() {
+        return poolMetrics;
     }
 
     @Override
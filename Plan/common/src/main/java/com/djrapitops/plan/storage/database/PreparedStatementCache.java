@@ -0,0 +1,231 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import com.djrapitops.plan.utilities.MiscUtils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache for {@link PreparedStatement}s of long lived connections, so that the same SQL is not parsed again every time.
+ * <p>
+ * Connections given to {@link #wrap(Connection)} keep closed statements for reuse, keyed by SQL string.
+ * Statements that are in use are not shared, so a connection can still be used by multiple threads.
+ * Closing the statement as usual returns it to the cache.
+ *
+ * @author AuroraLS3
+ */
+public class PreparedStatementCache {
+
+    private final int maxStatementsPerConnection;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    public PreparedStatementCache(int maxStatementsPerConnection) {
+        this.maxStatementsPerConnection = maxStatementsPerConnection;
+        hits = new LongAdder();
+        misses = new LongAdder();
+        evictions = new LongAdder();
+    }
+
+    /**
+     * Wrap a connection so that its statements are cached.
+     *
+     * @param connection Connection to wrap, can be null.
+     * @return Connection that caches statements created with {@link Connection#prepareStatement(String)}.
+     */
+    public Connection wrap(Connection connection) {
+        if (connection == null || Proxy.isProxyClass(connection.getClass())
+                && Proxy.getInvocationHandler(connection) instanceof CachingConnection) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class[]{Connection.class},
+                new CachingConnection(connection)
+        );
+    }
+
+    private static boolean isCacheable(String sql) {
+        // Schema changes are executed only once.
+        String start = sql.substring(0, Math.min(7, sql.length())).toUpperCase();
+        return start.startsWith("SELECT") || start.startsWith("INSERT") || start.startsWith("UPDATE")
+                || start.startsWith("DELETE") || start.startsWith("REPLACE");
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : hitCount * 1.0 / total;
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + getHits() + ", misses=" + getMisses() +
+                String.format(", hit rate=%.1f%%", getHitRate() * 100.0) +
+                ", evictions=" + getEvictions();
+    }
+
+    private class CachingConnection implements InvocationHandler {
+        private final Connection connection;
+        // Least recently returned statements are evicted first
+        private final Map<String, PreparedStatement> idleStatements;
+        private boolean closed;
+
+        CachingConnection(Connection connection) {
+            this.connection = connection;
+            idleStatements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() > maxStatementsPerConnection) {
+                        MiscUtils.close(eldest.getValue());
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String methodName = method.getName();
+            int argCount = args != null ? args.length : 0;
+            if ("prepareStatement".equals(methodName) && argCount == 1 && isCacheable((String) args[0])) {
+                return borrow((String) args[0]);
+            } else if ("close".equals(methodName) && argCount == 0) {
+                closeIdleStatements();
+            } else if ("equals".equals(methodName) && argCount == 1) {
+                return proxy == args[0];
+            } else if ("hashCode".equals(methodName) && argCount == 0) {
+                return System.identityHashCode(proxy);
+            }
+            return PreparedStatementCache.invoke(connection, method, args);
+        }
+
+        private PreparedStatement borrow(String sql) throws SQLException {
+            PreparedStatement statement;
+            synchronized (this) {
+                statement = idleStatements.remove(sql);
+            }
+            if (statement != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+                statement = connection.prepareStatement(sql);
+            }
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class[]{PreparedStatement.class},
+                    new BorrowedStatement(this, sql, statement)
+            );
+        }
+
+        void giveBack(String sql, PreparedStatement statement) {
+            try {
+                statement.clearParameters();
+                statement.clearBatch();
+                statement.clearWarnings();
+            } catch (SQLException unusable) {
+                MiscUtils.close(statement);
+                return;
+            }
+            synchronized (this) {
+                if (!closed && !idleStatements.containsKey(sql)) {
+                    idleStatements.put(sql, statement);
+                    return;
+                }
+            }
+            // Another thread returned the same statement first
+            MiscUtils.close(statement);
+        }
+
+        private synchronized void closeIdleStatements() {
+            closed = true;
+            for (PreparedStatement statement : idleStatements.values()) {
+                MiscUtils.close(statement);
+            }
+            idleStatements.clear();
+        }
+    }
+
+    private static class BorrowedStatement implements InvocationHandler {
+        private final CachingConnection borrowedFrom;
+        private final String sql;
+        private final PreparedStatement statement;
+        private boolean returned;
+
+        BorrowedStatement(CachingConnection borrowedFrom, String sql, PreparedStatement statement) {
+            this.borrowedFrom = borrowedFrom;
+            this.sql = sql;
+            this.statement = statement;
+            returned = false;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String methodName = method.getName();
+            int argCount = args != null ? args.length : 0;
+            if ("close".equals(methodName) && argCount == 0) {
+                // Closing twice must not return the statement twice.
+                if (!returned) {
+                    returned = true;
+                    borrowedFrom.giveBack(sql, statement);
+                }
+                return null;
+            } else if ("isClosed".equals(methodName) && argCount == 0) {
+                return returned || statement.isClosed();
+            } else if ("equals".equals(methodName) && argCount == 1) {
+                return proxy == args[0];
+            } else if ("hashCode".equals(methodName) && argCount == 0) {
+                return System.identityHashCode(proxy);
+            }
+            return PreparedStatementCache.invoke(statement, method, args);
+        }
+    }
+}
@@ -25,7 +25,9 @@ import com.djrapitops.plan.settings.config.paths.PluginSettings;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plan.storage.database.queries.QueryBatch;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
+import com.djrapitops.plan.storage.database.transactions.events.StoreBufferedEventsTransaction;
 import com.djrapitops.plan.storage.database.transactions.init.CreateIndexTransaction;
 import com.djrapitops.plan.storage.database.transactions.init.CreateTablesTransaction;
 import com.djrapitops.plan.storage.database.transactions.init.OperationCriticalTransaction;
@@ -44,6 +46,8 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
@@ -63,7 +67,12 @@ public abstract class SQLDB extends AbstractDatabase {
     protected final ErrorLogger errorLogger;
 
     private Supplier<ExecutorService> transactionExecutorServiceProvider;
-    private ExecutorService transactionExecutor;
+    private List<ExecutorService> transactionExecutors;
+    private final ThreadFactory queryThreadFactory;
+    private ExecutorService queryExecutor;
+    private final TransactionMetrics transactionMetrics;
+    private final EventTransactionBuffer eventBuffer;
+    protected final PreparedStatementCache statementCache;
 
     private final boolean devMode;
 
@@ -84,32 +93,72 @@ public abstract class SQLDB extends AbstractDatabase {
 
         devMode = config.isTrue(PluginSettings.DEV_MODE);
 
-        this.transactionExecutorServiceProvider = () -> {
-            String nameFormat = "Plan " + getClass().getSimpleName() + "-transaction-thread-%d";
-            return Executors.newSingleThreadExecutor(new BasicThreadFactory.Builder()
-                    .namingPattern(nameFormat)
-                    .uncaughtExceptionHandler((thread, throwable) -> {
-                        if (devMode) {
-                            errorLogger.log(L.WARN, throwable, ErrorContext.builder()
-                                    .whatToDo("THIS ERROR IS ONLY LOGGED IN DEV MODE")
-                                    .build());
-                        }
-                    }).build());
-        };
+        transactionMetrics = new TransactionMetrics();
+        eventBuffer = new EventTransactionBuffer(this, runnableFactory);
+        statementCache = new PreparedStatementCache(64);
+
+        String nameFormat = "Plan " + getClass().getSimpleName() + "-transaction-thread-%d";
+        // Shared between the writers so that the threads are numbered.
+        ThreadFactory transactionThreadFactory = new BasicThreadFactory.Builder()
+                .namingPattern(nameFormat)
+                .uncaughtExceptionHandler((thread, throwable) -> {
+                    if (devMode) {
+                        errorLogger.log(L.WARN, throwable, ErrorContext.builder()
+                                .whatToDo("THIS ERROR IS ONLY LOGGED IN DEV MODE")
+                                .build());
+                    }
+                }).build();
+        queryThreadFactory = new BasicThreadFactory.Builder()
+                .namingPattern("Plan " + getClass().getSimpleName() + "-query-thread-%d")
+                .daemon(true)
+                .build();
+        // ThreadPoolExecutor instead of Executors.newSingleThreadExecutor so that queue size can be read.
+        this.transactionExecutorServiceProvider = () -> new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), transactionThreadFactory
+        );
+    }
+
+    /**
+     * Get the number of threads that execute transactions.
+     * <p>
+     * Each writer is a single thread executor, transactions are distributed between them by
+     * {@link Transaction#getPartitionKey()} so that transactions with the same key stay in order.
+     *
+     * @return 1 by default, databases that allow concurrent writes can use more.
+     */
+    protected int getTransactionWriterCount() {
+        return 1;
+    }
+
+    /**
+     * Get the number of queries a single {@link #queryAll(QueryBatch)} call can execute at the same time.
+     * <p>
+     * Queries of one call are spread on this many threads, one of them being the calling thread.
+     *
+     * @return 1 by default, databases with a connection pool can use more.
+     */
+    protected int getQueryParallelism() {
+        return 1;
     }
 
     @Override
     public void init() {
-        List<Runnable> unfinishedTransactions = closeTransactionExecutor(transactionExecutor);
-        this.transactionExecutor = transactionExecutorServiceProvider.get();
+        List<List<Runnable>> unfinishedTransactions = closeTransactionExecutors(transactionExecutors);
+        this.transactionExecutors = createTransactionExecutors();
+        closeQueryExecutor();
+        this.queryExecutor = createQueryExecutor();
 
         setState(State.PATCHING);
 
         setupDataSource();
         setupDatabase();
 
-        for (Runnable unfinishedTransaction : unfinishedTransactions) {
-            transactionExecutor.submit(unfinishedTransaction);
+        for (int writer = 0; writer < unfinishedTransactions.size(); writer++) {
+            // Transactions of a writer stay in the same order if writer count changed.
+            ExecutorService executor = transactionExecutors.get(writer % transactionExecutors.size());
+            for (Runnable unfinishedTransaction : unfinishedTransactions.get(writer)) {
+                executor.submit(unfinishedTransaction);
+            }
         }
 
         // If an OperationCriticalTransaction fails open is set to false.
@@ -119,24 +168,66 @@ public abstract class SQLDB extends AbstractDatabase {
         }
     }
 
-    private List<Runnable> closeTransactionExecutor(ExecutorService transactionExecutor) {
-        if (transactionExecutor == null || transactionExecutor.isShutdown() || transactionExecutor.isTerminated()) {
+    private List<ExecutorService> createTransactionExecutors() {
+        int writerCount = Math.max(1, getTransactionWriterCount());
+        List<ExecutorService> executors = new ArrayList<>(writerCount);
+        for (int i = 0; i < writerCount; i++) {
+            executors.add(transactionExecutorServiceProvider.get());
+        }
+        return executors;
+    }
+
+    private ExecutorService createQueryExecutor() {
+        int helperThreads = getQueryParallelism() - 1;
+        if (helperThreads < 1) return null;
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                helperThreads, helperThreads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), queryThreadFactory
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private void closeQueryExecutor() {
+        if (queryExecutor != null) {
+            // Calling threads finish the remaining queries of their batches.
+            queryExecutor.shutdownNow();
+            queryExecutor = null;
+        }
+    }
+
+    private List<List<Runnable>> closeTransactionExecutors(List<ExecutorService> transactionExecutors) {
+        if (transactionExecutors == null) {
             return Collections.emptyList();
         }
-        transactionExecutor.shutdown();
+        for (ExecutorService transactionExecutor : transactionExecutors) {
+            transactionExecutor.shutdown();
+        }
+        Long waitMs = config.getOrDefault(TimeSettings.DB_TRANSACTION_FINISH_WAIT_DELAY, TimeUnit.SECONDS.toMillis(20L));
+        if (waitMs > TimeUnit.MINUTES.toMillis(5L)) {
+            logger.warn(TimeSettings.DB_TRANSACTION_FINISH_WAIT_DELAY.getPath() + " was set to over 5 minutes, using 5 min instead.");
+            waitMs = TimeUnit.MINUTES.toMillis(5L);
+        }
+        // Writers finish in parallel, so they share the wait time.
+        long waitUntil = System.currentTimeMillis() + waitMs;
+
+        List<List<Runnable>> unfinishedByWriter = new ArrayList<>();
+        int unfinishedCount = 0;
+        for (ExecutorService transactionExecutor : transactionExecutors) {
+            List<Runnable> unfinished = awaitTermination(transactionExecutor, waitUntil);
+            unfinishedCount += unfinished.size();
+            unfinishedByWriter.add(unfinished);
+        }
+        if (unfinishedCount > 0) {
+            logger.warn(unfinishedCount + " unfinished database transactions were not executed.");
+        }
+        return unfinishedByWriter;
+    }
+
+    private List<Runnable> awaitTermination(ExecutorService transactionExecutor, long waitUntil) {
         try {
-            Long waitMs = config.getOrDefault(TimeSettings.DB_TRANSACTION_FINISH_WAIT_DELAY, TimeUnit.SECONDS.toMillis(20L));
-            if (waitMs > TimeUnit.MINUTES.toMillis(5L)) {
-                logger.warn(TimeSettings.DB_TRANSACTION_FINISH_WAIT_DELAY.getPath() + " was set to over 5 minutes, using 5 min instead.");
-                waitMs = TimeUnit.MINUTES.toMillis(5L);
-            }
-            if (!transactionExecutor.awaitTermination(waitMs, TimeUnit.MILLISECONDS)) {
-                List<Runnable> unfinished = transactionExecutor.shutdownNow();
-                int unfinishedCount = unfinished.size();
-                if (unfinishedCount > 0) {
-                    logger.warn(unfinishedCount + " unfinished database transactions were not executed.");
-                }
-                return unfinished;
+            long waitMs = Math.max(0L, waitUntil - System.currentTimeMillis());
+            if (!transactionExecutor.isTerminated() && !transactionExecutor.awaitTermination(waitMs, TimeUnit.MILLISECONDS)) {
+                return transactionExecutor.shutdownNow();
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -228,7 +319,9 @@ public abstract class SQLDB extends AbstractDatabase {
     @Override
     public void close() {
         if (getState() == State.OPEN) setState(State.CLOSING);
-        closeTransactionExecutor(transactionExecutor);
+        if (getState() != State.CLOSED) eventBuffer.flush();
+        closeTransactionExecutors(transactionExecutors);
+        closeQueryExecutor();
         setState(State.CLOSED);
     }
 
@@ -243,21 +336,122 @@ public abstract class SQLDB extends AbstractDatabase {
     }
 
     @Override
-    public Future<?> executeTransaction(Transaction transaction) {
+    public void queryAll(QueryBatch queries) {
+        Queue<QueryBatch.Result<?>> remaining = new ConcurrentLinkedQueue<>(queries.getResults());
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Runnable worker = () -> {
+            QueryBatch.Result<?> next;
+            while ((next = remaining.poll()) != null) {
+                try {
+                    next.execute(this);
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                    remaining.clear();
+                }
+            }
+        };
+
+        ExecutorService executor = queryExecutor;
+        int helpers = executor != null ? Math.min(queries.size(), getQueryParallelism()) - 1 : 0;
+        List<AtomicBoolean> helperClaims = new ArrayList<>();
+        CountDownLatch helpersDone = new CountDownLatch(Math.max(0, helpers));
+        for (int i = 0; i < helpers; i++) {
+            AtomicBoolean claimed = new AtomicBoolean(false);
+            helperClaims.add(claimed);
+            try {
+                executor.execute(() -> {
+                    if (!claimed.compareAndSet(false, true)) return;
+                    try {
+                        worker.run();
+                    } finally {
+                        helpersDone.countDown();
+                    }
+                });
+            } catch (RejectedExecutionException ignored) {
+                // Executor is closing, the calling thread executes the queries.
+            }
+        }
+
+        worker.run();
+
+        // The queue is empty, so helpers that are still waiting for a thread (other batches use them) are not needed.
+        for (AtomicBoolean claimed : helperClaims) {
+            if (claimed.compareAndSet(false, true)) helpersDone.countDown();
+        }
+        try {
+            helpersDone.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DBOpException("Interrupted while waiting for queries to finish");
+        }
+
+        RuntimeException thrown = failure.get();
+        if (thrown != null) throw thrown;
+    }
+
+    @Override
+    public CompletableFuture<?> executeTransaction(Transaction transaction) {
         if (getState() == State.CLOSED) {
             throw new DBOpException("Transaction tried to execute although database is closed.");
         }
 
         Exception origin = new Exception();
+        long queuedAt = System.nanoTime();
+        ExecutorService executor = getTransactionExecutor(transaction);
+        Future<?> keylessDone = getKeylessTransactionsDone(transaction, executor);
 
         return CompletableFuture.supplyAsync(() -> {
+            awaitKeylessTransactions(keylessDone);
             accessLock.checkAccess(transaction);
             if (devMode) {
                 logger.getDebugLogger().logOn(DebugChannels.SQL, "Executing: " + transaction.getClass().getSimpleName());
             }
-            transaction.executeTransaction(this);
+            long startedAt = System.nanoTime();
+            try {
+                transaction.executeTransaction(this);
+            } finally {
+                transactionMetrics.record(transaction.getClass(), startedAt - queuedAt, System.nanoTime() - startedAt);
+            }
             return CompletableFuture.completedFuture(null);
-        }, getTransactionExecutor()).handle(errorHandler(transaction, origin));
+        }, executor).handle(errorHandler(transaction, origin));
+    }
+
+    private Future<?> getKeylessTransactionsDone(Transaction transaction, ExecutorService executor) {
+        if (!transaction.isOrderedAfterKeylessTransactions()) return null;
+
+        eventBuffer.flush();
+        ExecutorService keylessExecutor = transactionExecutors.get(0);
+        // Transactions on the first writer are already in order with keyless transactions.
+        if (executor == keylessExecutor) return null;
+        return keylessExecutor.submit(() -> {});
+    }
+
+    private void awaitKeylessTransactions(Future<?> keylessDone) {
+        if (keylessDone == null) return;
+        try {
+            keylessDone.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DBOpException("Interrupted while waiting for earlier transactions to finish");
+        } catch (ExecutionException e) {
+            // Empty task, can not fail.
+        }
+    }
+
+    @Override
+    public Future<?> executeBufferedTransaction(Transaction transaction) {
+        if (!StoreBufferedEventsTransaction.canBuffer(transaction)) {
+            return executeTransaction(transaction);
+        }
+        if (getState() == State.CLOSED) {
+            throw new DBOpException("Transaction tried to execute although database is closed.");
+        }
+        return eventBuffer.add(transaction);
+    }
+
+    @Override
+    public void flushBufferedTransactions() {
+        eventBuffer.flush();
     }
 
     private BiFunction<CompletableFuture<Object>, Throwable, CompletableFuture<Object>> errorHandler(Transaction transaction, Exception origin) {
@@ -283,11 +477,43 @@ public abstract class SQLDB extends AbstractDatabase {
         };
     }
 
-    private ExecutorService getTransactionExecutor() {
-        if (transactionExecutor == null) {
-            transactionExecutor = transactionExecutorServiceProvider.get();
+    private ExecutorService getTransactionExecutor(Transaction transaction) {
+        if (transactionExecutors == null) {
+            transactionExecutors = createTransactionExecutors();
+        }
+        List<ExecutorService> executors = transactionExecutors;
+        if (executors.size() == 1) return executors.get(0);
+        return transaction.getPartitionKey()
+                .map(key -> executors.get(Math.floorMod(key.hashCode(), executors.size())))
+                .orElseGet(() -> executors.get(0));
+    }
+
+    /**
+     * Get the amount of transactions waiting for each writer thread.
+     *
+     * @return List with a queue size for each writer, first writer executes transactions without partition key.
+     */
+    public List<Integer> getTransactionQueueSizes() {
+        List<ExecutorService> executors = transactionExecutors;
+        if (executors == null) return Collections.emptyList();
+        List<Integer> queueSizes = new ArrayList<>();
+        for (ExecutorService executor : executors) {
+            queueSizes.add(executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getQueue().size() : 0);
         }
-        return transactionExecutor;
+        return queueSizes;
+    }
+
+    /**
+     * Get the statement cache used by connections of this database.
+     *
+     * @return Cache, which is only in use if the database wraps its connections with it.
+     */
+    public PreparedStatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    public TransactionMetrics getTransactionMetrics() {
+        return transactionMetrics;
     }
 
     @Override
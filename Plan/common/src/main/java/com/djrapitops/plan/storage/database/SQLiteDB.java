@@ -90,7 +90,7 @@ public class SQLiteDB extends SQLDB {
         Connection newConnection = getConnectionFor(dbFilePath);
         logger.debug("SQLite " + dbName + ": Opened a new Connection");
         newConnection.setAutoCommit(false);
-        return newConnection;
+        return statementCache.wrap(newConnection);
     }
 
     private Connection getConnectionFor(String dbFilePath) throws SQLException {
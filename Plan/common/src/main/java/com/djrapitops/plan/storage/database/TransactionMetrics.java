@@ -0,0 +1,65 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import com.djrapitops.plan.utilities.analysis.LatencyHistogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects transaction execution metrics for the /debug page.
+ *
+ * @author AuroraLS3
+ */
+public class TransactionMetrics {
+
+    private final LatencyHistogram queueLatency;
+    private final Map<String, LatencyHistogram> executionLatencies;
+
+    public TransactionMetrics() {
+        queueLatency = new LatencyHistogram();
+        executionLatencies = new ConcurrentHashMap<>();
+    }
+
+    public void record(Class<?> transactionClass, long queuedNanos, long executionNanos) {
+        queueLatency.record(queuedNanos);
+        String name = transactionClass.getSimpleName();
+        if (name.isEmpty()) name = transactionClass.getName(); // Anonymous class
+        executionLatencies.computeIfAbsent(name, key -> new LatencyHistogram())
+                .record(executionNanos);
+    }
+
+    /**
+     * Get the time transactions spent waiting for a writer thread.
+     *
+     * @return Histogram of queue times.
+     */
+    public LatencyHistogram getQueueLatency() {
+        return queueLatency;
+    }
+
+    /**
+     * Get execution times by transaction class.
+     *
+     * @return Map: Simple class name - Histogram of execution times, sorted by name.
+     */
+    public Map<String, LatencyHistogram> getExecutionLatencies() {
+        return new TreeMap<>(executionLatencies);
+    }
+}
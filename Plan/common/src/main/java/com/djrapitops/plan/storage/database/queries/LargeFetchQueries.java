@@ -24,6 +24,7 @@ import com.djrapitops.plan.storage.database.sql.tables.WorldTable;
 import com.djrapitops.plan.utilities.java.Lists;
 import com.djrapitops.plan.utilities.java.Maps;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
@@ -110,4 +111,31 @@ public class LargeFetchQueries {
             }
         };
     }
+
+    /**
+     * Query database for world names of a server.
+     *
+     * @param serverUUID UUID of the Plan server.
+     * @return Set of world names
+     */
+    public static Query<Set<String>> fetchWorldNames(UUID serverUUID) {
+        String sql = SELECT + WorldTable.NAME + FROM + WorldTable.TABLE_NAME +
+                WHERE + WorldTable.SERVER_UUID + "=?";
+
+        return new QueryStatement<Set<String>>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+            }
+
+            @Override
+            public Set<String> processResults(ResultSet set) throws SQLException {
+                Set<String> worldNames = new HashSet<>();
+                while (set.next()) {
+                    worldNames.add(set.getString(WorldTable.NAME));
+                }
+                return worldNames;
+            }
+        };
+    }
 }
\ No newline at end of file
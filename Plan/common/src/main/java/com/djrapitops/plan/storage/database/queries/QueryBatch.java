@@ -0,0 +1,99 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries;
+
+import com.djrapitops.plan.storage.database.Database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Independent queries to execute together with {@link Database#queryAll(QueryBatch)}.
+ * <p>
+ * Each added query gets a {@link Result} to read its typed result from once the batch has been executed.
+ *
+ * @author AuroraLS3
+ */
+public class QueryBatch {
+
+    private final List<Result<?>> results;
+
+    public QueryBatch() {
+        results = new ArrayList<>();
+    }
+
+    /**
+     * Add a query to the batch.
+     *
+     * @param query Query that does not depend on the other queries of the batch.
+     * @param <T>   Type of the result.
+     * @return Result of the query, available after the batch has been executed.
+     */
+    public <T> Result<T> add(Query<T> query) {
+        Result<T> result = new Result<>(query);
+        results.add(result);
+        return result;
+    }
+
+    public List<Result<?>> getResults() {
+        return Collections.unmodifiableList(results);
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    /**
+     * Result of a single query in a {@link QueryBatch}.
+     *
+     * @param <T> Type of the result.
+     */
+    public static class Result<T> {
+
+        private final Query<T> query;
+        private T value;
+        // Set after the value, so that the value is visible to the thread that sees this.
+        private volatile boolean executed;
+
+        private Result(Query<T> query) {
+            this.query = query;
+            executed = false;
+        }
+
+        /**
+         * Execute the query and remember the result.
+         *
+         * @param db Database to execute the query on.
+         */
+        public void execute(Database db) {
+            value = db.query(query);
+            executed = true;
+        }
+
+        /**
+         * Get the result of the query.
+         *
+         * @return Result of the query.
+         * @throws IllegalStateException If the batch has not been executed.
+         */
+        public T get() {
+            if (!executed) throw new IllegalStateException("Query has not been executed yet");
+            return value;
+        }
+    }
+}
@@ -170,6 +170,33 @@ public class ActivityIndexQueries {
         };
     }
 
+    public static Query<Map<UUID, ActivityIndex>> activityIndexForPlayersOf(long date, UUID serverUUID, long threshold) {
+        String selectActivityIndex = selectActivityIndexSQL();
+
+        String selectIndexes = SELECT + "u." + UserInfoTable.USER_UUID + ",COALESCE(activity_index, 0) as activity_index" +
+                FROM + UserInfoTable.TABLE_NAME + " u" +
+                LEFT_JOIN + '(' + selectActivityIndex + ") s on s." + SessionsTable.USER_UUID + "=u." + UserInfoTable.USER_UUID +
+                WHERE + "u." + UserInfoTable.SERVER_UUID + "=?";
+
+        return new QueryStatement<Map<UUID, ActivityIndex>>(selectIndexes, 1000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                setSelectActivityIndexSQLParameters(statement, 1, threshold, serverUUID, date);
+                statement.setString(12, serverUUID.toString());
+            }
+
+            @Override
+            public Map<UUID, ActivityIndex> processResults(ResultSet set) throws SQLException {
+                Map<UUID, ActivityIndex> indexes = new HashMap<>();
+                while (set.next()) {
+                    UUID playerUUID = UUID.fromString(set.getString(UserInfoTable.USER_UUID));
+                    indexes.put(playerUUID, new ActivityIndex(set.getDouble("activity_index"), date));
+                }
+                return indexes;
+            }
+        };
+    }
+
     public static Query<Integer> countNewPlayersTurnedRegular(long after, long before, UUID serverUUID, Long threshold) {
         String selectActivityIndex = selectActivityIndexSQL();
 
@@ -0,0 +1,448 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries.analysis;
+
+import com.djrapitops.plan.delivery.domain.mutators.ActivityIndex;
+import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plan.storage.database.queries.QueryAllStatement;
+import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.queries.containers.PlayerContainerQuery;
+import com.djrapitops.plan.storage.database.sql.tables.ActivitySnapshotTable;
+import com.djrapitops.plan.storage.database.sql.tables.SessionsTable;
+import com.djrapitops.plan.storage.database.sql.tables.UserInfoTable;
+import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Queries for Activity Index that read daily active playtime from {@link ActivitySnapshotTable} instead of sessions.
+ * <p>
+ * Uses the same formula as {@link ActivityIndexQueries}, but the three weeks are made of whole days,
+ * so the result is accurate to a day. When the snapshots do not cover the requested dates
+ * (snapshots not yet created, or dates too far in the past) the session based queries are used instead.
+ *
+ * @author AuroraLS3
+ */
+public class ActivitySnapshotQueries {
+
+    private static final long DAY_MS = TimeUnit.DAYS.toMillis(1L);
+    private static final int DAYS_IN_WEEK = 7;
+    private static final int WEEKS = 3;
+
+    private ActivitySnapshotQueries() {
+        // Static method class
+    }
+
+    /**
+     * Get the start of the (UTC) day the given epoch ms is in.
+     *
+     * @param epochMs Epoch ms
+     * @return Epoch ms of the start of the day.
+     */
+    public static long toDay(long epochMs) {
+        return epochMs - Math.floorMod(epochMs, DAY_MS);
+    }
+
+    /**
+     * Fetch the latest day snapshots have been stored for on a server.
+     *
+     * @param serverUUID UUID of the server.
+     * @return Epoch ms of the start of the day or empty if there are no snapshots.
+     */
+    public static Query<Optional<Long>> fetchLatestSnapshotDay(UUID serverUUID) {
+        String sql = SELECT + "MAX(" + ActivitySnapshotTable.DATE + ") as latest" +
+                FROM + ActivitySnapshotTable.TABLE_NAME +
+                WHERE + ActivitySnapshotTable.SERVER_UUID + "=?";
+        return new QueryStatement<Optional<Long>>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+            }
+
+            @Override
+            public Optional<Long> processResults(ResultSet set) throws SQLException {
+                return readLatest(set);
+            }
+        };
+    }
+
+    /**
+     * Fetch the latest day snapshots have been stored for on every server.
+     * <p>
+     * Servers that have sessions during the time snapshots are kept for, but no snapshots
+     * (like servers that do not create them), would be missing from network wide results.
+     *
+     * @return Epoch ms of the start of the day or empty if a server with sessions has no snapshots.
+     */
+    public static Query<Optional<Long>> fetchLatestSnapshotDay() {
+        return database -> {
+            Map<UUID, Long> latestByServer = database.query(fetchLatestSnapshotDayOfEachServer());
+            if (latestByServer.isEmpty()) return Optional.empty();
+
+            long keptSince = toDay(System.currentTimeMillis() - ActivitySnapshotTable.KEEP_SNAPSHOTS_MS);
+            for (UUID serverUUID : database.query(fetchServersWithSessionsAfter(keptSince))) {
+                if (!latestByServer.containsKey(serverUUID)) return Optional.empty();
+            }
+            return latestByServer.values().stream().min(Long::compare);
+        };
+    }
+
+    private static Query<Map<UUID, Long>> fetchLatestSnapshotDayOfEachServer() {
+        String sql = SELECT + ActivitySnapshotTable.SERVER_UUID + ',' +
+                "MAX(" + ActivitySnapshotTable.DATE + ") as latest" +
+                FROM + ActivitySnapshotTable.TABLE_NAME +
+                GROUP_BY + ActivitySnapshotTable.SERVER_UUID;
+        return new QueryAllStatement<Map<UUID, Long>>(sql) {
+            @Override
+            public Map<UUID, Long> processResults(ResultSet set) throws SQLException {
+                Map<UUID, Long> latestByServer = new HashMap<>();
+                while (set.next()) {
+                    latestByServer.put(UUID.fromString(set.getString(ActivitySnapshotTable.SERVER_UUID)), set.getLong("latest"));
+                }
+                return latestByServer;
+            }
+        };
+    }
+
+    private static Query<Set<UUID>> fetchServersWithSessionsAfter(long after) {
+        String sql = SELECT + DISTINCT + SessionsTable.SERVER_UUID +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + SessionsTable.SESSION_END + ">=?";
+        return new QueryStatement<Set<UUID>>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setLong(1, after);
+            }
+
+            @Override
+            public Set<UUID> processResults(ResultSet set) throws SQLException {
+                Set<UUID> serverUUIDs = new HashSet<>();
+                while (set.next()) {
+                    serverUUIDs.add(UUID.fromString(set.getString(SessionsTable.SERVER_UUID)));
+                }
+                return serverUUIDs;
+            }
+        };
+    }
+
+    private static Optional<Long> readLatest(ResultSet set) throws SQLException {
+        if (!set.next()) return Optional.empty();
+        long latest = set.getLong("latest");
+        return set.wasNull() ? Optional.empty() : Optional.of(latest);
+    }
+
+    /**
+     * Query active playtime of each player on a server per day from sessions.
+     *
+     * @param serverUUID UUID of the server.
+     * @param after      Sessions that ended after this epoch ms are included.
+     * @return Map: Player UUID - (Start of the day - Active playtime that day)
+     */
+    public static Query<Map<UUID, Map<Long, Long>>> fetchDailyActivePlaytimeFromSessions(UUID serverUUID, long after) {
+        String sql = SELECT + SessionsTable.USER_UUID + ',' +
+                SessionsTable.SESSION_END + ',' +
+                SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + '-' + SessionsTable.AFK_TIME + " as active_playtime" +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + SessionsTable.SERVER_UUID + "=?" +
+                AND + SessionsTable.SESSION_END + ">=?";
+        return new QueryStatement<Map<UUID, Map<Long, Long>>>(sql, 10000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                statement.setLong(2, after);
+            }
+
+            @Override
+            public Map<UUID, Map<Long, Long>> processResults(ResultSet set) throws SQLException {
+                Map<UUID, Map<Long, Long>> playtimePerDay = new HashMap<>();
+                while (set.next()) {
+                    UUID playerUUID = UUID.fromString(set.getString(SessionsTable.USER_UUID));
+                    long day = toDay(set.getLong(SessionsTable.SESSION_END));
+                    long activePlaytime = set.getLong("active_playtime");
+                    playtimePerDay.computeIfAbsent(playerUUID, key -> new HashMap<>())
+                            .merge(day, activePlaytime, Long::sum);
+                }
+                return playtimePerDay;
+            }
+        };
+    }
+
+    /**
+     * Calculate activity index groupings of players of a server on multiple dates.
+     *
+     * @param dates      Epoch ms of the dates.
+     * @param serverUUID UUID of the server.
+     * @param threshold  Playtime threshold
+     * @return Map: Date - (Activity group - Number of players in the group)
+     */
+    public static Query<Map<Long, Map<String, Integer>>> fetchActivityIndexGroupingsOn(Collection<Long> dates, UUID serverUUID, long threshold) {
+        return database -> {
+            if (dates.isEmpty()) return Collections.emptyMap();
+            long earliest = Collections.min(dates);
+            long latest = Collections.max(dates);
+
+            Map<Long, Map<String, Integer>> groupings = new HashMap<>();
+            if (!isCovered(database.query(fetchLatestSnapshotDay(serverUUID)), earliest)) {
+                for (Long date : dates) {
+                    groupings.put(date, database.query(ActivityIndexQueries.fetchActivityIndexGroupingsOn(date, serverUUID, threshold)));
+                }
+                return groupings;
+            }
+
+            long firstDay = getFirstDay(earliest);
+            Map<UUID, long[]> playtime = database.query(fetchDailyActivePlaytime(serverUUID, firstDay, toDay(latest)));
+            Map<UUID, Long> registerDates = database.query(fetchRegisterDates(serverUUID));
+            for (Long date : dates) {
+                groupings.put(date, groupActivityIndexes(registerDates, playtime, firstDay, date, threshold));
+            }
+            return groupings;
+        };
+    }
+
+    /**
+     * Calculate activity index groupings of all players on multiple dates.
+     *
+     * @param dates     Epoch ms of the dates.
+     * @param threshold Playtime threshold
+     * @return Map: Date - (Activity group - Number of players in the group)
+     */
+    public static Query<Map<Long, Map<String, Integer>>> fetchActivityIndexGroupingsOn(Collection<Long> dates, long threshold) {
+        return database -> {
+            if (dates.isEmpty()) return Collections.emptyMap();
+            long earliest = Collections.min(dates);
+            long latest = Collections.max(dates);
+
+            Map<Long, Map<String, Integer>> groupings = new HashMap<>();
+            if (!isCovered(database.query(fetchLatestSnapshotDay()), earliest)) {
+                for (Long date : dates) {
+                    groupings.put(date, database.query(NetworkActivityIndexQueries.fetchActivityIndexGroupingsOn(date, threshold)));
+                }
+                return groupings;
+            }
+
+            long firstDay = getFirstDay(earliest);
+            Map<UUID, long[]> playtime = database.query(fetchDailyActivePlaytime(null, firstDay, toDay(latest)));
+            Map<UUID, Long> registerDates = database.query(fetchRegisterDates(null));
+            for (Long date : dates) {
+                groupings.put(date, groupActivityIndexes(registerDates, playtime, firstDay, date, threshold));
+            }
+            return groupings;
+        };
+    }
+
+    /**
+     * Calculate activity index of all players.
+     *
+     * @param date      Epoch ms of the date.
+     * @param threshold Playtime threshold
+     * @return Map: Player UUID - Activity Index
+     */
+    public static Query<Map<UUID, ActivityIndex>> activityIndexForAllPlayers(long date, long threshold) {
+        return database -> {
+            if (!isCovered(database.query(fetchLatestSnapshotDay()), date)) {
+                return database.query(NetworkActivityIndexQueries.activityIndexForAllPlayers(date, threshold));
+            }
+
+            long firstDay = getFirstDay(date);
+            Map<UUID, long[]> playtime = database.query(fetchDailyActivePlaytime(null, firstDay, toDay(date)));
+            Map<UUID, ActivityIndex> indexes = new HashMap<>();
+            for (UUID playerUUID : database.query(fetchRegisterDates(null)).keySet()) {
+                double value = calculate(playtime.get(playerUUID), firstDay, date, threshold);
+                indexes.put(playerUUID, new ActivityIndex(value, date));
+            }
+            return indexes;
+        };
+    }
+
+    /**
+     * Calculate activity index of all players of a server.
+     *
+     * @param serverUUID UUID of the server.
+     * @param date       Epoch ms of the date.
+     * @param threshold  Playtime threshold
+     * @return Map: Player UUID - Activity Index
+     */
+    public static Query<Map<UUID, ActivityIndex>> activityIndexForPlayersOf(UUID serverUUID, long date, long threshold) {
+        return database -> {
+            if (!isCovered(database.query(fetchLatestSnapshotDay(serverUUID)), date)) {
+                return database.query(ActivityIndexQueries.activityIndexForPlayersOf(date, serverUUID, threshold));
+            }
+
+            long firstDay = getFirstDay(date);
+            Map<UUID, long[]> playtime = database.query(fetchDailyActivePlaytime(serverUUID, firstDay, toDay(date)));
+            Map<UUID, ActivityIndex> indexes = new HashMap<>();
+            for (UUID playerUUID : database.query(fetchRegisterDates(serverUUID)).keySet()) {
+                double value = calculate(playtime.get(playerUUID), firstDay, date, threshold);
+                indexes.put(playerUUID, new ActivityIndex(value, date));
+            }
+            return indexes;
+        };
+    }
+
+    /**
+     * Calculate activity index of a player over all servers.
+     *
+     * @param playerUUID UUID of the player.
+     * @param date       Epoch ms of the date.
+     * @param threshold  Playtime threshold
+     * @return Activity Index of the player.
+     */
+    public static Query<ActivityIndex> activityIndexOf(UUID playerUUID, long date, long threshold) {
+        return database -> {
+            if (!isCovered(database.query(fetchLatestSnapshotDay()), date)) {
+                return database.query(new PlayerContainerQuery(playerUUID)).getActivityIndex(date, threshold);
+            }
+
+            long firstDay = getFirstDay(date);
+            String sql = SELECT + ActivitySnapshotTable.DATE + ',' +
+                    "SUM(" + ActivitySnapshotTable.ACTIVE_PLAYTIME + ") as active_playtime" +
+                    FROM + ActivitySnapshotTable.TABLE_NAME +
+                    WHERE + ActivitySnapshotTable.USER_UUID + "=?" +
+                    AND + ActivitySnapshotTable.DATE + ">=?" +
+                    AND + ActivitySnapshotTable.DATE + "<=?" +
+                    GROUP_BY + ActivitySnapshotTable.DATE;
+            long[] playtime = database.query(new QueryStatement<long[]>(sql) {
+                @Override
+                public void prepare(PreparedStatement statement) throws SQLException {
+                    statement.setString(1, playerUUID.toString());
+                    statement.setLong(2, firstDay);
+                    statement.setLong(3, toDay(date));
+                }
+
+                @Override
+                public long[] processResults(ResultSet set) throws SQLException {
+                    long[] daily = new long[getDayIndex(firstDay, date) + 1];
+                    while (set.next()) {
+                        daily[getDayIndex(firstDay, set.getLong(ActivitySnapshotTable.DATE))] += set.getLong("active_playtime");
+                    }
+                    return daily;
+                }
+            });
+            return new ActivityIndex(calculate(playtime, firstDay, date, threshold), date);
+        };
+    }
+
+    private static boolean isCovered(Optional<Long> latestSnapshotDay, long earliestDate) {
+        long keptSince = toDay(System.currentTimeMillis() - ActivitySnapshotTable.KEEP_SNAPSHOTS_MS) + DAY_MS;
+        return latestSnapshotDay.isPresent() && getFirstDay(earliestDate) >= keptSince;
+    }
+
+    private static long getFirstDay(long date) {
+        return toDay(date) - (WEEKS * DAYS_IN_WEEK - 1) * DAY_MS;
+    }
+
+    private static int getDayIndex(long firstDay, long date) {
+        return (int) ((toDay(date) - firstDay) / DAY_MS);
+    }
+
+    /**
+     * Calculate activity index from daily active playtime.
+     *
+     * @param dailyPlaytime Active playtime per day, index 0 is the first day. null if the player has no playtime.
+     * @param firstDay      Epoch ms of the start of the first day.
+     * @param date          Epoch ms of the date to calculate the index on.
+     * @param threshold     Playtime threshold
+     * @return Activity index value
+     */
+    private static double calculate(long[] dailyPlaytime, long firstDay, long date, long threshold) {
+        int dayIndex = getDayIndex(firstDay, date);
+        double sum = 0.0;
+        for (int week = 0; week < WEEKS; week++) {
+            long playtime = 0L;
+            int lastDayOfWeek = dayIndex - week * DAYS_IN_WEEK;
+            for (int day = lastDayOfWeek - DAYS_IN_WEEK + 1; day <= lastDayOfWeek; day++) {
+                if (dailyPlaytime != null && day >= 0 && day < dailyPlaytime.length) {
+                    playtime += dailyPlaytime[day];
+                }
+            }
+            sum += 1.0 / (Math.PI / 2.0 * (playtime * 1.0 / threshold) + 1.0);
+        }
+        return 5.0 - 5.0 * sum / WEEKS;
+    }
+
+    private static Map<String, Integer> groupActivityIndexes(
+            Map<UUID, Long> registerDates, Map<UUID, long[]> playtime, long firstDay, long date, long threshold
+    ) {
+        Map<String, Integer> groups = new HashMap<>();
+        for (Map.Entry<UUID, Long> entry : registerDates.entrySet()) {
+            if (entry.getValue() > date) continue;
+            double activityIndex = calculate(playtime.get(entry.getKey()), firstDay, date, threshold);
+            groups.merge(ActivityIndex.getGroup(activityIndex), 1, Integer::sum);
+        }
+        return groups;
+    }
+
+    private static Query<Map<UUID, long[]>> fetchDailyActivePlaytime(UUID serverUUID, long firstDay, long lastDay) {
+        String sql = SELECT + ActivitySnapshotTable.USER_UUID + ',' +
+                ActivitySnapshotTable.DATE + ',' +
+                ActivitySnapshotTable.ACTIVE_PLAYTIME +
+                FROM + ActivitySnapshotTable.TABLE_NAME +
+                WHERE + ActivitySnapshotTable.DATE + ">=?" +
+                AND + ActivitySnapshotTable.DATE + "<=?" +
+                (serverUUID != null ? AND + ActivitySnapshotTable.SERVER_UUID + "=?" : "");
+        int days = getDayIndex(firstDay, lastDay) + 1;
+        return new QueryStatement<Map<UUID, long[]>>(sql, 10000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setLong(1, firstDay);
+                statement.setLong(2, lastDay);
+                if (serverUUID != null) statement.setString(3, serverUUID.toString());
+            }
+
+            @Override
+            public Map<UUID, long[]> processResults(ResultSet set) throws SQLException {
+                Map<UUID, long[]> playtime = new HashMap<>();
+                while (set.next()) {
+                    UUID playerUUID = UUID.fromString(set.getString(ActivitySnapshotTable.USER_UUID));
+                    int day = getDayIndex(firstDay, set.getLong(ActivitySnapshotTable.DATE));
+                    playtime.computeIfAbsent(playerUUID, key -> new long[days])[day] += set.getLong(ActivitySnapshotTable.ACTIVE_PLAYTIME);
+                }
+                return playtime;
+            }
+        };
+    }
+
+    private static Query<Map<UUID, Long>> fetchRegisterDates(UUID serverUUID) {
+        String sql = serverUUID != null
+                ? SELECT + UserInfoTable.USER_UUID + ',' + UserInfoTable.REGISTERED +
+                FROM + UserInfoTable.TABLE_NAME +
+                WHERE + UserInfoTable.SERVER_UUID + "=?"
+                : SELECT + UsersTable.USER_UUID + ',' + UsersTable.REGISTERED +
+                FROM + UsersTable.TABLE_NAME;
+        return new QueryStatement<Map<UUID, Long>>(sql, 10000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                if (serverUUID != null) statement.setString(1, serverUUID.toString());
+            }
+
+            @Override
+            public Map<UUID, Long> processResults(ResultSet set) throws SQLException {
+                Map<UUID, Long> registerDates = new HashMap<>();
+                while (set.next()) {
+                    registerDates.put(UUID.fromString(set.getString(UsersTable.USER_UUID)), set.getLong(UsersTable.REGISTERED));
+                }
+                return registerDates;
+            }
+        };
+    }
+}
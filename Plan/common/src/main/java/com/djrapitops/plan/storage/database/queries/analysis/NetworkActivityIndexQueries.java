@@ -19,9 +19,9 @@ package com.djrapitops.plan.storage.database.queries.analysis;
 import com.djrapitops.plan.delivery.domain.mutators.ActivityIndex;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdRanges;
 import com.djrapitops.plan.storage.database.sql.tables.SessionsTable;
 import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
-import org.apache.commons.text.TextStringBuilder;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -163,21 +163,40 @@ public class NetworkActivityIndexQueries {
         };
     }
 
-    public static Query<Map<String, Integer>> fetchActivityIndexGroupingsOn(long date, long threshold, Collection<UUID> playerUUIDs) {
+    /**
+     * Count activity index groups of a group of players.
+     *
+     * @param date      Date to calculate the activity index on.
+     * @param threshold Playtime threshold
+     * @param userIds   plan_users ids of the players, see {@link UserIdRanges}.
+     * @return Map: Activity Index group - Number of players in the group.
+     */
+    public static Query<Map<String, Integer>> fetchActivityIndexGroupingsOn(long date, long threshold, BitSet userIds) {
+        return db -> {
+            Map<String, Integer> groups = new HashMap<>();
+            for (UserIdRanges chunk : UserIdRanges.chunksOf(userIds)) {
+                db.query(fetchActivityIndexGroupingsOn(date, threshold, chunk))
+                        .forEach((group, count) -> groups.merge(group, count, Integer::sum));
+            }
+            return groups;
+        };
+    }
+
+    private static Query<Map<String, Integer>> fetchActivityIndexGroupingsOn(long date, long threshold, UserIdRanges userIds) {
         String selectActivityIndex = selectActivityIndexSQL();
 
         String selectIndexes = SELECT + "activity_index" +
                 FROM + UsersTable.TABLE_NAME + " u" +
                 LEFT_JOIN + '(' + selectActivityIndex + ") s on s." + SessionsTable.USER_UUID + "=u." + UsersTable.USER_UUID +
                 WHERE + "u." + UsersTable.REGISTERED + "<=?" +
-                AND + "u." + UsersTable.USER_UUID + " IN ('" +
-                new TextStringBuilder().appendWithSeparators(playerUUIDs, "','").build() + "')";
+                AND + userIds.matching("u." + UsersTable.ID);
 
         return new QueryStatement<Map<String, Integer>>(selectIndexes) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
                 setSelectActivityIndexSQLParameters(statement, 1, threshold, date);
                 statement.setLong(9, date);
+                userIds.setParameters(statement, 10);
             }
 
             @Override
@@ -19,6 +19,8 @@ package com.djrapitops.plan.storage.database.queries.analysis;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
 import com.djrapitops.plan.storage.database.sql.building.Sql;
+import com.djrapitops.plan.storage.database.sql.tables.DailyRollupTable;
+import com.djrapitops.plan.storage.database.sql.tables.HourlyRollupTable;
 import com.djrapitops.plan.storage.database.sql.tables.SessionsTable;
 import com.djrapitops.plan.storage.database.sql.tables.UserInfoTable;
 import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
@@ -135,15 +137,15 @@ public class PlayerCountQueries {
     public static Query<NavigableMap<Long, Integer>> uniquePlayerCounts(long after, long before, long timeZoneOffset, UUID serverUUID) {
         return database -> {
             Sql sql = database.getSql();
-            String selectUniquePlayersPerDay = SELECT +
+            String selectUniquePlayersPerDay = RollupQueries.withDailyRollups(SELECT +
                     sql.dateToEpochSecond(sql.dateToDayStamp(sql.epochSecondToDate('(' + SessionsTable.SESSION_START + "+?)/1000"))) +
                     "*1000 as date," +
                     "COUNT(DISTINCT " + SessionsTable.USER_UUID + ") as player_count" +
                     FROM + SessionsTable.TABLE_NAME +
                     WHERE + SessionsTable.SESSION_END + "<=?" +
                     AND + SessionsTable.SESSION_START + ">=?" +
-                    AND + SessionsTable.SERVER_UUID + "=?" +
-                    GROUP_BY + "date";
+                    AND + SessionsTable.SERVER_UUID + "=?",
+                    SessionsTable.SESSION_START, DailyRollupTable.UNIQUE_PLAYERS);
 
             return database.query(new QueryStatement<NavigableMap<Long, Integer>>(selectUniquePlayersPerDay, 100) {
                 @Override
@@ -152,6 +154,7 @@ public class PlayerCountQueries {
                     statement.setLong(2, before);
                     statement.setLong(3, after);
                     statement.setString(4, serverUUID.toString());
+                    RollupQueries.setDailyRollupParameters(statement, 5, after, before, timeZoneOffset, serverUUID);
                 }
 
                 @Override
@@ -178,15 +181,15 @@ public class PlayerCountQueries {
     public static Query<NavigableMap<Long, Integer>> hourlyUniquePlayerCounts(long after, long before, long timeZoneOffset, UUID serverUUID) {
         return database -> {
             Sql sql = database.getSql();
-            String selectUniquePlayersPerDay = SELECT +
+            String selectUniquePlayersPerDay = RollupQueries.withHourlyRollups(SELECT +
                     sql.dateToEpochSecond(sql.dateToHourStamp(sql.epochSecondToDate('(' + SessionsTable.SESSION_START + "+?)/1000"))) +
                     "*1000 as date," +
                     "COUNT(DISTINCT " + SessionsTable.USER_UUID + ") as player_count" +
                     FROM + SessionsTable.TABLE_NAME +
                     WHERE + SessionsTable.SESSION_END + "<=?" +
                     AND + SessionsTable.SESSION_START + ">=?" +
-                    AND + SessionsTable.SERVER_UUID + "=?" +
-                    GROUP_BY + "date";
+                    AND + SessionsTable.SERVER_UUID + "=?",
+                    SessionsTable.SESSION_START, HourlyRollupTable.UNIQUE_PLAYERS);
 
             return database.query(new QueryStatement<NavigableMap<Long, Integer>>(selectUniquePlayersPerDay, 100) {
                 @Override
@@ -195,6 +198,7 @@ public class PlayerCountQueries {
                     statement.setLong(2, before);
                     statement.setLong(3, after);
                     statement.setString(4, serverUUID.toString());
+                    RollupQueries.setHourlyRollupParameters(statement, 5, after, before, timeZoneOffset, serverUUID);
                 }
 
                 @Override
@@ -292,15 +296,15 @@ public class PlayerCountQueries {
     public static Query<Integer> averageUniquePlayerCount(long after, long before, long timeZoneOffset, UUID serverUUID) {
         return database -> {
             Sql sql = database.getSql();
-            String selectUniquePlayersPerDay = SELECT +
+            String selectUniquePlayersPerDay = RollupQueries.withDailyRollups(SELECT +
                     sql.dateToEpochSecond(sql.dateToDayStamp(sql.epochSecondToDate('(' + SessionsTable.SESSION_START + "+?)/1000"))) +
                     "*1000 as date," +
                     "COUNT(DISTINCT " + SessionsTable.USER_UUID + ") as player_count" +
                     FROM + SessionsTable.TABLE_NAME +
                     WHERE + SessionsTable.SESSION_END + "<=?" +
                     AND + SessionsTable.SESSION_START + ">=?" +
-                    AND + SessionsTable.SERVER_UUID + "=?" +
-                    GROUP_BY + "date";
+                    AND + SessionsTable.SERVER_UUID + "=?",
+                    SessionsTable.SESSION_START, DailyRollupTable.UNIQUE_PLAYERS);
             String selectAverage = SELECT + "AVG(player_count) as average" + FROM + '(' + selectUniquePlayersPerDay + ") q1";
 
             return database.query(new QueryStatement<Integer>(selectAverage, 100) {
@@ -310,6 +314,7 @@ public class PlayerCountQueries {
                     statement.setLong(2, before);
                     statement.setLong(3, after);
                     statement.setString(4, serverUUID.toString());
+                    RollupQueries.setDailyRollupParameters(statement, 5, after, before, timeZoneOffset, serverUUID);
                 }
 
                 @Override
@@ -376,15 +381,15 @@ public class PlayerCountQueries {
     public static Query<NavigableMap<Long, Integer>> newPlayerCounts(long after, long before, long timeZoneOffset, UUID serverUUID) {
         return database -> {
             Sql sql = database.getSql();
-            String selectNewPlayersQuery = SELECT +
+            String selectNewPlayersQuery = RollupQueries.withDailyRollups(SELECT +
                     sql.dateToEpochSecond(sql.dateToDayStamp(sql.epochSecondToDate('(' + UserInfoTable.REGISTERED + "+?)/1000"))) +
                     "*1000 as date," +
                     "COUNT(1) as player_count" +
                     FROM + UserInfoTable.TABLE_NAME +
                     WHERE + UserInfoTable.REGISTERED + "<=?" +
                     AND + UserInfoTable.REGISTERED + ">=?" +
-                    AND + UserInfoTable.SERVER_UUID + "=?" +
-                    GROUP_BY + "date";
+                    AND + UserInfoTable.SERVER_UUID + "=?",
+                    UserInfoTable.REGISTERED, DailyRollupTable.NEW_PLAYERS);
 
             return database.query(new QueryStatement<NavigableMap<Long, Integer>>(selectNewPlayersQuery, 100) {
                 @Override
@@ -393,6 +398,7 @@ public class PlayerCountQueries {
                     statement.setLong(2, before);
                     statement.setLong(3, after);
                     statement.setString(4, serverUUID.toString());
+                    RollupQueries.setDailyRollupParameters(statement, 5, after, before, timeZoneOffset, serverUUID);
                 }
 
                 @Override
@@ -419,15 +425,15 @@ public class PlayerCountQueries {
     public static Query<NavigableMap<Long, Integer>> hourlyNewPlayerCounts(long after, long before, long timeZoneOffset, UUID serverUUID) {
         return database -> {
             Sql sql = database.getSql();
-            String selectNewPlayersQuery = SELECT +
+            String selectNewPlayersQuery = RollupQueries.withHourlyRollups(SELECT +
                     sql.dateToEpochSecond(sql.dateToHourStamp(sql.epochSecondToDate('(' + UserInfoTable.REGISTERED + "+?)/1000"))) +
                     "*1000 as date," +
                     "COUNT(1) as player_count" +
                     FROM + UserInfoTable.TABLE_NAME +
                     WHERE + UserInfoTable.REGISTERED + "<=?" +
                     AND + UserInfoTable.REGISTERED + ">=?" +
-                    AND + UserInfoTable.SERVER_UUID + "=?" +
-                    GROUP_BY + "date";
+                    AND + UserInfoTable.SERVER_UUID + "=?",
+                    UserInfoTable.REGISTERED, HourlyRollupTable.NEW_PLAYERS);
 
             return database.query(new QueryStatement<NavigableMap<Long, Integer>>(selectNewPlayersQuery, 100) {
                 @Override
@@ -436,6 +442,7 @@ public class PlayerCountQueries {
                     statement.setLong(2, before);
                     statement.setLong(3, after);
                     statement.setString(4, serverUUID.toString());
+                    RollupQueries.setHourlyRollupParameters(statement, 5, after, before, timeZoneOffset, serverUUID);
                 }
 
                 @Override
@@ -533,15 +540,15 @@ public class PlayerCountQueries {
     public static Query<Integer> averageNewPlayerCount(long after, long before, long timeZoneOffset, UUID serverUUID) {
         return database -> {
             Sql sql = database.getSql();
-            String selectNewPlayersQuery = SELECT +
+            String selectNewPlayersQuery = RollupQueries.withDailyRollups(SELECT +
                     sql.dateToEpochSecond(sql.dateToDayStamp(sql.epochSecondToDate('(' + UserInfoTable.REGISTERED + "+?)/1000"))) +
                     "*1000 as date," +
                     "COUNT(1) as player_count" +
                     FROM + UserInfoTable.TABLE_NAME +
                     WHERE + UserInfoTable.REGISTERED + "<=?" +
                     AND + UserInfoTable.REGISTERED + ">=?" +
-                    AND + UserInfoTable.SERVER_UUID + "=?" +
-                    GROUP_BY + "date";
+                    AND + UserInfoTable.SERVER_UUID + "=?",
+                    UserInfoTable.REGISTERED, DailyRollupTable.NEW_PLAYERS);
             String selectAverage = SELECT + "AVG(player_count) as average" + FROM + '(' + selectNewPlayersQuery + ") q1";
 
             return database.query(new QueryStatement<Integer>(selectAverage, 100) {
@@ -551,6 +558,7 @@ public class PlayerCountQueries {
                     statement.setLong(2, before);
                     statement.setLong(3, after);
                     statement.setString(4, serverUUID.toString());
+                    RollupQueries.setDailyRollupParameters(statement, 5, after, before, timeZoneOffset, serverUUID);
                 }
 
                 @Override
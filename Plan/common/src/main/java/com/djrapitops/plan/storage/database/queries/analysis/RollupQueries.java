@@ -0,0 +1,437 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries.analysis;
+
+import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.sql.tables.*;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Queries for the hourly and daily rollups of player counts, playtime and sessions.
+ * <p>
+ * The rollups are only up to date for servers and timezone offsets in {@link RollupStateTable},
+ * queries in {@link PlayerCountQueries} and {@link com.djrapitops.plan.storage.database.queries.objects.SessionQueries}
+ * use them for the hours and days wholly within the range with {@link #withDailyRollups(String, String, String)}
+ * and {@link #withHourlyRollups(String, String, String)}, which check for that in the same query.
+ *
+ * @author AuroraLS3
+ */
+public class RollupQueries {
+
+    public static final long HOUR_MS = TimeUnit.HOURS.toMillis(1L);
+    public static final long DAY_MS = TimeUnit.DAYS.toMillis(1L);
+
+    private RollupQueries() {
+        /* Static method class */
+    }
+
+    /**
+     * Get the start of the (UTC) hour the given epoch ms is in.
+     *
+     * @param epochMs Epoch ms
+     * @return Epoch ms of the start of the hour.
+     */
+    public static long toHourStart(long epochMs) {
+        return epochMs - Math.floorMod(epochMs, HOUR_MS);
+    }
+
+    /**
+     * Get the start of the day the given epoch ms is in, in the same format as session based per day queries.
+     *
+     * @param epochMs        Epoch ms
+     * @param timeZoneOffset Offset from {@link java.util.TimeZone#getOffset(long)}, applied to the date before grouping.
+     * @return Epoch ms of the start of the day, with the offset applied. Subtract the offset to get the actual start.
+     */
+    public static long toDayStart(long epochMs, long timeZoneOffset) {
+        long withOffset = epochMs + timeZoneOffset;
+        return withOffset - Math.floorMod(withOffset, DAY_MS);
+    }
+
+    /**
+     * Fetch the timezone offsets the rollups of a server have been filled for.
+     *
+     * @param serverUUID UUID of the Plan server
+     * @return Offsets, empty if the rollups of the server have not been filled.
+     */
+    public static QueryStatement<List<Long>> fetchRolledUpTimeZoneOffsets(UUID serverUUID) {
+        String sql = SELECT + DISTINCT + RollupStateTable.TIMEZONE_OFFSET +
+                FROM + RollupStateTable.TABLE_NAME +
+                WHERE + RollupStateTable.SERVER_UUID + "=?";
+        return new QueryStatement<List<Long>>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+            }
+
+            @Override
+            public List<Long> processResults(ResultSet set) throws SQLException {
+                List<Long> offsets = new ArrayList<>();
+                while (set.next()) {
+                    offsets.add(set.getLong(RollupStateTable.TIMEZONE_OFFSET));
+                }
+                return offsets;
+            }
+        };
+    }
+
+    /**
+     * Fetch servers whose rollups might include data of a player.
+     *
+     * @param playerUUID UUID of the player.
+     * @return UUIDs of servers the player has registered or played on, with or without rollups.
+     */
+    public static Query<Set<UUID>> fetchServersOfPlayer(UUID playerUUID) {
+        String sql = SELECT + UserInfoTable.SERVER_UUID + " as server_uuid" +
+                FROM + UserInfoTable.TABLE_NAME +
+                WHERE + UserInfoTable.USER_UUID + "=?" +
+                UNION +
+                SELECT + SessionsTable.SERVER_UUID + " as server_uuid" +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + SessionsTable.USER_UUID + "=?";
+        return new QueryStatement<Set<UUID>>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, playerUUID.toString());
+                statement.setString(2, playerUUID.toString());
+            }
+
+            @Override
+            public Set<UUID> processResults(ResultSet set) throws SQLException {
+                Set<UUID> serverUUIDs = new HashSet<>();
+                while (set.next()) {
+                    serverUUIDs.add(UUID.fromString(set.getString("server_uuid")));
+                }
+                return serverUUIDs;
+            }
+        };
+    }
+
+    public static Query<Boolean> hasHourlyRollups(UUID serverUUID) {
+        return db -> !db.query(fetchRolledUpTimeZoneOffsets(serverUUID)).isEmpty();
+    }
+
+    public static Query<Boolean> hasDailyRollups(UUID serverUUID, long timeZoneOffset) {
+        return db -> db.query(fetchRolledUpTimeZoneOffsets(serverUUID)).contains(timeZoneOffset);
+    }
+
+    /**
+     * Add daily rollups to a session based select, so that days wholly within the range are read from the rollups.
+     * <p>
+     * Days at the edges of the range, and every day if the server does not have rollups for the offset, are read with the
+     * session based select, so that the values of each day are the same as with the session based select alone.
+     * Sessions that start on a whole day but end after the range are an exception, they are included in the value of the day.
+     * There are only such sessions if the range ends in the past while a session was ongoing.
+     *
+     * @param selectPerDay Session based select of "date" and a value column, ending in a WHERE clause, without GROUP BY.
+     *                     "date" must be the start of the day with the offset applied, like {@link DailyRollupTable#DAY_START}.
+     * @param dateColumn   Column of the session based select the days are calculated from, like session start.
+     * @param rollupColumn Column of {@link DailyRollupTable} that holds the same value.
+     * @return Select of the values of each day, set the parameters after the ones of the session based select with
+     * {@link #setDailyRollupParameters(PreparedStatement, int, long, long, long, UUID)}.
+     */
+    public static String withDailyRollups(String selectPerDay, String dateColumn, String rollupColumn) {
+        String hasRollups = "EXISTS (" + SELECT + "1" + FROM + RollupStateTable.TABLE_NAME +
+                WHERE + RollupStateTable.SERVER_UUID + "=?" +
+                AND + RollupStateTable.TIMEZONE_OFFSET + "=?)";
+        return selectPerDay +
+                AND + '(' + dateColumn + "<?" + OR + dateColumn + ">=?" + OR + "NOT " + hasRollups + ')' +
+                GROUP_BY + "date" +
+                UNION_ALL +
+                SELECT + DailyRollupTable.DAY_START + ",SUM(" + rollupColumn + ')' +
+                FROM + DailyRollupTable.TABLE_NAME +
+                WHERE + DailyRollupTable.SERVER_UUID + "=?" +
+                AND + DailyRollupTable.TIMEZONE_OFFSET + "=?" +
+                AND + DailyRollupTable.DAY_START + ">=?" +
+                AND + DailyRollupTable.DAY_START + "<?" +
+                AND + hasRollups +
+                GROUP_BY + DailyRollupTable.DAY_START +
+                " HAVING SUM(" + rollupColumn + ")<>0";
+    }
+
+    /**
+     * Set the parameters of {@link #withDailyRollups(String, String, String)}.
+     *
+     * @param statement      Statement to set the parameters of
+     * @param index          Index of the first parameter after the session based select.
+     * @param after          After epoch ms
+     * @param before         Before epoch ms
+     * @param timeZoneOffset Offset from {@link java.util.TimeZone#getOffset(long)}
+     * @param serverUUID     UUID of the Plan server
+     * @throws SQLException If a parameter can not be set.
+     */
+    public static void setDailyRollupParameters(PreparedStatement statement, int index, long after, long before, long timeZoneOffset, UUID serverUUID) throws SQLException {
+        long firstWholeDay = toDayStart(after - 1L, timeZoneOffset) + DAY_MS;
+        long afterWholeDays = Math.max(firstWholeDay, toDayStart(before, timeZoneOffset));
+        String server = serverUUID.toString();
+        statement.setLong(index, firstWholeDay - timeZoneOffset);
+        statement.setLong(index + 1, afterWholeDays - timeZoneOffset);
+        statement.setString(index + 2, server);
+        statement.setLong(index + 3, timeZoneOffset);
+        statement.setString(index + 4, server);
+        statement.setLong(index + 5, timeZoneOffset);
+        statement.setLong(index + 6, firstWholeDay);
+        statement.setLong(index + 7, afterWholeDays);
+        statement.setString(index + 8, server);
+        statement.setLong(index + 9, timeZoneOffset);
+    }
+
+    /**
+     * Add hourly rollups to a session based select, so that hours wholly within the range are read from the rollups.
+     * <p>
+     * Works like {@link #withDailyRollups(String, String, String)}. Rollups are not used if the offset is not whole hours.
+     *
+     * @param selectPerHour Session based select of "date" and a value column, ending in a WHERE clause, without GROUP BY.
+     *                      "date" must be the start of the hour with the offset applied.
+     * @param dateColumn    Column of the session based select the hours are calculated from, like session start.
+     * @param rollupColumn  Column of {@link HourlyRollupTable} that holds the same value.
+     * @return Select of the values of each hour, set the parameters after the ones of the session based select with
+     * {@link #setHourlyRollupParameters(PreparedStatement, int, long, long, long, UUID)}.
+     */
+    public static String withHourlyRollups(String selectPerHour, String dateColumn, String rollupColumn) {
+        String hasRollups = "EXISTS (" + SELECT + "1" + FROM + RollupStateTable.TABLE_NAME +
+                WHERE + RollupStateTable.SERVER_UUID + "=?)";
+        return selectPerHour +
+                AND + '(' + dateColumn + "<?" + OR + dateColumn + ">=?" + OR + "NOT " + hasRollups + ')' +
+                GROUP_BY + "date" +
+                UNION_ALL +
+                SELECT + HourlyRollupTable.HOUR_START + "+?,SUM(" + rollupColumn + ')' +
+                FROM + HourlyRollupTable.TABLE_NAME +
+                WHERE + HourlyRollupTable.SERVER_UUID + "=?" +
+                AND + HourlyRollupTable.HOUR_START + ">=?" +
+                AND + HourlyRollupTable.HOUR_START + "<?" +
+                AND + hasRollups +
+                GROUP_BY + HourlyRollupTable.HOUR_START +
+                " HAVING SUM(" + rollupColumn + ")<>0";
+    }
+
+    /**
+     * Set the parameters of {@link #withHourlyRollups(String, String, String)}.
+     *
+     * @param statement      Statement to set the parameters of
+     * @param index          Index of the first parameter after the session based select.
+     * @param after          After epoch ms
+     * @param before         Before epoch ms
+     * @param timeZoneOffset Offset from {@link java.util.TimeZone#getOffset(long)}
+     * @param serverUUID     UUID of the Plan server
+     * @throws SQLException If a parameter can not be set.
+     */
+    public static void setHourlyRollupParameters(PreparedStatement statement, int index, long after, long before, long timeZoneOffset, UUID serverUUID) throws SQLException {
+        long firstWholeHour = toHourStart(after - 1L) + HOUR_MS;
+        long afterWholeHours = Math.max(firstWholeHour, toHourStart(before));
+        if (timeZoneOffset % HOUR_MS != 0) {
+            // Hours of the rollups are UTC hours, so the session based select is used for the whole range.
+            afterWholeHours = firstWholeHour;
+        }
+        String server = serverUUID.toString();
+        statement.setLong(index, firstWholeHour);
+        statement.setLong(index + 1, afterWholeHours);
+        statement.setString(index + 2, server);
+        statement.setLong(index + 3, timeZoneOffset);
+        statement.setString(index + 4, server);
+        statement.setLong(index + 5, firstWholeHour);
+        statement.setLong(index + 6, afterWholeHours);
+        statement.setString(index + 7, server);
+    }
+
+    /**
+     * Fetch session counts of each hour.
+     * <p>
+     * Range limits are applied to whole hours, which is accurate enough for the punchcard.
+     *
+     * @param after      After epoch ms
+     * @param before     Before epoch ms
+     * @param serverUUID UUID of the Plan server
+     * @return Map: Epoch ms (Start of UTC hour) - How many sessions started that hour
+     */
+    public static Query<NavigableMap<Long, Integer>> sessionCountsPerHour(long after, long before, UUID serverUUID) {
+        return db -> toIntegers(db.query(valuesPerHour(HourlyRollupTable.SESSION_COUNT, after, before, serverUUID)));
+    }
+
+    private static Query<NavigableMap<Long, Long>> valuesPerHour(String column, long after, long before, UUID serverUUID) {
+        String sql = SELECT + HourlyRollupTable.HOUR_START + ",SUM(" + column + ") as bucket_value" +
+                FROM + HourlyRollupTable.TABLE_NAME +
+                WHERE + HourlyRollupTable.SERVER_UUID + "=?" +
+                AND + HourlyRollupTable.HOUR_START + ">=?" +
+                AND + HourlyRollupTable.HOUR_START + "<=?" +
+                GROUP_BY + HourlyRollupTable.HOUR_START;
+        return new QueryStatement<NavigableMap<Long, Long>>(sql, 1000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                statement.setLong(2, toHourStart(after));
+                statement.setLong(3, toHourStart(before));
+            }
+
+            @Override
+            public NavigableMap<Long, Long> processResults(ResultSet set) throws SQLException {
+                return extractNonZeroValues(set, HourlyRollupTable.HOUR_START);
+            }
+        };
+    }
+
+    // Buckets without the value are left out, like in the session based queries.
+    private static NavigableMap<Long, Long> extractNonZeroValues(ResultSet set, String bucketColumn) throws SQLException {
+        NavigableMap<Long, Long> values = new TreeMap<>();
+        while (set.next()) {
+            long value = set.getLong("bucket_value");
+            if (value != 0L) values.put(set.getLong(bucketColumn), value);
+        }
+        return values;
+    }
+
+    private static NavigableMap<Long, Integer> toIntegers(NavigableMap<Long, Long> values) {
+        NavigableMap<Long, Integer> integers = new TreeMap<>();
+        for (Map.Entry<Long, Long> entry : values.entrySet()) {
+            integers.put(entry.getKey(), entry.getValue().intValue());
+        }
+        return integers;
+    }
+
+    /**
+     * Fetch how many sessions each player has on a server that started within a bucket.
+     * <p>
+     * Used to count each player once per bucket when adding sessions to the rollups.
+     * Meant to be run on the connection of the transaction that stored the sessions, so that they are included.
+     *
+     * @param serverUUID  UUID of the Plan server
+     * @param bucketStart Epoch ms the bucket starts at (without offset)
+     * @param bucketEnd   Epoch ms the bucket ends at (without offset)
+     * @return Map: Player UUID - Session count in the bucket.
+     */
+    public static QueryStatement<Map<UUID, Integer>> fetchSessionCountsOfPlayersInBucket(UUID serverUUID, long bucketStart, long bucketEnd) {
+        String sql = SELECT + SessionsTable.USER_UUID + ",COUNT(1) as c" +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + SessionsTable.SERVER_UUID + "=?" +
+                AND + SessionsTable.SESSION_START + ">=?" +
+                AND + SessionsTable.SESSION_START + "<?" +
+                GROUP_BY + SessionsTable.USER_UUID;
+        return new QueryStatement<Map<UUID, Integer>>(sql, 1000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                statement.setLong(2, bucketStart);
+                statement.setLong(3, bucketEnd);
+            }
+
+            @Override
+            public Map<UUID, Integer> processResults(ResultSet set) throws SQLException {
+                Map<UUID, Integer> sessionCounts = new HashMap<>();
+                while (set.next()) {
+                    sessionCounts.put(UUID.fromString(set.getString(SessionsTable.USER_UUID)), set.getInt("c"));
+                }
+                return sessionCounts;
+            }
+        };
+    }
+
+    /**
+     * Calculate rollup buckets of a server from the sessions and registrations in the database.
+     *
+     * @param serverUUID     UUID of the Plan server
+     * @param bucketMs       Length of a bucket, {@link #HOUR_MS} or {@link #DAY_MS}
+     * @param timeZoneOffset Offset applied to the dates before grouping, 0 for hourly buckets.
+     * @return Map: Epoch ms (Start of bucket, offset applied) - Aggregates of the bucket.
+     */
+    public static Query<NavigableMap<Long, Bucket>> calculateBuckets(UUID serverUUID, long bucketMs, long timeZoneOffset) {
+        return db -> {
+            NavigableMap<Long, Bucket> buckets = db.query(calculateSessionBuckets(serverUUID, bucketMs, timeZoneOffset));
+            for (Map.Entry<Long, Integer> registered : db.query(calculateRegisterBuckets(serverUUID, bucketMs, timeZoneOffset)).entrySet()) {
+                buckets.computeIfAbsent(registered.getKey(), key -> new Bucket()).newPlayers = registered.getValue();
+            }
+            return buckets;
+        };
+    }
+
+    // (date + offset) - ((date + offset) % bucket), works the same way on all supported databases for positive dates.
+    private static String bucketOf(String dateColumn, long bucketMs, long timeZoneOffset) {
+        String withOffset = "(" + dateColumn + '+' + timeZoneOffset + ')';
+        return '(' + withOffset + "-(" + withOffset + '%' + bucketMs + "))";
+    }
+
+    private static Query<NavigableMap<Long, Bucket>> calculateSessionBuckets(UUID serverUUID, long bucketMs, long timeZoneOffset) {
+        String sql = SELECT + bucketOf(SessionsTable.SESSION_START, bucketMs, timeZoneOffset) + " as bucket," +
+                "COUNT(DISTINCT " + SessionsTable.USER_UUID + ") as unique_players," +
+                "SUM(" + SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + ") as playtime," +
+                "SUM(" + SessionsTable.AFK_TIME + ") as afk_time," +
+                "COUNT(1) as session_count" +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + SessionsTable.SERVER_UUID + "=?" +
+                GROUP_BY + "bucket";
+        return new QueryStatement<NavigableMap<Long, Bucket>>(sql, 10000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+            }
+
+            @Override
+            public NavigableMap<Long, Bucket> processResults(ResultSet set) throws SQLException {
+                NavigableMap<Long, Bucket> buckets = new TreeMap<>();
+                while (set.next()) {
+                    Bucket bucket = new Bucket();
+                    bucket.uniquePlayers = set.getInt("unique_players");
+                    bucket.playtime = set.getLong("playtime");
+                    bucket.afkTime = set.getLong("afk_time");
+                    bucket.sessionCount = set.getInt("session_count");
+                    buckets.put(set.getLong("bucket"), bucket);
+                }
+                return buckets;
+            }
+        };
+    }
+
+    private static Query<NavigableMap<Long, Integer>> calculateRegisterBuckets(UUID serverUUID, long bucketMs, long timeZoneOffset) {
+        String sql = SELECT + bucketOf(UserInfoTable.REGISTERED, bucketMs, timeZoneOffset) + " as bucket," +
+                "COUNT(1) as player_count" +
+                FROM + UserInfoTable.TABLE_NAME +
+                WHERE + UserInfoTable.SERVER_UUID + "=?" +
+                GROUP_BY + "bucket";
+        return new QueryStatement<NavigableMap<Long, Integer>>(sql, 10000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+            }
+
+            @Override
+            public NavigableMap<Long, Integer> processResults(ResultSet set) throws SQLException {
+                NavigableMap<Long, Integer> buckets = new TreeMap<>();
+                while (set.next()) {
+                    buckets.put(set.getLong("bucket"), set.getInt("player_count"));
+                }
+                return buckets;
+            }
+        };
+    }
+
+    /**
+     * Aggregates of a single hour or day.
+     */
+    public static class Bucket {
+        public int uniquePlayers;
+        public int newPlayers;
+        public long playtime;
+        public long afkTime;
+        public int sessionCount;
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries.analysis;
+
+import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.sql.tables.SessionsTable;
+import com.djrapitops.plan.storage.database.sql.tables.UserInfoTable;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Queries that calculate a value for multiple time windows with one scan of the table.
+ * <p>
+ * Values match the single window queries in {@link PlayerCountQueries} and
+ * {@link com.djrapitops.plan.storage.database.queries.objects.SessionQueries}, but each row is only read once
+ * and tested against each window with conditional aggregation, eg. {@code COUNT(DISTINCT CASE WHEN ... THEN ... END)}.
+ *
+ * @author AuroraLS3
+ */
+public class WindowedQueries {
+
+    // Sessions that are completely inside the window
+    private static final String SESSION_WITHIN = SessionsTable.SESSION_START + ">=?" + AND + SessionsTable.SESSION_END + "<=?";
+    // Sessions that are at least partially inside the window
+    private static final String SESSION_OVERLAPS = SessionsTable.SESSION_END + ">=?" + AND + SessionsTable.SESSION_START + "<=?";
+    private static final String REGISTERED_WITHIN = UserInfoTable.REGISTERED + ">=?" + AND + UserInfoTable.REGISTERED + "<=?";
+
+    private static final String PLAYTIME = SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START;
+
+    private WindowedQueries() {
+        /* Static method class */
+    }
+
+    /**
+     * Count unique players who played within each window.
+     *
+     * @param serverUUID UUID of the Plan server
+     * @param windows    Windows to count players for
+     * @return Same as {@link PlayerCountQueries#uniquePlayerCount(long, long, UUID)} for each window.
+     */
+    public static Query<WindowedResult<Integer>> uniquePlayerCounts(UUID serverUUID, TimeWindow... windows) {
+        String sql = selectPerWindow(windows.length,
+                "COUNT(DISTINCT CASE WHEN " + SESSION_WITHIN + " THEN " + SessionsTable.USER_UUID + " END) as player_count_") +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + SessionsTable.SERVER_UUID + "=?" +
+                AND + SESSION_WITHIN;
+        return queryPerWindow(sql, serverUUID, windows, 1, (set, window) -> set.getInt("player_count_" + window));
+    }
+
+    /**
+     * Count players who registered on the server within each window.
+     *
+     * @param serverUUID UUID of the Plan server
+     * @param windows    Windows to count players for
+     * @return Same as {@link PlayerCountQueries#newPlayerCount(long, long, UUID)} for each window.
+     */
+    public static Query<WindowedResult<Integer>> newPlayerCounts(UUID serverUUID, TimeWindow... windows) {
+        String sql = selectPerWindow(windows.length,
+                "SUM(CASE WHEN " + REGISTERED_WITHIN + " THEN 1 ELSE 0 END) as player_count_") +
+                FROM + UserInfoTable.TABLE_NAME +
+                WHERE + UserInfoTable.SERVER_UUID + "=?" +
+                AND + REGISTERED_WITHIN;
+        return queryPerWindow(sql, serverUUID, windows, 1, (set, window) -> set.getInt("player_count_" + window));
+    }
+
+    /**
+     * Count sessions that overlap each window.
+     *
+     * @param serverUUID UUID of the Plan server
+     * @param windows    Windows to count sessions for
+     * @return Same as {@link com.djrapitops.plan.storage.database.queries.objects.SessionQueries#sessionCount(long, long, UUID)} for each window.
+     */
+    public static Query<WindowedResult<Long>> sessionCounts(UUID serverUUID, TimeWindow... windows) {
+        String sql = selectPerWindow(windows.length,
+                "SUM(CASE WHEN " + SESSION_OVERLAPS + " THEN 1 ELSE 0 END) as session_count_") +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + SessionsTable.SERVER_UUID + "=?" +
+                AND + SESSION_OVERLAPS;
+        return queryPerWindow(sql, serverUUID, windows, 1, (set, window) -> set.getLong("session_count_" + window));
+    }
+
+    /**
+     * Sum playtime of sessions that overlap each window.
+     *
+     * @param serverUUID UUID of the Plan server
+     * @param windows    Windows to sum playtime for
+     * @return Same as {@link com.djrapitops.plan.storage.database.queries.objects.SessionQueries#playtime(long, long, UUID)} for each window.
+     */
+    public static Query<WindowedResult<Long>> playtime(UUID serverUUID, TimeWindow... windows) {
+        String sql = selectPerWindow(windows.length,
+                "SUM(CASE WHEN " + SESSION_OVERLAPS + " THEN " + PLAYTIME + " ELSE 0 END) as playtime_") +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + SessionsTable.SERVER_UUID + "=?" +
+                AND + SESSION_OVERLAPS;
+        return queryPerWindow(sql, serverUUID, windows, 1, (set, window) -> set.getLong("playtime_" + window));
+    }
+
+    /**
+     * Sum AFK time of sessions that overlap each window.
+     *
+     * @param serverUUID UUID of the Plan server
+     * @param windows    Windows to sum AFK time for
+     * @return Same as {@link com.djrapitops.plan.storage.database.queries.objects.SessionQueries#afkTime(long, long, UUID)} for each window.
+     */
+    public static Query<WindowedResult<Long>> afkTime(UUID serverUUID, TimeWindow... windows) {
+        String sql = selectPerWindow(windows.length,
+                "SUM(CASE WHEN " + SESSION_OVERLAPS + " THEN " + SessionsTable.AFK_TIME + " ELSE 0 END) as afk_time_") +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + SessionsTable.SERVER_UUID + "=?" +
+                AND + SESSION_OVERLAPS;
+        return queryPerWindow(sql, serverUUID, windows, 1, (set, window) -> set.getLong("afk_time_" + window));
+    }
+
+    /**
+     * Calculate average playtime per player within each window.
+     *
+     * @param serverUUID UUID of the Plan server
+     * @param windows    Windows to calculate the average for
+     * @return Same as {@link com.djrapitops.plan.storage.database.queries.objects.SessionQueries#averagePlaytimePerPlayer(long, long, UUID)} for each window.
+     */
+    public static Query<WindowedResult<Long>> averagePlaytimePerPlayer(UUID serverUUID, TimeWindow... windows) {
+        return averagePerPlayer(serverUUID, windows, PLAYTIME);
+    }
+
+    /**
+     * Calculate average AFK time per player within each window.
+     *
+     * @param serverUUID UUID of the Plan server
+     * @param windows    Windows to calculate the average for
+     * @return Same as {@link com.djrapitops.plan.storage.database.queries.objects.SessionQueries#averageAfkPerPlayer(long, long, UUID)} for each window.
+     */
+    public static Query<WindowedResult<Long>> averageAfkPerPlayer(UUID serverUUID, TimeWindow... windows) {
+        return averagePerPlayer(serverUUID, windows, SessionsTable.AFK_TIME);
+    }
+
+    private static Query<WindowedResult<Long>> averagePerPlayer(UUID serverUUID, TimeWindow[] windows, String summed) {
+        // Average of per player sums is the total divided by the number of players.
+        String sql = selectPerWindow(windows.length,
+                "SUM(CASE WHEN " + SESSION_WITHIN + " THEN " + summed + " ELSE 0 END) as total_",
+                "COUNT(DISTINCT CASE WHEN " + SESSION_WITHIN + " THEN " + SessionsTable.USER_UUID + " END) as player_count_") +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + SessionsTable.SERVER_UUID + "=?" +
+                AND + SESSION_WITHIN;
+        return queryPerWindow(sql, serverUUID, windows, 2, (set, window) -> {
+            int playerCount = set.getInt("player_count_" + window);
+            return playerCount != 0 ? (long) ((double) set.getLong("total_" + window) / playerCount) : 0L;
+        });
+    }
+
+    /**
+     * Build a select of aggregates for each window.
+     *
+     * @param windowCount Number of windows
+     * @param aggregates  Aggregates with a condition for the window (after and before parameters), ending in a column alias without the window index.
+     * @return SELECT with the aggregates of the first window, then the second window and so on.
+     */
+    private static String selectPerWindow(int windowCount, String... aggregates) {
+        if (windowCount == 0) {
+            throw new IllegalArgumentException("At least one window is required");
+        }
+        StringBuilder select = new StringBuilder(SELECT);
+        for (int window = 0; window < windowCount; window++) {
+            for (String aggregate : aggregates) {
+                if (select.length() > SELECT.length()) select.append(',');
+                select.append(aggregate).append(window);
+            }
+        }
+        return select.toString();
+    }
+
+    private static <T> Query<WindowedResult<T>> queryPerWindow(
+            String sql, UUID serverUUID, TimeWindow[] windows, int aggregatesPerWindow, WindowReader<T> reader
+    ) {
+        long firstAfter = Long.MAX_VALUE;
+        long lastBefore = Long.MIN_VALUE;
+        for (TimeWindow window : windows) {
+            firstAfter = Math.min(firstAfter, window.getAfter());
+            lastBefore = Math.max(lastBefore, window.getBefore());
+        }
+        long after = firstAfter;
+        long before = lastBefore;
+
+        return new QueryStatement<WindowedResult<T>>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                int index = 1;
+                for (TimeWindow window : windows) {
+                    for (int i = 0; i < aggregatesPerWindow; i++) {
+                        statement.setLong(index++, window.getAfter());
+                        statement.setLong(index++, window.getBefore());
+                    }
+                }
+                statement.setString(index++, serverUUID.toString());
+                // Only rows that are in at least one of the windows need to be read.
+                statement.setLong(index++, after);
+                statement.setLong(index, before);
+            }
+
+            @Override
+            public WindowedResult<T> processResults(ResultSet set) throws SQLException {
+                // Aggregates without GROUP BY always return a row.
+                set.next();
+                Map<TimeWindow, T> values = new HashMap<>();
+                for (int i = 0; i < windows.length; i++) {
+                    values.put(windows[i], reader.read(set, i));
+                }
+                return new WindowedResult<>(values);
+            }
+        };
+    }
+
+    private interface WindowReader<T> {
+        T read(ResultSet set, int window) throws SQLException;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries.analysis;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Values calculated by {@link WindowedQueries} for each queried {@link TimeWindow}.
+ *
+ * @param <T> Type of the values.
+ * @author AuroraLS3
+ */
+public class WindowedResult<T> {
+
+    private final Map<TimeWindow, T> values;
+
+    public WindowedResult(Map<TimeWindow, T> values) {
+        this.values = values;
+    }
+
+    /**
+     * Get the value of a window.
+     *
+     * @param window Window given to the query.
+     * @return Value of the window.
+     * @throws IllegalArgumentException If the window was not queried.
+     */
+    public T get(TimeWindow window) {
+        T value = values.get(window);
+        if (value == null) {
+            throw new IllegalArgumentException(window + " was not queried, queried: " + values.keySet());
+        }
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        WindowedResult<?> that = (WindowedResult<?>) o;
+        return Objects.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(values);
+    }
+
+    @Override
+    public String toString() {
+        return "WindowedResult{" + values + '}';
+    }
+}
@@ -17,12 +17,12 @@
 package com.djrapitops.plan.storage.database.queries.containers;
 
 import com.djrapitops.plan.delivery.domain.Nickname;
+import com.djrapitops.plan.delivery.domain.SessionColumns;
 import com.djrapitops.plan.delivery.domain.container.PerServerContainer;
 import com.djrapitops.plan.delivery.domain.container.PlayerContainer;
 import com.djrapitops.plan.delivery.domain.keys.PlayerKeys;
 import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
 import com.djrapitops.plan.delivery.domain.mutators.PerServerMutator;
-import com.djrapitops.plan.delivery.domain.mutators.SessionsMutator;
 import com.djrapitops.plan.gathering.domain.*;
 import com.djrapitops.plan.storage.database.SQLDB;
 import com.djrapitops.plan.storage.database.queries.Query;
@@ -58,7 +58,7 @@ public class ServerPlayerContainersQuery implements Query<List<PlayerContainer>>
         Map<UUID, List<GeoInfo>> geoInformation = db.query(GeoInfoQueries.fetchServerGeoInformation(serverUUID));
         Map<UUID, List<Nickname>> nicknames = db.query(NicknameQueries.fetchNicknameDataOfServer(serverUUID));
         Map<UUID, List<Ping>> pingData = db.query(PingQueries.fetchPingDataOfServer(serverUUID));
-        Map<UUID, List<Session>> sessions = db.query(SessionQueries.fetchSessionsOfServer(serverUUID));
+        Map<UUID, SessionColumns> sessions = db.query(SessionQueries.fetchSessionColumnsOfServer(serverUUID)).groupByPlayer();
 
         Map<UUID, UserInfo> userInformation = db.query(UserInfoQueries.fetchUserInformationOfServer(serverUUID));
 
@@ -90,8 +90,9 @@ public class ServerPlayerContainersQuery implements Query<List<PlayerContainer>>
             // PerServerContainer
             container.putRawData(PlayerKeys.PER_SERVER, perServerInfo.get(uuid));
 
+            SessionColumns sessionsOfPlayer = sessions.getOrDefault(uuid, SessionColumns.empty());
             container.putCachingSupplier(PlayerKeys.SESSIONS, () -> {
-                        List<Session> playerSessions = sessions.getOrDefault(uuid, new ArrayList<>());
+                        List<Session> playerSessions = sessionsOfPlayer.toSessions();
                         container.getValue(PlayerKeys.ACTIVE_SESSION).ifPresent(playerSessions::add);
                         return playerSessions;
                     }
@@ -109,12 +110,20 @@ public class ServerPlayerContainersQuery implements Query<List<PlayerContainer>>
             container.putSupplier(PlayerKeys.BANNED, () -> PerServerMutator.forContainer(container).isBanned());
             container.putSupplier(PlayerKeys.OPERATOR, () -> PerServerMutator.forContainer(container).isOperator());
 
-            container.putSupplier(PlayerKeys.LAST_SEEN, () -> SessionsMutator.forContainer(container).toLastSeen());
+            // Calculated from the columns so that Session objects are not needed, active session is added on top.
+            container.putSupplier(PlayerKeys.LAST_SEEN, () -> container.getValue(PlayerKeys.ACTIVE_SESSION).isPresent()
+                    ? System.currentTimeMillis() : sessionsOfPlayer.toLastSeen());
 
-            container.putSupplier(PlayerKeys.PLAYER_KILLS, () -> SessionsMutator.forContainer(container).toPlayerKillList());
+            container.putSupplier(PlayerKeys.PLAYER_KILLS, () -> {
+                List<PlayerKill> kills = sessionsOfPlayer.toPlayerKillList();
+                container.getValue(PlayerKeys.ACTIVE_SESSION).ifPresent(session -> kills.addAll(session.getPlayerKills()));
+                return kills;
+            });
             container.putSupplier(PlayerKeys.PLAYER_KILL_COUNT, () -> container.getUnsafe(PlayerKeys.PLAYER_KILLS).size());
-            container.putSupplier(PlayerKeys.MOB_KILL_COUNT, () -> SessionsMutator.forContainer(container).toMobKillCount());
-            container.putSupplier(PlayerKeys.DEATH_COUNT, () -> SessionsMutator.forContainer(container).toDeathCount());
+            container.putSupplier(PlayerKeys.MOB_KILL_COUNT, () -> sessionsOfPlayer.toMobKillCount() + container.getValue(PlayerKeys.ACTIVE_SESSION)
+                    .flatMap(session -> session.getValue(SessionKeys.MOB_KILL_COUNT)).orElse(0));
+            container.putSupplier(PlayerKeys.DEATH_COUNT, () -> sessionsOfPlayer.toDeathCount() + container.getValue(PlayerKeys.ACTIVE_SESSION)
+                    .flatMap(session -> session.getValue(SessionKeys.DEATH_COUNT)).orElse(0));
 
             containers.add(container);
         }
@@ -125,13 +134,13 @@ public class ServerPlayerContainersQuery implements Query<List<PlayerContainer>>
      * Create PerServerContainers for each player.
      *
      * @param userInformation Map: Player UUID - UserInfo of this server
-     * @param sessions        Map: Player UUID - List of Sessions of this server
+     * @param sessions        Map: Player UUID - Sessions of this server
      * @param ping            Map: Player UUID - List of Ping data of this server
      * @return Map: Player UUID - PerServerContainer
      */
     private Map<UUID, PerServerContainer> getPerServerData(
             Map<UUID, UserInfo> userInformation,
-            Map<UUID, List<Session>> sessions,
+            Map<UUID, SessionColumns> sessions,
             Map<UUID, List<Ping>> ping
     ) {
         Map<UUID, PerServerContainer> perServerContainers = new HashMap<>();
@@ -141,9 +150,9 @@ public class ServerPlayerContainersQuery implements Query<List<PlayerContainer>>
             PerServerContainer perServerContainer = perServerContainers.getOrDefault(playerUUID, new PerServerContainer());
 
             perServerContainer.putUserInfo(entry.getValue());         // Information found withing UserInfo
-            perServerContainer.putSessions(sessions.get(playerUUID)); // Session list
             perServerContainer.putPing(ping.get(playerUUID));         // Ping list
             perServerContainer.putCalculatingSuppliers();             // Derivative values
+            perServerContainer.putSessions(serverUUID, sessions.get(playerUUID)); // Sessions and values derived from them
 
             perServerContainers.put(playerUUID, perServerContainer);
         }
@@ -34,19 +34,19 @@ public interface Filter {
     }
 
     /**
-     * Match some UUIDs to the filter.
+     * Match some players to the filter.
      *
      * @param query Query for the filter
-     * @return Set of UUIDs this filter applies to
+     * @return Bitmap of plan_users ids this filter applies to
      * @throws IllegalArgumentException If the arguments are not valid.
      */
-    Set<UUID> getMatchingUUIDs(SpecifiedFilterInformation query);
+    BitSet getMatchingUserIds(SpecifiedFilterInformation query);
 
     default Result apply(SpecifiedFilterInformation query) {
         try {
-            return new Result(null, getKind(), getMatchingUUIDs(query));
+            return Result.of(this, getMatchingUserIds(query));
         } catch (CompleteSetException allMatch) {
-            return new Result(null, getKind() + " (skip)", new HashSet<>());
+            return Result.skipped(this);
         }
     }
 
@@ -55,35 +55,51 @@ public interface Filter {
 
         private final String filterKind;
         private final int resultSize;
-        private final Set<UUID> currentUUIDs;
+        private final BitSet currentUserIds;
 
-        private Result(Result previous, String filterKind, Set<UUID> currentUUIDs) {
+        private Result(Result previous, String filterKind, BitSet currentUserIds) {
             this.previous = previous;
             this.filterKind = filterKind;
-            this.resultSize = currentUUIDs.size();
-            this.currentUUIDs = currentUUIDs;
+            this.resultSize = currentUserIds.cardinality();
+            this.currentUserIds = currentUserIds;
+        }
+
+        public static Result of(Filter filter, BitSet matchingUserIds) {
+            return new Result(null, filter.getKind(), matchingUserIds);
+        }
+
+        public static Result skipped(Filter filter) {
+            return new Result(null, filter.getKind() + " (skip)", new BitSet());
         }
 
         public Result apply(Filter filter, SpecifiedFilterInformation query) {
             try {
-                Set<UUID> got = filter.getMatchingUUIDs(query);
-                currentUUIDs.retainAll(got);
-                return new Result(this, filter.getKind(), currentUUIDs);
+                return and(filter, filter.getMatchingUserIds(query));
             } catch (CompleteSetException allMatch) {
                 return notApplied(filter);
             }
         }
 
+        public Result and(Filter filter, BitSet matchingUserIds) {
+            currentUserIds.and(matchingUserIds);
+            return new Result(this, filter.getKind(), currentUserIds);
+        }
+
         public Result notApplied(Filter filter) {
-            return new Result(this, filter.getKind() + " (skip)", currentUUIDs);
+            return new Result(this, filter.getKind() + " (skip)", currentUserIds);
         }
 
         public boolean isEmpty() {
             return resultSize <= 0;
         }
 
-        public Set<UUID> getResultUUIDs() {
-            return currentUUIDs;
+        /**
+         * Get the players matching all applied filters.
+         *
+         * @return Bitmap of plan_users ids, see {@link UserIdRanges} for using it in queries.
+         */
+        public BitSet getResultUserIds() {
+            return currentUserIds;
         }
 
         public List<ResultPath> getInverseResultPath() {
@@ -0,0 +1,166 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries.filter;
+
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import com.djrapitops.plan.storage.database.queries.filter.filters.DateRangeFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers results of single filters so that later queries can compose them without querying again.
+ * <p>
+ * Date range results are also kept by their start date, so a range that was extended
+ * (usually to "now") only needs to query the part after the time the previous result was made.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class FilterResultCache {
+
+    private final LongSupplier timeToLiveMs;
+    private final LongSupplier currentTime;
+
+    private final Cache<SpecifiedFilterInformation, CachedResult> results;
+    private final Cache<RangeStart, RangeResult> rangeResults;
+
+    @Inject
+    public FilterResultCache(PlanConfig config) {
+        this(() -> config.get(WebserverSettings.INVALIDATE_MEMORY_CACHE), System::currentTimeMillis);
+    }
+
+    // for testing
+    FilterResultCache(LongSupplier timeToLiveMs, LongSupplier currentTime) {
+        this.timeToLiveMs = timeToLiveMs;
+        this.currentTime = currentTime;
+        // Expiry is checked on access since the config is not loaded yet when this is constructed.
+        results = Caffeine.newBuilder()
+                .expireAfterAccess(1, TimeUnit.HOURS)
+                .maximumSize(500)
+                .build();
+        rangeResults = Caffeine.newBuilder()
+                .expireAfterAccess(1, TimeUnit.HOURS)
+                .maximumSize(500)
+                .build();
+    }
+
+    /**
+     * Get players matching a filter, from cache if possible.
+     *
+     * @param filter Filter to apply.
+     * @param query  Parameters for the filter.
+     * @return A copy of the matching plan_users ids that can be modified by the caller.
+     * @throws CompleteSetException     If the filter matches everyone.
+     * @throws IllegalArgumentException If the parameters are not valid.
+     */
+    public BitSet getMatchingUserIds(Filter filter, SpecifiedFilterInformation query) {
+        long now = currentTime.getAsLong();
+        CachedResult cached = results.getIfPresent(query);
+        if (cached != null && !isExpired(cached.computedAt, now)) {
+            return (BitSet) cached.userIds.clone();
+        }
+
+        BitSet matching = filter instanceof DateRangeFilter
+                ? getMatchingUserIdsInRange((DateRangeFilter) filter, query, now)
+                : filter.getMatchingUserIds(query);
+        results.put(query, new CachedResult(matching, now));
+        return (BitSet) matching.clone();
+    }
+
+    private BitSet getMatchingUserIdsInRange(DateRangeFilter filter, SpecifiedFilterInformation query, long now) {
+        long after = filter.getAfter(query);
+        long before = filter.getBefore(query);
+        RangeStart key = new RangeStart(filter.getKind(), after);
+
+        RangeResult previous = rangeResults.getIfPresent(key);
+        if (previous == null || isExpired(previous.fullyComputedAt, now) || before < previous.before) {
+            BitSet matching = filter.getMatchingUserIds(after, before);
+            if (previous == null || before >= previous.before) {
+                rangeResults.put(key, new RangeResult(matching, before, now, now));
+            }
+            return matching;
+        }
+
+        // Data before the previous computation does not change, so only the rest of the range is queried.
+        BitSet matching = (BitSet) previous.userIds.clone();
+        long refreshFrom = Math.max(after, Math.min(previous.before, previous.computedAt));
+        if (refreshFrom < before) {
+            matching.or(filter.getMatchingUserIds(refreshFrom, before));
+        }
+        rangeResults.put(key, new RangeResult(matching, before, now, previous.fullyComputedAt));
+        return matching;
+    }
+
+    private boolean isExpired(long computedAt, long now) {
+        return now - computedAt > timeToLiveMs.getAsLong();
+    }
+
+    private static class CachedResult {
+        final BitSet userIds;
+        final long computedAt;
+
+        CachedResult(BitSet userIds, long computedAt) {
+            this.userIds = userIds;
+            this.computedAt = computedAt;
+        }
+    }
+
+    private static class RangeResult {
+        final BitSet userIds;
+        final long before;
+        final long computedAt;
+        final long fullyComputedAt;
+
+        RangeResult(BitSet userIds, long before, long computedAt, long fullyComputedAt) {
+            this.userIds = userIds;
+            this.before = before;
+            this.computedAt = computedAt;
+            this.fullyComputedAt = fullyComputedAt;
+        }
+    }
+
+    private static class RangeStart {
+        final String kind;
+        final long after;
+
+        RangeStart(String kind, long after) {
+            this.kind = kind;
+            this.after = after;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            RangeStart that = (RangeStart) o;
+            return after == that.after && kind.equals(that.kind);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, after);
+        }
+    }
+}
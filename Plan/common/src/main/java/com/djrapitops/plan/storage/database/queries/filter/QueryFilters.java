@@ -39,6 +39,7 @@ public class QueryFilters {
     private final AllPlayersFilter allPlayersFilter;
     private final DBSystem dbSystem;
     private final PluginGroupsFilter.PluginGroupsFilterQuery filterQuery;
+    private final FilterResultCache resultCache;
 
     private final AtomicBoolean fetchedPluginFilters = new AtomicBoolean(false);
 
@@ -47,11 +48,13 @@ public class QueryFilters {
             Set<Filter> filters,
             AllPlayersFilter allPlayersFilter,
             DBSystem dbSystem,
-            PluginGroupsFilter.PluginGroupsFilterQuery filterQuery
+            PluginGroupsFilter.PluginGroupsFilterQuery filterQuery,
+            FilterResultCache resultCache
     ) {
         this.allPlayersFilter = allPlayersFilter;
         this.dbSystem = dbSystem;
         this.filterQuery = filterQuery;
+        this.resultCache = resultCache;
         this.filters = new HashMap<>();
         put(filters);
     }
@@ -84,7 +87,7 @@ public class QueryFilters {
     public Filter.Result apply(List<SpecifiedFilterInformation> filterQueries) {
         prepareFilters();
         Filter.Result current = null;
-        if (filterQueries.isEmpty()) return allPlayersFilter.apply(null);
+        if (filterQueries.isEmpty()) return getResult(null, allPlayersFilter, new SpecifiedFilterInformation(allPlayersFilter.getKind(), null));
         for (SpecifiedFilterInformation specifiedFilterInformation : filterQueries) {
             current = apply(current, specifiedFilterInformation);
             if (current != null && current.isEmpty()) break;
@@ -101,7 +104,10 @@ public class QueryFilters {
 
     private Filter.Result getResult(Filter.Result current, Filter filter, SpecifiedFilterInformation query) {
         try {
-            return current == null ? filter.apply(query) : current.apply(filter, query);
+            BitSet matching = resultCache.getMatchingUserIds(filter, query);
+            return current == null ? Filter.Result.of(filter, matching) : current.and(filter, matching);
+        } catch (CompleteSetException allMatch) {
+            return current == null ? Filter.Result.skipped(filter) : current.notApplied(filter);
         } catch (IllegalArgumentException badOptions) {
             throw new BadRequestException("Bad parameters for filter '" + filter.getKind() +
                     "': expecting " + Arrays.asList(filter.getExpectedParameters()) +
@@ -54,4 +54,30 @@ public class SpecifiedFilterInformation {
         if (parameters == null) return Collections.emptySet();
         return parameters.keySet();
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SpecifiedFilterInformation that = (SpecifiedFilterInformation) o;
+        return Objects.equals(kind, that.kind) &&
+                Objects.equals(getParameters(), that.getParameters());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, getParameters());
+    }
+
+    private Map<String, String> getParameters() {
+        return parameters != null ? parameters : Collections.emptyMap();
+    }
+
+    @Override
+    public String toString() {
+        return "SpecifiedFilterInformation{" +
+                "kind='" + kind + '\'' +
+                ", parameters=" + parameters +
+                '}';
+    }
 }
@@ -0,0 +1,136 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries.filter;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A chunk of plan_users ids from a bitmap, bound to a statement as parameters.
+ * <p>
+ * Ids are auto incremented, so large player sets are mostly consecutive runs.
+ * Runs are bound as {@code BETWEEN ? AND ?} and lone ids in an {@code IN (?,..)} list,
+ * so the SQL stays small and the values are never concatenated into the statement.
+ *
+ * @author AuroraLS3
+ */
+public class UserIdRanges {
+
+    // SQLite allows 32766 parameters, a query may use the same ranges a few times.
+    static final int MAX_PARAMETERS = 5000;
+    private static final int MIN_RUN_LENGTH = 3;
+
+    private final List<Integer> singles;
+    private final List<int[]> runs;
+
+    private UserIdRanges() {
+        singles = new ArrayList<>();
+        runs = new ArrayList<>();
+    }
+
+    /**
+     * Split a set of user ids into chunks that can each be bound to a single statement.
+     *
+     * @param userIds plan_users ids.
+     * @return List of chunks, empty if there are no ids.
+     */
+    public static List<UserIdRanges> chunksOf(BitSet userIds) {
+        List<UserIdRanges> chunks = new ArrayList<>();
+        UserIdRanges current = new UserIdRanges();
+        int start = userIds.nextSetBit(0);
+        while (start >= 0) {
+            int end = userIds.nextClearBit(start) - 1;
+            if (current.getParameterCount() + 2 > MAX_PARAMETERS) {
+                chunks.add(current);
+                current = new UserIdRanges();
+            }
+            if (end - start + 1 >= MIN_RUN_LENGTH) {
+                current.runs.add(new int[]{start, end});
+            } else {
+                for (int id = start; id <= end; id++) current.singles.add(id);
+            }
+            start = userIds.nextSetBit(end + 1);
+        }
+        if (current.getParameterCount() > 0) chunks.add(current);
+        return chunks;
+    }
+
+    /**
+     * Read an integer column of user ids into a bitmap.
+     *
+     * @param set    ResultSet positioned before the first row.
+     * @param column Name of the column with the ids.
+     * @return bitmap of the ids.
+     * @throws SQLException If the column can not be read.
+     */
+    public static BitSet extractUserIds(ResultSet set, String column) throws SQLException {
+        BitSet userIds = new BitSet();
+        while (set.next()) {
+            userIds.set(set.getInt(column));
+        }
+        return userIds;
+    }
+
+    public int getParameterCount() {
+        return singles.size() + runs.size() * 2;
+    }
+
+    /**
+     * Get the SQL condition that matches the ids of this chunk.
+     *
+     * @param idColumn Column to compare, eg. "u.id"
+     * @return condition in parentheses, with one '?' per parameter.
+     */
+    public String matching(String idColumn) {
+        StringBuilder condition = new StringBuilder("(");
+        if (!singles.isEmpty()) {
+            condition.append(idColumn).append(" IN (");
+            for (int i = 0; i < singles.size(); i++) {
+                condition.append(i == 0 ? "?" : ",?");
+            }
+            condition.append(')');
+        }
+        for (int i = 0; i < runs.size(); i++) {
+            if (i > 0 || !singles.isEmpty()) condition.append(" OR ");
+            condition.append(idColumn).append(" BETWEEN ? AND ?");
+        }
+        return condition.append(')').toString();
+    }
+
+    /**
+     * Set the parameters of the condition returned by {@link #matching(String)}.
+     *
+     * @param statement Statement to set the parameters to.
+     * @param index     Index of the first parameter.
+     * @return Index of the next parameter after these.
+     * @throws SQLException If a parameter can not be set.
+     */
+    public int setParameters(PreparedStatement statement, int index) throws SQLException {
+        for (Integer single : singles) {
+            statement.setInt(index++, single);
+        }
+        for (int[] run : runs) {
+            statement.setInt(index++, run[0]);
+            statement.setInt(index++, run[1]);
+        }
+        return index;
+    }
+}
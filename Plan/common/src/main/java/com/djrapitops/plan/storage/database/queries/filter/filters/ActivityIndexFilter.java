@@ -21,14 +21,15 @@ import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.storage.database.queries.analysis.NetworkActivityIndexQueries;
+import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.queries.analysis.ActivitySnapshotQueries;
 import com.djrapitops.plan.storage.database.queries.filter.CompleteSetException;
 import com.djrapitops.plan.storage.database.queries.filter.SpecifiedFilterInformation;
+import com.djrapitops.plan.storage.database.queries.objects.UserIdentifierQueries;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Singleton
 public class ActivityIndexFilter extends MultiOptionFilter {
@@ -63,7 +64,7 @@ public class ActivityIndexFilter extends MultiOptionFilter {
     }
 
     @Override
-    public Set<UUID> getMatchingUUIDs(SpecifiedFilterInformation query) {
+    public BitSet getMatchingUserIds(SpecifiedFilterInformation query) {
         List<String> selected = getSelected(query);
         String[] options = getOptionsArray();
 
@@ -78,11 +79,17 @@ public class ActivityIndexFilter extends MultiOptionFilter {
         }
         long date = System.currentTimeMillis();
         long playtimeThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
-        Map<UUID, ActivityIndex> indexes = dbSystem.getDatabase().query(NetworkActivityIndexQueries.activityIndexForAllPlayers(date, playtimeThreshold));
+        Database database = dbSystem.getDatabase();
+        Map<UUID, ActivityIndex> indexes = database.query(ActivitySnapshotQueries.activityIndexForAllPlayers(date, playtimeThreshold));
+        Map<UUID, Integer> userIds = database.query(UserIdentifierQueries.fetchUserIdsByUUID());
 
-        return indexes.entrySet().stream()
-                .filter(entry -> selected.contains(entry.getValue().getGroup(locale)))
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toSet());
+        BitSet matching = new BitSet();
+        for (Map.Entry<UUID, ActivityIndex> entry : indexes.entrySet()) {
+            Integer userId = userIds.get(entry.getKey());
+            if (userId != null && selected.contains(entry.getValue().getGroup(locale))) {
+                matching.set(userId);
+            }
+        }
+        return matching;
     }
 }
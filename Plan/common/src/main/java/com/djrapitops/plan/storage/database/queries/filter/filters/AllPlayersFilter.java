@@ -23,8 +23,7 @@ import com.djrapitops.plan.storage.database.queries.objects.UserIdentifierQuerie
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.Set;
-import java.util.UUID;
+import java.util.BitSet;
 
 /**
  * Special filter only used in cases where no filters are specified.
@@ -52,7 +51,7 @@ public class AllPlayersFilter implements Filter {
     }
 
     @Override
-    public Set<UUID> getMatchingUUIDs(SpecifiedFilterInformation query) {
-        return dbSystem.getDatabase().query(UserIdentifierQueries.fetchAllPlayerUUIDs());
+    public BitSet getMatchingUserIds(SpecifiedFilterInformation query) {
+        return dbSystem.getDatabase().query(UserIdentifierQueries.fetchAllUserIds());
     }
 }
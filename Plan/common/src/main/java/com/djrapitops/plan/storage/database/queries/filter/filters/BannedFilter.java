@@ -57,17 +57,17 @@ public class BannedFilter extends MultiOptionFilter {
     }
 
     @Override
-    public Set<UUID> getMatchingUUIDs(SpecifiedFilterInformation query) {
+    public BitSet getMatchingUserIds(SpecifiedFilterInformation query) {
         List<String> selected = getSelected(query);
-        Set<UUID> uuids = new HashSet<>();
+        BitSet userIds = new BitSet();
         String[] options = getOptionsArray();
 
         boolean includeBanned = selected.contains(options[0]);
         boolean includeNotBanned = selected.contains(options[1]);
 
         if (includeBanned && includeNotBanned) throw new CompleteSetException(); // Full set, no need for query
-        if (includeBanned) uuids.addAll(dbSystem.getDatabase().query(UserInfoQueries.uuidsOfBanned()));
-        if (includeNotBanned) uuids.addAll(dbSystem.getDatabase().query(UserInfoQueries.uuidsOfNotBanned()));
-        return uuids;
+        if (includeBanned) userIds.or(dbSystem.getDatabase().query(UserInfoQueries.userIdsOfBanned()));
+        if (includeNotBanned) userIds.or(dbSystem.getDatabase().query(UserInfoQueries.userIdsOfNotBanned()));
+        return userIds;
     }
 }
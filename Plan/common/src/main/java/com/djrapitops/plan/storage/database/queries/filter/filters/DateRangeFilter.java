@@ -26,6 +26,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.BitSet;
 import java.util.Map;
 import java.util.Optional;
 
@@ -61,14 +62,31 @@ public abstract class DateRangeFilter implements Filter {
                 .build();
     }
 
-    protected long getAfter(SpecifiedFilterInformation query) {
+    public long getAfter(SpecifiedFilterInformation query) {
         return getTime(query, "afterDate", "afterTime");
     }
 
-    protected long getBefore(SpecifiedFilterInformation query) {
+    public long getBefore(SpecifiedFilterInformation query) {
         return getTime(query, "beforeDate", "beforeTime");
     }
 
+    @Override
+    public BitSet getMatchingUserIds(SpecifiedFilterInformation query) {
+        return getMatchingUserIds(getAfter(query), getBefore(query));
+    }
+
+    /**
+     * Match players to a date range.
+     * <p>
+     * Matches of a range must be the union of the matches of any two ranges that split it,
+     * {@link com.djrapitops.plan.storage.database.queries.filter.FilterResultCache} relies on this to extend cached results.
+     *
+     * @param after  Start of the range, epoch ms.
+     * @param before End of the range, epoch ms.
+     * @return Bitmap of plan_users ids.
+     */
+    public abstract BitSet getMatchingUserIds(long after, long before);
+
     private long getTime(SpecifiedFilterInformation query, String dateKey, String timeKey) {
         String date = query.get(dateKey).orElseThrow(() -> new BadRequestException("'" + dateKey + "' not specified in parameters for " + getKind()));
         String time = query.get(timeKey).orElseThrow(() -> new BadRequestException("'" + timeKey + "' not specified in parameters for " + getKind()));
@@ -17,7 +17,7 @@
 package com.djrapitops.plan.storage.database.queries.filter.filters;
 
 import com.djrapitops.plan.extension.implementation.providers.ProviderIdentifier;
-import com.djrapitops.plan.extension.implementation.storage.queries.ExtensionUUIDsInGroupQuery;
+import com.djrapitops.plan.extension.implementation.storage.queries.ExtensionUserIdsInGroupQuery;
 import com.djrapitops.plan.identification.Server;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.storage.database.DBSystem;
@@ -66,9 +66,9 @@ public class PluginGroupsFilter extends MultiOptionFilter {
     }
 
     @Override
-    public Set<UUID> getMatchingUUIDs(SpecifiedFilterInformation query) {
+    public BitSet getMatchingUserIds(SpecifiedFilterInformation query) {
         return dbSystem.getDatabase().query(
-                new ExtensionUUIDsInGroupQuery(identifier.getPluginName(), identifier.getProviderName(), identifier.getServerUUID(), getSelected(query))
+                new ExtensionUserIdsInGroupQuery(identifier.getPluginName(), identifier.getProviderName(), identifier.getServerUUID(), getSelected(query))
         );
     }
 
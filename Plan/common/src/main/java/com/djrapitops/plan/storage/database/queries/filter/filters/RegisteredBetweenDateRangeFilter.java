@@ -17,13 +17,11 @@
 package com.djrapitops.plan.storage.database.queries.filter.filters;
 
 import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.storage.database.queries.filter.SpecifiedFilterInformation;
 import com.djrapitops.plan.storage.database.queries.objects.BaseUserQueries;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.Set;
-import java.util.UUID;
+import java.util.BitSet;
 
 @Singleton
 public class RegisteredBetweenDateRangeFilter extends DateRangeFilter {
@@ -42,9 +40,7 @@ public class RegisteredBetweenDateRangeFilter extends DateRangeFilter {
     }
 
     @Override
-    public Set<UUID> getMatchingUUIDs(SpecifiedFilterInformation query) {
-        long after = getAfter(query);
-        long before = getBefore(query);
-        return dbSystem.getDatabase().query(BaseUserQueries.uuidsOfRegisteredBetween(after, before));
+    public BitSet getMatchingUserIds(long after, long before) {
+        return dbSystem.getDatabase().query(BaseUserQueries.userIdsOfRegisteredBetween(after, before));
     }
 }
@@ -21,6 +21,7 @@ import com.djrapitops.plan.gathering.domain.UserInfo;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryAllStatement;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdRanges;
 import com.djrapitops.plan.storage.database.sql.building.Select;
 import com.djrapitops.plan.storage.database.sql.tables.UserInfoTable;
 import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
@@ -139,6 +140,25 @@ public class BaseUserQueries {
         };
     }
 
+    public static Query<BitSet> userIdsOfRegisteredBetween(long after, long before) {
+        String sql = SELECT + UsersTable.ID +
+                FROM + UsersTable.TABLE_NAME +
+                WHERE + UsersTable.REGISTERED + ">=?" +
+                AND + UsersTable.REGISTERED + "<=?";
+        return new QueryStatement<BitSet>(sql, 10000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setLong(1, after);
+                statement.setLong(2, before);
+            }
+
+            @Override
+            public BitSet processResults(ResultSet set) throws SQLException {
+                return UserIdRanges.extractUserIds(set, UsersTable.ID);
+            }
+        };
+    }
+
     public static Query<Set<UUID>> uuidsOfRegisteredBetween(long after, long before) {
         String sql = SELECT + DISTINCT + UsersTable.USER_UUID +
                 FROM + UsersTable.TABLE_NAME +
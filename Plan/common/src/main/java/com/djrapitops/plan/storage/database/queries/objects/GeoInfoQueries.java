@@ -20,10 +20,11 @@ import com.djrapitops.plan.gathering.domain.GeoInfo;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryAllStatement;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdRanges;
 import com.djrapitops.plan.storage.database.sql.tables.GeoInfoTable;
 import com.djrapitops.plan.storage.database.sql.tables.UserInfoTable;
+import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
 import com.djrapitops.plan.utilities.java.Lists;
-import org.apache.commons.text.TextStringBuilder;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -158,14 +159,31 @@ public class GeoInfoQueries {
         };
     }
 
-    public static Query<Map<String, Integer>> networkGeolocationCounts(Collection<UUID> playerUUIDs) {
+    /**
+     * Count latest geolocations of a group of players.
+     *
+     * @param userIds plan_users ids of the players, see {@link UserIdRanges}.
+     * @return Map: Geolocation - Number of players whose latest geolocation it is.
+     */
+    public static Query<Map<String, Integer>> networkGeolocationCounts(BitSet userIds) {
+        return db -> {
+            Map<String, Integer> geolocationCounts = new HashMap<>();
+            for (UserIdRanges chunk : UserIdRanges.chunksOf(userIds)) {
+                db.query(networkGeolocationCounts(chunk))
+                        .forEach((geolocation, count) -> geolocationCounts.merge(geolocation, count, Integer::sum));
+            }
+            return geolocationCounts;
+        };
+    }
+
+    private static Query<Map<String, Integer>> networkGeolocationCounts(UserIdRanges userIds) {
         String subQuery1 = SELECT +
-                GeoInfoTable.USER_UUID + ", " +
-                GeoInfoTable.GEOLOCATION + ", " +
-                GeoInfoTable.LAST_USED +
-                FROM + GeoInfoTable.TABLE_NAME +
-                WHERE + GeoInfoTable.USER_UUID + " IN ('" +
-                new TextStringBuilder().appendWithSeparators(playerUUIDs, "','").build() + "')";
+                "g." + GeoInfoTable.USER_UUID + ", " +
+                "g." + GeoInfoTable.GEOLOCATION + ", " +
+                "g." + GeoInfoTable.LAST_USED +
+                FROM + GeoInfoTable.TABLE_NAME + " g" +
+                INNER_JOIN + UsersTable.TABLE_NAME + " u on u." + UsersTable.USER_UUID + "=g." + GeoInfoTable.USER_UUID +
+                WHERE + userIds.matching("u." + UsersTable.ID);
         String subQuery2 = SELECT +
                 GeoInfoTable.USER_UUID + ", " +
                 "MAX(" + GeoInfoTable.LAST_USED + ") as m" +
@@ -177,7 +195,12 @@ public class GeoInfoQueries {
                 WHERE + GeoInfoTable.LAST_USED + "=m" +
                 GROUP_BY + GeoInfoTable.GEOLOCATION;
 
-        return new QueryAllStatement<Map<String, Integer>>(sql) {
+        return new QueryStatement<Map<String, Integer>>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                userIds.setParameters(statement, 1);
+            }
+
             @Override
             public Map<String, Integer> processResults(ResultSet set) throws SQLException {
                 Map<String, Integer> geolocationCounts = new HashMap<>();
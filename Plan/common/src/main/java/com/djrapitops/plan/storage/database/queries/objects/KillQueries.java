@@ -173,6 +173,31 @@ public class KillQueries {
         };
     }
 
+    public static Query<Long> playerKillCountOfPlayer(UUID playerUUID) {
+        return countOfPlayer(KillsTable.KILLER_UUID, playerUUID);
+    }
+
+    public static Query<Long> playerDeathCountOfPlayer(UUID playerUUID) {
+        return countOfPlayer(KillsTable.VICTIM_UUID, playerUUID);
+    }
+
+    private static Query<Long> countOfPlayer(String uuidColumn, UUID playerUUID) {
+        String sql = SELECT + "COUNT(1) as count" +
+                FROM + KillsTable.TABLE_NAME +
+                WHERE + uuidColumn + "=?";
+        return new QueryStatement<Long>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, playerUUID.toString());
+            }
+
+            @Override
+            public Long processResults(ResultSet set) throws SQLException {
+                return set.next() ? set.getLong("count") : 0L;
+            }
+        };
+    }
+
     public static Query<Double> averageKDR(long after, long before, UUID serverUUID) {
         String selectKillCounts = SELECT + "COUNT(1) as kills," + KillsTable.KILLER_UUID +
                 FROM + KillsTable.TABLE_NAME +
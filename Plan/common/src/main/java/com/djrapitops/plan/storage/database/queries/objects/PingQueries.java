@@ -312,4 +312,39 @@ public class PingQueries {
             }
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Query average ping of a player on all servers.
+     * <p>
+     * Values outside the range of {@link com.djrapitops.plan.utilities.Predicates#pingInRange(double)} are ignored.
+     *
+     * @param after      After epoch ms
+     * @param before     Before epoch ms
+     * @param playerUUID UUID of the player
+     * @return Average ping, or -1.0 if there is no ping data.
+     */
+    public static Query<Double> averagePingOfPlayer(long after, long before, UUID playerUUID) {
+        String sql = SELECT + "AVG(" + PingTable.AVG_PING + ") as average" + FROM + PingTable.TABLE_NAME +
+                WHERE + PingTable.USER_UUID + "=?" +
+                AND + PingTable.DATE + ">=?" +
+                AND + PingTable.DATE + "<=?" +
+                AND + PingTable.AVG_PING + ">0" +
+                AND + PingTable.AVG_PING + "<=4000";
+
+        return new QueryStatement<Double>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, playerUUID.toString());
+                statement.setLong(2, after);
+                statement.setLong(3, before);
+            }
+
+            @Override
+            public Double processResults(ResultSet set) throws SQLException {
+                if (!set.next()) return -1.0;
+                double average = set.getDouble("average");
+                return set.wasNull() ? -1.0 : average;
+            }
+        };
+    }
+}
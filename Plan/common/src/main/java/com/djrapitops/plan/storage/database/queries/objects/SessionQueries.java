@@ -16,28 +16,24 @@
  */
 package com.djrapitops.plan.storage.database.queries.objects;
 
-import com.djrapitops.plan.delivery.domain.DateHolder;
-import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
+import com.djrapitops.plan.delivery.domain.SessionColumns;
 import com.djrapitops.plan.delivery.domain.mutators.SessionsMutator;
-import com.djrapitops.plan.gathering.domain.GMTimes;
-import com.djrapitops.plan.gathering.domain.PlayerKill;
 import com.djrapitops.plan.gathering.domain.Session;
-import com.djrapitops.plan.gathering.domain.WorldTimes;
 import com.djrapitops.plan.identification.Server;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryAllStatement;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.queries.analysis.RollupQueries;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdRanges;
 import com.djrapitops.plan.storage.database.sql.building.Sql;
 import com.djrapitops.plan.storage.database.sql.tables.*;
 import com.djrapitops.plan.utilities.comparators.DateHolderRecentComparator;
 import com.djrapitops.plan.utilities.java.Maps;
-import org.apache.commons.text.TextStringBuilder;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
 
@@ -153,78 +149,78 @@ public class SessionQueries {
     }
 
     private static List<Session> extractDataFromSessionSelectStatement(ResultSet set) throws SQLException {
-        // Server UUID - Player UUID - Session Start - Session
-        Map<UUID, Map<UUID, SortedMap<Long, Session>>> tempSessionMap = new HashMap<>();
-
-        // Utilities
-        String[] gms = GMTimes.getGMKeyArray();
-        Comparator<DateHolder> mostRecentFirst = new DateHolderRecentComparator();
-        Comparator<Long> longRecentComparator = (one, two) -> Long.compare(two, one); // Descending order, most recent first.
+        List<Session> sessions = extractSessionColumns(set).toSessions();
+        sessions.sort(new DateHolderRecentComparator());
+        return sessions;
+    }
 
+    private static SessionColumns extractSessionColumns(ResultSet set) throws SQLException {
+        SessionColumns.Builder builder = SessionColumns.builder();
         while (set.next()) {
-            UUID serverUUID = UUID.fromString(set.getString(SessionsTable.SERVER_UUID));
-            Map<UUID, SortedMap<Long, Session>> serverSessions = tempSessionMap.computeIfAbsent(serverUUID, Maps::create);
-
-            UUID playerUUID = UUID.fromString(set.getString(SessionsTable.USER_UUID));
-            SortedMap<Long, Session> playerSessions = serverSessions.computeIfAbsent(playerUUID, key -> new TreeMap<>(longRecentComparator));
-
-            long sessionStart = set.getLong(SessionsTable.SESSION_START);
-            // id, uuid, serverUUID, sessionStart, sessionEnd, mobKills, deaths, afkTime
-            Session session = playerSessions.getOrDefault(sessionStart, new Session(
+            // Session row is shared by the world times and kill rows of the same session.
+            int row = builder.addSession(
                     set.getInt(SessionsTable.ID),
-                    playerUUID,
-                    serverUUID,
-                    sessionStart,
+                    UUID.fromString(set.getString(SessionsTable.USER_UUID)),
+                    UUID.fromString(set.getString(SessionsTable.SERVER_UUID)),
+                    set.getLong(SessionsTable.SESSION_START),
                     set.getLong(SessionsTable.SESSION_END),
                     set.getInt(SessionsTable.MOB_KILLS),
                     set.getInt(SessionsTable.DEATHS),
                     set.getLong(SessionsTable.AFK_TIME)
-            ));
+            );
 
-            WorldTimes worldTimes = session.getValue(SessionKeys.WORLD_TIMES).orElse(new WorldTimes());
-            String worldName = set.getString(WorldTable.NAME);
-
-            if (!worldTimes.contains(worldName)) {
-                Map<String, Long> gmMap = new HashMap<>();
-                gmMap.put(gms[0], set.getLong(WorldTimesTable.SURVIVAL));
-                gmMap.put(gms[1], set.getLong(WorldTimesTable.CREATIVE));
-                gmMap.put(gms[2], set.getLong(WorldTimesTable.ADVENTURE));
-                gmMap.put(gms[3], set.getLong(WorldTimesTable.SPECTATOR));
-                GMTimes gmTimes = new GMTimes(gmMap);
-                worldTimes.setGMTimesForWorld(worldName, gmTimes);
-            }
+            builder.addWorldTimes(row, set.getString(WorldTable.NAME),
+                    set.getLong(WorldTimesTable.SURVIVAL),
+                    set.getLong(WorldTimesTable.CREATIVE),
+                    set.getLong(WorldTimesTable.ADVENTURE),
+                    set.getLong(WorldTimesTable.SPECTATOR)
+            );
 
             String victimName = set.getString("victim_name");
             if (victimName != null) {
-                UUID killer = UUID.fromString(set.getString(KillsTable.KILLER_UUID));
-                UUID victim = UUID.fromString(set.getString(KillsTable.VICTIM_UUID));
-                long date = set.getLong(KillsTable.DATE);
-                String weapon = set.getString(KillsTable.WEAPON);
-                List<PlayerKill> playerKills = session.getPlayerKills();
-                PlayerKill newKill = new PlayerKill(killer, victim, weapon, date, victimName);
-                if (!playerKills.contains(newKill)) {
-                    playerKills.add(newKill);
-                }
+                builder.addKill(row,
+                        UUID.fromString(set.getString(KillsTable.KILLER_UUID)),
+                        UUID.fromString(set.getString(KillsTable.VICTIM_UUID)),
+                        victimName,
+                        set.getString(KillsTable.WEAPON),
+                        set.getLong(KillsTable.DATE)
+                );
             }
 
-            session.putRawData(SessionKeys.NAME, set.getString("name"));
-            session.putRawData(SessionKeys.SERVER_NAME, set.getString("server_name"));
-
-            session.setAsFirstSessionIfMatches(set.getLong("registered"));
-
-            playerSessions.put(sessionStart, session);
+            builder.setNames(row, set.getString("name"), set.getString("server_name"))
+                    .setRegistered(row, set.getLong("registered"));
         }
+        return builder.build();
+    }
+
+    /**
+     * Query the database for Session data of a server with kill and world data, without creating Session objects.
+     *
+     * @param serverUUID UUID of the Plan server.
+     * @return Sessions of the server, most recent first.
+     */
+    public static Query<SessionColumns> fetchSessionColumnsOfServer(UUID serverUUID) {
+        String sql = SELECT_SESSIONS_STATEMENT +
+                WHERE + "s." + SessionsTable.SERVER_UUID + "=?" +
+                ORDER_BY_SESSION_START_DESC;
+        return new QueryStatement<SessionColumns>(sql, 50000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+            }
 
-        return tempSessionMap.values().stream()
-                .map(Map::values)
-                .flatMap(Collection::stream)
-                .map(SortedMap::values)
-                .flatMap(Collection::stream)
-                .sorted(mostRecentFirst) // Disorder arises
-                .collect(Collectors.toList());
+            @Override
+            public SessionColumns processResults(ResultSet set) throws SQLException {
+                return extractSessionColumns(set);
+            }
+        };
     }
 
     public static Query<List<Session>> fetchServerSessionsWithoutKillOrWorldData(long after, long before, UUID serverUUID) {
+        return db -> db.query(fetchServerSessionColumnsWithoutKillOrWorldData(after, before, serverUUID)).toSessions();
+    }
+
+    public static Query<SessionColumns> fetchServerSessionColumnsWithoutKillOrWorldData(long after, long before, UUID serverUUID) {
         String sql = SELECT +
                 SessionsTable.ID + ',' +
                 SessionsTable.USER_UUID + ',' +
@@ -238,7 +234,7 @@ public class SessionQueries {
                 AND + SessionsTable.SESSION_START + ">=?" +
                 AND + SessionsTable.SESSION_START + "<=?";
 
-        return new QueryStatement<List<Session>>(sql, 1000) {
+        return new QueryStatement<SessionColumns>(sql, 1000) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
                 statement.setString(1, serverUUID.toString());
@@ -247,22 +243,21 @@ public class SessionQueries {
             }
 
             @Override
-            public List<Session> processResults(ResultSet set) throws SQLException {
-                List<Session> sessions = new ArrayList<>();
+            public SessionColumns processResults(ResultSet set) throws SQLException {
+                SessionColumns.Builder builder = SessionColumns.builder();
                 while (set.next()) {
-                    UUID uuid = UUID.fromString(set.getString(SessionsTable.USER_UUID));
-                    long start = set.getLong(SessionsTable.SESSION_START);
-                    long end = set.getLong(SessionsTable.SESSION_END);
-
-                    int deaths = set.getInt(SessionsTable.DEATHS);
-                    int mobKills = set.getInt(SessionsTable.MOB_KILLS);
-                    int id = set.getInt(SessionsTable.ID);
-
-                    long timeAFK = set.getLong(SessionsTable.AFK_TIME);
-
-                    sessions.add(new Session(id, uuid, serverUUID, start, end, mobKills, deaths, timeAFK));
+                    builder.addSession(
+                            set.getInt(SessionsTable.ID),
+                            UUID.fromString(set.getString(SessionsTable.USER_UUID)),
+                            serverUUID,
+                            set.getLong(SessionsTable.SESSION_START),
+                            set.getLong(SessionsTable.SESSION_END),
+                            set.getInt(SessionsTable.MOB_KILLS),
+                            set.getInt(SessionsTable.DEATHS),
+                            set.getLong(SessionsTable.AFK_TIME)
+                    );
                 }
-                return sessions;
+                return builder.build();
             }
         };
     }
@@ -409,15 +404,15 @@ public class SessionQueries {
     public static Query<NavigableMap<Long, Integer>> sessionCountPerDay(long after, long before, long timeZoneOffset, UUID serverUUID) {
         return database -> {
             Sql sql = database.getSql();
-            String selectSessionsPerDay = SELECT +
+            String selectSessionsPerDay = RollupQueries.withDailyRollups(SELECT +
                     sql.dateToEpochSecond(sql.dateToDayStamp(sql.epochSecondToDate('(' + SessionsTable.SESSION_START + "+?)/1000"))) +
                     "*1000 as date," +
                     "COUNT(1) as session_count" +
                     FROM + SessionsTable.TABLE_NAME +
                     WHERE + SessionsTable.SESSION_END + "<=?" +
                     AND + SessionsTable.SESSION_START + ">=?" +
-                    AND + SessionsTable.SERVER_UUID + "=?" +
-                    GROUP_BY + "date";
+                    AND + SessionsTable.SERVER_UUID + "=?",
+                    SessionsTable.SESSION_START, DailyRollupTable.SESSION_COUNT);
 
             return database.query(new QueryStatement<NavigableMap<Long, Integer>>(selectSessionsPerDay, 100) {
                 @Override
@@ -426,6 +421,7 @@ public class SessionQueries {
                     statement.setLong(2, before);
                     statement.setLong(3, after);
                     statement.setString(4, serverUUID.toString());
+                    RollupQueries.setDailyRollupParameters(statement, 5, after, before, timeZoneOffset, serverUUID);
                 }
 
                 @Override
@@ -518,15 +514,15 @@ public class SessionQueries {
     public static Query<NavigableMap<Long, Long>> playtimePerDay(long after, long before, long timeZoneOffset, UUID serverUUID) {
         return database -> {
             Sql sql = database.getSql();
-            String selectPlaytimePerDay = SELECT +
+            String selectPlaytimePerDay = RollupQueries.withDailyRollups(SELECT +
                     sql.dateToEpochSecond(sql.dateToDayStamp(sql.epochSecondToDate('(' + SessionsTable.SESSION_START + "+?)/1000"))) +
                     "*1000 as date," +
                     "SUM(" + SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + ") as playtime" +
                     FROM + SessionsTable.TABLE_NAME +
                     WHERE + SessionsTable.SESSION_END + "<=?" +
                     AND + SessionsTable.SESSION_START + ">=?" +
-                    AND + SessionsTable.SERVER_UUID + "=?" +
-                    GROUP_BY + "date";
+                    AND + SessionsTable.SERVER_UUID + "=?",
+                    SessionsTable.SESSION_START, DailyRollupTable.PLAYTIME);
 
             return database.query(new QueryStatement<NavigableMap<Long, Long>>(selectPlaytimePerDay, 100) {
                 @Override
@@ -535,6 +531,7 @@ public class SessionQueries {
                     statement.setLong(2, before);
                     statement.setLong(3, after);
                     statement.setString(4, serverUUID.toString());
+                    RollupQueries.setDailyRollupParameters(statement, 5, after, before, timeZoneOffset, serverUUID);
                 }
 
                 @Override
@@ -552,15 +549,15 @@ public class SessionQueries {
     public static Query<Long> averagePlaytimePerDay(long after, long before, long timeZoneOffset, UUID serverUUID) {
         return database -> {
             Sql sql = database.getSql();
-            String selectPlaytimePerDay = SELECT +
+            String selectPlaytimePerDay = RollupQueries.withDailyRollups(SELECT +
                     sql.dateToEpochSecond(sql.dateToDayStamp(sql.epochSecondToDate('(' + SessionsTable.SESSION_START + "+?)/1000"))) +
                     "*1000 as date," +
                     "SUM(" + SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + ") as playtime" +
                     FROM + SessionsTable.TABLE_NAME +
                     WHERE + SessionsTable.SESSION_END + "<=?" +
                     AND + SessionsTable.SESSION_START + ">=?" +
-                    AND + SessionsTable.SERVER_UUID + "=?" +
-                    GROUP_BY + "date";
+                    AND + SessionsTable.SERVER_UUID + "=?",
+                    SessionsTable.SESSION_START, DailyRollupTable.PLAYTIME);
             String selectAverage = SELECT + "AVG(playtime) as average" + FROM + '(' + selectPlaytimePerDay + ") q1";
 
             return database.query(new QueryStatement<Long>(selectAverage, 100) {
@@ -570,6 +567,7 @@ public class SessionQueries {
                     statement.setLong(2, before);
                     statement.setLong(3, after);
                     statement.setString(4, serverUUID.toString());
+                    RollupQueries.setDailyRollupParameters(statement, 5, after, before, timeZoneOffset, serverUUID);
                 }
 
                 @Override
@@ -815,12 +813,16 @@ public class SessionQueries {
         };
     }
 
-    public static Query<Set<UUID>> uuidsOfPlayedBetween(long after, long before) {
-        String sql = SELECT + DISTINCT + SessionsTable.USER_UUID +
+    public static Query<BitSet> userIdsOfPlayedBetween(long after, long before) {
+        String sql = SELECT + UsersTable.ID +
+                FROM + UsersTable.TABLE_NAME +
+                WHERE + UsersTable.USER_UUID + " IN (" +
+                SELECT + SessionsTable.USER_UUID +
                 FROM + SessionsTable.TABLE_NAME +
                 WHERE + SessionsTable.SESSION_END + ">=?" +
-                AND + SessionsTable.SESSION_START + "<=?";
-        return new QueryStatement<Set<UUID>>(sql) {
+                AND + SessionsTable.SESSION_START + "<=?" +
+                ')';
+        return new QueryStatement<BitSet>(sql, 10000) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
                 statement.setLong(1, after);
@@ -828,55 +830,147 @@ public class SessionQueries {
             }
 
             @Override
-            public Set<UUID> processResults(ResultSet set) throws SQLException {
-                Set<UUID> uuids = new HashSet<>();
-                while (set.next()) {
-                    uuids.add(UUID.fromString(set.getString(SessionsTable.USER_UUID)));
-                }
-                return uuids;
+            public BitSet processResults(ResultSet set) throws SQLException {
+                return UserIdRanges.extractUserIds(set, UsersTable.ID);
             }
         };
     }
 
-    public static Query<Map<String, Long>> summaryOfPlayers(Set<UUID> playerUUIDs, long after, long before) {
+    /**
+     * Query aggregates of sessions of a group of players.
+     *
+     * @param userIds plan_users ids of the players, see {@link UserIdRanges}.
+     * @param after   Sessions starting after this date are included.
+     * @param before  Sessions ending before this date are included.
+     * @return Map with totals and averages over the players.
+     */
+    public static Query<Map<String, Long>> summaryOfPlayers(BitSet userIds, long after, long before) {
+        return db -> {
+            long playtime = 0L;
+            long activePlaytime = 0L;
+            long sessionCount = 0L;
+            for (UserIdRanges chunk : UserIdRanges.chunksOf(userIds)) {
+                long[] aggregates = db.query(summaryOfPlayers(chunk, after, before));
+                playtime += aggregates[0];
+                activePlaytime += aggregates[1];
+                sessionCount += aggregates[2];
+            }
+
+            int playerCount = userIds.cardinality();
+            return Maps.builder(String.class, Long.class)
+                    .put("total_playtime", playtime)
+                    .put("average_playtime", playerCount != 0 ? playtime / playerCount : -1L)
+                    .put("total_afk_playtime", playtime - activePlaytime)
+                    .put("average_afk_playtime", playerCount != 0 ? (playtime - activePlaytime) / playerCount : -1L)
+                    .put("total_active_playtime", activePlaytime)
+                    .put("average_active_playtime", playerCount != 0 ? activePlaytime / playerCount : -1L)
+                    .put("total_sessions", sessionCount)
+                    .put("average_sessions", playerCount != 0 ? sessionCount / playerCount : -1L)
+                    .put("average_session_length", sessionCount != 0 ? playtime / sessionCount : -1L)
+                    .build();
+        };
+    }
+
+    private static Query<long[]> summaryOfPlayers(UserIdRanges userIds, long after, long before) {
         String selectAggregates = SELECT +
                 "SUM(" + SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + ") as playtime," +
                 "SUM(" + SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + '-' + SessionsTable.AFK_TIME + ") as active_playtime," +
                 "COUNT(1) as session_count" +
-                FROM + SessionsTable.TABLE_NAME +
-                WHERE + SessionsTable.SESSION_START + ">?" +
-                AND + SessionsTable.SESSION_END + "<?" +
-                AND + SessionsTable.USER_UUID + " IN ('" +
-                new TextStringBuilder().appendWithSeparators(playerUUIDs, "','").build() + "')";
+                FROM + SessionsTable.TABLE_NAME + " s" +
+                INNER_JOIN + UsersTable.TABLE_NAME + " u on u." + UsersTable.USER_UUID + "=s." + SessionsTable.USER_UUID +
+                WHERE + "s." + SessionsTable.SESSION_START + ">?" +
+                AND + "s." + SessionsTable.SESSION_END + "<?" +
+                AND + userIds.matching("u." + UsersTable.ID);
 
-        return new QueryStatement<Map<String, Long>>(selectAggregates) {
+        return new QueryStatement<long[]>(selectAggregates) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
                 statement.setLong(1, after);
                 statement.setLong(2, before);
+                userIds.setParameters(statement, 3);
+            }
+
+            @Override
+            public long[] processResults(ResultSet set) throws SQLException {
+                return set.next() ? new long[]{
+                        set.getLong("playtime"),
+                        set.getLong("active_playtime"),
+                        set.getLong("session_count")
+                } : new long[3];
+            }
+        };
+    }
+
+    /**
+     * Query aggregates of sessions of a player that overlap a time range.
+     *
+     * @param playerUUID UUID of the player.
+     * @param after      Sessions ending after this date are included.
+     * @param before     Sessions starting before this date are included.
+     * @return Map with keys: playtime, active_playtime, afk_time, session_count, mob_kills, deaths, last_seen.
+     */
+    public static Query<Map<String, Long>> summaryOfPlayer(UUID playerUUID, long after, long before) {
+        return summaryOfPlayer(playerUUID, null, after, before);
+    }
+
+    /**
+     * Query aggregates of sessions of a player on a server that overlap a time range.
+     *
+     * @param playerUUID UUID of the player.
+     * @param serverUUID UUID of the server, or null for all servers.
+     * @param after      Sessions ending after this date are included.
+     * @param before     Sessions starting before this date are included.
+     * @return Map with keys: playtime, active_playtime, afk_time, session_count, mob_kills, deaths, last_seen.
+     */
+    public static Query<Map<String, Long>> summaryOfPlayer(UUID playerUUID, UUID serverUUID, long after, long before) {
+        String sql = SELECT +
+                "SUM(" + SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + ") as playtime," +
+                "SUM(" + SessionsTable.AFK_TIME + ") as afk_time," +
+                "SUM(" + SessionsTable.MOB_KILLS + ") as mob_kills," +
+                "SUM(" + SessionsTable.DEATHS + ") as deaths," +
+                "MAX(" + SessionsTable.SESSION_END + ") as last_seen," +
+                "COUNT(1) as session_count" +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + SessionsTable.USER_UUID + "=?" +
+                (serverUUID != null ? AND + SessionsTable.SERVER_UUID + "=?" : "") +
+                AND + SessionsTable.SESSION_END + ">=?" +
+                AND + SessionsTable.SESSION_START + "<=?";
+
+        return new QueryStatement<Map<String, Long>>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                int index = 1;
+                statement.setString(index++, playerUUID.toString());
+                if (serverUUID != null) statement.setString(index++, serverUUID.toString());
+                statement.setLong(index++, after);
+                statement.setLong(index, before);
             }
 
             @Override
             public Map<String, Long> processResults(ResultSet set) throws SQLException {
+                long playtime = 0L;
+                long afkTime = 0L;
+                long mobKills = 0L;
+                long deaths = 0L;
+                long lastSeen = 0L;
+                long sessionCount = 0L;
                 if (set.next()) {
-                    long sessionCount = set.getLong("session_count");
-                    long playtime = set.getLong("playtime");
-                    long activePlaytime = set.getLong("active_playtime");
-                    int playerCount = playerUUIDs.size();
-                    return Maps.builder(String.class, Long.class)
-                            .put("total_playtime", playtime)
-                            .put("average_playtime", playerCount != 0 ? playtime / playerCount : -1L)
-                            .put("total_afk_playtime", playtime - activePlaytime)
-                            .put("average_afk_playtime", playerCount != 0 ? (playtime - activePlaytime) / playerCount : -1L)
-                            .put("total_active_playtime", activePlaytime)
-                            .put("average_active_playtime", playerCount != 0 ? activePlaytime / playerCount : -1L)
-                            .put("total_sessions", sessionCount)
-                            .put("average_sessions", playerCount != 0 ? sessionCount / playerCount : -1L)
-                            .put("average_session_length", sessionCount != 0 ? playtime / sessionCount : -1L)
-                            .build();
-                } else {
-                    return Collections.emptyMap();
+                    playtime = set.getLong("playtime");
+                    afkTime = set.getLong("afk_time");
+                    mobKills = set.getLong("mob_kills");
+                    deaths = set.getLong("deaths");
+                    lastSeen = set.getLong("last_seen");
+                    sessionCount = set.getLong("session_count");
                 }
+                return Maps.builder(String.class, Long.class)
+                        .put("playtime", playtime)
+                        .put("active_playtime", playtime - afkTime)
+                        .put("afk_time", afkTime)
+                        .put("session_count", sessionCount)
+                        .put("mob_kills", mobKills)
+                        .put("deaths", deaths)
+                        .put("last_seen", lastSeen)
+                        .build();
             }
         };
     }
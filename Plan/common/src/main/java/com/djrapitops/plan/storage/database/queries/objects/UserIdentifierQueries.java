@@ -19,6 +19,7 @@ package com.djrapitops.plan.storage.database.queries.objects;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryAllStatement;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdRanges;
 import com.djrapitops.plan.storage.database.sql.building.Select;
 import com.djrapitops.plan.storage.database.sql.tables.NicknamesTable;
 import com.djrapitops.plan.storage.database.sql.tables.UserInfoTable;
@@ -63,6 +64,42 @@ public class UserIdentifierQueries {
         };
     }
 
+    /**
+     * Query database for the plan_users ids of all players.
+     *
+     * @return Bitmap of the ids.
+     */
+    public static Query<BitSet> fetchAllUserIds() {
+        String sql = SELECT + UsersTable.ID + FROM + UsersTable.TABLE_NAME;
+
+        return new QueryAllStatement<BitSet>(sql, 20000) {
+            @Override
+            public BitSet processResults(ResultSet set) throws SQLException {
+                return UserIdRanges.extractUserIds(set, UsersTable.ID);
+            }
+        };
+    }
+
+    /**
+     * Query database for plan_users ids of all players.
+     *
+     * @return Map: Player UUID - plan_users id
+     */
+    public static Query<Map<UUID, Integer>> fetchUserIdsByUUID() {
+        String sql = SELECT + UsersTable.ID + ',' + UsersTable.USER_UUID + FROM + UsersTable.TABLE_NAME;
+
+        return new QueryAllStatement<Map<UUID, Integer>>(sql, 20000) {
+            @Override
+            public Map<UUID, Integer> processResults(ResultSet set) throws SQLException {
+                Map<UUID, Integer> userIds = new HashMap<>();
+                while (set.next()) {
+                    userIds.put(UUID.fromString(set.getString(UsersTable.USER_UUID)), set.getInt(UsersTable.ID));
+                }
+                return userIds;
+            }
+        };
+    }
+
     /**
      * Query database for all player UUIDs that have joined a server.
      *
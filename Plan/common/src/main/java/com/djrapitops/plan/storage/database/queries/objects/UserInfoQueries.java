@@ -20,7 +20,9 @@ import com.djrapitops.plan.gathering.domain.UserInfo;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryAllStatement;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdRanges;
 import com.djrapitops.plan.storage.database.sql.tables.UserInfoTable;
+import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
 import com.djrapitops.plan.utilities.java.Lists;
 
 import java.sql.PreparedStatement;
@@ -184,39 +186,37 @@ public class UserInfoQueries {
         };
     }
 
-    public static Query<Set<UUID>> uuidsOfOperators() {
-        return getUUIDsForBooleanGroup(UserInfoTable.OP, true);
+    public static Query<BitSet> userIdsOfOperators() {
+        return getUserIdsForBooleanGroup(UserInfoTable.OP, true);
     }
 
-    public static Query<Set<UUID>> getUUIDsForBooleanGroup(String column, boolean value) {
-        String sql = SELECT + UserInfoTable.USER_UUID + FROM + UserInfoTable.TABLE_NAME +
-                WHERE + column + "=?";
-        return new QueryStatement<Set<UUID>>(sql) {
+    public static Query<BitSet> userIdsOfNonOperators() {
+        return getUserIdsForBooleanGroup(UserInfoTable.OP, false);
+    }
+
+    public static Query<BitSet> userIdsOfBanned() {
+        return getUserIdsForBooleanGroup(UserInfoTable.BANNED, true);
+    }
+
+    public static Query<BitSet> userIdsOfNotBanned() {
+        return getUserIdsForBooleanGroup(UserInfoTable.BANNED, false);
+    }
+
+    public static Query<BitSet> getUserIdsForBooleanGroup(String column, boolean value) {
+        String sql = SELECT + "u." + UsersTable.ID +
+                FROM + UserInfoTable.TABLE_NAME + " ui" +
+                INNER_JOIN + UsersTable.TABLE_NAME + " u on u." + UsersTable.USER_UUID + "=ui." + UserInfoTable.USER_UUID +
+                WHERE + "ui." + column + "=?";
+        return new QueryStatement<BitSet>(sql, 10000) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
                 statement.setBoolean(1, value);
             }
 
             @Override
-            public Set<UUID> processResults(ResultSet set) throws SQLException {
-                Set<UUID> uuids = new HashSet<>();
-                while (set.next()) {
-                    uuids.add(UUID.fromString(set.getString(UserInfoTable.USER_UUID)));
-                }
-                return uuids;
+            public BitSet processResults(ResultSet set) throws SQLException {
+                return UserIdRanges.extractUserIds(set, UsersTable.ID);
             }
         };
     }
-
-    public static Query<Set<UUID>> uuidsOfNonOperators() {
-        return getUUIDsForBooleanGroup(UserInfoTable.OP, false);
-    }
-
-    public static Query<Set<UUID>> uuidsOfBanned() {
-        return getUUIDsForBooleanGroup(UserInfoTable.BANNED, true);
-    }
-
-    public static Query<Set<UUID>> uuidsOfNotBanned() {
-        return getUUIDsForBooleanGroup(UserInfoTable.BANNED, false);
-    }
-}
\ No newline at end of file
+}
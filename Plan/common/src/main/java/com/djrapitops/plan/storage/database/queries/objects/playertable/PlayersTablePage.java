@@ -0,0 +1,258 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries.objects.playertable;
+
+import com.djrapitops.plan.delivery.domain.TablePlayer;
+import com.djrapitops.plan.delivery.domain.mutators.ActivityIndex;
+import com.djrapitops.plan.storage.database.sql.tables.ServerPlayerSummaryTable;
+import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Describes a single page of /server page players table.
+ * <p>
+ * Pages can be continued from a {@link Cursor} of the last row of the previous page (keyset pagination),
+ * which stays fast no matter how deep the page is. Without a cursor the rows before the page are skipped.
+ *
+ * @author AuroraLS3
+ * @see ServerPlayerSummaryQueries
+ */
+public class PlayersTablePage {
+
+    private final Sort sort;
+    private final boolean descending;
+    private final String search;
+    private final Cursor after;
+    private final int start;
+    private final int length;
+
+    public PlayersTablePage(Sort sort, boolean descending, String search, Cursor after, int start, int length) {
+        this.sort = sort;
+        this.descending = descending;
+        this.search = search != null && !search.trim().isEmpty() ? search.trim() : null;
+        this.after = after;
+        this.start = Math.max(0, start);
+        this.length = Math.max(1, length);
+    }
+
+    /**
+     * Page of most recently seen players, like the players table has been ordered by default.
+     *
+     * @param limit Number of players on the page.
+     * @return the page.
+     */
+    public static PlayersTablePage mostRecent(int limit) {
+        return new PlayersTablePage(Sort.LAST_SEEN, true, null, null, 0, limit);
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public Optional<String> getSearch() {
+        return Optional.ofNullable(search);
+    }
+
+    public Optional<Cursor> getAfter() {
+        return Optional.ofNullable(after);
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Search and sort players in memory, for when the players table summary has not been created yet.
+     *
+     * @param players Players to search from.
+     * @return Players that match the search, in the order of the page.
+     */
+    public List<TablePlayer> searchAndSort(List<TablePlayer> players) {
+        String searchFor = search != null ? search.toLowerCase(Locale.ROOT) : null;
+        Comparator<TablePlayer> comparator = (one, two) -> compareValues(sort.valueOf(one), sort.valueOf(two));
+        comparator = comparator.thenComparing(TablePlayer::getPlayerUUID);
+        return players.stream()
+                .filter(player -> searchFor == null || player.getName()
+                        .map(name -> name.toLowerCase(Locale.ROOT).contains(searchFor)).orElse(false))
+                .sorted(descending ? comparator.reversed() : comparator)
+                .collect(Collectors.toList());
+    }
+
+    private static int compareValues(Object one, Object two) {
+        if (one instanceof Number && two instanceof Number) {
+            return Double.compare(((Number) one).doubleValue(), ((Number) two).doubleValue());
+        }
+        return String.CASE_INSENSITIVE_ORDER.compare(one.toString(), two.toString());
+    }
+
+    /**
+     * Columns the table can be ordered by, in the order of the columns of the players table.
+     * <p>
+     * Missing values are ordered as the value {@link com.djrapitops.plan.storage.database.transactions.ServerPlayerSummaryTransaction}
+     * stores in their place, so that NULLs are ordered the same way in every database and rows without a value can be continued from.
+     */
+    public enum Sort {
+        NAME("u." + UsersTable.USER_NAME, false,
+                player -> player.getName().orElse(null)),
+        ACTIVITY_INDEX("s." + ServerPlayerSummaryTable.ACTIVITY_INDEX, true,
+                player -> player.getCurrentActivityIndex().map(ActivityIndex::getValue).orElse(null)),
+        ACTIVE_PLAYTIME("s." + ServerPlayerSummaryTable.ACTIVE_PLAYTIME, true,
+                player -> player.getActivePlaytime().orElse(null)),
+        SESSIONS("s." + ServerPlayerSummaryTable.SESSION_COUNT, true,
+                player -> player.getSessionCount().orElse(null)),
+        REGISTERED("u." + UsersTable.REGISTERED, true,
+                player -> player.getRegistered().orElse(null)),
+        LAST_SEEN("s." + ServerPlayerSummaryTable.LAST_SEEN, true,
+                player -> player.getLastSeen().orElse(null)),
+        GEOLOCATION("s." + ServerPlayerSummaryTable.GEOLOCATION, false,
+                player -> player.getGeolocation().orElse(null));
+
+        private static final String MISSING_TEXT = "-";
+
+        private final String column;
+        private final boolean numeric;
+        private final Function<TablePlayer, Object> valueOf;
+
+        Sort(String column, boolean numeric, Function<TablePlayer, Object> valueOf) {
+            this.column = column;
+            this.numeric = numeric;
+            this.valueOf = valueOf;
+        }
+
+        /**
+         * Get the sort of a players table column.
+         *
+         * @param columnIndex Index of the column in the table.
+         * @return Sort of the column, or last seen if the column can not be sorted by (eg. extension data).
+         */
+        public static Sort fromColumnIndex(int columnIndex) {
+            Sort[] sorts = values();
+            return columnIndex >= 0 && columnIndex < sorts.length ? sorts[columnIndex] : LAST_SEEN;
+        }
+
+        /**
+         * Get the SQL expression to order by.
+         *
+         * @return Column of the sort, with NULL replaced by the value of missing values.
+         */
+        public String getColumn() {
+            return "COALESCE(" + column + ',' + (numeric ? "0" : "'" + MISSING_TEXT + "'") + ')';
+        }
+
+        /**
+         * Get the value of a player that the table is ordered by.
+         *
+         * @param player Player on the row.
+         * @return Value of the column, 0 or '-' if the player has no value.
+         */
+        public Object valueOf(TablePlayer player) {
+            Object value = valueOf.apply(player);
+            if (value != null) return value;
+            return numeric ? 0L : MISSING_TEXT;
+        }
+
+        public boolean isNumeric() {
+            return numeric;
+        }
+    }
+
+    /**
+     * Position in the table, the sorted value and UUID of a row.
+     * <p>
+     * The UUID breaks ties between rows that have the same value.
+     */
+    public static class Cursor {
+        private final String value;
+        private final UUID playerUUID;
+
+        public Cursor(String value, UUID playerUUID) {
+            this.value = value;
+            this.playerUUID = playerUUID;
+        }
+
+        /**
+         * Create the cursor of a row of the table.
+         *
+         * @param player Player on the row.
+         * @param sort   Sort of the table.
+         * @return Cursor that continues the table after the player, or empty if the player has no UUID.
+         */
+        public static Optional<Cursor> of(TablePlayer player, Sort sort) {
+            if (player.getPlayerUUID() == null) return Optional.empty();
+            return Optional.of(new Cursor(sort.valueOf(player).toString(), player.getPlayerUUID()));
+        }
+
+        /**
+         * Parse a cursor given by {@link #toString()}.
+         *
+         * @param cursor Cursor string, format 'value;uuid'
+         * @param sort   Sort of the table, numeric sorts need a number as value.
+         * @return the cursor or empty if the string is not a valid cursor.
+         */
+        public static Optional<Cursor> parse(String cursor, Sort sort) {
+            if (cursor == null) return Optional.empty();
+            int split = cursor.lastIndexOf(';');
+            if (split == -1) return Optional.empty();
+            try {
+                String value = cursor.substring(0, split);
+                if (sort.isNumeric()) Double.parseDouble(value);
+                return Optional.of(new Cursor(value, UUID.fromString(cursor.substring(split + 1))));
+            } catch (IllegalArgumentException e) {
+                // Not a number or not a UUID
+                return Optional.empty();
+            }
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public UUID getPlayerUUID() {
+            return playerUUID;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Cursor other = (Cursor) o;
+            return Objects.equals(value, other.value) &&
+                    Objects.equals(playerUUID, other.playerUUID);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(value, playerUUID);
+        }
+
+        @Override
+        public String toString() {
+            return value + ';' + playerUUID;
+        }
+    }
+}
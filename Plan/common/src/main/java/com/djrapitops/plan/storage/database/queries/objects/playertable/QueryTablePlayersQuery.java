@@ -22,19 +22,16 @@ import com.djrapitops.plan.storage.database.SQLDB;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
 import com.djrapitops.plan.storage.database.queries.analysis.NetworkActivityIndexQueries;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdRanges;
 import com.djrapitops.plan.storage.database.sql.tables.GeoInfoTable;
 import com.djrapitops.plan.storage.database.sql.tables.SessionsTable;
 import com.djrapitops.plan.storage.database.sql.tables.UserInfoTable;
 import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
-import org.apache.commons.text.TextStringBuilder;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
 import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
 
@@ -45,7 +42,7 @@ import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
  */
 public class QueryTablePlayersQuery implements Query<List<TablePlayer>> {
 
-    private final Collection<UUID> playerUUIDs;
+    private final BitSet userIds;
     private final long afterDate;
     private final long beforeDate;
     private final long activeMsThreshold;
@@ -53,12 +50,12 @@ public class QueryTablePlayersQuery implements Query<List<TablePlayer>> {
     /**
      * Create a new query.
      *
-     * @param playerUUIDs       UUIDs of the players in the query
+     * @param userIds           plan_users ids of the players in the query
      * @param beforeDate        Date used for Activity Index calculation
      * @param activeMsThreshold Playtime threshold for Activity Index calculation
      */
-    public QueryTablePlayersQuery(Collection<UUID> playerUUIDs, long afterDate, long beforeDate, long activeMsThreshold) {
-        this.playerUUIDs = playerUUIDs;
+    public QueryTablePlayersQuery(BitSet userIds, long afterDate, long beforeDate, long activeMsThreshold) {
+        this.userIds = userIds;
         this.afterDate = afterDate;
         this.beforeDate = beforeDate;
         this.activeMsThreshold = activeMsThreshold;
@@ -66,7 +63,15 @@ public class QueryTablePlayersQuery implements Query<List<TablePlayer>> {
 
     @Override
     public List<TablePlayer> executeQuery(SQLDB db) {
-        String uuidsInSet = " IN ('" + new TextStringBuilder().appendWithSeparators(playerUUIDs, "','").build() + "')";
+        List<TablePlayer> players = new ArrayList<>();
+        for (UserIdRanges chunk : UserIdRanges.chunksOf(userIds)) {
+            players.addAll(db.query(fetchPlayers(chunk)));
+        }
+        Collections.sort(players);
+        return players;
+    }
+
+    private Query<List<TablePlayer>> fetchPlayers(UserIdRanges chunk) {
 
         String selectGeolocations = SELECT + DISTINCT +
                 GeoInfoTable.USER_UUID + ", " +
@@ -90,16 +95,17 @@ public class QueryTablePlayersQuery implements Query<List<TablePlayer>> {
                 "COUNT(1) as count," +
                 "SUM(" + SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + '-' + SessionsTable.AFK_TIME + ") as active_playtime" +
                 FROM + SessionsTable.TABLE_NAME + " s" +
+                INNER_JOIN + UsersTable.TABLE_NAME + " su on su." + UsersTable.USER_UUID + "=s." + SessionsTable.USER_UUID +
                 WHERE + "s." + SessionsTable.SESSION_START + ">=?" +
                 AND + "s." + SessionsTable.SESSION_END + "<=?" +
-                AND + "s." + SessionsTable.USER_UUID +
-                uuidsInSet +
+                AND + chunk.matching("su." + UsersTable.ID) +
                 GROUP_BY + "s." + SessionsTable.USER_UUID;
 
         String selectBanned = SELECT + DISTINCT + "ub." + UserInfoTable.USER_UUID +
                 FROM + UserInfoTable.TABLE_NAME + " ub" +
-                WHERE + UserInfoTable.BANNED + "=?" +
-                AND + UserInfoTable.USER_UUID + uuidsInSet;
+                INNER_JOIN + UsersTable.TABLE_NAME + " bu on bu." + UsersTable.USER_UUID + "=ub." + UserInfoTable.USER_UUID +
+                WHERE + "ub." + UserInfoTable.BANNED + "=?" +
+                AND + chunk.matching("bu." + UsersTable.ID);
 
         String selectBaseUsers = SELECT +
                 "u." + UsersTable.USER_UUID + ',' +
@@ -116,17 +122,18 @@ public class QueryTablePlayersQuery implements Query<List<TablePlayer>> {
                 LEFT_JOIN + '(' + selectLatestGeolocations + ") geoloc on geoloc." + GeoInfoTable.USER_UUID + "=u." + UsersTable.USER_UUID +
                 LEFT_JOIN + '(' + selectSessionData + ") ses on ses." + SessionsTable.USER_UUID + "=u." + UsersTable.USER_UUID +
                 LEFT_JOIN + '(' + NetworkActivityIndexQueries.selectActivityIndexSQL() + ") act on u." + SessionsTable.USER_UUID + "=act." + UserInfoTable.USER_UUID +
-                WHERE + "u." + UserInfoTable.USER_UUID +
-                uuidsInSet +
-                ORDER_BY + "ses.last_seen DESC";
+                WHERE + chunk.matching("u." + UsersTable.ID);
 
-        return db.query(new QueryStatement<List<TablePlayer>>(selectBaseUsers, 1000) {
+        return new QueryStatement<List<TablePlayer>>(selectBaseUsers, 1000) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
                 statement.setBoolean(1, true);
-                statement.setLong(2, afterDate);
-                statement.setLong(3, beforeDate);
-                NetworkActivityIndexQueries.setSelectActivityIndexSQLParameters(statement, 4, activeMsThreshold, beforeDate);
+                int index = chunk.setParameters(statement, 2);
+                statement.setLong(index, afterDate);
+                statement.setLong(index + 1, beforeDate);
+                index = chunk.setParameters(statement, index + 2);
+                NetworkActivityIndexQueries.setSelectActivityIndexSQLParameters(statement, index, activeMsThreshold, beforeDate);
+                chunk.setParameters(statement, index + 8);
             }
 
             @Override
@@ -149,6 +156,6 @@ public class QueryTablePlayersQuery implements Query<List<TablePlayer>> {
                 }
                 return players;
             }
-        });
+        };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,327 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries.objects.playertable;
+
+import com.djrapitops.plan.delivery.domain.TablePlayer;
+import com.djrapitops.plan.delivery.domain.mutators.ActivityIndex;
+import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.sql.tables.*;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Queries for /server page players table that read {@link ServerPlayerSummaryTable}.
+ *
+ * @author AuroraLS3
+ * @see com.djrapitops.plan.storage.database.transactions.ServerPlayerSummaryTransaction
+ */
+public class ServerPlayerSummaryQueries {
+
+    private static final String LIKE_SEARCH = " LIKE ? ESCAPE '!'";
+
+    private ServerPlayerSummaryQueries() {
+        // Static method class
+    }
+
+    /**
+     * Fetch when the summary of a server was last updated.
+     *
+     * @param serverUUID UUID of the server.
+     * @return Epoch ms of the latest update or empty if the summary has not been created.
+     */
+    public static Query<Optional<Long>> fetchLatestUpdate(UUID serverUUID) {
+        String sql = SELECT + "MAX(" + ServerPlayerSummaryTable.UPDATED + ") as latest" +
+                FROM + ServerPlayerSummaryTable.TABLE_NAME +
+                WHERE + ServerPlayerSummaryTable.SERVER_UUID + "=?";
+        return new QueryStatement<Optional<Long>>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+            }
+
+            @Override
+            public Optional<Long> processResults(ResultSet set) throws SQLException {
+                if (!set.next()) return Optional.empty();
+                long latest = set.getLong("latest");
+                return set.wasNull() ? Optional.empty() : Optional.of(latest);
+            }
+        };
+    }
+
+    /**
+     * SQL for selecting players of a server that have had sessions end or have registered after a date.
+     * <p>
+     * Parameters: server uuid, date, server uuid, date
+     *
+     * @return SQL that selects a single uuid column.
+     */
+    public static String selectPlayersChangedAfterSQL() {
+        return SELECT + SessionsTable.USER_UUID +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + SessionsTable.SERVER_UUID + "=?" +
+                AND + SessionsTable.SESSION_END + ">=?" +
+                UNION +
+                SELECT + UserInfoTable.USER_UUID +
+                FROM + UserInfoTable.TABLE_NAME +
+                WHERE + UserInfoTable.SERVER_UUID + "=?" +
+                AND + UserInfoTable.REGISTERED + ">=?";
+    }
+
+    public static int setPlayersChangedAfterParameters(PreparedStatement statement, int index, UUID serverUUID, long changedAfter) throws SQLException {
+        statement.setString(index, serverUUID.toString());
+        statement.setLong(index + 1, changedAfter);
+        statement.setString(index + 2, serverUUID.toString());
+        statement.setLong(index + 3, changedAfter);
+        return index + 4;
+    }
+
+    /**
+     * Calculate the summarized values of players of a server from sessions and geolocations.
+     * <p>
+     * Activity index is not included.
+     *
+     * @param serverUUID   UUID of the server.
+     * @param changedAfter Only calculate for players that have had sessions end or have registered after this epoch ms, null for all players.
+     * @return List of players with active playtime, session count, last seen and geolocation.
+     */
+    public static Query<List<TablePlayer>> fetchSummariesFromSessions(UUID serverUUID, Long changedAfter) {
+        String onlyChanged = changedAfter != null ? " IN (" + selectPlayersChangedAfterSQL() + ')' : null;
+
+        String selectGeolocations = SELECT + DISTINCT +
+                GeoInfoTable.USER_UUID + ", " +
+                GeoInfoTable.GEOLOCATION + ", " +
+                GeoInfoTable.LAST_USED +
+                FROM + GeoInfoTable.TABLE_NAME +
+                (onlyChanged != null ? WHERE + GeoInfoTable.USER_UUID + onlyChanged : "");
+        String selectLatestGeolocationDate = SELECT +
+                GeoInfoTable.USER_UUID + ", " +
+                "MAX(" + GeoInfoTable.LAST_USED + ") as last_used_g" +
+                FROM + GeoInfoTable.TABLE_NAME +
+                (onlyChanged != null ? WHERE + GeoInfoTable.USER_UUID + onlyChanged : "") +
+                GROUP_BY + GeoInfoTable.USER_UUID;
+        String selectLatestGeolocations = SELECT +
+                "g1." + GeoInfoTable.GEOLOCATION + ',' +
+                "g1." + GeoInfoTable.USER_UUID +
+                FROM + "(" + selectGeolocations + ") AS g1" +
+                INNER_JOIN + "(" + selectLatestGeolocationDate + ") AS g2 ON g1.uuid = g2.uuid" +
+                WHERE + GeoInfoTable.LAST_USED + "=last_used_g";
+
+        String selectSessionData = SELECT + "s." + SessionsTable.USER_UUID + ',' +
+                "MAX(" + SessionsTable.SESSION_END + ") as last_seen," +
+                "COUNT(1) as count," +
+                "SUM(" + SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + '-' + SessionsTable.AFK_TIME + ") as active_playtime" +
+                FROM + SessionsTable.TABLE_NAME + " s" +
+                WHERE + "s." + SessionsTable.SERVER_UUID + "=?" +
+                (onlyChanged != null ? AND + "s." + SessionsTable.USER_UUID + onlyChanged : "") +
+                GROUP_BY + "s." + SessionsTable.USER_UUID;
+
+        String sql = SELECT +
+                "ux." + UserInfoTable.USER_UUID + ',' +
+                "geoloc." + GeoInfoTable.GEOLOCATION + ',' +
+                "ses.last_seen," +
+                "ses.count," +
+                "ses.active_playtime" +
+                FROM + UserInfoTable.TABLE_NAME + " ux" +
+                LEFT_JOIN + '(' + selectLatestGeolocations + ") geoloc on geoloc." + GeoInfoTable.USER_UUID + "=ux." + UserInfoTable.USER_UUID +
+                LEFT_JOIN + '(' + selectSessionData + ") ses on ses." + SessionsTable.USER_UUID + "=ux." + UserInfoTable.USER_UUID +
+                WHERE + "ux." + UserInfoTable.SERVER_UUID + "=?" +
+                (onlyChanged != null ? AND + "ux." + UserInfoTable.USER_UUID + onlyChanged : "");
+
+        return new QueryStatement<List<TablePlayer>>(sql, 1000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                int index = 1;
+                if (changedAfter != null) {
+                    index = setPlayersChangedAfterParameters(statement, index, serverUUID, changedAfter); // Geolocations
+                    index = setPlayersChangedAfterParameters(statement, index, serverUUID, changedAfter); // Latest geolocation dates
+                }
+                statement.setString(index++, serverUUID.toString()); // Session query
+                if (changedAfter != null) {
+                    index = setPlayersChangedAfterParameters(statement, index, serverUUID, changedAfter);
+                }
+                statement.setString(index++, serverUUID.toString());
+                if (changedAfter != null) {
+                    setPlayersChangedAfterParameters(statement, index, serverUUID, changedAfter);
+                }
+            }
+
+            @Override
+            public List<TablePlayer> processResults(ResultSet set) throws SQLException {
+                // Players with multiple geolocations used at the same time would be on multiple rows
+                Map<UUID, TablePlayer> players = new LinkedHashMap<>();
+                while (set.next()) {
+                    UUID playerUUID = UUID.fromString(set.getString(UserInfoTable.USER_UUID));
+                    String geolocation = set.getString(GeoInfoTable.GEOLOCATION);
+                    players.putIfAbsent(playerUUID, TablePlayer.builder()
+                            .uuid(playerUUID)
+                            .geolocation(geolocation != null ? geolocation : "-")
+                            .lastSeen(set.getLong("last_seen"))
+                            .sessionCount(set.getInt("count"))
+                            .activePlaytime(set.getLong("active_playtime"))
+                            .build());
+                }
+                return new ArrayList<>(players.values());
+            }
+        };
+    }
+
+    /**
+     * SQL for the rows of the players table, shared by pages and counts so that they include the same players.
+     * <p>
+     * Parameters: server uuid, search (if searched)
+     *
+     * @param searched Should the player names be searched.
+     * @return FROM and WHERE clauses, summary as 's', users as 'u' and user info as 'ux'.
+     */
+    private static String fromPlayersOfServer(boolean searched) {
+        return FROM + ServerPlayerSummaryTable.TABLE_NAME + " s" +
+                INNER_JOIN + UsersTable.TABLE_NAME + " u on u." + UsersTable.USER_UUID + "=s." + ServerPlayerSummaryTable.USER_UUID +
+                INNER_JOIN + UserInfoTable.TABLE_NAME + " ux on ux." + UserInfoTable.USER_UUID + "=s." + ServerPlayerSummaryTable.USER_UUID +
+                AND + "ux." + UserInfoTable.SERVER_UUID + "=s." + ServerPlayerSummaryTable.SERVER_UUID +
+                WHERE + "s." + ServerPlayerSummaryTable.SERVER_UUID + "=?" +
+                (searched ? AND + "u." + UsersTable.USER_NAME + LIKE_SEARCH : "");
+    }
+
+    /**
+     * Fetch a page of the players table of a server.
+     *
+     * @param serverUUID UUID of the server.
+     * @param page       Page to fetch.
+     * @return Players on the page, in order.
+     */
+    public static Query<List<TablePlayer>> fetchPage(UUID serverUUID, PlayersTablePage page) {
+        PlayersTablePage.Sort sort = page.getSort();
+        String column = sort.getColumn();
+        String order = page.isDescending() ? " DESC" : " ASC";
+        String comparison = page.isDescending() ? "<?" : ">?";
+        Optional<String> search = page.getSearch();
+        Optional<PlayersTablePage.Cursor> after = page.getAfter();
+
+        String sql = SELECT +
+                "s." + ServerPlayerSummaryTable.USER_UUID + ',' +
+                "u." + UsersTable.USER_NAME + ',' +
+                "u." + UsersTable.REGISTERED + ',' +
+                "ux." + UserInfoTable.BANNED + ',' +
+                "s." + ServerPlayerSummaryTable.GEOLOCATION + ',' +
+                "s." + ServerPlayerSummaryTable.LAST_SEEN + ',' +
+                "s." + ServerPlayerSummaryTable.SESSION_COUNT + ',' +
+                "s." + ServerPlayerSummaryTable.ACTIVE_PLAYTIME + ',' +
+                "s." + ServerPlayerSummaryTable.ACTIVITY_INDEX + ',' +
+                "s." + ServerPlayerSummaryTable.ACTIVITY_INDEX_DATE +
+                fromPlayersOfServer(search.isPresent()) +
+                (after.isPresent() ? AND + "(" + column + comparison + OR +
+                        "(" + column + "=?" + AND + "s." + ServerPlayerSummaryTable.USER_UUID + comparison + "))" : "") +
+                ORDER_BY + column + order + ",s." + ServerPlayerSummaryTable.USER_UUID + order +
+                " LIMIT ?" + (!after.isPresent() && page.getStart() > 0 ? " OFFSET ?" : "");
+
+        return new QueryStatement<List<TablePlayer>>(sql, Math.min(page.getLength(), 1000)) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                int index = 1;
+                statement.setString(index++, serverUUID.toString());
+                if (search.isPresent()) {
+                    statement.setString(index++, toLikeSearch(search.get()));
+                }
+                if (after.isPresent()) {
+                    PlayersTablePage.Cursor cursor = after.get();
+                    setCursorValue(statement, index++, sort, cursor);
+                    setCursorValue(statement, index++, sort, cursor);
+                    statement.setString(index++, cursor.getPlayerUUID().toString());
+                }
+                statement.setInt(index++, page.getLength());
+                if (!after.isPresent() && page.getStart() > 0) {
+                    statement.setInt(index, page.getStart());
+                }
+            }
+
+            @Override
+            public List<TablePlayer> processResults(ResultSet set) throws SQLException {
+                List<TablePlayer> players = new ArrayList<>();
+                while (set.next()) {
+                    TablePlayer.Builder player = TablePlayer.builder()
+                            .uuid(UUID.fromString(set.getString(ServerPlayerSummaryTable.USER_UUID)))
+                            .name(set.getString(UsersTable.USER_NAME))
+                            .geolocation(set.getString(ServerPlayerSummaryTable.GEOLOCATION))
+                            .registered(set.getLong(UsersTable.REGISTERED))
+                            .lastSeen(set.getLong(ServerPlayerSummaryTable.LAST_SEEN))
+                            .sessionCount(set.getInt(ServerPlayerSummaryTable.SESSION_COUNT))
+                            .activePlaytime(set.getLong(ServerPlayerSummaryTable.ACTIVE_PLAYTIME))
+                            .activityIndex(new ActivityIndex(
+                                    set.getDouble(ServerPlayerSummaryTable.ACTIVITY_INDEX),
+                                    set.getLong(ServerPlayerSummaryTable.ACTIVITY_INDEX_DATE)
+                            ));
+                    if (set.getBoolean(UserInfoTable.BANNED)) {
+                        player.banned();
+                    }
+                    players.add(player.build());
+                }
+                return players;
+            }
+        };
+    }
+
+    private static void setCursorValue(PreparedStatement statement, int index, PlayersTablePage.Sort sort, PlayersTablePage.Cursor cursor) throws SQLException {
+        if (sort == PlayersTablePage.Sort.ACTIVITY_INDEX) {
+            statement.setDouble(index, Double.parseDouble(cursor.getValue()));
+        } else if (sort.isNumeric()) {
+            statement.setLong(index, (long) Double.parseDouble(cursor.getValue()));
+        } else {
+            statement.setString(index, cursor.getValue());
+        }
+    }
+
+    /**
+     * Turn a search into a {@link #LIKE_SEARCH} parameter that matches the search anywhere in the name.
+     *
+     * @param search Part of player name, '%' and '_' are matched literally.
+     * @return the parameter.
+     */
+    static String toLikeSearch(String search) {
+        // '!' is used as escape character, since backslash is an escape character in MySQL strings but not in SQLite.
+        return '%' + search.replace("!", "!!").replace("%", "!%").replace("_", "!_") + '%';
+    }
+
+    /**
+     * Count players in the players table of a server.
+     *
+     * @param serverUUID UUID of the server.
+     * @param search     Part of player name to search for, null to count all players.
+     * @return Number of players
+     */
+    public static Query<Integer> countPlayers(UUID serverUUID, String search) {
+        String sql = SELECT + "COUNT(1) as count" +
+                fromPlayersOfServer(search != null);
+        return new QueryStatement<Integer>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                if (search != null) statement.setString(2, toLikeSearch(search));
+            }
+
+            @Override
+            public Integer processResults(ResultSet set) throws SQLException {
+                return set.next() ? set.getInt("count") : 0;
+            }
+        };
+    }
+}
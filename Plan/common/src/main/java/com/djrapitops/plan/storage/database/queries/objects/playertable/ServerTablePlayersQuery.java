@@ -38,6 +38,10 @@ import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
 
 /**
  * Query for displaying players on /server page players tab.
+ * <p>
+ * Reads the players table summary of the server when it has been created by
+ * {@link com.djrapitops.plan.storage.database.transactions.ServerPlayerSummaryTransaction},
+ * activity index is then the one calculated during the latest update of the summary.
  *
  * @author AuroraLS3
  */
@@ -65,6 +69,10 @@ public class ServerTablePlayersQuery implements Query<List<TablePlayer>> {
 
     @Override
     public List<TablePlayer> executeQuery(SQLDB db) {
+        if (db.query(ServerPlayerSummaryQueries.fetchLatestUpdate(serverUUID)).isPresent()) {
+            return db.query(ServerPlayerSummaryQueries.fetchPage(serverUUID, PlayersTablePage.mostRecent(xMostRecentPlayers)));
+        }
+
         String selectGeolocations = SELECT + DISTINCT +
                 GeoInfoTable.USER_UUID + ", " +
                 GeoInfoTable.GEOLOCATION + ", " +
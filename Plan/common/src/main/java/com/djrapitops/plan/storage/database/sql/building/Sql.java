@@ -96,6 +96,9 @@ public abstract class Sql {
 
     public abstract String dateToHour(String sql);
 
+    // Appended to INSERT statement, adds the inserted values to the columns of the row with the same unique key.
+    public abstract String onDuplicateKeyAdd(String uniqueKey, String... columns);
+
     // https://dev.mysql.com/doc/refman/5.7/en/date-and-time-functions.html
     public static class MySQL extends Sql {
 
@@ -128,6 +131,16 @@ public abstract class Sql {
         public String dateToHour(String sql) {
             return "HOUR(" + sql + ") % 24";
         }
+
+        @Override
+        public String onDuplicateKeyAdd(String uniqueKey, String... columns) {
+            StringBuilder clause = new StringBuilder(" ON DUPLICATE KEY UPDATE ");
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) clause.append(',');
+                clause.append(columns[i]).append('=').append(columns[i]).append("+VALUES(").append(columns[i]).append(')');
+            }
+            return clause.toString();
+        }
     }
 
     // https://h2database.com/html/functions.html
@@ -191,5 +204,15 @@ public abstract class Sql {
         public String dateToHour(String sql) {
             return "strftime('%H'," + sql + ')';
         }
+
+        @Override
+        public String onDuplicateKeyAdd(String uniqueKey, String... columns) {
+            StringBuilder clause = new StringBuilder(" ON CONFLICT(").append(uniqueKey).append(") DO UPDATE SET ");
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) clause.append(',');
+                clause.append(columns[i]).append('=').append(columns[i]).append("+excluded.").append(columns[i]);
+            }
+            return clause.toString();
+        }
     }
 }
@@ -0,0 +1,69 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.sql.tables;
+
+import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.sql.building.CreateTableBuilder;
+import com.djrapitops.plan.storage.database.sql.building.Sql;
+import com.djrapitops.plan.storage.database.transactions.ActivitySnapshotTransaction;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Table information about 'plan_activity_snapshots'.
+ * <p>
+ * Holds active playtime of each player on each server per day, so that activity index can be calculated
+ * without going through all sessions. Rows are derived from plan_sessions by {@link ActivitySnapshotTransaction}.
+ *
+ * @author AuroraLS3
+ */
+public class ActivitySnapshotTable {
+
+    public static final String TABLE_NAME = "plan_activity_snapshots";
+
+    public static final String ID = "id";
+    public static final String USER_UUID = "uuid";
+    public static final String SERVER_UUID = "server_uuid";
+    public static final String DATE = "date";
+    public static final String ACTIVE_PLAYTIME = "active_playtime";
+
+    /**
+     * How long snapshots are kept, activity graphs go back 2 months and activity index looks 3 weeks further.
+     */
+    public static final long KEEP_SNAPSHOTS_MS = TimeUnit.DAYS.toMillis(91L);
+
+    public static final String INSERT_STATEMENT = "INSERT INTO " + TABLE_NAME + " (" +
+            USER_UUID + ',' +
+            SERVER_UUID + ',' +
+            DATE + ',' +
+            ACTIVE_PLAYTIME +
+            ") VALUES (?, ?, ?, ?)";
+
+    private ActivitySnapshotTable() {
+        /* Static information class */
+    }
+
+    public static String createTableSQL(DBType dbType) {
+        return CreateTableBuilder.create(TABLE_NAME, dbType)
+                .column(ID, Sql.INT).primaryKey()
+                .column(USER_UUID, Sql.varchar(36)).notNull()
+                .column(SERVER_UUID, Sql.varchar(36)).notNull()
+                .column(DATE, Sql.LONG).notNull()
+                .column(ACTIVE_PLAYTIME, Sql.LONG).notNull()
+                .toString();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.sql.tables;
+
+import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.sql.building.CreateTableBuilder;
+import com.djrapitops.plan.storage.database.sql.building.Sql;
+
+/**
+ * Table information about 'plan_daily_rollup'.
+ * <p>
+ * Holds player count, playtime and session aggregates of each server for each day.
+ * Where a day starts depends on the timezone, so days are stored for each timezone offset the rollups were made for,
+ * DAY_START is the start of the day with the offset applied, like in the session based queries.
+ * <p>
+ * Each bucket has a single row, new values are added to it with {@link #insertOrAddStatement(DBType)}.
+ *
+ * @author AuroraLS3
+ * @see RollupStateTable for which servers and offsets have rollups.
+ */
+public class DailyRollupTable {
+
+    public static final String TABLE_NAME = "plan_daily_rollup";
+
+    public static final String ID = "id";
+    public static final String SERVER_UUID = "server_uuid";
+    public static final String TIMEZONE_OFFSET = "timezone_offset";
+    public static final String DAY_START = "day_start";
+    public static final String UNIQUE_PLAYERS = "unique_players";
+    public static final String NEW_PLAYERS = "new_players";
+    public static final String PLAYTIME = "playtime";
+    public static final String AFK_TIME = "afk_time";
+    public static final String SESSION_COUNT = "session_count";
+
+    public static final String INSERT_STATEMENT = "INSERT INTO " + TABLE_NAME + " (" +
+            SERVER_UUID + ',' +
+            TIMEZONE_OFFSET + ',' +
+            DAY_START + ',' +
+            UNIQUE_PLAYERS + ',' +
+            NEW_PLAYERS + ',' +
+            PLAYTIME + ',' +
+            AFK_TIME + ',' +
+            SESSION_COUNT +
+            ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private DailyRollupTable() {
+        /* Static information class */
+    }
+
+    /**
+     * Insert statement that adds the values to the existing row of the bucket instead, if there is one.
+     *
+     * @param dbType Type of the database.
+     * @return SQL with the same parameters as INSERT_STATEMENT.
+     */
+    public static String insertOrAddStatement(DBType dbType) {
+        return INSERT_STATEMENT + dbType.getSql().onDuplicateKeyAdd(SERVER_UUID + ',' + TIMEZONE_OFFSET + ',' + DAY_START,
+                UNIQUE_PLAYERS, NEW_PLAYERS, PLAYTIME, AFK_TIME, SESSION_COUNT);
+    }
+
+    public static String createTableSQL(DBType dbType) {
+        return CreateTableBuilder.create(TABLE_NAME, dbType)
+                .column(ID, Sql.INT).primaryKey()
+                .column(SERVER_UUID, Sql.varchar(36)).notNull()
+                .column(TIMEZONE_OFFSET, Sql.LONG).notNull()
+                .column(DAY_START, Sql.LONG).notNull()
+                .column(UNIQUE_PLAYERS, Sql.INT).notNull()
+                .column(NEW_PLAYERS, Sql.INT).notNull()
+                .column(PLAYTIME, Sql.LONG).notNull()
+                .column(AFK_TIME, Sql.LONG).notNull()
+                .column(SESSION_COUNT, Sql.INT).notNull()
+                .uniqueKey(SERVER_UUID, TIMEZONE_OFFSET, DAY_START)
+                .toString();
+    }
+}
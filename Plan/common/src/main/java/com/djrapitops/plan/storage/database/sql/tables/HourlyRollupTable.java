@@ -0,0 +1,86 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.sql.tables;
+
+import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.sql.building.CreateTableBuilder;
+import com.djrapitops.plan.storage.database.sql.building.Sql;
+
+/**
+ * Table information about 'plan_hourly_rollup'.
+ * <p>
+ * Holds player count, playtime and session aggregates of each server for each (UTC) hour,
+ * so that hourly graphs and the punchcard do not need to group the sessions table.
+ * Sessions are counted in the hour they started in, new players in the hour they registered in.
+ * <p>
+ * Each bucket has a single row, new values are added to it with {@link #insertOrAddStatement(DBType)}.
+ *
+ * @author AuroraLS3
+ * @see RollupStateTable for which servers have rollups.
+ */
+public class HourlyRollupTable {
+
+    public static final String TABLE_NAME = "plan_hourly_rollup";
+
+    public static final String ID = "id";
+    public static final String SERVER_UUID = "server_uuid";
+    public static final String HOUR_START = "hour_start";
+    public static final String UNIQUE_PLAYERS = "unique_players";
+    public static final String NEW_PLAYERS = "new_players";
+    public static final String PLAYTIME = "playtime";
+    public static final String AFK_TIME = "afk_time";
+    public static final String SESSION_COUNT = "session_count";
+
+    public static final String INSERT_STATEMENT = "INSERT INTO " + TABLE_NAME + " (" +
+            SERVER_UUID + ',' +
+            HOUR_START + ',' +
+            UNIQUE_PLAYERS + ',' +
+            NEW_PLAYERS + ',' +
+            PLAYTIME + ',' +
+            AFK_TIME + ',' +
+            SESSION_COUNT +
+            ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private HourlyRollupTable() {
+        /* Static information class */
+    }
+
+    /**
+     * Insert statement that adds the values to the existing row of the bucket instead, if there is one.
+     *
+     * @param dbType Type of the database.
+     * @return SQL with the same parameters as INSERT_STATEMENT.
+     */
+    public static String insertOrAddStatement(DBType dbType) {
+        return INSERT_STATEMENT + dbType.getSql().onDuplicateKeyAdd(SERVER_UUID + ',' + HOUR_START,
+                UNIQUE_PLAYERS, NEW_PLAYERS, PLAYTIME, AFK_TIME, SESSION_COUNT);
+    }
+
+    public static String createTableSQL(DBType dbType) {
+        return CreateTableBuilder.create(TABLE_NAME, dbType)
+                .column(ID, Sql.INT).primaryKey()
+                .column(SERVER_UUID, Sql.varchar(36)).notNull()
+                .column(HOUR_START, Sql.LONG).notNull()
+                .column(UNIQUE_PLAYERS, Sql.INT).notNull()
+                .column(NEW_PLAYERS, Sql.INT).notNull()
+                .column(PLAYTIME, Sql.LONG).notNull()
+                .column(AFK_TIME, Sql.LONG).notNull()
+                .column(SESSION_COUNT, Sql.INT).notNull()
+                .uniqueKey(SERVER_UUID, HOUR_START)
+                .toString();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.sql.tables;
+
+import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.sql.building.CreateTableBuilder;
+import com.djrapitops.plan.storage.database.sql.building.Sql;
+
+/**
+ * Table information about 'plan_rollup_state'.
+ * <p>
+ * A row is added when {@link HourlyRollupTable} and {@link DailyRollupTable} have been filled for a server and timezone offset
+ * from the existing sessions. Rollups are only read and kept up to date for servers with a row,
+ * removing the rows makes the queries fall back to sessions until the rollups are filled again.
+ *
+ * @author AuroraLS3
+ */
+public class RollupStateTable {
+
+    public static final String TABLE_NAME = "plan_rollup_state";
+
+    public static final String ID = "id";
+    public static final String SERVER_UUID = "server_uuid";
+    public static final String TIMEZONE_OFFSET = "timezone_offset";
+    public static final String BACKFILLED = "backfilled";
+
+    public static final String INSERT_STATEMENT = "INSERT INTO " + TABLE_NAME + " (" +
+            SERVER_UUID + ',' +
+            TIMEZONE_OFFSET + ',' +
+            BACKFILLED +
+            ") VALUES (?, ?, ?)";
+
+    private RollupStateTable() {
+        /* Static information class */
+    }
+
+    public static String createTableSQL(DBType dbType) {
+        return CreateTableBuilder.create(TABLE_NAME, dbType)
+                .column(ID, Sql.INT).primaryKey()
+                .column(SERVER_UUID, Sql.varchar(36)).notNull()
+                .column(TIMEZONE_OFFSET, Sql.LONG).notNull()
+                .column(BACKFILLED, Sql.LONG).notNull()
+                .toString();
+    }
+}
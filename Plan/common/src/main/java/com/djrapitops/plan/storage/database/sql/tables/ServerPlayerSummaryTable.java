@@ -0,0 +1,87 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.sql.tables;
+
+import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.sql.building.CreateTableBuilder;
+import com.djrapitops.plan.storage.database.sql.building.Sql;
+import com.djrapitops.plan.storage.database.transactions.ServerPlayerSummaryTransaction;
+
+/**
+ * Table information about 'plan_server_player_summary'.
+ * <p>
+ * Holds the expensive to calculate values of /server page players table for each player of each server,
+ * so that the table can be read a page at a time. Rows are derived from plan_sessions, plan_geolocations and
+ * plan_activity_snapshots by {@link ServerPlayerSummaryTransaction}, and updated as sessions end by
+ * {@link com.djrapitops.plan.storage.database.transactions.UpdateServerPlayerSummaryTransaction}.
+ *
+ * @author AuroraLS3
+ */
+public class ServerPlayerSummaryTable {
+
+    public static final String TABLE_NAME = "plan_server_player_summary";
+
+    public static final String ID = "id";
+    public static final String USER_UUID = "uuid";
+    public static final String SERVER_UUID = "server_uuid";
+    public static final String ACTIVE_PLAYTIME = "active_playtime";
+    public static final String SESSION_COUNT = "session_count";
+    public static final String LAST_SEEN = "last_seen";
+    public static final String GEOLOCATION = "geolocation";
+    public static final String ACTIVITY_INDEX = "activity_index";
+    public static final String ACTIVITY_INDEX_DATE = "activity_index_date";
+    public static final String UPDATED = "updated";
+
+    public static final String INSERT_STATEMENT = "INSERT INTO " + TABLE_NAME + " (" +
+            USER_UUID + ',' +
+            SERVER_UUID + ',' +
+            ACTIVE_PLAYTIME + ',' +
+            SESSION_COUNT + ',' +
+            LAST_SEEN + ',' +
+            GEOLOCATION + ',' +
+            ACTIVITY_INDEX + ',' +
+            ACTIVITY_INDEX_DATE + ',' +
+            UPDATED +
+            ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Updated column is not changed, it tells when the sessions were last looked at.
+    public static final String SESSION_END_STATEMENT = "UPDATE " + TABLE_NAME + " SET " +
+            ACTIVE_PLAYTIME + '=' + ACTIVE_PLAYTIME + "+?," +
+            SESSION_COUNT + '=' + SESSION_COUNT + "+1," +
+            LAST_SEEN + "=CASE WHEN " + LAST_SEEN + "<? THEN ? ELSE " + LAST_SEEN + " END" +
+            Sql.WHERE + SERVER_UUID + "=?" +
+            Sql.AND + USER_UUID + "=?";
+
+    private ServerPlayerSummaryTable() {
+        /* Static information class */
+    }
+
+    public static String createTableSQL(DBType dbType) {
+        return CreateTableBuilder.create(TABLE_NAME, dbType)
+                .column(ID, Sql.INT).primaryKey()
+                .column(USER_UUID, Sql.varchar(36)).notNull()
+                .column(SERVER_UUID, Sql.varchar(36)).notNull()
+                .column(ACTIVE_PLAYTIME, Sql.LONG).notNull()
+                .column(SESSION_COUNT, Sql.INT).notNull()
+                .column(LAST_SEEN, Sql.LONG).notNull()
+                .column(GEOLOCATION, Sql.varchar(50)).notNull()
+                .column(ACTIVITY_INDEX, Sql.DOUBLE).notNull()
+                .column(ACTIVITY_INDEX_DATE, Sql.LONG).notNull()
+                .column(UPDATED, Sql.LONG).notNull()
+                .toString();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions;
+
+import com.djrapitops.plan.storage.database.queries.analysis.ActivitySnapshotQueries;
+import com.djrapitops.plan.storage.database.sql.tables.ActivitySnapshotTable;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Transaction that brings activity snapshots of a server up to date with its sessions.
+ * <p>
+ * Only the days since the latest snapshot are recalculated, the latest and the day before it are recalculated
+ * again to include sessions that ended after the previous run. On the first run snapshots are created
+ * for the whole time they are kept.
+ *
+ * @author AuroraLS3
+ */
+public class ActivitySnapshotTransaction extends ThrowawayTransaction {
+
+    private final UUID serverUUID;
+    private final long now;
+
+    public ActivitySnapshotTransaction(UUID serverUUID, long now) {
+        this.serverUUID = serverUUID;
+        this.now = now;
+    }
+
+    @Override
+    public Optional<Object> getPartitionKey() {
+        return Optional.of(ActivitySnapshotTable.TABLE_NAME);
+    }
+
+    @Override
+    protected void performOperations() {
+        long keepAfter = ActivitySnapshotQueries.toDay(now - ActivitySnapshotTable.KEEP_SNAPSHOTS_MS);
+        long updateAfter = query(ActivitySnapshotQueries.fetchLatestSnapshotDay(serverUUID))
+                .map(latestDay -> Math.max(keepAfter, latestDay - TimeUnit.DAYS.toMillis(1L)))
+                .orElse(keepAfter);
+
+        Map<UUID, Map<Long, Long>> playtimePerDay = query(ActivitySnapshotQueries.fetchDailyActivePlaytimeFromSessions(serverUUID, updateAfter));
+
+        execute(deleteSnapshots(WHERE + ActivitySnapshotTable.DATE + ">=?", updateAfter));
+        execute(deleteSnapshots(WHERE + ActivitySnapshotTable.DATE + "<?", keepAfter));
+        execute(storeSnapshots(playtimePerDay));
+    }
+
+    private Executable deleteSnapshots(String condition, long date) {
+        String sql = DELETE_FROM + ActivitySnapshotTable.TABLE_NAME + condition +
+                AND + ActivitySnapshotTable.SERVER_UUID + "=?";
+        return new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setLong(1, date);
+                statement.setString(2, serverUUID.toString());
+            }
+        };
+    }
+
+    private Executable storeSnapshots(Map<UUID, Map<Long, Long>> playtimePerDay) {
+        if (playtimePerDay.isEmpty()) return Executable.empty();
+        return new ExecBatchStatement(ActivitySnapshotTable.INSERT_STATEMENT) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (Map.Entry<UUID, Map<Long, Long>> ofPlayer : playtimePerDay.entrySet()) {
+                    String playerUUID = ofPlayer.getKey().toString();
+                    for (Map.Entry<Long, Long> ofDay : ofPlayer.getValue().entrySet()) {
+                        statement.setString(1, playerUUID);
+                        statement.setString(2, serverUUID.toString());
+                        statement.setLong(3, ofDay.getKey());
+                        statement.setLong(4, ofDay.getValue());
+                        statement.addBatch();
+                    }
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions;
+
+import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.queries.analysis.RollupQueries;
+import com.djrapitops.plan.storage.database.sql.tables.DailyRollupTable;
+import com.djrapitops.plan.storage.database.sql.tables.HourlyRollupTable;
+import com.djrapitops.plan.storage.database.sql.tables.RollupStateTable;
+import com.djrapitops.plan.storage.database.sql.tables.ServerTable;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Transaction that fills the hourly and daily rollups of a server from existing sessions and registrations.
+ * <p>
+ * Previous rollups of the server are replaced, including days of other timezone offsets,
+ * so that only the current offset is kept up to date afterwards by {@link UpdateRollupsTransaction}.
+ * <p>
+ * Sessions are read outside the transaction, so other transactions that change the rollups of the server
+ * take the lock given by {@link #lockRollupsOfServer(DBType, UUID)} to wait until the backfill is done, and the backfill waits for them.
+ *
+ * @author AuroraLS3
+ */
+public class RollupBackfillTransaction extends ThrowawayTransaction {
+
+    private final UUID serverUUID;
+    private final long timeZoneOffset;
+    private final long now;
+
+    public RollupBackfillTransaction(UUID serverUUID, long timeZoneOffset, long now) {
+        this.serverUUID = serverUUID;
+        this.timeZoneOffset = timeZoneOffset;
+        this.now = now;
+    }
+
+    @Override
+    public Optional<Object> getPartitionKey() {
+        return Optional.of(RollupStateTable.TABLE_NAME);
+    }
+
+    /**
+     * Lock the rollups of a server until the end of the transaction.
+     * <p>
+     * Only MySQL runs transactions on multiple writers at the same time, so other databases are not locked.
+     *
+     * @param dbType     Type of the database.
+     * @param serverUUID UUID of the server.
+     * @return Executable that locks the row of the server in {@link ServerTable}, which exists even before the first backfill.
+     */
+    public static Executable lockRollupsOfServer(DBType dbType, UUID serverUUID) {
+        if (dbType != DBType.MYSQL) return Executable.empty();
+        String sql = SELECT + ServerTable.SERVER_ID +
+                FROM + ServerTable.TABLE_NAME +
+                WHERE + ServerTable.SERVER_UUID + "=?" +
+                " FOR UPDATE";
+        return new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+            }
+        };
+    }
+
+    @Override
+    protected void performOperations() {
+        // Sessions that are being stored are either included in the buckets or added to them after the backfill.
+        execute(lockRollupsOfServer(dbType, serverUUID));
+        NavigableMap<Long, RollupQueries.Bucket> hourly = query(RollupQueries.calculateBuckets(serverUUID, RollupQueries.HOUR_MS, 0L));
+        NavigableMap<Long, RollupQueries.Bucket> daily = query(RollupQueries.calculateBuckets(serverUUID, RollupQueries.DAY_MS, timeZoneOffset));
+
+        execute(deleteRowsOfServer(RollupStateTable.TABLE_NAME, RollupStateTable.SERVER_UUID));
+        execute(deleteRowsOfServer(HourlyRollupTable.TABLE_NAME, HourlyRollupTable.SERVER_UUID));
+        execute(deleteRowsOfServer(DailyRollupTable.TABLE_NAME, DailyRollupTable.SERVER_UUID));
+        execute(storeHourly(hourly));
+        execute(storeDaily(daily));
+        execute(storeState());
+    }
+
+    private Executable deleteRowsOfServer(String tableName, String serverUUIDColumn) {
+        return new ExecStatement(DELETE_FROM + tableName + WHERE + serverUUIDColumn + "=?") {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+            }
+        };
+    }
+
+    private Executable storeHourly(NavigableMap<Long, RollupQueries.Bucket> buckets) {
+        if (buckets.isEmpty()) return Executable.empty();
+        return new ExecBatchStatement(HourlyRollupTable.INSERT_STATEMENT) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (Map.Entry<Long, RollupQueries.Bucket> entry : buckets.entrySet()) {
+                    RollupQueries.Bucket bucket = entry.getValue();
+                    statement.setString(1, serverUUID.toString());
+                    statement.setLong(2, entry.getKey());
+                    statement.setInt(3, bucket.uniquePlayers);
+                    statement.setInt(4, bucket.newPlayers);
+                    statement.setLong(5, bucket.playtime);
+                    statement.setLong(6, bucket.afkTime);
+                    statement.setInt(7, bucket.sessionCount);
+                    statement.addBatch();
+                }
+            }
+        };
+    }
+
+    private Executable storeDaily(NavigableMap<Long, RollupQueries.Bucket> buckets) {
+        if (buckets.isEmpty()) return Executable.empty();
+        return new ExecBatchStatement(DailyRollupTable.INSERT_STATEMENT) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (Map.Entry<Long, RollupQueries.Bucket> entry : buckets.entrySet()) {
+                    RollupQueries.Bucket bucket = entry.getValue();
+                    statement.setString(1, serverUUID.toString());
+                    statement.setLong(2, timeZoneOffset);
+                    statement.setLong(3, entry.getKey());
+                    statement.setInt(4, bucket.uniquePlayers);
+                    statement.setInt(5, bucket.newPlayers);
+                    statement.setLong(6, bucket.playtime);
+                    statement.setLong(7, bucket.afkTime);
+                    statement.setInt(8, bucket.sessionCount);
+                    statement.addBatch();
+                }
+            }
+        };
+    }
+
+    private Executable storeState() {
+        return new ExecStatement(RollupStateTable.INSERT_STATEMENT) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                statement.setLong(2, timeZoneOffset);
+                statement.setLong(3, now);
+            }
+        };
+    }
+}
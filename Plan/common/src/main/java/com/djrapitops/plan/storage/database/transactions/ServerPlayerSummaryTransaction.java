@@ -0,0 +1,141 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions;
+
+import com.djrapitops.plan.delivery.domain.TablePlayer;
+import com.djrapitops.plan.delivery.domain.mutators.ActivityIndex;
+import com.djrapitops.plan.storage.database.queries.analysis.ActivitySnapshotQueries;
+import com.djrapitops.plan.storage.database.queries.objects.playertable.ServerPlayerSummaryQueries;
+import com.djrapitops.plan.storage.database.sql.tables.ActivitySnapshotTable;
+import com.djrapitops.plan.storage.database.sql.tables.ServerPlayerSummaryTable;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Transaction that brings the players table summary of a server up to date with its sessions.
+ * <p>
+ * Only players that have had sessions end or have registered since the previous update are recalculated.
+ * Activity index of the rest of the players changes only when the day changes, so it is recalculated
+ * for everyone once a day. On the first run the summary is created for all players of the server.
+ *
+ * @author AuroraLS3
+ */
+public class ServerPlayerSummaryTransaction extends ThrowawayTransaction {
+
+    // Sessions are stored a moment after they end, so the end of the previous update is looked at again.
+    private static final long OVERLAP_MS = TimeUnit.MINUTES.toMillis(5L);
+
+    private final UUID serverUUID;
+    private final long now;
+    private final long activeMsThreshold;
+
+    public ServerPlayerSummaryTransaction(UUID serverUUID, long now, long activeMsThreshold) {
+        this.serverUUID = serverUUID;
+        this.now = now;
+        this.activeMsThreshold = activeMsThreshold;
+    }
+
+    @Override
+    public Optional<Object> getPartitionKey() {
+        // Executed after ActivitySnapshotTransaction, since activity indexes are calculated from the snapshots.
+        return Optional.of(ActivitySnapshotTable.TABLE_NAME);
+    }
+
+    @Override
+    protected void performOperations() {
+        Optional<Long> lastUpdate = query(ServerPlayerSummaryQueries.fetchLatestUpdate(serverUUID));
+        Long changedAfter = lastUpdate.map(updated -> updated - OVERLAP_MS).orElse(null);
+        boolean dayChanged = lastUpdate
+                .map(updated -> ActivitySnapshotQueries.toDay(updated) < ActivitySnapshotQueries.toDay(now))
+                .orElse(true);
+
+        List<TablePlayer> summaries = query(ServerPlayerSummaryQueries.fetchSummariesFromSessions(serverUUID, changedAfter));
+        if (summaries.isEmpty() && !dayChanged) return;
+
+        Map<UUID, ActivityIndex> activityIndexes = query(ActivitySnapshotQueries.activityIndexForPlayersOf(serverUUID, now, activeMsThreshold));
+        execute(deleteSummaries(changedAfter));
+        execute(storeSummaries(summaries, activityIndexes));
+        if (dayChanged && changedAfter != null) {
+            execute(updateActivityIndexes(activityIndexes));
+        }
+    }
+
+    private Executable deleteSummaries(Long changedAfter) {
+        String sql = DELETE_FROM + ServerPlayerSummaryTable.TABLE_NAME +
+                WHERE + ServerPlayerSummaryTable.SERVER_UUID + "=?" +
+                (changedAfter != null ? AND + ServerPlayerSummaryTable.USER_UUID + " IN (" + ServerPlayerSummaryQueries.selectPlayersChangedAfterSQL() + ')' : "");
+        return new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                if (changedAfter != null) {
+                    ServerPlayerSummaryQueries.setPlayersChangedAfterParameters(statement, 2, serverUUID, changedAfter);
+                }
+            }
+        };
+    }
+
+    private Executable storeSummaries(List<TablePlayer> summaries, Map<UUID, ActivityIndex> activityIndexes) {
+        if (summaries.isEmpty()) return Executable.empty();
+        return new ExecBatchStatement(ServerPlayerSummaryTable.INSERT_STATEMENT) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (TablePlayer summary : summaries) {
+                    ActivityIndex activityIndex = activityIndexes.getOrDefault(summary.getPlayerUUID(), new ActivityIndex(0.0, now));
+                    statement.setString(1, summary.getPlayerUUID().toString());
+                    statement.setString(2, serverUUID.toString());
+                    statement.setLong(3, summary.getActivePlaytime().orElse(0L));
+                    statement.setInt(4, summary.getSessionCount().orElse(0));
+                    statement.setLong(5, summary.getLastSeen().orElse(0L));
+                    statement.setString(6, summary.getGeolocation().orElse("-"));
+                    statement.setDouble(7, activityIndex.getValue());
+                    statement.setLong(8, activityIndex.getDate());
+                    statement.setLong(9, now);
+                    statement.addBatch();
+                }
+            }
+        };
+    }
+
+    private Executable updateActivityIndexes(Map<UUID, ActivityIndex> activityIndexes) {
+        if (activityIndexes.isEmpty()) return Executable.empty();
+        String sql = "UPDATE " + ServerPlayerSummaryTable.TABLE_NAME + " SET " +
+                ServerPlayerSummaryTable.ACTIVITY_INDEX + "=?," +
+                ServerPlayerSummaryTable.ACTIVITY_INDEX_DATE + "=?," +
+                ServerPlayerSummaryTable.UPDATED + "=?" +
+                WHERE + ServerPlayerSummaryTable.SERVER_UUID + "=?" +
+                AND + ServerPlayerSummaryTable.USER_UUID + "=?";
+        return new ExecBatchStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (Map.Entry<UUID, ActivityIndex> entry : activityIndexes.entrySet()) {
+                    statement.setDouble(1, entry.getValue().getValue());
+                    statement.setLong(2, entry.getValue().getDate());
+                    statement.setLong(3, now);
+                    statement.setString(4, serverUUID.toString());
+                    statement.setString(5, entry.getKey().toString());
+                    statement.addBatch();
+                }
+            }
+        };
+    }
+}
@@ -17,16 +17,19 @@
 package com.djrapitops.plan.storage.database.transactions;
 
 import com.djrapitops.plan.exceptions.database.DBOpException;
+import com.djrapitops.plan.exceptions.database.FatalDBException;
 import com.djrapitops.plan.storage.database.DBType;
 import com.djrapitops.plan.storage.database.Database;
 import com.djrapitops.plan.storage.database.SQLDB;
 import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plan.storage.database.queries.QueryStatement;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plugin.api.TimeAmount;
 import com.djrapitops.plugin.task.AbsRunnable;
 import com.djrapitops.plugin.utilities.Verify;
 
 import java.sql.*;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -87,6 +90,10 @@ public abstract class Transaction {
             success = true;
         } catch (SQLException statementFail) {
             manageFailure(statementFail); // Throws a DBOpException.
+        } catch (DBOpException statementFail) {
+            // Statements throw DBOpException, changes made before the failure would be committed by the next transaction.
+            rollbackTransaction();
+            throw statementFail;
         } finally {
             db.returnToPool(connection);
         }
@@ -135,7 +142,12 @@ public abstract class Transaction {
         String rollbackStatusMsg = ", Transaction was rolled back.";
         boolean hasNoSavepoints = !SUPPORTS_SAVE_POINTS.get();
         if (hasNoSavepoints) {
-            rollbackStatusMsg = ", additionally rollbacks are not supported on this server version.";
+            // Everything that is not committed on the connection belongs to this transaction.
+            try {
+                if (connection != null) connection.rollback();
+            } catch (SQLException rollbackFail) {
+                rollbackStatusMsg = ", additionally Transaction rollback failed: " + rollbackFail.getMessage();
+            }
         } else {
             // Rollbacks are supported.
             try {
@@ -161,6 +173,32 @@ public abstract class Transaction {
         return true;
     }
 
+    /**
+     * Override this method to allow executing the transaction in parallel with other transactions.
+     * <p>
+     * When the database has multiple writer threads, transactions with the same key are executed in the order they
+     * were given to the database. Transactions without a key are executed in order with each other on the first writer.
+     * Only return a key if the transaction does not depend on keyless transactions given right before it,
+     * or override {@link #isOrderedAfterKeylessTransactions()}.
+     *
+     * @return Key to order the transaction by, like the UUID of the player the data belongs to.
+     */
+    public Optional<Object> getPartitionKey() {
+        return Optional.empty();
+    }
+
+    /**
+     * Override this method if a transaction with a partition key needs data stored by keyless transactions.
+     * <p>
+     * The transaction waits on its writer until the keyless transactions given before it have been executed,
+     * including buffered events.
+     *
+     * @return true if the transaction should be executed after keyless transactions given before it.
+     */
+    public boolean isOrderedAfterKeylessTransactions() {
+        return false;
+    }
+
     /**
      * Implement this method for transaction execution.
      */
@@ -194,10 +232,60 @@ public abstract class Transaction {
         }
     }
 
+    /**
+     * Perform operations so that if they fail, only their changes are rolled back.
+     * <p>
+     * Use for operations that the transaction can recover from, like storing the same data another way.
+     *
+     * @param operations Operations that execute statements of this transaction.
+     * @return Failure of the operations, or empty if they succeeded.
+     * @throws DBOpException If the operations failed and the changes could not be rolled back separately.
+     */
+    protected Optional<DBOpException> performInSavepoint(Runnable operations) {
+        Savepoint operationsStart = null;
+        if (SUPPORTS_SAVE_POINTS.get()) {
+            try {
+                operationsStart = connection.setSavepoint();
+            } catch (SQLException e) {
+                throw new DBOpException(getClass().getSimpleName() + " savepoint failed: " + e.getMessage(), e);
+            }
+        }
+        try {
+            operations.run();
+            return Optional.empty();
+        } catch (DBOpException failed) {
+            if (operationsStart == null || failed instanceof FatalDBException) throw failed;
+            try {
+                connection.rollback(operationsStart);
+            } catch (SQLException rollbackFail) {
+                failed.addSuppressed(rollbackFail);
+                throw failed;
+            }
+            return Optional.of(failed);
+        }
+    }
+
     protected <T> T query(Query<T> query) {
         return query.executeQuery(db);
     }
 
+    /**
+     * Run a query on the connection of this transaction, unlike {@link #query(Query)}.
+     * <p>
+     * Use when the query needs to see the changes made by the transaction so far.
+     *
+     * @param query Query to run.
+     * @param <T>   Type of the result.
+     * @return Result of the query.
+     */
+    protected <T> T queryInTransaction(QueryStatement<T> query) {
+        try (PreparedStatement statement = connection.prepareStatement(query.getSql())) {
+            return query.executeQuery(statement);
+        } catch (SQLException e) {
+            throw DBOpException.forCause(query.getSql(), e);
+        }
+    }
+
     protected boolean execute(Executable executable) {
         return executable.execute(connection);
     }
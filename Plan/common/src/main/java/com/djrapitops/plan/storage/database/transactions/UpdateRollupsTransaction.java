@@ -0,0 +1,172 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions;
+
+import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
+import com.djrapitops.plan.gathering.domain.Session;
+import com.djrapitops.plan.storage.database.queries.analysis.RollupQueries;
+import com.djrapitops.plan.storage.database.sql.tables.DailyRollupTable;
+import com.djrapitops.plan.storage.database.sql.tables.HourlyRollupTable;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Transaction that adds ended sessions or a registration to the hourly and daily rollups.
+ * <p>
+ * Meant to be executed inside the transaction that stored the sessions or registration with executeOther,
+ * after the sessions are stored. Servers that do not have rollups yet are skipped,
+ * {@link RollupBackfillTransaction} includes everything when it fills them.
+ * <p>
+ * Sessions are summed to buckets first, and each bucket is updated once. Values are added to the existing bucket row
+ * in the same statement that inserts it, so that concurrent writers do not overwrite each other's changes.
+ * The rollups of each server are locked against a concurrent {@link RollupBackfillTransaction} before they are read.
+ *
+ * @author AuroraLS3
+ */
+public class UpdateRollupsTransaction extends Transaction {
+
+    private final Collection<Session> sessions;
+    private final UUID registeredOn;
+    private final long registered;
+
+    private final Map<UUID, List<Long>> timeZoneOffsets;
+
+    private UpdateRollupsTransaction(Collection<Session> sessions, UUID registeredOn, long registered) {
+        this.sessions = sessions;
+        this.registeredOn = registeredOn;
+        this.registered = registered;
+        timeZoneOffsets = new HashMap<>();
+    }
+
+    public static UpdateRollupsTransaction sessionsEnded(Collection<Session> sessions) {
+        return new UpdateRollupsTransaction(sessions, null, 0L);
+    }
+
+    public static UpdateRollupsTransaction playerRegistered(UUID serverUUID, long registered) {
+        return new UpdateRollupsTransaction(Collections.emptyList(), serverUUID, registered);
+    }
+
+    @Override
+    protected void performOperations() {
+        Map<UUID, List<Session>> sessionsByServer = new HashMap<>();
+        for (Session session : sessions) {
+            sessionsByServer.computeIfAbsent(session.getUnsafe(SessionKeys.SERVER_UUID), key -> new ArrayList<>()).add(session);
+        }
+        for (Map.Entry<UUID, List<Session>> sessionsOfServer : sessionsByServer.entrySet()) {
+            addSessions(sessionsOfServer.getKey(), sessionsOfServer.getValue());
+        }
+        if (registeredOn != null) {
+            addRegistration();
+        }
+    }
+
+    private List<Long> getTimeZoneOffsets(UUID serverUUID) {
+        return timeZoneOffsets.computeIfAbsent(serverUUID, key -> {
+            // Waits for a backfill of the server, which might not include the stored sessions or registration.
+            execute(RollupBackfillTransaction.lockRollupsOfServer(dbType, key));
+            return queryInTransaction(RollupQueries.fetchRolledUpTimeZoneOffsets(key));
+        });
+    }
+
+    private void addSessions(UUID serverUUID, List<Session> sessionsOfServer) {
+        List<Long> offsets = getTimeZoneOffsets(serverUUID);
+        if (offsets.isEmpty()) return;
+
+        for (Map.Entry<Long, RollupQueries.Bucket> hour : sumToBuckets(serverUUID, sessionsOfServer, RollupQueries.HOUR_MS, 0L).entrySet()) {
+            addToHour(serverUUID, hour.getKey(), hour.getValue());
+        }
+        for (Long offset : offsets) {
+            for (Map.Entry<Long, RollupQueries.Bucket> day : sumToBuckets(serverUUID, sessionsOfServer, RollupQueries.DAY_MS, offset).entrySet()) {
+                addToDay(serverUUID, offset, day.getKey(), day.getValue());
+            }
+        }
+    }
+
+    private Map<Long, RollupQueries.Bucket> sumToBuckets(UUID serverUUID, List<Session> sessionsOfServer, long bucketMs, long timeZoneOffset) {
+        Map<Long, RollupQueries.Bucket> buckets = new TreeMap<>();
+        Map<Long, Map<UUID, Integer>> sessionCountsOfPlayers = new HashMap<>();
+        for (Session session : sessionsOfServer) {
+            long start = session.getUnsafe(SessionKeys.START);
+            long bucketStart = start + timeZoneOffset - Math.floorMod(start + timeZoneOffset, bucketMs);
+
+            RollupQueries.Bucket increment = buckets.computeIfAbsent(bucketStart, key -> new RollupQueries.Bucket());
+            increment.playtime += session.getUnsafe(SessionKeys.END) - start;
+            increment.afkTime += session.getValue(SessionKeys.AFK_TIME).orElse(0L);
+            increment.sessionCount++;
+            sessionCountsOfPlayers.computeIfAbsent(bucketStart, key -> new HashMap<>())
+                    .merge(session.getUnsafe(SessionKeys.UUID), 1, Integer::sum);
+        }
+
+        for (Map.Entry<Long, Map<UUID, Integer>> bucket : sessionCountsOfPlayers.entrySet()) {
+            long bucketStart = bucket.getKey() - timeZoneOffset;
+            Map<UUID, Integer> storedCounts = queryInTransaction(RollupQueries.fetchSessionCountsOfPlayersInBucket(serverUUID, bucketStart, bucketStart + bucketMs));
+            // The sessions are already stored, so a player is new to the bucket only if all their sessions in it are in this batch.
+            RollupQueries.Bucket increment = buckets.get(bucket.getKey());
+            for (Map.Entry<UUID, Integer> countInBatch : bucket.getValue().entrySet()) {
+                if (countInBatch.getValue().equals(storedCounts.get(countInBatch.getKey()))) {
+                    increment.uniquePlayers++;
+                }
+            }
+        }
+        return buckets;
+    }
+
+    private void addRegistration() {
+        List<Long> offsets = getTimeZoneOffsets(registeredOn);
+        if (offsets.isEmpty()) return;
+
+        RollupQueries.Bucket increment = new RollupQueries.Bucket();
+        increment.newPlayers = 1;
+        addToHour(registeredOn, RollupQueries.toHourStart(registered), increment);
+        for (Long offset : offsets) {
+            addToDay(registeredOn, offset, RollupQueries.toDayStart(registered, offset), increment);
+        }
+    }
+
+    private void addToHour(UUID serverUUID, long hour, RollupQueries.Bucket increment) {
+        execute(new ExecStatement(HourlyRollupTable.insertOrAddStatement(dbType)) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                statement.setLong(2, hour);
+                setIncrement(statement, 3, increment);
+            }
+        });
+    }
+
+    private void addToDay(UUID serverUUID, long timeZoneOffset, long day, RollupQueries.Bucket increment) {
+        execute(new ExecStatement(DailyRollupTable.insertOrAddStatement(dbType)) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                statement.setLong(2, timeZoneOffset);
+                statement.setLong(3, day);
+                setIncrement(statement, 4, increment);
+            }
+        });
+    }
+
+    private static void setIncrement(PreparedStatement statement, int firstIndex, RollupQueries.Bucket increment) throws SQLException {
+        statement.setInt(firstIndex, increment.uniquePlayers);
+        statement.setInt(firstIndex + 1, increment.newPlayers);
+        statement.setLong(firstIndex + 2, increment.playtime);
+        statement.setLong(firstIndex + 3, increment.afkTime);
+        statement.setInt(firstIndex + 4, increment.sessionCount);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions;
+
+import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
+import com.djrapitops.plan.gathering.domain.Session;
+import com.djrapitops.plan.storage.database.sql.tables.ServerPlayerSummaryTable;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+
+/**
+ * Transaction that adds ended sessions to the players table summary, so that the table does not wait for the next
+ * {@link ServerPlayerSummaryTransaction}.
+ * <p>
+ * Meant to be executed inside the transaction that stored the sessions with executeOther, after the sessions are stored.
+ * Only existing rows are updated, players without a row (eg. new players) are added by the next {@link ServerPlayerSummaryTransaction}.
+ *
+ * @author AuroraLS3
+ */
+public class UpdateServerPlayerSummaryTransaction extends Transaction {
+
+    private final Collection<Session> sessions;
+
+    private UpdateServerPlayerSummaryTransaction(Collection<Session> sessions) {
+        this.sessions = sessions;
+    }
+
+    public static UpdateServerPlayerSummaryTransaction sessionsEnded(Collection<Session> sessions) {
+        return new UpdateServerPlayerSummaryTransaction(sessions);
+    }
+
+    @Override
+    protected void performOperations() {
+        if (sessions.isEmpty()) return;
+        execute(new ExecBatchStatement(ServerPlayerSummaryTable.SESSION_END_STATEMENT) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (Session session : sessions) {
+                    long end = session.getUnsafe(SessionKeys.END);
+                    long afkTime = session.getValue(SessionKeys.AFK_TIME).orElse(0L);
+                    statement.setLong(1, end - session.getUnsafe(SessionKeys.START) - afkTime);
+                    statement.setLong(2, end);
+                    statement.setLong(3, end);
+                    statement.setString(4, session.getUnsafe(SessionKeys.SERVER_UUID).toString());
+                    statement.setString(5, session.getUnsafe(SessionKeys.UUID).toString());
+                    statement.addBatch();
+                }
+            }
+        });
+    }
+}
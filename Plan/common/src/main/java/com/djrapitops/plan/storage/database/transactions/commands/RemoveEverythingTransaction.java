@@ -40,6 +40,11 @@ public class RemoveEverythingTransaction extends ThrowawayTransaction {
         clearTable(SessionsTable.TABLE_NAME);
         clearTable(WorldTable.TABLE_NAME);
         clearTable(PingTable.TABLE_NAME);
+        clearTable(ActivitySnapshotTable.TABLE_NAME);
+        clearTable(ServerPlayerSummaryTable.TABLE_NAME);
+        clearTable(RollupStateTable.TABLE_NAME);
+        clearTable(HourlyRollupTable.TABLE_NAME);
+        clearTable(DailyRollupTable.TABLE_NAME);
         clearTable(UserInfoTable.TABLE_NAME);
         clearTable(UsersTable.TABLE_NAME);
         clearTable(TPSTable.TABLE_NAME);
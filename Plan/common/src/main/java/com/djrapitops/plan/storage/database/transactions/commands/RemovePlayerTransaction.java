@@ -17,12 +17,16 @@
 package com.djrapitops.plan.storage.database.transactions.commands;
 
 import com.djrapitops.plan.storage.database.queries.PlayerFetchQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.RollupQueries;
 import com.djrapitops.plan.storage.database.sql.tables.*;
 import com.djrapitops.plan.storage.database.transactions.ExecStatement;
+import com.djrapitops.plan.storage.database.transactions.RollupBackfillTransaction;
 import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
@@ -45,9 +49,15 @@ public class RemovePlayerTransaction extends ThrowawayTransaction {
         return playerUUID != null;
     }
 
+    @Override
+    public Optional<Object> getPartitionKey() {
+        return Optional.of(playerUUID);
+    }
+
     @Override
     protected void performOperations() {
         query(PlayerFetchQueries.playerUserName(playerUUID)).ifPresent(this::deleteWebUser);
+        Set<UUID> serversOfPlayer = query(RollupQueries.fetchServersOfPlayer(playerUUID));
 
         deleteFromTable(GeoInfoTable.TABLE_NAME);
         deleteFromTable(NicknamesTable.TABLE_NAME);
@@ -55,12 +65,30 @@ public class RemovePlayerTransaction extends ThrowawayTransaction {
         deleteFromTable(WorldTimesTable.TABLE_NAME);
         deleteFromTable(SessionsTable.TABLE_NAME);
         deleteFromTable(PingTable.TABLE_NAME);
+        deleteFromTable(ActivitySnapshotTable.TABLE_NAME);
+        deleteFromTable(ServerPlayerSummaryTable.TABLE_NAME);
         deleteFromTable(UserInfoTable.TABLE_NAME);
         deleteFromTable(UsersTable.TABLE_NAME);
 
         deleteFromTable(ExtensionPlayerTableValueTable.TABLE_NAME);
         deleteFromTable(ExtensionPlayerValueTable.TABLE_NAME);
         deleteFromTable(ExtensionGroupsTable.TABLE_NAME);
+
+        // Rollups of these servers no longer match the sessions, they are filled again by the backfill task.
+        // Servers without rollups are included in case their backfill is ongoing.
+        for (UUID serverUUID : serversOfPlayer) {
+            deleteRollupState(serverUUID);
+        }
+    }
+
+    private void deleteRollupState(UUID serverUUID) {
+        execute(RollupBackfillTransaction.lockRollupsOfServer(dbType, serverUUID));
+        execute(new ExecStatement(DELETE_FROM + RollupStateTable.TABLE_NAME + WHERE + RollupStateTable.SERVER_UUID + "=?") {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+            }
+        });
     }
 
     private void deleteWebUser(String username) {
@@ -24,6 +24,7 @@ import com.djrapitops.plan.storage.database.transactions.Transaction;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.BooleanSupplier;
 
@@ -34,6 +35,10 @@ import java.util.function.BooleanSupplier;
  */
 public class BanStatusTransaction extends Transaction {
 
+    static final String UPDATE_STATEMENT = Update.values(UserInfoTable.TABLE_NAME, UserInfoTable.BANNED)
+            .where(UserInfoTable.USER_UUID + "=?")
+            .toString();
+
     private final UUID playerUUID;
     private final BooleanSupplier banStatus;
 
@@ -42,22 +47,27 @@ public class BanStatusTransaction extends Transaction {
         this.banStatus = banStatus;
     }
 
+    @Override
+    public Optional<Object> getPartitionKey() {
+        return Optional.of(playerUUID);
+    }
+
     @Override
     protected void performOperations() {
         execute(updateBanStatus());
     }
 
     private Executable updateBanStatus() {
-        String sql = Update.values(UserInfoTable.TABLE_NAME, UserInfoTable.BANNED)
-                .where(UserInfoTable.USER_UUID + "=?")
-                .toString();
-
-        return new ExecStatement(sql) {
+        return new ExecStatement(UPDATE_STATEMENT) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setBoolean(1, banStatus.getAsBoolean());
-                statement.setString(2, playerUUID.toString());
+                prepareUpdate(statement);
             }
         };
     }
+
+    void prepareUpdate(PreparedStatement statement) throws SQLException {
+        statement.setBoolean(1, banStatus.getAsBoolean());
+        statement.setString(2, playerUUID.toString());
+    }
 }
\ No newline at end of file
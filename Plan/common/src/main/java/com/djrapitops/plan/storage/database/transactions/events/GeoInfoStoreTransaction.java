@@ -21,6 +21,7 @@ import com.djrapitops.plan.storage.database.queries.DataStoreQueries;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
 
 import java.net.InetAddress;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.UnaryOperator;
 
@@ -69,9 +70,23 @@ public class GeoInfoStoreTransaction extends Transaction {
     }
 
     @Override
-    protected void performOperations() {
+    public Optional<Object> getPartitionKey() {
+        return Optional.of(playerUUID);
+    }
+
+    UUID getPlayerUUID() {
+        return playerUUID;
+    }
+
+    GeoInfo getGeoInfo() {
         if (geoInfo == null) geoInfo = createGeoInfo();
-        if (geoInfo.getGeolocation() == null) return; // Don't save null geolocation.
-        execute(DataStoreQueries.storeGeoInfo(playerUUID, geoInfo));
+        return geoInfo;
+    }
+
+    @Override
+    protected void performOperations() {
+        GeoInfo info = getGeoInfo();
+        if (info.getGeolocation() == null) return; // Don't save null geolocation.
+        execute(DataStoreQueries.storeGeoInfo(playerUUID, info));
     }
 }
\ No newline at end of file
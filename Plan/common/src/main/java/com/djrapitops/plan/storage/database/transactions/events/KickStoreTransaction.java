@@ -22,6 +22,7 @@ import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Optional;
 import java.util.UUID;
 
 import static com.djrapitops.plan.storage.database.sql.building.Sql.WHERE;
@@ -39,6 +40,17 @@ public class KickStoreTransaction extends ThrowawayTransaction {
         this.playerUUID = playerUUID;
     }
 
+    @Override
+    public Optional<Object> getPartitionKey() {
+        return Optional.of(playerUUID);
+    }
+
+    @Override
+    public boolean isOrderedAfterKeylessTransactions() {
+        // Registration of the player might be buffered.
+        return true;
+    }
+
     @Override
     protected void performOperations() {
         String sql = "UPDATE " + UsersTable.TABLE_NAME + " SET "
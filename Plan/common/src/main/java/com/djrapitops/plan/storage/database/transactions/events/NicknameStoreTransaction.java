@@ -20,6 +20,7 @@ import com.djrapitops.plan.delivery.domain.Nickname;
 import com.djrapitops.plan.storage.database.queries.DataStoreQueries;
 import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
 
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.BiPredicate;
 
@@ -45,6 +46,19 @@ public class NicknameStoreTransaction extends ThrowawayTransaction {
         return !isNicknameCachedCheck.test(playerUUID, nickname.getName());
     }
 
+    UUID getPlayerUUID() {
+        return playerUUID;
+    }
+
+    Nickname getNickname() {
+        return nickname;
+    }
+
+    @Override
+    public Optional<Object> getPartitionKey() {
+        return Optional.of(playerUUID);
+    }
+
     @Override
     protected void performOperations() {
         execute(DataStoreQueries.storePlayerNickname(playerUUID, nickname));
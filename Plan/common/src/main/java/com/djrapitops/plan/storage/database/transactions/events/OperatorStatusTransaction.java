@@ -24,6 +24,7 @@ import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -33,6 +34,10 @@ import java.util.UUID;
  */
 public class OperatorStatusTransaction extends ThrowawayTransaction {
 
+    static final String UPDATE_STATEMENT = Update.values(UserInfoTable.TABLE_NAME, UserInfoTable.OP)
+            .where(UserInfoTable.USER_UUID + "=?")
+            .toString();
+
     private final UUID playerUUID;
     private final boolean operatorStatus;
 
@@ -41,22 +46,27 @@ public class OperatorStatusTransaction extends ThrowawayTransaction {
         this.operatorStatus = operatorStatus;
     }
 
+    @Override
+    public Optional<Object> getPartitionKey() {
+        return Optional.of(playerUUID);
+    }
+
     @Override
     protected void performOperations() {
         execute(updateOperatorStatus());
     }
 
     private Executable updateOperatorStatus() {
-        String sql = Update.values(UserInfoTable.TABLE_NAME, UserInfoTable.OP)
-                .where(UserInfoTable.USER_UUID + "=?")
-                .toString();
-
-        return new ExecStatement(sql) {
+        return new ExecStatement(UPDATE_STATEMENT) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setBoolean(1, operatorStatus);
-                statement.setString(2, playerUUID.toString());
+                prepareUpdate(statement);
             }
         };
     }
+
+    void prepareUpdate(PreparedStatement statement) throws SQLException {
+        statement.setBoolean(1, operatorStatus);
+        statement.setString(2, playerUUID.toString());
+    }
 }
\ No newline at end of file
@@ -25,6 +25,7 @@ import com.djrapitops.plan.utilities.analysis.Median;
 import com.djrapitops.plan.utilities.java.Lists;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -44,6 +45,11 @@ public class PingStoreTransaction extends Transaction {
         this.pingList = pingList;
     }
 
+    @Override
+    public Optional<Object> getPartitionKey() {
+        return Optional.of(playerUUID);
+    }
+
     @Override
     protected void performOperations() {
         Ping ping = calculateAggregatePing();
@@ -18,6 +18,7 @@ package com.djrapitops.plan.storage.database.transactions.events;
 
 import com.djrapitops.plan.storage.database.queries.DataStoreQueries;
 import com.djrapitops.plan.storage.database.queries.PlayerFetchQueries;
+import com.djrapitops.plan.storage.database.transactions.UpdateRollupsTransaction;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -43,6 +44,7 @@ public class PlayerServerRegisterTransaction extends PlayerRegisterTransaction {
         long registerDate = registered.getAsLong();
         if (Boolean.FALSE.equals(query(PlayerFetchQueries.isPlayerRegisteredOnServer(playerUUID, serverUUID)))) {
             execute(DataStoreQueries.registerUserInfo(playerUUID, registerDate, serverUUID));
+            executeOther(UpdateRollupsTransaction.playerRegistered(serverUUID, registerDate));
         }
 
         // Updates register date to smallest possible value.
@@ -19,6 +19,8 @@ package com.djrapitops.plan.storage.database.transactions.events;
 import com.djrapitops.plan.gathering.domain.Session;
 import com.djrapitops.plan.storage.database.queries.LargeStoreQueries;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
+import com.djrapitops.plan.storage.database.transactions.UpdateRollupsTransaction;
+import com.djrapitops.plan.storage.database.transactions.UpdateServerPlayerSummaryTransaction;
 
 import java.util.Collection;
 
@@ -38,5 +40,7 @@ public class ServerShutdownTransaction extends Transaction {
     @Override
     protected void performOperations() {
         execute(LargeStoreQueries.storeAllSessionsWithKillAndWorldData(unsavedSessions));
+        executeOther(UpdateRollupsTransaction.sessionsEnded(unsavedSessions));
+        executeOther(UpdateServerPlayerSummaryTransaction.sessionsEnded(unsavedSessions));
     }
 }
\ No newline at end of file
@@ -16,9 +16,15 @@
  */
 package com.djrapitops.plan.storage.database.transactions.events;
 
+import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
 import com.djrapitops.plan.gathering.domain.Session;
 import com.djrapitops.plan.storage.database.queries.DataStoreQueries;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
+import com.djrapitops.plan.storage.database.transactions.UpdateRollupsTransaction;
+import com.djrapitops.plan.storage.database.transactions.UpdateServerPlayerSummaryTransaction;
+
+import java.util.Collections;
+import java.util.Optional;
 
 /**
  * Transaction for storing a session after a session has ended.
@@ -33,8 +39,21 @@ public class SessionEndTransaction extends Transaction {
         this.session = session;
     }
 
+    @Override
+    public Optional<Object> getPartitionKey() {
+        return Optional.of(session.getUnsafe(SessionKeys.UUID));
+    }
+
+    @Override
+    public boolean isOrderedAfterKeylessTransactions() {
+        // World names are stored without a partition key or buffered.
+        return true;
+    }
+
     @Override
     protected void performOperations() {
         execute(DataStoreQueries.storeSession(session));
+        executeOther(UpdateRollupsTransaction.sessionsEnded(Collections.singletonList(session)));
+        executeOther(UpdateServerPlayerSummaryTransaction.sessionsEnded(Collections.singletonList(session)));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,297 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.events;
+
+import com.djrapitops.plan.delivery.domain.Nickname;
+import com.djrapitops.plan.exceptions.database.DBOpException;
+import com.djrapitops.plan.gathering.domain.GeoInfo;
+import com.djrapitops.plan.storage.database.queries.LargeFetchQueries;
+import com.djrapitops.plan.storage.database.queries.LargeStoreQueries;
+import com.djrapitops.plan.storage.database.sql.tables.GeoInfoTable;
+import com.djrapitops.plan.storage.database.sql.tables.NicknamesTable;
+import com.djrapitops.plan.storage.database.transactions.ExecBatchStatement;
+import com.djrapitops.plan.storage.database.transactions.ExecStatement;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+import com.djrapitops.plan.utilities.java.Lists;
+import com.djrapitops.plan.utilities.java.Maps;
+import org.apache.commons.lang3.StringUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+/**
+ * Transaction that stores buffered join and status events with one batch per table.
+ * <p>
+ * Tables are written in an order where registration happens before the statuses of the user are updated.
+ * Events of the same type are stored in the order they were buffered.
+ * If storing the batch fails, its changes are rolled back and the events are stored one at a time in the same transaction,
+ * so that one failing event does not lose the others. Events that still fail are given by {@link #getFailure()}.
+ *
+ * @author AuroraLS3
+ */
+public class StoreBufferedEventsTransaction extends Transaction {
+
+    private final List<Transaction> events;
+    private final List<WorldNameStoreTransaction> worldNames;
+    private final List<PlayerRegisterTransaction> registrations;
+    private final List<GeoInfoStoreTransaction> geoInformation;
+    private final List<NicknameStoreTransaction> nicknames;
+    private final List<BanStatusTransaction> banStatuses;
+    private final List<OperatorStatusTransaction> operatorStatuses;
+
+    private DBOpException failure;
+
+    public StoreBufferedEventsTransaction(List<Transaction> events) {
+        this.events = events;
+        worldNames = new ArrayList<>();
+        registrations = new ArrayList<>();
+        geoInformation = new ArrayList<>();
+        nicknames = new ArrayList<>();
+        banStatuses = new ArrayList<>();
+        operatorStatuses = new ArrayList<>();
+        for (Transaction event : events) {
+            add(event);
+        }
+    }
+
+    /**
+     * Check if a transaction can be stored by this transaction.
+     *
+     * @param transaction Transaction to check.
+     * @return true if the transaction is one of the supported event transactions.
+     */
+    public static boolean canBuffer(Transaction transaction) {
+        return transaction instanceof WorldNameStoreTransaction
+                || transaction instanceof PlayerRegisterTransaction
+                || transaction instanceof GeoInfoStoreTransaction
+                || transaction instanceof NicknameStoreTransaction
+                || transaction instanceof BanStatusTransaction
+                || transaction instanceof OperatorStatusTransaction;
+    }
+
+    private void add(Transaction event) {
+        if (event instanceof WorldNameStoreTransaction) {
+            worldNames.add((WorldNameStoreTransaction) event);
+        } else if (event instanceof PlayerRegisterTransaction) {
+            registrations.add((PlayerRegisterTransaction) event);
+        } else if (event instanceof GeoInfoStoreTransaction) {
+            geoInformation.add((GeoInfoStoreTransaction) event);
+        } else if (event instanceof NicknameStoreTransaction) {
+            nicknames.add((NicknameStoreTransaction) event);
+        } else if (event instanceof BanStatusTransaction) {
+            banStatuses.add((BanStatusTransaction) event);
+        } else if (event instanceof OperatorStatusTransaction) {
+            operatorStatuses.add((OperatorStatusTransaction) event);
+        } else {
+            throw new IllegalArgumentException(event.getClass().getName() + " can not be buffered");
+        }
+    }
+
+    /**
+     * Get the failure of events that could not be stored.
+     *
+     * @return Failure that has the failures of each event as suppressed exceptions, empty if all events were stored.
+     */
+    public Optional<DBOpException> getFailure() {
+        return Optional.ofNullable(failure);
+    }
+
+    @Override
+    protected void performOperations() {
+        if (events.size() <= 1) {
+            storeEvents();
+            return;
+        }
+        // Changes of the failed batch are rolled back before the events are stored again.
+        performInSavepoint(this::storeEvents).ifPresent(this::storeOneAtATime);
+    }
+
+    private void storeOneAtATime(DBOpException batchFailed) {
+        int failed = 0;
+        for (Transaction event : events) {
+            Optional<DBOpException> eventFailed = performInSavepoint(() ->
+                    executeOther(new StoreBufferedEventsTransaction(Collections.singletonList(event))));
+            if (eventFailed.isPresent()) {
+                failed++;
+                batchFailed.addSuppressed(eventFailed.get());
+            }
+        }
+        if (failed > 0) {
+            failure = new DBOpException(failed + "/" + events.size() + " buffered events failed to be stored", batchFailed);
+        }
+    }
+
+    private void storeEvents() {
+        storeWorldNames();
+        registerPlayers();
+        storeGeoInformation();
+        storeNicknames();
+        if (!banStatuses.isEmpty()) {
+            execute(updateStatuses(BanStatusTransaction.UPDATE_STATEMENT, banStatuses, BanStatusTransaction::prepareUpdate));
+        }
+        if (!operatorStatuses.isEmpty()) {
+            execute(updateStatuses(OperatorStatusTransaction.UPDATE_STATEMENT, operatorStatuses, OperatorStatusTransaction::prepareUpdate));
+        }
+    }
+
+    private void storeWorldNames() {
+        Map<UUID, Set<String>> worldNamesByServer = new HashMap<>();
+        for (WorldNameStoreTransaction worldName : worldNames) {
+            worldNamesByServer.computeIfAbsent(worldName.getWorldServerUUID(), Maps::createSet)
+                    .add(StringUtils.truncate(worldName.getWorldName(), 100));
+        }
+
+        Map<UUID, Collection<String>> missingWorldNames = new HashMap<>();
+        for (Map.Entry<UUID, Set<String>> entry : worldNamesByServer.entrySet()) {
+            Set<String> missing = new HashSet<>(entry.getValue());
+            missing.removeAll(query(LargeFetchQueries.fetchWorldNames(entry.getKey())));
+            if (!missing.isEmpty()) missingWorldNames.put(entry.getKey(), missing);
+        }
+        execute(LargeStoreQueries.storeAllWorldNames(missingWorldNames));
+    }
+
+    private void registerPlayers() {
+        // Registration depends on existing data, so it is done one player at a time inside this transaction.
+        for (PlayerRegisterTransaction registration : registrations) {
+            if (registration.shouldBeExecuted()) {
+                executeOther(registration);
+            }
+        }
+    }
+
+    private void storeGeoInformation() {
+        // Only latest entry of each geolocation is relevant
+        Map<List<Object>, GeoInfoStoreTransaction> latest = new LinkedHashMap<>();
+        for (GeoInfoStoreTransaction transaction : geoInformation) {
+            GeoInfo geoInfo = transaction.getGeoInfo();
+            if (geoInfo.getGeolocation() == null) continue; // Don't save null geolocation.
+            latest.put(Arrays.asList(transaction.getPlayerUUID(), geoInfo.getGeolocation()), transaction);
+        }
+        if (latest.isEmpty()) return;
+
+        List<GeoInfoStoreTransaction> notUpdated = updateRows(GeoInfoTable.UPDATE_STATEMENT, latest.values(), (transaction, statement) -> {
+            GeoInfo geoInfo = transaction.getGeoInfo();
+            statement.setLong(1, geoInfo.getDate());
+            statement.setString(2, transaction.getPlayerUUID().toString());
+            statement.setString(3, geoInfo.getGeolocation());
+        });
+
+        Map<UUID, List<GeoInfo>> toInsert = new HashMap<>();
+        for (GeoInfoStoreTransaction transaction : notUpdated) {
+            toInsert.computeIfAbsent(transaction.getPlayerUUID(), Lists::create).add(transaction.getGeoInfo());
+        }
+        execute(LargeStoreQueries.storeAllGeoInformation(toInsert));
+    }
+
+    private void storeNicknames() {
+        // Only latest use of each nickname is relevant
+        Map<List<Object>, NicknameStoreTransaction> latest = new LinkedHashMap<>();
+        for (NicknameStoreTransaction transaction : nicknames) {
+            if (!transaction.shouldBeExecuted()) continue;
+            Nickname nickname = transaction.getNickname();
+            latest.put(Arrays.asList(transaction.getPlayerUUID(), nickname.getServerUUID(), nickname.getName()), transaction);
+        }
+        if (latest.isEmpty()) return;
+
+        List<NicknameStoreTransaction> notUpdated = updateRows(NicknamesTable.UPDATE_STATEMENT, latest.values(), (transaction, statement) -> {
+            Nickname nickname = transaction.getNickname();
+            statement.setLong(1, nickname.getDate());
+            statement.setString(2, nickname.getName());
+            statement.setString(3, transaction.getPlayerUUID().toString());
+            statement.setString(4, nickname.getServerUUID().toString());
+        });
+
+        Map<UUID, Map<UUID, List<Nickname>>> toInsert = new HashMap<>();
+        for (NicknameStoreTransaction transaction : notUpdated) {
+            Nickname nickname = transaction.getNickname();
+            toInsert.computeIfAbsent(nickname.getServerUUID(), Maps::create)
+                    .computeIfAbsent(transaction.getPlayerUUID(), Lists::create)
+                    .add(nickname);
+        }
+        execute(LargeStoreQueries.storeAllNicknameData(toInsert));
+    }
+
+    /**
+     * Update rows with a batch.
+     *
+     * @return Rows that did not exist, in the order they were given.
+     */
+    private <T> List<T> updateRows(String sql, Collection<T> rows, StatementPreparer<T> preparer) {
+        List<T> toUpdate = new ArrayList<>(rows);
+        CountingBatchStatement update = new CountingBatchStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (T row : toUpdate) {
+                    preparer.prepare(row, statement);
+                    statement.addBatch();
+                }
+            }
+        };
+        execute(update);
+
+        List<T> notUpdated = new ArrayList<>();
+        for (int i = 0; i < toUpdate.size(); i++) {
+            T row = toUpdate.get(i);
+            int updateCount = update.getUpdateCount(i);
+            // Drivers may return SUCCESS_NO_INFO (-2) instead of a row count, the row is updated alone to find out.
+            boolean updated = updateCount == Statement.SUCCESS_NO_INFO ? execute(new ExecStatement(sql) {
+                @Override
+                public void prepare(PreparedStatement statement) throws SQLException {
+                    preparer.prepare(row, statement);
+                }
+            }) : updateCount > 0;
+            if (!updated) notUpdated.add(row);
+        }
+        return notUpdated;
+    }
+
+    private <T> ExecBatchStatement updateStatuses(String sql, List<T> transactions, StatementPreparer<T> preparer) {
+        return new ExecBatchStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (T transaction : transactions) {
+                    preparer.prepare(transaction, statement);
+                    statement.addBatch();
+                }
+            }
+        };
+    }
+
+    private interface StatementPreparer<T> {
+        void prepare(T transaction, PreparedStatement statement) throws SQLException;
+    }
+
+    private abstract static class CountingBatchStatement extends ExecBatchStatement {
+        private int[] updateCounts = new int[0];
+
+        CountingBatchStatement(String sql) {
+            super(sql);
+        }
+
+        @Override
+        protected boolean callExecute(PreparedStatement statement) throws SQLException {
+            updateCounts = statement.executeBatch();
+            return updateCounts.length > 0;
+        }
+
+        int getUpdateCount(int index) {
+            return index < updateCounts.length ? updateCounts[index] : Statement.SUCCESS_NO_INFO;
+        }
+    }
+}
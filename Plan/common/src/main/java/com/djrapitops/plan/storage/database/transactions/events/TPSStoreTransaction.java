@@ -18,8 +18,10 @@ package com.djrapitops.plan.storage.database.transactions.events;
 
 import com.djrapitops.plan.gathering.domain.TPS;
 import com.djrapitops.plan.storage.database.queries.DataStoreQueries;
+import com.djrapitops.plan.storage.database.sql.tables.TPSTable;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
 
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -37,6 +39,11 @@ public class TPSStoreTransaction extends Transaction {
         this.tps = tps;
     }
 
+    @Override
+    public Optional<Object> getPartitionKey() {
+        return Optional.of(TPSTable.TABLE_NAME);
+    }
+
     @Override
     protected void performOperations() {
         execute(DataStoreQueries.storeTPS(serverUUID, tps));
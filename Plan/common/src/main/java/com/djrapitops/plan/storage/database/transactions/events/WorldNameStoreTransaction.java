@@ -43,6 +43,14 @@ public class WorldNameStoreTransaction extends Transaction {
         this.worldName = worldName;
     }
 
+    UUID getWorldServerUUID() {
+        return serverUUID;
+    }
+
+    String getWorldName() {
+        return worldName;
+    }
+
     @Override
     protected boolean shouldBeExecuted() {
         return doesWorldNameNotExist();
@@ -67,6 +67,14 @@ public class CreateIndexTransaction extends Transaction {
         createIndex(TPSTable.TABLE_NAME, "plan_tps_date_index",
                 TPSTable.DATE
         );
+        createIndex(ActivitySnapshotTable.TABLE_NAME, "plan_activity_snapshots_date_index",
+                ActivitySnapshotTable.DATE,
+                ActivitySnapshotTable.SERVER_UUID
+        );
+        createIndex(ServerPlayerSummaryTable.TABLE_NAME, "plan_server_player_summary_index",
+                ServerPlayerSummaryTable.SERVER_UUID,
+                ServerPlayerSummaryTable.LAST_SEEN
+        );
     }
 
     private void createIndex(String tableName, String indexName, String... indexedColumns) {
@@ -44,6 +44,11 @@ public class CreateTablesTransaction extends OperationCriticalTransaction {
         execute(WorldTimesTable.createTableSQL(dbType));
         execute(SecurityTable.createTableSQL(dbType));
         execute(SettingsTable.createTableSQL(dbType));
+        execute(ActivitySnapshotTable.createTableSQL(dbType));
+        execute(ServerPlayerSummaryTable.createTableSQL(dbType));
+        execute(HourlyRollupTable.createTableSQL(dbType));
+        execute(DailyRollupTable.createTableSQL(dbType));
+        execute(RollupStateTable.createTableSQL(dbType));
 
         // DataExtension tables
         execute(ExtensionIconTable.createTableSQL(dbType));
@@ -0,0 +1,89 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.upkeep;
+
+import com.djrapitops.plan.TaskSystem;
+import com.djrapitops.plan.exceptions.database.DBOpException;
+import com.djrapitops.plan.identification.ServerInfo;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.TimeSettings;
+import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.transactions.ActivitySnapshotTransaction;
+import com.djrapitops.plan.storage.database.transactions.ServerPlayerSummaryTransaction;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import com.djrapitops.plugin.api.TimeAmount;
+import com.djrapitops.plugin.logging.L;
+import com.djrapitops.plugin.task.RunnableFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task that keeps activity snapshots and players table summary of this server up to date as sessions end.
+ *
+ * @author AuroraLS3
+ * @see ActivitySnapshotTransaction
+ * @see ServerPlayerSummaryTransaction
+ */
+@Singleton
+public class ActivitySnapshotTask extends TaskSystem.Task {
+
+    private final PlanConfig config;
+    private final DBSystem dbSystem;
+    private final ServerInfo serverInfo;
+    private final ErrorLogger errorLogger;
+
+    @Inject
+    public ActivitySnapshotTask(
+            PlanConfig config,
+            DBSystem dbSystem,
+            ServerInfo serverInfo,
+            ErrorLogger errorLogger
+    ) {
+        this.config = config;
+        this.dbSystem = dbSystem;
+        this.serverInfo = serverInfo;
+        this.errorLogger = errorLogger;
+    }
+
+    @Override
+    public void run() {
+        Database database = dbSystem.getDatabase();
+        try {
+            if (database.getState() != Database.State.CLOSED) {
+                UUID serverUUID = serverInfo.getServerUUID();
+                long now = System.currentTimeMillis();
+                database.executeTransaction(new ActivitySnapshotTransaction(serverUUID, now));
+                database.executeTransaction(new ServerPlayerSummaryTransaction(serverUUID, now, config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD)));
+            }
+        } catch (DBOpException e) {
+            errorLogger.log(L.ERROR, e);
+            cancel();
+        }
+    }
+
+    @Override
+    public void register(RunnableFactory runnableFactory) {
+        long delay = TimeAmount.toTicks(30L + ThreadLocalRandom.current().nextInt(60), TimeUnit.SECONDS);
+        long period = TimeAmount.toTicks(5L, TimeUnit.MINUTES);
+        runnableFactory.create(null, this).runTaskTimerAsynchronously(delay, period);
+    }
+}
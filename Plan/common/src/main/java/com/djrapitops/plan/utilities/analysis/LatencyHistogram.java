@@ -0,0 +1,94 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.utilities.analysis;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations, for reporting latency percentiles.
+ * <p>
+ * Durations are placed in buckets with power of two upper bounds in microseconds,
+ * so percentiles are accurate to a factor of two, which is enough to spot slow operations.
+ *
+ * @author AuroraLS3
+ */
+public class LatencyHistogram {
+
+    // Last bucket holds everything above 2^30 µs (~18 minutes)
+    private static final int BUCKET_COUNT = 32;
+
+    private final AtomicLongArray buckets;
+    private final LongAdder count;
+    private final LongAdder totalNanos;
+
+    public LatencyHistogram() {
+        buckets = new AtomicLongArray(BUCKET_COUNT);
+        count = new LongAdder();
+        totalNanos = new LongAdder();
+    }
+
+    public void record(long durationNanos) {
+        long micros = Math.max(0L, TimeUnit.NANOSECONDS.toMicros(durationNanos));
+        int bucket = Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets.incrementAndGet(bucket);
+        count.increment();
+        totalNanos.add(Math.max(0L, durationNanos));
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getAverageMs() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : totalNanos.sum() / (n * 1_000_000.0);
+    }
+
+    /**
+     * Calculate an upper bound for a percentile of recorded durations.
+     *
+     * @param percentile 0.0 - 1.0, eg. 0.99 for p99
+     * @return Upper bound of the bucket the percentile falls into, in milliseconds, or 0 if nothing was recorded.
+     */
+    public double getPercentileMs(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) return 0.0;
+
+        long target = (long) Math.ceil(total * Math.min(1.0, Math.max(0.0, percentile)));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= target && snapshot[i] > 0) {
+                return (1L << i) / 1000.0;
+            }
+        }
+        return (1L << (BUCKET_COUNT - 1)) / 1000.0;
+    }
+
+    @Override
+    public String toString() {
+        return "n=" + getCount() +
+                String.format(", avg=%.2fms, p50<=%.2fms, p99<=%.2fms", getAverageMs(), getPercentileMs(0.5), getPercentileMs(0.99));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.domain;
+
+import com.djrapitops.plan.gathering.domain.PlayerKill;
+import com.djrapitops.plan.gathering.domain.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SessionColumns}
+ *
+ * @author AuroraLS3
+ */
+class SessionColumnsTest {
+
+    private static final UUID PLAYER = UUID.randomUUID();
+    private static final UUID PLAYER_2 = UUID.randomUUID();
+    private static final UUID SERVER = UUID.randomUUID();
+
+    private SessionColumns underTest;
+
+    @BeforeEach
+    void setUp() {
+        SessionColumns.Builder builder = SessionColumns.builder();
+
+        // Same session appears on multiple rows, once for each world and kill
+        int row = builder.addSession(1, PLAYER, SERVER, 1000L, 2000L, 3, 1, 100L);
+        builder.addWorldTimes(row, "World", 500L, 500L, 0L, 0L);
+        builder.addKill(row, PLAYER, PLAYER_2, "Victim", "Sword", 1500L);
+        row = builder.addSession(1, PLAYER, SERVER, 1000L, 2000L, 3, 1, 100L);
+        builder.addWorldTimes(row, "World", 500L, 500L, 0L, 0L);
+        builder.addWorldTimes(row, "Nether", 0L, 0L, 0L, 0L);
+        builder.addKill(row, PLAYER, PLAYER_2, "Victim", "Sword", 1500L);
+
+        builder.addSession(2, PLAYER_2, SERVER, 5000L, 9000L, 1, 2, 0L);
+        builder.addSession(3, PLAYER, SERVER, 3000L, 3500L, 0, 0, 0L);
+
+        underTest = builder.build();
+    }
+
+    @Test
+    void rowsOfSameSessionAreCombined() {
+        assertEquals(3, underTest.count());
+        assertEquals(1, underTest.toPlayerKillCount());
+        assertEquals(1000L, underTest.toTotalWorldTimes().getWorldPlaytime("World"));
+    }
+
+    @Test
+    void aggregatesAreCalculatedFromColumns() {
+        assertEquals(1000L + 4000L + 500L, underTest.toPlaytime());
+        assertEquals(100L, underTest.toAfkTime());
+        assertEquals(9000L, underTest.toLastSeen());
+        assertEquals(4000L, underTest.toLongestSessionLength());
+        assertEquals(1000L, underTest.toMedianSessionLength());
+        assertEquals(4, underTest.toMobKillCount());
+        assertEquals(3, underTest.toDeathCount());
+        assertEquals(2, underTest.toUniquePlayers());
+        assertEquals(Arrays.asList(1000L, 3000L, 5000L), underTest.toSessionStarts());
+    }
+
+    @Test
+    void filteringKeepsValues() {
+        SessionColumns filtered = underTest.filterSessionsBetween(2500L, 4000L);
+        assertEquals(1, filtered.count());
+        assertEquals(PLAYER, filtered.getPlayerUUID(0));
+        assertEquals(3000L, filtered.getStart(0));
+
+        assertEquals(2, underTest.filterPlayedBy(PLAYER).count());
+        assertTrue(underTest.filterPlayedBy(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void sessionsAreGroupedByPlayer() {
+        Map<UUID, SessionColumns> byPlayer = underTest.groupByPlayer();
+        assertEquals(2, byPlayer.size());
+        assertEquals(1500L, byPlayer.get(PLAYER).toPlaytime());
+        assertEquals(4000L, byPlayer.get(PLAYER_2).toPlaytime());
+    }
+
+    @Test
+    void sessionsAreMaterializedWithKills() {
+        List<Session> sessions = underTest.toSessions();
+        assertEquals(3, sessions.size());
+
+        Session first = sessions.get(0);
+        assertEquals(1000L, first.getDate());
+        List<PlayerKill> kills = first.getPlayerKills();
+        assertEquals(1, kills.size());
+        assertEquals(PLAYER_2, kills.get(0).getVictim());
+        assertEquals("Victim", kills.get(0).getVictimName().orElse(null));
+    }
+}
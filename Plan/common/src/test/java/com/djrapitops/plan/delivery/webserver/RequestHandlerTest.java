@@ -0,0 +1,140 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import com.djrapitops.plan.delivery.web.resolver.MimeType;
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.locale.Locale;
+import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import com.djrapitops.plugin.logging.console.PluginLogger;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RequestHandlerTest {
+
+    private WebServerThreadPools threadPools;
+    private ResponseFactory responseFactory;
+    private RequestHandler underTest;
+
+    @BeforeEach
+    void setUp() {
+        threadPools = mock(WebServerThreadPools.class);
+        responseFactory = mock(ResponseFactory.class);
+        underTest = new RequestHandler(
+                mock(Locale.class),
+                mock(PlanConfig.class),
+                mock(DBSystem.class),
+                mock(Addresses.class),
+                mock(ResponseResolver.class),
+                responseFactory,
+                threadPools,
+                mock(PluginLogger.class),
+                mock(ErrorLogger.class)
+        );
+    }
+
+    private static HttpExchange exchange(String uri) {
+        HttpExchange exchange = mock(HttpExchange.class);
+        when(exchange.getRequestURI()).thenReturn(URI.create(uri));
+        when(exchange.getRequestMethod()).thenReturn("GET");
+        when(exchange.getRequestHeaders()).thenReturn(new Headers());
+        when(exchange.getResponseHeaders()).thenReturn(new Headers());
+        when(exchange.getResponseBody()).thenReturn(new ByteArrayOutputStream());
+        return exchange;
+    }
+
+    @Test
+    void staticResourcesShareResolverName() {
+        assertEquals("static resources", RequestHandler.getResolverName("/vendor/bootstrap/js/bootstrap.bundle.min.js"));
+        assertEquals("static resources", RequestHandler.getResolverName("/server/css/style.css"));
+    }
+
+    @Test
+    void jsonEndpointsAreNamedByEndpoint() {
+        assertEquals("/v1/network", RequestHandler.getResolverName("/v1/network"));
+        assertEquals("/v1/player", RequestHandler.getResolverName("/v1/player/extra"));
+    }
+
+    @Test
+    void pagesAreNamedByFirstPart() {
+        assertEquals("/", RequestHandler.getResolverName("/"));
+        assertEquals("/player", RequestHandler.getResolverName("/player/Name"));
+    }
+
+    @Test
+    void staticResourcesAreRecognized() {
+        assertTrue(RequestHandler.isStaticResource("/vendor/bootstrap/js/bootstrap.bundle.min.js"));
+        assertTrue(RequestHandler.isStaticResource("/server/css/style.css"));
+        assertTrue(RequestHandler.isStaticResource("/favicon.ico"));
+        assertFalse(RequestHandler.isStaticResource("/v1/serverOverview"));
+        assertFalse(RequestHandler.isStaticResource("/server/Server 1"));
+        assertFalse(RequestHandler.isStaticResource(null));
+    }
+
+    @Test
+    void staticResourcesAreSentWithoutGeneratorPool() {
+        HttpExchange exchange = exchange("/server/css/style.css");
+
+        underTest.handle(exchange);
+
+        verify(threadPools, never()).executeGeneration(any());
+        verify(exchange).close();
+    }
+
+    @Test
+    void jsonWithTimestampIsPassedToGeneratorPool() {
+        HttpExchange exchange = exchange("/v1/serverOverview?server=Server%201&timestamp=1600000000000");
+
+        underTest.handle(exchange);
+
+        verify(threadPools).executeGeneration(any());
+        verify(exchange, never()).close();
+    }
+
+    @Test
+    void fullGeneratorQueueIsAnsweredWith503() throws Exception {
+        doThrow(new RejectedExecutionException("WebServer generator queue is full"))
+                .when(threadPools).executeGeneration(any());
+        when(responseFactory.serverBusy503()).thenReturn(Response.builder()
+                .setMimeType(MimeType.HTML)
+                .setContent("<h1>503 Service Unavailable</h1>")
+                .setHeader("Retry-After", "5")
+                .setStatus(503)
+                .build());
+        HttpExchange exchange = exchange("/v1/serverOverview?server=Server%201&timestamp=1600000000000");
+
+        underTest.handle(exchange);
+
+        verify(exchange).sendResponseHeaders(eq(503), anyLong());
+        assertEquals("5", exchange.getResponseHeaders().getFirst("Retry-After"));
+        verify(exchange).close();
+    }
+}
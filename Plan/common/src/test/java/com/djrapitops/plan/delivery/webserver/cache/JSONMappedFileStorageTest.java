@@ -0,0 +1,143 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import com.djrapitops.plan.storage.file.PlanFiles;
+import com.djrapitops.plugin.logging.console.TestPluginLogger;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class JSONMappedFileStorageTest {
+
+    private JSONMappedFileStorage UNDER_TEST;
+    private PlanFiles files;
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) {
+        files = Mockito.mock(PlanFiles.class);
+        this.tempDir = tempDir;
+        when(files.getJSONStorageDirectory()).thenReturn(this.tempDir);
+
+        UNDER_TEST = new JSONMappedFileStorage(files, value -> Long.toString(value), new TestPluginLogger());
+        UNDER_TEST.enable();
+    }
+
+    @Test
+    void storedJSONIsFoundFromIndex() {
+        JSONStorage.StoredJSON stored = UNDER_TEST.storeJson("Identifier", Collections.singletonList("data"), 1000L);
+
+        assertEquals(stored, UNDER_TEST.fetchExactJson("Identifier", 1000L).orElseThrow(AssertionError::new));
+        assertEquals(stored, UNDER_TEST.fetchJsonMadeAfter("Identifier", 500L).orElseThrow(AssertionError::new));
+        assertEquals(stored, UNDER_TEST.fetchJsonMadeBefore("Identifier", 1500L).orElseThrow(AssertionError::new));
+        assertFalse(UNDER_TEST.fetchJsonMadeAfter("Identifier", 1000L).isPresent());
+        assertFalse(UNDER_TEST.fetchJsonMadeBefore("Identifier", 1000L).isPresent());
+    }
+
+    @Test
+    void mapIsSerializedWithTimestamp() throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("value", "data");
+        JSONStorage.StoredJSON stored = UNDER_TEST.storeJson("Identifier", json, 1000L);
+
+        String expected = "{\"timestamp\":1000,\"timestamp_f\":\"1000\",\"value\":\"data\"}";
+        assertEquals(expected, stored.getJson());
+        Path file = tempDir.resolve("Identifier-1000.json");
+        assertArrayEquals(stored.getJsonBytes(), Files.readAllBytes(file));
+        assertEquals(stored, UNDER_TEST.fetchExactJson("Identifier", 1000L).orElseThrow(AssertionError::new));
+    }
+
+    @Test
+    void closestTimestampIsFetched() {
+        UNDER_TEST.storeJson("Identifier", "data1", 1000L);
+        JSONStorage.StoredJSON second = UNDER_TEST.storeJson("Identifier", "data2", 2000L);
+        JSONStorage.StoredJSON third = UNDER_TEST.storeJson("Identifier", "data3", 3000L);
+
+        assertEquals(second, UNDER_TEST.fetchJsonMadeBefore("Identifier", 3000L).orElseThrow(AssertionError::new));
+        assertEquals(third, UNDER_TEST.fetchJsonMadeAfter("Identifier", 1000L).orElseThrow(AssertionError::new));
+        assertEquals(third, UNDER_TEST.fetchJSON("Identifier").orElseThrow(AssertionError::new));
+    }
+
+    @Test
+    void indexIsRebuiltFromExistingFiles() {
+        JSONStorage.StoredJSON stored = UNDER_TEST.storeJson("Identifier", "data", 1000L);
+
+        JSONMappedFileStorage restarted = new JSONMappedFileStorage(files, value -> Long.toString(value), new TestPluginLogger());
+        assertFalse(restarted.fetchExactJson("Identifier", 1000L).isPresent());
+        restarted.enable();
+        assertEquals(stored, restarted.fetchExactJson("Identifier", 1000L).orElseThrow(AssertionError::new));
+    }
+
+    @Test
+    void olderFilesAreInvalidated() {
+        UNDER_TEST.storeJson("Identifier", "data1", 1000L);
+        JSONStorage.StoredJSON kept = UNDER_TEST.storeJson("Identifier", "data2", 2000L);
+        UNDER_TEST.storeJson("Other", "data", 1000L);
+
+        UNDER_TEST.invalidateOlder("Identifier", 2000L);
+
+        assertFalse(UNDER_TEST.fetchExactJson("Identifier", 1000L).isPresent());
+        assertEquals(kept, UNDER_TEST.fetchJsonMadeBefore("Identifier", 3000L).orElseThrow(AssertionError::new));
+        assertTrue(UNDER_TEST.fetchExactJson("Other", 1000L).isPresent());
+        assertEquals(2, Objects.requireNonNull(tempDir.toFile().listFiles()).length);
+    }
+
+    @Test
+    void ignoredIdentifiersAreNotInvalidated() {
+        UNDER_TEST.storeJson("query", "data", 1000L);
+        UNDER_TEST.storeJson("Identifier", "data", 1000L);
+
+        UNDER_TEST.invalidateOlderButIgnore(2000L, "query");
+
+        assertTrue(UNDER_TEST.fetchExactJson("query", 1000L).isPresent());
+        assertFalse(UNDER_TEST.fetchExactJson("Identifier", 1000L).isPresent());
+    }
+
+    @Test
+    void largeJSONIsReadThroughMapping() {
+        String data = "{\"timestamp\":1000,\"value\":\"" + StringUtils.repeat('a', 100 * 1024) + "\"}";
+        JSONStorage.StoredJSON stored = UNDER_TEST.storeJson("Identifier", data, 1000L);
+
+        assertEquals(stored, UNDER_TEST.fetchExactJson("Identifier", 1000L).orElseThrow(AssertionError::new));
+    }
+
+    @Test
+    void removedFileIsDroppedFromIndex() {
+        UNDER_TEST.storeJson("Identifier", "data", 1000L);
+        for (File file : Objects.requireNonNull(tempDir.toFile().listFiles())) {
+            assertTrue(file.delete());
+        }
+
+        assertFalse(UNDER_TEST.fetchExactJson("Identifier", 1000L).isPresent());
+        assertFalse(UNDER_TEST.fetchJSON("Identifier").isPresent());
+    }
+}
@@ -23,8 +23,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
@@ -33,9 +36,9 @@ import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
 
 class JSONStorageTest {
@@ -49,7 +52,8 @@ class JSONStorageTest {
         this.tempDir = tempDir;
         when(files.getJSONStorageDirectory()).thenReturn(this.tempDir);
 
-        UNDER_TEST = new JSONFileStorage(files, value -> Long.toString(value), new TestPluginLogger());
+        UNDER_TEST = new JSONMappedFileStorage(files, value -> Long.toString(value), new TestPluginLogger());
+        UNDER_TEST.enable();
     }
 
     private Optional<File> findTheFile() {
@@ -69,7 +73,7 @@ class JSONStorageTest {
         File file = findTheFile().orElseThrow(AssertionError::new);
         assertEquals("Identifier-" + stored.timestamp + ".json", file.getName());
         try (Stream<String> lines = Files.lines(file.toPath())) {
-            List<String> expected = Collections.singletonList(stored.json);
+            List<String> expected = Collections.singletonList(stored.getJson());
             List<String> result = lines.collect(Collectors.toList());
             assertEquals(expected, result);
         }
@@ -82,7 +86,7 @@ class JSONStorageTest {
         File file = findTheFile().orElseThrow(AssertionError::new);
         assertEquals("Identifier-" + stored.timestamp + ".json", file.getName());
         try (Stream<String> lines = Files.lines(file.toPath())) {
-            List<String> expected = Collections.singletonList(stored.json);
+            List<String> expected = Collections.singletonList(stored.getJson());
             List<String> result = lines.collect(Collectors.toList());
             assertEquals(expected, result);
         }
@@ -97,7 +101,7 @@ class JSONStorageTest {
         assertEquals(timestamp, stored.timestamp);
         assertEquals("Identifier-" + timestamp + ".json", file.getName());
         try (Stream<String> lines = Files.lines(file.toPath())) {
-            List<String> expected = Collections.singletonList(stored.json);
+            List<String> expected = Collections.singletonList(stored.getJson());
             List<String> result = lines.collect(Collectors.toList());
             assertEquals(expected, result);
         }
@@ -112,7 +116,7 @@ class JSONStorageTest {
         assertEquals(timestamp, stored.timestamp);
         assertEquals("Identifier-" + timestamp + ".json", file.getName());
         try (Stream<String> lines = Files.lines(file.toPath())) {
-            List<String> expected = Collections.singletonList(stored.json);
+            List<String> expected = Collections.singletonList(stored.getJson());
             List<String> result = lines.collect(Collectors.toList());
             assertEquals(expected, result);
         }
@@ -123,7 +127,7 @@ class JSONStorageTest {
         assertFalse(UNDER_TEST.fetchJSON("Identifier").isPresent());
         stringDataIsStoredWithTimestamp();
         JSONStorage.StoredJSON found = UNDER_TEST.fetchJSON("Identifier").orElseThrow(AssertionError::new);
-        assertEquals("data", found.json);
+        assertEquals("data", found.getJson());
     }
 
     @Test
@@ -163,4 +167,30 @@ class JSONStorageTest {
         JSONStorage.StoredJSON stored = UNDER_TEST.storeJson("Identifier", Collections.singletonList("data"), timestamp);
         assertFalse(UNDER_TEST.fetchJsonMadeBefore("Identifier", timestamp - TimeUnit.DAYS.toMillis(1L)).isPresent());
     }
-}
\ No newline at end of file
+
+    @Test
+    void gzippedJSONDecompressesToStoredJSON() throws IOException {
+        JSONStorage.StoredJSON stored = UNDER_TEST.storeJson("Identifier", Collections.singletonList("data"));
+
+        byte[] gzipped = stored.getGzippedJson();
+        assertSame(gzipped, stored.getGzippedJson());
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            byte[] buffer = new byte[1024];
+            StringBuilder decompressed = new StringBuilder();
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                decompressed.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+            }
+            assertEquals(stored.getJson(), decompressed.toString());
+        }
+    }
+
+    @Test
+    void sameJSONHasSameETag() {
+        long timestamp = System.currentTimeMillis();
+        JSONStorage.StoredJSON stored = UNDER_TEST.storeJson("Identifier", "data", timestamp);
+        JSONStorage.StoredJSON found = UNDER_TEST.fetchExactJson("Identifier", timestamp).orElseThrow(AssertionError::new);
+        assertEquals(stored.getETag(), found.getETag());
+        assertNotEquals(stored.getETag(), UNDER_TEST.storeJson("Identifier", "data", timestamp + 1).getETag());
+    }
+}
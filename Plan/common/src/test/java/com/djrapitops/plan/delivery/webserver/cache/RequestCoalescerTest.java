@@ -0,0 +1,150 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import com.djrapitops.plan.delivery.web.resolver.AsyncResolver;
+import com.djrapitops.plan.delivery.web.resolver.NoAuthResolver;
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.web.resolver.exception.BadRequestException;
+import com.djrapitops.plan.delivery.web.resolver.request.Request;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    private RequestCoalescer underTest;
+    private AtomicInteger generations;
+    private CompletableFuture<Optional<Response>> generating;
+    private AsyncResolver resolver;
+
+    private static Request request(String target) {
+        return new Request("GET", target, null, Collections.emptyMap());
+    }
+
+    @BeforeEach
+    void setUp() {
+        underTest = new RequestCoalescer();
+        generations = new AtomicInteger();
+        generating = new CompletableFuture<>();
+        resolver = underTest.coalesce("test", (NoAuthResolver) request -> {
+            generations.incrementAndGet();
+            return Optional.of(Response.builder().setJSONContent("{}").build());
+        });
+    }
+
+    private AsyncResolver pendingResolver() {
+        return underTest.coalesce("pending", new AsyncResolver() {
+            @Override
+            public boolean canAccess(Request request) {
+                return true;
+            }
+
+            @Override
+            public CompletableFuture<Optional<Response>> resolveAsync(Request request) {
+                generations.incrementAndGet();
+                return generating;
+            }
+        });
+    }
+
+    @Test
+    void simultaneousRequestsShareGeneration() {
+        AsyncResolver pending = pendingResolver();
+        CompletableFuture<Optional<Response>> first = pending.resolveAsync(request("/test?server=1&timestamp=5"));
+        CompletableFuture<Optional<Response>> second = pending.resolveAsync(request("/test?timestamp=5&server=1"));
+
+        assertEquals(1, generations.get());
+        assertEquals(1, underTest.getCoalesced());
+
+        generating.complete(Optional.of(Response.builder().setJSONContent("{}").build()));
+        Response firstResponse = first.join().orElseThrow(AssertionError::new);
+        Response secondResponse = second.join().orElseThrow(AssertionError::new);
+        assertNotSame(firstResponse, secondResponse);
+        assertEquals(firstResponse.getAsString(), secondResponse.getAsString());
+        assertEquals(0, underTest.getInFlight());
+    }
+
+    @Test
+    void differentParametersAreGeneratedSeparately() {
+        AsyncResolver pending = pendingResolver();
+        pending.resolveAsync(request("/test?server=1"));
+        pending.resolveAsync(request("/test?server=2"));
+
+        assertEquals(2, generations.get());
+        assertEquals(0, underTest.getCoalesced());
+    }
+
+    @Test
+    void timestampIsNotPartOfKey() {
+        assertEquals(
+                RequestCoalescer.getKey("test", request("/test?server=1")),
+                RequestCoalescer.getKey("test", request("/test?timestamp=5&server=1"))
+        );
+    }
+
+    @Test
+    void olderTimestampWaitsForNewerGeneration() {
+        AsyncResolver pending = pendingResolver();
+        pending.resolveAsync(request("/test?server=1&timestamp=10"));
+        pending.resolveAsync(request("/test?server=1&timestamp=5"));
+        pending.resolveAsync(request("/test?server=1"));
+
+        assertEquals(1, generations.get());
+        assertEquals(2, underTest.getCoalesced());
+    }
+
+    @Test
+    void newerTimestampIsGeneratedSeparately() {
+        AsyncResolver pending = pendingResolver();
+        pending.resolveAsync(request("/test?server=1&timestamp=5"));
+        pending.resolveAsync(request("/test?server=1&timestamp=10"));
+        // Waits for the generation made for timestamp 10
+        pending.resolveAsync(request("/test?server=1&timestamp=7"));
+
+        assertEquals(2, generations.get());
+        assertEquals(1, underTest.getCoalesced());
+        assertEquals(1, underTest.getInFlight());
+    }
+
+    @Test
+    void finishedGenerationIsNotReused() {
+        resolver.resolve(request("/test"));
+        resolver.resolve(request("/test"));
+
+        assertEquals(2, generations.get());
+        assertEquals(2, underTest.getGenerations());
+    }
+
+    @Test
+    void failureIsGivenToAllWaiters() {
+        AsyncResolver pending = pendingResolver();
+        CompletableFuture<Optional<Response>> first = pending.resolveAsync(request("/test"));
+        CompletableFuture<Optional<Response>> second = pending.resolveAsync(request("/test"));
+
+        generating.completeExceptionally(new BadRequestException("Bad"));
+        assertThrows(BadRequestException.class, () -> pending.resolve(request("/test")));
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ExtensionCircuitBreaker}.
+ *
+ * @author AuroraLS3
+ */
+class ExtensionCircuitBreakerTest {
+
+    private static final long TIMEOUT_MS = 5000L;
+
+    private long time;
+    private ExtensionCircuitBreaker underTest;
+
+    @BeforeEach
+    void setUp() {
+        time = 0L;
+        underTest = new ExtensionCircuitBreaker(TIMEOUT_MS, () -> time);
+    }
+
+    private void call(long tookMs) {
+        long id = underTest.callStarted();
+        time += TimeUnit.MILLISECONDS.toNanos(tookMs);
+        underTest.callFinished(id);
+    }
+
+    private void passMs(long ms) {
+        time += TimeUnit.MILLISECONDS.toNanos(ms);
+    }
+
+    @Test
+    void fastCallsAreAllowed() {
+        for (int i = 0; i < 10; i++) {
+            call(10L);
+        }
+        assertTrue(underTest.allowsCall());
+        assertEquals(10L, underTest.getGatheringLatency().getCount());
+    }
+
+    @Test
+    void repeatedlySlowExtensionIsSuspended() {
+        for (int i = 0; i < ExtensionCircuitBreaker.SLOW_CALLS_TO_SUSPEND; i++) {
+            assertTrue(underTest.allowsCall());
+            call(TIMEOUT_MS + 1L);
+        }
+        assertFalse(underTest.allowsCall());
+        assertTrue(underTest.isSuspended());
+        assertEquals(1, underTest.getTimesSuspended());
+
+        passMs(ExtensionCircuitBreaker.MIN_SUSPEND_MS);
+        assertTrue(underTest.allowsCall());
+    }
+
+    @Test
+    void fastCallResetsSlowCalls() {
+        for (int i = 0; i < ExtensionCircuitBreaker.SLOW_CALLS_TO_SUSPEND - 1; i++) {
+            call(TIMEOUT_MS + 1L);
+        }
+        call(10L);
+        call(TIMEOUT_MS + 1L);
+        assertTrue(underTest.allowsCall());
+    }
+
+    @Test
+    void slowCallAfterSuspensionSuspendsForLonger() {
+        for (int i = 0; i < ExtensionCircuitBreaker.SLOW_CALLS_TO_SUSPEND; i++) {
+            call(TIMEOUT_MS + 1L);
+        }
+        passMs(ExtensionCircuitBreaker.MIN_SUSPEND_MS);
+
+        call(TIMEOUT_MS + 1L);
+        assertEquals(2, underTest.getTimesSuspended());
+        passMs(ExtensionCircuitBreaker.MIN_SUSPEND_MS);
+        assertFalse(underTest.allowsCall());
+        passMs(ExtensionCircuitBreaker.MIN_SUSPEND_MS);
+        assertTrue(underTest.allowsCall());
+    }
+
+    @Test
+    void stuckCallPreventsNewCalls() {
+        long id = underTest.callStarted();
+        passMs(TIMEOUT_MS + 1L);
+        assertFalse(underTest.allowsCall());
+
+        underTest.callFinished(id);
+        assertTrue(underTest.allowsCall());
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation.providers;
+
+import com.djrapitops.plan.extension.DataExtension;
+import com.djrapitops.plan.extension.Group;
+import com.djrapitops.plan.extension.NotReadyException;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MethodWrapper}.
+ *
+ * @author AuroraLS3
+ */
+class MethodWrapperTest {
+
+    private static final UUID SERVER_UUID = UUID.randomUUID();
+    private static final UUID PLAYER_UUID = UUID.randomUUID();
+
+    private final TestExtension extension = new TestExtension();
+
+    private <T> MethodWrapper<T> wrap(String methodName, Class<T> returnType, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return new MethodWrapper<>(TestExtension.class.getMethod(methodName, parameterTypes), returnType);
+    }
+
+    @Test
+    void serverMethodIsCalled() throws NoSuchMethodException {
+        MethodWrapper<Long> method = wrap("serverValue", Long.class);
+        assertEquals(5L, method.callMethod(extension, Parameters.server(SERVER_UUID)).longValue());
+        assertEquals(1L, method.getCallLatency().getCount());
+    }
+
+    @Test
+    void playerMethodsAreCalledWithUUIDOrName() throws NoSuchMethodException {
+        Parameters parameters = Parameters.player(SERVER_UUID, PLAYER_UUID, "Test");
+        assertEquals(PLAYER_UUID.toString(), wrap("uuidValue", String.class, UUID.class).callMethod(extension, parameters));
+        assertEquals("Test", wrap("nameValue", String.class, String.class).callMethod(extension, parameters));
+    }
+
+    @Test
+    void groupMethodIsCalled() throws NoSuchMethodException {
+        MethodWrapper<String[]> method = wrap("groupValue", String[].class, Group.class);
+        assertArrayEquals(new String[]{"Group"}, method.callMethod(extension, Parameters.group(SERVER_UUID, "Group")));
+    }
+
+    @Test
+    void primitiveResultIsBoxed() throws NoSuchMethodException {
+        MethodWrapper<Boolean> method = wrap("booleanValue", Boolean.class);
+        assertTrue(method.callMethod(extension, Parameters.server(SERVER_UUID)));
+    }
+
+    @Test
+    void notReadyMethodGivesNull() throws NoSuchMethodException {
+        MethodWrapper<Long> method = wrap("notReady", Long.class);
+        assertNull(method.callMethod(extension, Parameters.server(SERVER_UUID)));
+    }
+
+    @Test
+    void failingMethodThrowsIllegalArgumentException() throws NoSuchMethodException {
+        MethodWrapper<Long> method = wrap("failing", Long.class);
+        Parameters parameters = Parameters.server(SERVER_UUID);
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> method.callMethod(extension, parameters));
+        assertTrue(thrown.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    void disabledMethodIsNotCalled() throws NoSuchMethodException {
+        MethodWrapper<Long> method = wrap("failing", Long.class);
+        method.disable();
+        assertNull(method.callMethod(extension, Parameters.server(SERVER_UUID)));
+    }
+
+    public static class TestExtension implements DataExtension {
+        public long serverValue() {
+            return 5L;
+        }
+
+        public String uuidValue(UUID playerUUID) {
+            return playerUUID.toString();
+        }
+
+        public String nameValue(String playerName) {
+            return playerName;
+        }
+
+        public String[] groupValue(Group group) {
+            return new String[]{group.getGroupName()};
+        }
+
+        public boolean booleanValue() {
+            return true;
+        }
+
+        public long notReady() {
+            throw new NotReadyException();
+        }
+
+        public long failing() {
+            throw new IllegalStateException("Failed");
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation.providers.gathering;
+
+import com.djrapitops.plan.extension.icon.Icon;
+import com.djrapitops.plan.extension.implementation.ProviderInformation;
+import com.djrapitops.plan.extension.implementation.storage.transactions.StoreExtensionBatchTransaction;
+import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Tests for {@link StoreBatch} deduplication.
+ *
+ * @author AuroraLS3
+ */
+class StoreBatchTest {
+
+    private static final UUID PLAYER_UUID = UUID.randomUUID();
+
+    private StoredValueCache storedValues;
+    private Database database;
+    private ProviderInformation information;
+    private CompletableFuture<Object> execution;
+    private List<StoreExtensionBatchTransaction> executed;
+
+    @BeforeEach
+    void setUp() {
+        storedValues = new StoredValueCache();
+        execution = new CompletableFuture<>();
+        executed = new ArrayList<>();
+
+        database = Mockito.mock(Database.class);
+        doAnswer(invocation -> {
+            executed.add(invocation.getArgument(0));
+            return execution;
+        }).when(database).executeTransaction(any(Transaction.class));
+
+        information = ProviderInformation.builder("TestPlugin")
+                .setName("value")
+                .setText("Value")
+                .setIcon(Icon.called("gavel").build())
+                .build();
+    }
+
+    private int storeValue(UUID playerUUID, Object value) {
+        executed.clear();
+        StoreBatch batch = new StoreBatch(storedValues, playerUUID);
+        batch.storeIcon(information.getIcon());
+        batch.storeProvider(information, () -> Mockito.mock(Transaction.class));
+        batch.storeValue(information, value, () -> Mockito.mock(Transaction.class));
+        batch.execute(database);
+
+        int stored = 0;
+        for (StoreExtensionBatchTransaction transaction : executed) {
+            stored += transaction.size();
+        }
+        return stored;
+    }
+
+    @Test
+    void metadataAndUnchangedValuesAreStoredOnce() {
+        assertEquals(3, storeValue(PLAYER_UUID, 5L)); // Icon, provider and value
+        assertEquals(0, storeValue(PLAYER_UUID, 5L));
+        assertEquals(1, storeValue(PLAYER_UUID, 6L));
+    }
+
+    @Test
+    void arrayValuesAreComparedByContents() {
+        assertEquals(3, storeValue(PLAYER_UUID, new String[]{"Group"}));
+        assertEquals(0, storeValue(PLAYER_UUID, new String[]{"Group"}));
+        assertEquals(1, storeValue(PLAYER_UUID, new String[]{"Group", "Other"}));
+    }
+
+    @Test
+    void valuesOfDifferentPlayersAreStoredSeparately() {
+        assertEquals(3, storeValue(PLAYER_UUID, 5L));
+        assertEquals(1, storeValue(UUID.randomUUID(), 5L));
+    }
+
+    @Test
+    void valueIsStoredAgainAfterConditionWasNotFulfilled() {
+        assertEquals(3, storeValue(PLAYER_UUID, 5L));
+
+        StoreBatch batch = new StoreBatch(storedValues, PLAYER_UUID);
+        batch.valueNotAvailable(information);
+        batch.execute(database);
+
+        assertEquals(1, storeValue(PLAYER_UUID, 5L));
+    }
+
+    @Test
+    void failedWriteIsStoredAgain() {
+        assertEquals(3, storeValue(PLAYER_UUID, 5L));
+        // The transaction was never executed, so nothing was stored.
+        execution.complete(null);
+
+        assertEquals(3, storeValue(PLAYER_UUID, 5L));
+    }
+}
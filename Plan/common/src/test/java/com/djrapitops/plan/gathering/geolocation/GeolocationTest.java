@@ -21,6 +21,7 @@ import com.djrapitops.plan.settings.config.paths.DataGatheringSettings;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.storage.file.PlanFiles;
 import com.djrapitops.plugin.logging.console.TestPluginLogger;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -95,7 +96,11 @@ class GeolocationTest {
     @AfterEach
     void tearDownCache() throws IOException {
         underTest.disable();
-        Files.deleteIfExists(IP_STORE.toPath());
+        File[] downloaded = tempDir.toFile().listFiles((folder, name) -> name.endsWith(".mmdb"));
+        if (downloaded == null) return;
+        for (File database : downloaded) {
+            Files.deleteIfExists(database.toPath());
+        }
     }
 
     @Test
@@ -125,4 +130,37 @@ class GeolocationTest {
             assertEquals(expIp, countryThirdCall);
         }
     }
+
+    @Test
+    void cacheHitsAndMissesAreCounted() {
+        String ip = "156.53.159.86";
+        underTest.getCountry(ip);
+        underTest.getCountry(ip);
+
+        CacheStats stats = underTest.getCacheStats();
+        assertEquals(1L, stats.missCount());
+        assertEquals(1L, stats.hitCount());
+    }
+
+    @Test
+    void geolocatorCanBePreparedAgainAfterDisable() {
+        underTest.disable();
+        assertFalse(underTest.canGeolocate());
+
+        underTest.enable();
+        assertTrue(underTest.canGeolocate());
+        assertEquals("Canada", underTest.getCountry("205.210.42.205"));
+    }
+
+    @Test
+    void oldDatabaseFilesAreDeletedWhenPreparedAgain() throws IOException {
+        File old = tempDir.resolve("GeoLite2-Country-1.mmdb").toFile();
+        assertTrue(old.createNewFile());
+        assertTrue(old.setLastModified(1000L));
+
+        underTest.disable();
+        underTest.enable();
+        assertTrue(underTest.canGeolocate());
+        assertFalse(old.exists());
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.settings.config;
+
+import com.djrapitops.plan.settings.config.paths.DataGatheringSettings;
+import com.djrapitops.plan.settings.config.paths.FormatSettings;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import com.djrapitops.plugin.logging.console.TestPluginLogger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that values stored by {@link PlanConfig} are updated when the config changes.
+ *
+ * @author AuroraLS3
+ */
+class PlanConfigTest {
+
+    private File configFile;
+    private PlanConfig underTest;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) throws IOException {
+        configFile = tempDir.resolve("config.yml").toFile();
+        Files.write(configFile.toPath(), Arrays.asList(
+                "Data_gathering:",
+                "    Geolocations: true",
+                "Formatting:",
+                "    Dates:",
+                "        TimeZone: UTC"
+        ), StandardCharsets.UTF_8);
+        underTest = new PlanConfig(configFile, null, null, new TestPluginLogger());
+    }
+
+    @Test
+    void setValueIsReturnedAfterRead() {
+        assertTrue(underTest.isTrue(DataGatheringSettings.GEOLOCATIONS));
+        underTest.set(DataGatheringSettings.GEOLOCATIONS, false);
+        assertFalse(underTest.isTrue(DataGatheringSettings.GEOLOCATIONS));
+    }
+
+    @Test
+    void reloadedValueIsReturned() throws IOException {
+        assertTrue(underTest.isTrue(DataGatheringSettings.GEOLOCATIONS));
+        assertEquals(0, underTest.getTimeZone().getRawOffset());
+
+        Files.write(configFile.toPath(), Arrays.asList(
+                "Data_gathering:",
+                "    Geolocations: false",
+                "Formatting:",
+                "    Dates:",
+                "        TimeZone: GMT+2"
+        ), StandardCharsets.UTF_8);
+        underTest.read();
+
+        assertFalse(underTest.isTrue(DataGatheringSettings.GEOLOCATIONS));
+        assertEquals(2 * 60 * 60 * 1000, underTest.getTimeZone().getRawOffset());
+    }
+
+    @Test
+    void removedValueIsNotReturned() {
+        assertEquals("UTC", underTest.get(FormatSettings.TIMEZONE));
+        underTest.removeNode("Formatting.Dates");
+        assertThrows(IllegalStateException.class, () -> underTest.get(FormatSettings.TIMEZONE));
+    }
+
+    @Test
+    void modifyingReturnedListDoesNotChangeConfig() {
+        underTest.set(WebserverSettings.WHITELIST, Collections.singletonList("127.0.0.1"));
+        List<String> whitelist = underTest.get(WebserverSettings.WHITELIST);
+        whitelist.add("192.168.0.1");
+
+        assertEquals(Collections.singletonList("127.0.0.1"), underTest.get(WebserverSettings.WHITELIST));
+    }
+}
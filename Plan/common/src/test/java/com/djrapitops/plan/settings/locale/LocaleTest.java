@@ -0,0 +1,78 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.settings.locale;
+
+import com.djrapitops.plan.settings.locale.lang.HtmlLang;
+import com.djrapitops.plan.settings.locale.lang.JSLang;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LocaleTest {
+
+    private Locale underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new Locale(LangCode.CUSTOM);
+        underTest.put(HtmlLang.SIDE_OVERVIEW, new Message("Yleiskatsaus"));
+        underTest.put(HtmlLang.SIDE_PLAYERBASE_OVERVIEW, new Message("Pelaajakunnan yleiskatsaus"));
+        underTest.put(HtmlLang.SIDE_NETWORK_OVERVIEW, new Message("Verkoston yleiskatsaus"));
+        underTest.put(HtmlLang.LABEL_NAME, new Message("Nimi"));
+        underTest.put(JSLang.LINK_QUICK_VIEW, new Message("Pikakatsaus"));
+    }
+
+    @Test
+    void htmlIsTranslated() {
+        String html = "<h1>Network Overview</h1><p>Playerbase Overview</p><p>Overview</p>";
+        String expected = "<h1>Verkoston yleiskatsaus</h1><p>Pelaajakunnan yleiskatsaus</p><p>Yleiskatsaus</p>";
+        assertEquals(expected, underTest.replaceLanguageInHtml(html));
+    }
+
+    @Test
+    void linksAndPlaceholdersAreNotTranslated() {
+        String html = "<a href=\"https://example.com/Overview\">Overview</a><p>Name ${serverName}</p>";
+        String expected = "<a href=\"https://example.com/Overview\">Yleiskatsaus</a><p>Nimi ${serverName}</p>";
+        assertEquals(expected, underTest.replaceLanguageInHtml(html));
+    }
+
+    @Test
+    void scriptsInHtmlUseJavascriptTranslations() {
+        String html = "<p>Overview Quick view</p><script>let text = 'Overview Quick view';</script><p>Overview</p>";
+        String expected = "<p>Yleiskatsaus Quick view</p><script>let text = 'Overview Pikakatsaus';</script><p>Yleiskatsaus</p>";
+        assertEquals(expected, underTest.replaceLanguageInHtml(html));
+    }
+
+    @Test
+    void javascriptIsTranslated() {
+        assertEquals("'Pikakatsaus' + 'Overview'", underTest.replaceLanguageInJavascript("'Quick view' + 'Overview'"));
+    }
+
+    @Test
+    void changedTranslationsAreUsed() {
+        assertEquals("Yleiskatsaus", underTest.replaceLanguageInHtml("Overview"));
+
+        underTest.put(HtmlLang.SIDE_OVERVIEW, new Message("Katsaus"));
+        assertEquals("Katsaus", underTest.replaceLanguageInHtml("Overview"));
+
+        underTest.loadFromAnotherLocale(new Locale());
+        assertEquals("Katsaus", underTest.replaceLanguageInHtml("Overview"));
+        underTest.remove(HtmlLang.SIDE_OVERVIEW);
+        assertEquals("Overview", underTest.replaceLanguageInHtml("Overview"));
+    }
+}
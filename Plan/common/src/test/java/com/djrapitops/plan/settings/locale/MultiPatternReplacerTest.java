@@ -0,0 +1,100 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.settings.locale;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MultiPatternReplacerTest {
+
+    private static MultiPatternReplacer replacing(String... replaceWith) {
+        List<Map.Entry<String, String>> replacements = new ArrayList<>();
+        for (int i = 0; i < replaceWith.length; i += 2) {
+            replacements.add(new AbstractMap.SimpleImmutableEntry<>(replaceWith[i], replaceWith[i + 1]));
+        }
+        return new MultiPatternReplacer(replacements);
+    }
+
+    private static String replaceOneByOne(String text, String... replaceWith) {
+        String replaced = text;
+        for (int i = 0; i < replaceWith.length; i += 2) {
+            replaced = StringUtils.replace(replaced, replaceWith[i], replaceWith[i + 1]);
+        }
+        return replaced;
+    }
+
+    @Test
+    void allOccurrencesAreReplaced() {
+        MultiPatternReplacer underTest = replacing("cat", "dog", "mouse", "rat");
+        assertEquals("dog and rat, dog and dog", underTest.replace("cat and mouse, cat and cat"));
+    }
+
+    @Test
+    void earlierPatternsAreReplacedFirst() {
+        String[] replaceWith = {"Playerbase Overview", "2", "Playerbase", "3", "Overview", "1", " Online", "O", "Online Activity", "A"};
+        String text = "Playerbase Overview, Playerbase, Overview, Playerbase Overview Overview, Online Activity";
+
+        String expected = replaceOneByOne(text, replaceWith);
+        assertEquals("2, 3, 1, 2 1,O Activity", expected);
+        assertEquals(expected, replacing(replaceWith).replace(text));
+    }
+
+    @Test
+    void overlappingPatternsAreReplacedInOrder() {
+        String[] replaceWith = {"cdf", "3", "bc", "1", "abcde", "2"};
+        for (String text : new String[]{"abcde", "abcdf", "abcd", "bcbcdfabcde"}) {
+            assertEquals(replaceOneByOne(text, replaceWith), replacing(replaceWith).replace(text), text);
+        }
+    }
+
+    @Test
+    void replacementsAreReplacedByLaterPatterns() {
+        String[] replaceWith = {"Average Playtime / Player", "Keskim. peliaika / Player", "Player", "Pelaaja", "a", "b", "b", "a"};
+        String text = "Average Playtime / Player, abba";
+
+        String expected = replaceOneByOne(text, replaceWith);
+        assertEquals("Keskim. peliaika / Pelaaja, aaaa", expected);
+        assertEquals(expected, replacing(replaceWith).replace(text));
+    }
+
+    @Test
+    void sameTextCanBeGivenMultipleTimes() {
+        String[] replaceWith = {"Online Activity", "Online Activity", "Online Activity", "Online Aktivität"};
+        assertEquals("Online Aktivität", replacing(replaceWith).replace("Online Activity"));
+    }
+
+    @Test
+    void textReplacedWithItselfDoesNotStopLaterPatterns() {
+        String[] replaceWith = {"AFK", "AFK", "Total AFK", "Gesamte AFK-Zeit"};
+        assertEquals("Gesamte AFK-Zeit", replacing(replaceWith).replace("Total AFK"));
+    }
+
+    @Test
+    void onlyGivenPartIsReplaced() {
+        MultiPatternReplacer underTest = replacing("ab", "X");
+        StringBuilder into = new StringBuilder();
+        underTest.replace("abab", 1, 4, into);
+        assertEquals("bX", into.toString());
+    }
+}
@@ -21,9 +21,11 @@ import com.djrapitops.plan.delivery.domain.TablePlayer;
 import com.djrapitops.plan.delivery.domain.container.PlayerContainer;
 import com.djrapitops.plan.delivery.domain.keys.Key;
 import com.djrapitops.plan.delivery.domain.keys.PlayerKeys;
+import com.djrapitops.plan.exceptions.database.DBOpException;
 import com.djrapitops.plan.gathering.domain.BaseUser;
 import com.djrapitops.plan.gathering.domain.GeoInfo;
 import com.djrapitops.plan.gathering.domain.Session;
+import com.djrapitops.plan.gathering.domain.UserInfo;
 import com.djrapitops.plan.query.QuerySvc;
 import com.djrapitops.plan.settings.config.Config;
 import com.djrapitops.plan.settings.config.PlanConfig;
@@ -113,6 +115,102 @@ public interface DatabaseTest extends DatabaseTestPreparer {
         assertQueryIsEmpty(db(), SessionQueries.fetchSessionsOfPlayer(playerUUID));
     }
 
+    @Test
+    default void bufferedEventsAreStored() throws Exception {
+        long time = System.currentTimeMillis();
+        db().executeTransaction(new StoreBufferedEventsTransaction(Arrays.asList(
+                new BanStatusTransaction(playerUUID, () -> true),
+                new WorldNameStoreTransaction(serverUUID(), worlds[0]),
+                new WorldNameStoreTransaction(serverUUID(), worlds[0]),
+                new PlayerServerRegisterTransaction(playerUUID, () -> time, TestConstants.PLAYER_ONE_NAME, serverUUID()),
+                new GeoInfoStoreTransaction(playerUUID, new GeoInfo("Finland", time - 1000L)),
+                new GeoInfoStoreTransaction(playerUUID, new GeoInfo("Finland", time)),
+                new NicknameStoreTransaction(playerUUID, new Nickname("TestNick", time, serverUUID()), (uuid, name) -> false),
+                new OperatorStatusTransaction(playerUUID, true)
+        ))).get();
+
+        assertEquals(Collections.singleton(worlds[0]), db().query(LargeFetchQueries.fetchWorldNames(serverUUID())));
+        assertTrue(db().query(PlayerFetchQueries.isPlayerRegisteredOnServer(playerUUID, serverUUID())));
+        List<GeoInfo> geoInformation = db().query(GeoInfoQueries.fetchPlayerGeoInformation(playerUUID));
+        assertEquals(1, geoInformation.size());
+        assertEquals(time, geoInformation.get(0).getDate());
+        assertEquals(1, db().query(NicknameQueries.fetchNicknameDataOfPlayer(playerUUID)).size());
+        UserInfo userInfo = db().query(UserInfoQueries.fetchUserInformationOfUser(playerUUID)).get(0);
+        assertTrue(userInfo.isBanned());
+        assertTrue(userInfo.isOperator());
+    }
+
+    @Test
+    default void failedBufferedEventDoesNotDuplicateOthers() throws Exception {
+        long time = System.currentTimeMillis();
+        StoreBufferedEventsTransaction transaction = new StoreBufferedEventsTransaction(Arrays.asList(
+                new PlayerServerRegisterTransaction(playerUUID, () -> time, TestConstants.PLAYER_ONE_NAME, serverUUID()),
+                new GeoInfoStoreTransaction(playerUUID, new GeoInfo("Finland", time)),
+                // Nickname can not be null, so storing the batch fails after the others have been written
+                new NicknameStoreTransaction(playerUUID, new Nickname(null, time, serverUUID()), (uuid, name) -> false)
+        ));
+        db().executeTransaction(transaction).get();
+
+        assertTrue(transaction.getFailure().isPresent());
+        assertEquals(1, transaction.getFailure().get().getCause().getSuppressed().length);
+        assertEquals(1, db().query(UserInfoQueries.fetchUserInformationOfUser(playerUUID)).size());
+        assertEquals(1, db().query(GeoInfoQueries.fetchPlayerGeoInformation(playerUUID)).size());
+        assertTrue(db().query(NicknameQueries.fetchNicknameDataOfPlayer(playerUUID)).isEmpty());
+    }
+
+    @Test
+    default void queryAllReturnsResultOfEachQuery() {
+        saveUserOne();
+        saveUserTwo();
+
+        QueryBatch queries = new QueryBatch();
+        List<QueryBatch.Result<Integer>> values = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int value = i;
+            values.add(queries.add(database -> value));
+        }
+        QueryBatch.Result<Set<UUID>> users = queries.add(BaseUserQueries.uuidsOfRegisteredBetween(0L, System.currentTimeMillis() + 1000L));
+        db().queryAll(queries);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, values.get(i).get());
+        }
+        assertEquals(db().query(BaseUserQueries.uuidsOfRegisteredBetween(0L, System.currentTimeMillis() + 1000L)), users.get());
+    }
+
+    @Test
+    default void queryBatchResultIsNotAvailableBeforeExecution() {
+        QueryBatch queries = new QueryBatch();
+        QueryBatch.Result<Integer> result = queries.add(database -> 1);
+
+        assertThrows(IllegalStateException.class, result::get);
+    }
+
+    @Test
+    default void queryAllThrowsFailureOfAQuery() {
+        QueryBatch queries = new QueryBatch();
+        queries.add(database -> 1);
+        queries.add(database -> {
+            throw new DBOpException("Expected failure");
+        });
+
+        DBOpException thrown = assertThrows(DBOpException.class, () -> db().queryAll(queries));
+        assertEquals("Expected failure", thrown.getMessage());
+    }
+
+    @Test
+    default void bufferedGeoInformationIsUpdated() {
+        saveUserOne();
+        saveGeoInfo(playerUUID, new GeoInfo("Finland", 1000L));
+
+        db().executeBufferedTransaction(new GeoInfoStoreTransaction(playerUUID, new GeoInfo("Finland", 2000L)));
+        db().flushBufferedTransactions();
+
+        List<GeoInfo> geoInformation = db().query(GeoInfoQueries.fetchPlayerGeoInformation(playerUUID));
+        assertEquals(1, geoInformation.size());
+        assertEquals(2000L, geoInformation.get(0).getDate());
+    }
+
     default <T extends Map<?, ?>> void assertQueryIsEmpty(Database database, Query<T> query) {
         assertTrue(database.query(query).isEmpty());
     }
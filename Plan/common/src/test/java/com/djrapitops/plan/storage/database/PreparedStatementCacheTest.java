@@ -0,0 +1,85 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PreparedStatementCacheTest {
+
+    private Connection connection;
+    private PreparedStatementCache underTest;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> mock(PreparedStatement.class));
+        underTest = new PreparedStatementCache(2);
+    }
+
+    @Test
+    void closedStatementIsReused() throws SQLException {
+        Connection wrapped = underTest.wrap(connection);
+        wrapped.prepareStatement("SELECT 1").close();
+        wrapped.prepareStatement("SELECT 1").close();
+
+        verify(connection, times(1)).prepareStatement("SELECT 1");
+        assertEquals(1L, underTest.getHits());
+        assertEquals(1L, underTest.getMisses());
+    }
+
+    @Test
+    void statementInUseIsNotShared() throws SQLException {
+        Connection wrapped = underTest.wrap(connection);
+        PreparedStatement first = wrapped.prepareStatement("SELECT 1");
+        PreparedStatement second = wrapped.prepareStatement("SELECT 1");
+        first.close();
+        second.close();
+
+        verify(connection, times(2)).prepareStatement("SELECT 1");
+    }
+
+    @Test
+    void leastRecentlyUsedStatementIsEvicted() throws SQLException {
+        Connection wrapped = underTest.wrap(connection);
+        wrapped.prepareStatement("SELECT 1").close();
+        wrapped.prepareStatement("SELECT 2").close();
+        wrapped.prepareStatement("SELECT 3").close();
+        wrapped.prepareStatement("SELECT 1").close();
+
+        verify(connection, times(2)).prepareStatement("SELECT 1");
+        assertEquals(2L, underTest.getEvictions());
+    }
+
+    @Test
+    void schemaChangesAreNotCached() throws SQLException {
+        Connection wrapped = underTest.wrap(connection);
+        wrapped.prepareStatement("ALTER TABLE plan_users ADD something").close();
+        wrapped.prepareStatement("ALTER TABLE plan_users ADD something").close();
+
+        verify(connection, times(2)).prepareStatement("ALTER TABLE plan_users ADD something");
+        assertEquals(0L, underTest.getMisses());
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+import com.djrapitops.plan.storage.database.transactions.events.PingStoreTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.TPSStoreTransaction;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionMetricsTest {
+
+    @Test
+    void executionTimesAreRecordedByClass() {
+        TransactionMetrics underTest = new TransactionMetrics();
+        underTest.record(TPSStoreTransaction.class, 0L, TimeUnit.MILLISECONDS.toNanos(2L));
+        underTest.record(TPSStoreTransaction.class, 0L, TimeUnit.MILLISECONDS.toNanos(3L));
+        underTest.record(PingStoreTransaction.class, 0L, TimeUnit.MILLISECONDS.toNanos(1L));
+
+        assertEquals(Arrays.asList("PingStoreTransaction", "TPSStoreTransaction"),
+                Arrays.asList(underTest.getExecutionLatencies().keySet().toArray()));
+        assertEquals(2L, underTest.getExecutionLatencies().get("TPSStoreTransaction").getCount());
+        assertEquals(3L, underTest.getQueueLatency().getCount());
+    }
+
+    @Test
+    void anonymousTransactionsHaveAName() {
+        TransactionMetrics underTest = new TransactionMetrics();
+        Transaction anonymous = new Transaction() {
+            @Override
+            protected void performOperations() {
+                // Not executed
+            }
+        };
+        underTest.record(anonymous.getClass(), 0L, 0L);
+
+        String name = underTest.getExecutionLatencies().keySet().iterator().next();
+        assertFalse(name.isEmpty());
+    }
+}
@@ -23,12 +23,19 @@ import com.djrapitops.plan.delivery.domain.mutators.SessionsMutator;
 import com.djrapitops.plan.gathering.domain.Session;
 import com.djrapitops.plan.storage.database.DatabaseTestPreparer;
 import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.ActivitySnapshotQueries;
 import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
 import com.djrapitops.plan.storage.database.queries.objects.playertable.NetworkTablePlayersQuery;
+import com.djrapitops.plan.storage.database.queries.objects.playertable.PlayersTablePage;
+import com.djrapitops.plan.storage.database.queries.objects.playertable.ServerPlayerSummaryQueries;
 import com.djrapitops.plan.storage.database.queries.objects.playertable.ServerTablePlayersQuery;
+import com.djrapitops.plan.storage.database.sql.tables.ActivitySnapshotTable;
 import com.djrapitops.plan.storage.database.sql.tables.SessionsTable;
 import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
+import com.djrapitops.plan.storage.database.transactions.ActivitySnapshotTransaction;
+import com.djrapitops.plan.storage.database.transactions.ServerPlayerSummaryTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.PlayerServerRegisterTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.SessionEndTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.WorldNameStoreTransaction;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
@@ -40,7 +47,9 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -236,6 +245,163 @@ public interface ActivityIndexQueriesTest extends DatabaseTestPreparer {
         };
     }
 
+    @Test
+    default void activitySnapshotsContainActivePlaytimeOfSessions() {
+        storeSessions(session -> true);
+
+        long now = System.currentTimeMillis();
+        // Second run recalculates the latest days, which should not duplicate any playtime.
+        executeTransactions(
+                new ActivitySnapshotTransaction(serverUUID(), now),
+                new ActivitySnapshotTransaction(serverUUID(), now)
+        );
+
+        String sql = SELECT + "SUM(" + ActivitySnapshotTable.ACTIVE_PLAYTIME + ") as playtime" +
+                FROM + ActivitySnapshotTable.TABLE_NAME +
+                WHERE + ActivitySnapshotTable.SERVER_UUID + "=?";
+        Long snapshotPlaytime = db().query(new QueryStatement<Long>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID().toString());
+            }
+
+            @Override
+            public Long processResults(ResultSet set) throws SQLException {
+                return set.next() ? set.getLong("playtime") : 0L;
+            }
+        });
+        Long sessionPlaytime = db().query(SessionQueries.activePlaytime(0L, Long.MAX_VALUE, serverUUID()));
+        assertEquals(sessionPlaytime, snapshotPlaytime);
+
+        Map<UUID, ActivityIndex> indexes = db().query(ActivitySnapshotQueries.activityIndexForAllPlayers(now, TimeUnit.HOURS.toMillis(5L)));
+        assertTrue(indexes.containsKey(playerUUID));
+        assertTrue(indexes.containsKey(player2UUID));
+        ActivityIndex activityIndex = db().query(ActivitySnapshotQueries.activityIndexOf(playerUUID, now, TimeUnit.HOURS.toMillis(5L)));
+        assertEquals(indexes.get(playerUUID).getValue(), activityIndex.getValue(), 0.001);
+    }
+
+    @Test
+    default void activitySnapshotsAreUsedForNetworkOnlyWhenEveryServerHasThem() {
+        storeSessions(session -> true);
+        long now = System.currentTimeMillis();
+        executeTransactions(new ActivitySnapshotTransaction(serverUUID(), now));
+        assertTrue(db().query(ActivitySnapshotQueries.fetchLatestSnapshotDay()).isPresent());
+
+        UUID serverTwoUUID = TestConstants.SERVER_TWO_UUID;
+        db().executeTransaction(new WorldNameStoreTransaction(serverTwoUUID, worlds[0]));
+        Session session = new Session(playerUUID, serverTwoUUID, now - TimeUnit.HOURS.toMillis(1L), worlds[0], "SURVIVAL");
+        session.endSession(now);
+        execute(DataStoreQueries.storeSession(session));
+        assertFalse(db().query(ActivitySnapshotQueries.fetchLatestSnapshotDay()).isPresent());
+
+        executeTransactions(new ActivitySnapshotTransaction(serverTwoUUID, now));
+        assertTrue(db().query(ActivitySnapshotQueries.fetchLatestSnapshotDay()).isPresent());
+    }
+
+    @Test
+    default void serverPlayerSummaryMatchesPlayersTableQuery() {
+        storeSessions(session -> true);
+
+        long now = System.currentTimeMillis();
+        long threshold = TimeUnit.HOURS.toMillis(5L);
+        List<TablePlayer> expected = db().query(new ServerTablePlayersQuery(serverUUID(), now, threshold, 5));
+
+        // Second run only updates players with new sessions, which should not duplicate any players.
+        executeTransactions(
+                new ActivitySnapshotTransaction(serverUUID(), now),
+                new ServerPlayerSummaryTransaction(serverUUID(), now, threshold),
+                new ServerPlayerSummaryTransaction(serverUUID(), now, threshold)
+        );
+
+        List<TablePlayer> result = db().query(new ServerTablePlayersQuery(serverUUID(), now, threshold, 5));
+        assertEquals(expected.size(), result.size());
+        for (TablePlayer player : expected) {
+            TablePlayer found = result.stream().filter(tp -> player.getPlayerUUID().equals(tp.getPlayerUUID()))
+                    .findFirst().orElseThrow(AssertionError::new);
+            assertEquals(player.getActivePlaytime(), found.getActivePlaytime());
+            assertEquals(player.getSessionCount(), found.getSessionCount());
+            assertEquals(player.getLastSeen(), found.getLastSeen());
+            assertEquals(player.getRegistered(), found.getRegistered());
+        }
+        assertEquals(2, (int) db().query(ServerPlayerSummaryQueries.countPlayers(serverUUID(), null)));
+    }
+
+    @Test
+    default void serverPlayerSummaryIsUpdatedWhenSessionEnds() {
+        storeSessions(session -> true);
+
+        long now = System.currentTimeMillis();
+        long threshold = TimeUnit.HOURS.toMillis(5L);
+        executeTransactions(
+                new ActivitySnapshotTransaction(serverUUID(), now),
+                new ServerPlayerSummaryTransaction(serverUUID(), now, threshold)
+        );
+
+        Session session = new Session(playerUUID, serverUUID(), now + 1000L, worlds[0], "SURVIVAL");
+        session.endSession(now + 5000L);
+        executeTransactions(new SessionEndTransaction(session));
+
+        List<TablePlayer> expected = db().query(new ServerTablePlayersQuery(serverUUID(), now, threshold, 5));
+        List<TablePlayer> result = db().query(ServerPlayerSummaryQueries.fetchPage(serverUUID(),
+                new PlayersTablePage(PlayersTablePage.Sort.NAME, false, null, null, 0, 10)));
+        for (TablePlayer player : expected) {
+            TablePlayer found = result.stream().filter(tp -> player.getPlayerUUID().equals(tp.getPlayerUUID()))
+                    .findFirst().orElseThrow(AssertionError::new);
+            assertEquals(player.getActivePlaytime(), found.getActivePlaytime());
+            assertEquals(player.getSessionCount(), found.getSessionCount());
+            assertEquals(player.getLastSeen(), found.getLastSeen());
+        }
+    }
+
+    @Test
+    default void serverPlayerSummaryIsPagedWithCursor() {
+        storeSessions(session -> true);
+
+        long now = System.currentTimeMillis();
+        executeTransactions(
+                new ActivitySnapshotTransaction(serverUUID(), now),
+                new ServerPlayerSummaryTransaction(serverUUID(), now, TimeUnit.HOURS.toMillis(5L))
+        );
+
+        PlayersTablePage.Sort sort = PlayersTablePage.Sort.NAME;
+        List<TablePlayer> firstPage = db().query(ServerPlayerSummaryQueries.fetchPage(serverUUID(),
+                new PlayersTablePage(sort, false, null, null, 0, 1)));
+        assertEquals(1, firstPage.size());
+
+        PlayersTablePage.Cursor cursor = PlayersTablePage.Cursor.of(firstPage.get(0), sort).orElseThrow(AssertionError::new);
+        List<TablePlayer> secondPage = db().query(ServerPlayerSummaryQueries.fetchPage(serverUUID(),
+                new PlayersTablePage(sort, false, null, cursor, 1, 1)));
+        List<TablePlayer> secondPageByOffset = db().query(ServerPlayerSummaryQueries.fetchPage(serverUUID(),
+                new PlayersTablePage(sort, false, null, null, 1, 1)));
+        assertEquals(1, secondPage.size());
+        assertNotEquals(firstPage.get(0).getPlayerUUID(), secondPage.get(0).getPlayerUUID());
+        assertEquals(secondPageByOffset.get(0).getPlayerUUID(), secondPage.get(0).getPlayerUUID());
+
+        List<TablePlayer> thirdPage = db().query(ServerPlayerSummaryQueries.fetchPage(serverUUID(),
+                new PlayersTablePage(sort, false, null, PlayersTablePage.Cursor.of(secondPage.get(0), sort).orElse(null), 2, 1)));
+        assertTrue(thirdPage.isEmpty());
+    }
+
+    @Test
+    default void serverPlayerSummarySearchMatchesWildcardsLiterally() {
+        storeSessions(session -> true);
+
+        long now = System.currentTimeMillis();
+        executeTransactions(
+                new ActivitySnapshotTransaction(serverUUID(), now),
+                new ServerPlayerSummaryTransaction(serverUUID(), now, TimeUnit.HOURS.toMillis(5L))
+        );
+
+        assertEquals(0, (int) db().query(ServerPlayerSummaryQueries.countPlayers(serverUUID(), "%one")));
+        assertEquals(1, (int) db().query(ServerPlayerSummaryQueries.countPlayers(serverUUID(), "_one")));
+        assertEquals(2, (int) db().query(ServerPlayerSummaryQueries.countPlayers(serverUUID(), "r_")));
+
+        List<TablePlayer> found = db().query(ServerPlayerSummaryQueries.fetchPage(serverUUID(),
+                new PlayersTablePage(PlayersTablePage.Sort.NAME, false, "_two", null, 0, 10)));
+        assertEquals(1, found.size());
+        assertEquals(player2UUID, found.get(0).getPlayerUUID());
+    }
+
     @Test
     default void activeTurnedInactiveQueryHasAllParametersSet() {
         Integer result = db().query(ActivityIndexQueries.countRegularPlayersTurnedInactive(
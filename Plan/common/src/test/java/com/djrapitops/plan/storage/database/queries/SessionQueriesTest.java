@@ -25,15 +25,27 @@ import com.djrapitops.plan.gathering.domain.Session;
 import com.djrapitops.plan.gathering.domain.WorldTimes;
 import com.djrapitops.plan.identification.Server;
 import com.djrapitops.plan.storage.database.DatabaseTestPreparer;
+import com.djrapitops.plan.storage.database.queries.analysis.PlayerCountQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.RollupQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.TimeWindow;
+import com.djrapitops.plan.storage.database.queries.analysis.WindowedQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.WindowedResult;
 import com.djrapitops.plan.storage.database.queries.containers.PlayerContainerQuery;
 import com.djrapitops.plan.storage.database.queries.objects.KillQueries;
 import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
+import com.djrapitops.plan.storage.database.queries.objects.UserIdentifierQueries;
 import com.djrapitops.plan.storage.database.queries.objects.WorldTimesQueries;
 import com.djrapitops.plan.storage.database.queries.objects.playertable.ServerTablePlayersQuery;
+import com.djrapitops.plan.storage.database.sql.building.Sql;
+import com.djrapitops.plan.storage.database.sql.tables.RollupStateTable;
+import com.djrapitops.plan.storage.database.transactions.RollupBackfillTransaction;
 import com.djrapitops.plan.storage.database.transactions.StoreServerInformationTransaction;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
 import com.djrapitops.plan.storage.database.transactions.commands.RemoveEverythingTransaction;
+import com.djrapitops.plan.storage.database.transactions.commands.RemovePlayerTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.PlayerServerRegisterTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.ServerShutdownTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.SessionEndTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.WorldNameStoreTransaction;
 import com.djrapitops.plan.utilities.java.Maps;
 import com.djrapitops.plugin.api.TimeAmount;
@@ -73,6 +85,212 @@ public interface SessionQueriesTest extends DatabaseTestPreparer {
         assertEquals(0, afterTimeSessionsMutator.count());
     }
 
+    @Test
+    default void summaryOfPlayerMatchesStoredSession() {
+        prepareForSessionSave();
+        Session session = RandomData.randomSession(serverUUID(), worlds, playerUUID, player2UUID);
+        execute(DataStoreQueries.storeSession(session));
+
+        forcePersistenceCheck();
+
+        Map<String, Long> summary = db().query(SessionQueries.summaryOfPlayer(playerUUID, 0L, System.currentTimeMillis()));
+        SessionsMutator sessions = new SessionsMutator(Collections.singletonList(session));
+        assertEquals(sessions.toPlaytime(), summary.get("playtime").longValue());
+        assertEquals(sessions.toAfkTime(), summary.get("afk_time").longValue());
+        assertEquals(1L, summary.get("session_count").longValue());
+        assertEquals((long) sessions.toMobKillCount(), summary.get("mob_kills").longValue());
+        assertEquals((long) sessions.toDeathCount(), summary.get("deaths").longValue());
+        assertEquals(sessions.toLastSeen(), summary.get("last_seen").longValue());
+        assertEquals((long) session.getPlayerKills().size(), db().query(KillQueries.playerKillCountOfPlayer(playerUUID)).longValue());
+
+        Map<String, Long> otherServer = db().query(SessionQueries.summaryOfPlayer(playerUUID, TestConstants.SERVER_TWO_UUID, 0L, System.currentTimeMillis()));
+        assertEquals(0L, otherServer.get("session_count").longValue());
+    }
+
+    @Test
+    default void userIdsOfPlayersWhoPlayedBetweenAreFetched() {
+        prepareForSessionSave();
+        Session session = RandomData.randomSession(serverUUID(), worlds, playerUUID, player2UUID);
+        execute(DataStoreQueries.storeSession(session));
+        long sessionStart = session.getDate();
+        long sessionEnd = session.getValue(SessionKeys.END).orElseThrow(AssertionError::new);
+
+        forcePersistenceCheck();
+
+        BitSet expected = new BitSet();
+        expected.set(db().query(UserIdentifierQueries.fetchUserIdsByUUID()).get(playerUUID));
+        assertEquals(expected, db().query(SessionQueries.userIdsOfPlayedBetween(sessionStart, sessionEnd)));
+        assertTrue(db().query(SessionQueries.userIdsOfPlayedBetween(sessionEnd + 1L, sessionEnd + 2L)).isEmpty());
+    }
+
+    @Test
+    default void rollupsMatchSessionBasedQueries() {
+        prepareForSessionSave();
+        List<Session> sessions = new ArrayList<>(RandomData.randomSessions(serverUUID(), worlds, playerUUID, player2UUID));
+        sessions.addAll(RandomData.randomSessions(serverUUID(), worlds, player2UUID, playerUUID));
+        long offset = TimeUnit.HOURS.toMillis(3L);
+
+        // Half of the data is stored after backfill, so that both filling and updating the rollups is tested.
+        int half = sessions.size() / 2;
+        for (Session session : sessions.subList(0, half)) {
+            db().executeTransaction(new SessionEndTransaction(session));
+        }
+        db().executeTransaction(new RollupBackfillTransaction(serverUUID(), offset, System.currentTimeMillis()));
+        for (Session session : sessions.subList(half, sessions.size())) {
+            db().executeTransaction(new SessionEndTransaction(session));
+        }
+        db().executeTransaction(new PlayerServerRegisterTransaction(player3UUID, RandomData::randomTime, TestConstants.PLAYER_THREE_NAME, serverUUID()));
+        forcePersistenceCheck();
+        assertTrue(db().query(RollupQueries.hasDailyRollups(serverUUID(), offset)));
+
+        List<Map<Long, ?>> rolledUp = queryPerDayAndHour(offset);
+
+        db().executeTransaction(new Transaction() {
+            @Override
+            protected void performOperations() {
+                execute(Sql.DELETE_FROM + RollupStateTable.TABLE_NAME);
+            }
+        });
+        assertFalse(db().query(RollupQueries.hasDailyRollups(serverUUID(), offset)));
+
+        List<Map<Long, ?>> fromSessions = queryPerDayAndHour(offset);
+        assertEquals(fromSessions, rolledUp);
+    }
+
+    @Test
+    default void rollupsMatchSessionBasedQueriesWithinPartialDays() {
+        prepareForSessionSave();
+        for (Session session : RandomData.randomSessions(serverUUID(), worlds, playerUUID, player2UUID)) {
+            db().executeTransaction(new SessionEndTransaction(session));
+        }
+        long offset = TimeUnit.HOURS.toMillis(3L);
+        long now = System.currentTimeMillis();
+        db().executeTransaction(new RollupBackfillTransaction(serverUUID(), offset, now));
+        forcePersistenceCheck();
+
+        // Range starts in the middle of a day and an hour, and ends at the current time like on the pages.
+        long after = now - TimeUnit.DAYS.toMillis(20L) + TimeUnit.MINUTES.toMillis(90L);
+        long before = System.currentTimeMillis();
+        List<Object> rolledUp = queryWithinRange(after, before, offset);
+
+        db().executeTransaction(new Transaction() {
+            @Override
+            protected void performOperations() {
+                execute(Sql.DELETE_FROM + RollupStateTable.TABLE_NAME);
+            }
+        });
+        assertEquals(queryWithinRange(after, before, offset), rolledUp);
+    }
+
+    default List<Object> queryWithinRange(long after, long before, long offset) {
+        return Arrays.asList(
+                db().query(PlayerCountQueries.uniquePlayerCounts(after, before, offset, serverUUID())),
+                db().query(PlayerCountQueries.hourlyUniquePlayerCounts(after, before, offset, serverUUID())),
+                db().query(PlayerCountQueries.averageUniquePlayerCount(after, before, offset, serverUUID())),
+                db().query(PlayerCountQueries.newPlayerCounts(after, before, offset, serverUUID())),
+                db().query(PlayerCountQueries.averageNewPlayerCount(after, before, offset, serverUUID())),
+                db().query(SessionQueries.sessionCountPerDay(after, before, offset, serverUUID())),
+                db().query(SessionQueries.playtimePerDay(after, before, offset, serverUUID())),
+                db().query(SessionQueries.averagePlaytimePerDay(after, before, offset, serverUUID()))
+        );
+    }
+
+    @Test
+    default void rollupsCountPlayerOnceWhenSessionsInSameBucketAreStoredTogether() {
+        prepareForSessionSave();
+        long offset = TimeUnit.HOURS.toMillis(3L);
+        db().executeTransaction(new RollupBackfillTransaction(serverUUID(), offset, System.currentTimeMillis()));
+
+        long hourStart = RollupQueries.toHourStart(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2L));
+        List<Session> sessions = new ArrayList<>();
+        for (long start : new long[]{hourStart + 1000L, hourStart + 60000L}) {
+            Session session = new Session(playerUUID, serverUUID(), start, worlds[0], "SURVIVAL");
+            session.endSession(start + 30000L);
+            sessions.add(session);
+        }
+        db().executeTransaction(new ServerShutdownTransaction(sessions));
+        forcePersistenceCheck();
+
+        List<Map<Long, ?>> rolledUp = queryPerDayAndHour(offset);
+        assertEquals(Collections.singletonMap(hourStart + offset, 1), rolledUp.get(2));
+
+        db().executeTransaction(new Transaction() {
+            @Override
+            protected void performOperations() {
+                execute(Sql.DELETE_FROM + RollupStateTable.TABLE_NAME);
+            }
+        });
+        assertEquals(queryPerDayAndHour(offset), rolledUp);
+    }
+
+    @Test
+    default void removingPlayerOnlyInvalidatesRollupsOfTheirServers() {
+        prepareForSessionSave();
+        db().executeTransaction(new SessionEndTransaction(RandomData.randomSession(serverUUID(), worlds, playerUUID, player2UUID)));
+        UUID otherServerUUID = TestConstants.SERVER_TWO_UUID;
+        long offset = TimeUnit.HOURS.toMillis(3L);
+        db().executeTransaction(new RollupBackfillTransaction(serverUUID(), offset, System.currentTimeMillis()));
+        db().executeTransaction(new RollupBackfillTransaction(otherServerUUID, offset, System.currentTimeMillis()));
+        forcePersistenceCheck();
+        assertTrue(db().query(RollupQueries.hasDailyRollups(serverUUID(), offset)));
+
+        db().executeTransaction(new RemovePlayerTransaction(playerUUID));
+        forcePersistenceCheck();
+
+        assertFalse(db().query(RollupQueries.hasDailyRollups(serverUUID(), offset)));
+        assertTrue(db().query(RollupQueries.hasDailyRollups(otherServerUUID, offset)));
+    }
+
+    @Test
+    default void windowedQueriesMatchSingleWindowQueries() {
+        prepareForSessionSave();
+        List<Session> sessions = RandomData.randomSessions(serverUUID(), worlds, playerUUID, player2UUID);
+        for (Session session : sessions) {
+            db().executeTransaction(new SessionEndTransaction(session));
+        }
+        forcePersistenceCheck();
+
+        long now = System.currentTimeMillis();
+        TimeWindow[] windows = {
+                TimeWindow.between(0L, now),
+                TimeWindow.between(now - TimeUnit.DAYS.toMillis(30L), now),
+                TimeWindow.between(now - TimeUnit.DAYS.toMillis(60L), now - TimeUnit.DAYS.toMillis(30L)),
+                TimeWindow.between(now - TimeUnit.DAYS.toMillis(1L), now)
+        };
+        WindowedResult<Integer> uniquePlayers = db().query(WindowedQueries.uniquePlayerCounts(serverUUID(), windows));
+        WindowedResult<Integer> newPlayers = db().query(WindowedQueries.newPlayerCounts(serverUUID(), windows));
+        WindowedResult<Long> sessionCounts = db().query(WindowedQueries.sessionCounts(serverUUID(), windows));
+        WindowedResult<Long> playtime = db().query(WindowedQueries.playtime(serverUUID(), windows));
+        WindowedResult<Long> afkTime = db().query(WindowedQueries.afkTime(serverUUID(), windows));
+        WindowedResult<Long> averagePlaytime = db().query(WindowedQueries.averagePlaytimePerPlayer(serverUUID(), windows));
+        WindowedResult<Long> averageAfk = db().query(WindowedQueries.averageAfkPerPlayer(serverUUID(), windows));
+
+        for (TimeWindow window : windows) {
+            long after = window.getAfter();
+            long before = window.getBefore();
+            assertEquals(db().query(PlayerCountQueries.uniquePlayerCount(after, before, serverUUID())), uniquePlayers.get(window));
+            assertEquals(db().query(PlayerCountQueries.newPlayerCount(after, before, serverUUID())), newPlayers.get(window));
+            assertEquals(db().query(SessionQueries.sessionCount(after, before, serverUUID())), sessionCounts.get(window));
+            assertEquals(db().query(SessionQueries.playtime(after, before, serverUUID())), playtime.get(window));
+            assertEquals(db().query(SessionQueries.afkTime(after, before, serverUUID())), afkTime.get(window));
+            assertEquals(db().query(SessionQueries.averagePlaytimePerPlayer(after, before, serverUUID())), averagePlaytime.get(window), 1.0);
+            assertEquals(db().query(SessionQueries.averageAfkPerPlayer(after, before, serverUUID())), averageAfk.get(window), 1.0);
+        }
+    }
+
+    default List<Map<Long, ?>> queryPerDayAndHour(long offset) {
+        long after = 0L;
+        long before = System.currentTimeMillis() + TimeUnit.DAYS.toMillis(365L);
+        return Arrays.asList(
+                db().query(PlayerCountQueries.uniquePlayerCounts(after, before, offset, serverUUID())),
+                db().query(PlayerCountQueries.newPlayerCounts(after, before, offset, serverUUID())),
+                db().query(PlayerCountQueries.hourlyUniquePlayerCounts(after, before, offset, serverUUID())),
+                db().query(PlayerCountQueries.hourlyNewPlayerCounts(after, before, offset, serverUUID())),
+                db().query(SessionQueries.playtimePerDay(after, before, offset, serverUUID())),
+                db().query(SessionQueries.sessionCountPerDay(after, before, offset, serverUUID()))
+        );
+    }
+
     default void prepareForSessionSave() {
         db().executeTransaction(new WorldNameStoreTransaction(serverUUID(), worlds[0]));
         db().executeTransaction(new WorldNameStoreTransaction(serverUUID(), worlds[1]));
@@ -103,6 +103,15 @@ public interface UserInfoQueriesTest extends DatabaseTestPreparer {
         OptionalAssert.equals(random, db().query(BaseUserQueries.fetchBaseUserOfPlayer(playerUUID)).map(BaseUser::getTimesKicked));
     }
 
+    @Test
+    default void kickIsStoredAfterBufferedRegistration() {
+        db().executeBufferedTransaction(new PlayerRegisterTransaction(playerUUID, () -> TestConstants.REGISTER_TIME, TestConstants.PLAYER_ONE_NAME));
+        db().executeTransaction(new KickStoreTransaction(playerUUID));
+
+        forcePersistenceCheck();
+        OptionalAssert.equals(1, db().query(BaseUserQueries.fetchBaseUserOfPlayer(playerUUID)).map(BaseUser::getTimesKicked));
+    }
+
     @Test
     default void baseUsersQueryDoesNotReturnDuplicatePlayers() {
         db().executeTransaction(TestData.storeServers());
@@ -212,6 +221,43 @@ public interface UserInfoQueriesTest extends DatabaseTestPreparer {
         assertEquals(expected, result);
     }
 
+    @Test
+    default void registeredUserIdsWithinDateAreFetched() throws ExecutionException, InterruptedException {
+        db().executeTransaction(new Transaction() {
+            @Override
+            protected void performOperations() {
+                execute(DataStoreQueries.registerBaseUser(playerUUID, 0L, TestConstants.PLAYER_ONE_NAME));
+                execute(DataStoreQueries.registerBaseUser(player2UUID, 5000L, TestConstants.PLAYER_TWO_NAME));
+                execute(DataStoreQueries.registerBaseUser(player3UUID, 10000L, TestConstants.PLAYER_THREE_NAME));
+            }
+        }).get();
+
+        BitSet expected = new BitSet();
+        expected.set(db().query(UserIdentifierQueries.fetchUserIdsByUUID()).get(player2UUID));
+        BitSet result = db().query(BaseUserQueries.userIdsOfRegisteredBetween(2500L, 7500L));
+        assertEquals(expected, result);
+    }
+
+    @Test
+    default void userIdsOfOperatorsAndBannedPlayersAreFetched() {
+        db().executeTransaction(new PlayerServerRegisterTransaction(playerUUID, () -> 0L, TestConstants.PLAYER_ONE_NAME, serverUUID()));
+        db().executeTransaction(new PlayerServerRegisterTransaction(player2UUID, () -> 0L, TestConstants.PLAYER_TWO_NAME, serverUUID()));
+        db().executeTransaction(new OperatorStatusTransaction(playerUUID, true));
+        db().executeTransaction(new BanStatusTransaction(player2UUID, () -> true));
+        forcePersistenceCheck();
+
+        Map<UUID, Integer> userIds = db().query(UserIdentifierQueries.fetchUserIdsByUUID());
+        BitSet playerOne = new BitSet();
+        playerOne.set(userIds.get(playerUUID));
+        BitSet playerTwo = new BitSet();
+        playerTwo.set(userIds.get(player2UUID));
+
+        assertEquals(playerOne, db().query(UserInfoQueries.userIdsOfOperators()));
+        assertEquals(playerTwo, db().query(UserInfoQueries.userIdsOfNonOperators()));
+        assertEquals(playerTwo, db().query(UserInfoQueries.userIdsOfBanned()));
+        assertEquals(playerOne, db().query(UserInfoQueries.userIdsOfNotBanned()));
+    }
+
     @Test
     default void minimumRegisterDateIsFetched() throws ExecutionException, InterruptedException {
         db().executeTransaction(new Transaction() {
@@ -0,0 +1,112 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries.filter;
+
+import com.djrapitops.plan.storage.database.queries.filter.filters.DateRangeFilter;
+import com.djrapitops.plan.utilities.java.Maps;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FilterResultCacheTest {
+
+    private AtomicLong now;
+    private FilterResultCache underTest;
+    private TestRangeFilter filter;
+
+    @BeforeEach
+    void setUp() throws ParseException {
+        now = new AtomicLong(time("02/01/2021 12:00"));
+        underTest = new FilterResultCache(() -> TimeUnit.MINUTES.toMillis(5L), now::get);
+        filter = new TestRangeFilter();
+    }
+
+    private static long time(String date) throws ParseException {
+        return new SimpleDateFormat("dd/MM/yyyy kk:mm").parse(date).getTime();
+    }
+
+    private static SpecifiedFilterInformation range(String before) {
+        return new SpecifiedFilterInformation("testRange", Maps.builder(String.class, String.class)
+                .put("afterDate", "01/01/2021")
+                .put("afterTime", "00:00")
+                .put("beforeDate", "02/01/2021")
+                .put("beforeTime", before)
+                .build());
+    }
+
+    @Test
+    void sameQueryIsNotRepeated() {
+        BitSet first = underTest.getMatchingUserIds(filter, range("12:00"));
+        first.clear();
+        BitSet second = underTest.getMatchingUserIds(filter, range("12:00"));
+
+        assertEquals(1, filter.queriedRanges.size());
+        assertEquals(1, second.cardinality());
+    }
+
+    @Test
+    void extendedRangeQueriesOnlyNewPart() throws ParseException {
+        underTest.getMatchingUserIds(filter, range("12:00"));
+        now.set(time("02/01/2021 12:01"));
+        BitSet extended = underTest.getMatchingUserIds(filter, range("12:01"));
+
+        assertEquals(2, filter.queriedRanges.size());
+        assertEquals(time("02/01/2021 12:00"), filter.queriedRanges.get(1)[0]);
+        assertEquals(time("02/01/2021 12:01"), filter.queriedRanges.get(1)[1]);
+        assertEquals(2, extended.cardinality());
+    }
+
+    @Test
+    void expiredRangeIsQueriedFully() throws ParseException {
+        underTest.getMatchingUserIds(filter, range("12:00"));
+        now.set(time("02/01/2021 12:10"));
+        underTest.getMatchingUserIds(filter, range("12:10"));
+
+        assertEquals(2, filter.queriedRanges.size());
+        assertEquals(time("01/01/2021 00:00"), filter.queriedRanges.get(1)[0]);
+    }
+
+    static class TestRangeFilter extends DateRangeFilter {
+        final List<long[]> queriedRanges = new ArrayList<>();
+
+        TestRangeFilter() {
+            super(null);
+        }
+
+        @Override
+        public String getKind() {
+            return "testRange";
+        }
+
+        @Override
+        public BitSet getMatchingUserIds(long after, long before) {
+            queriedRanges.add(new long[]{after, before});
+            BitSet matching = new BitSet();
+            matching.set(queriedRanges.size());
+            return matching;
+        }
+    }
+}
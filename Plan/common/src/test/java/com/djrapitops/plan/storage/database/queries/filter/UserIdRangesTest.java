@@ -0,0 +1,90 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries.filter;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+
+class UserIdRangesTest {
+
+    @Test
+    void consecutiveIdsAreBoundAsRange() throws SQLException {
+        BitSet userIds = new BitSet();
+        userIds.set(1, 400_001);
+
+        List<UserIdRanges> chunks = UserIdRanges.chunksOf(userIds);
+        assertEquals(1, chunks.size());
+        UserIdRanges chunk = chunks.get(0);
+        assertEquals("(u.id BETWEEN ? AND ?)", chunk.matching("u.id"));
+
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        assertEquals(4, chunk.setParameters(statement, 2));
+        verify(statement).setInt(2, 1);
+        verify(statement).setInt(3, 400_000);
+    }
+
+    @Test
+    void shortRunsAreBoundAsInList() throws SQLException {
+        BitSet userIds = new BitSet();
+        userIds.set(3);
+        userIds.set(7, 9);
+        userIds.set(20, 25);
+
+        UserIdRanges chunk = UserIdRanges.chunksOf(userIds).get(0);
+        assertEquals("(u.id IN (?,?,?) OR u.id BETWEEN ? AND ?)", chunk.matching("u.id"));
+
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        assertEquals(6, chunk.setParameters(statement, 1));
+        verify(statement).setInt(1, 3);
+        verify(statement).setInt(2, 7);
+        verify(statement).setInt(3, 8);
+        verify(statement).setInt(4, 20);
+        verify(statement).setInt(5, 24);
+    }
+
+    @Test
+    void scatteredIdsAreSplitIntoChunks() {
+        BitSet userIds = new BitSet();
+        int count = UserIdRanges.MAX_PARAMETERS * 2 + 10;
+        for (int i = 0; i < count; i++) {
+            userIds.set(i * 2);
+        }
+
+        List<UserIdRanges> chunks = UserIdRanges.chunksOf(userIds);
+        assertEquals(3, chunks.size());
+        int total = 0;
+        for (UserIdRanges chunk : chunks) {
+            assertTrue(chunk.getParameterCount() <= UserIdRanges.MAX_PARAMETERS);
+            total += chunk.getParameterCount();
+        }
+        assertEquals(count, total);
+    }
+
+    @Test
+    void emptySetHasNoChunks() {
+        assertTrue(UserIdRanges.chunksOf(new BitSet()).isEmpty());
+    }
+}
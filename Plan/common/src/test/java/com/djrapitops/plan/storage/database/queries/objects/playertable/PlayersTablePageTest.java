@@ -0,0 +1,99 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries.objects.playertable;
+
+import com.djrapitops.plan.delivery.domain.TablePlayer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayersTablePageTest {
+
+    private static final UUID PLAYER_UUID = UUID.fromString("4ee8e4f1-3d1c-4d3c-9a41-4a3e7a27f8a1");
+
+    @Test
+    void cursorIsParsedFromItsString() {
+        TablePlayer player = TablePlayer.builder().uuid(PLAYER_UUID).name("Test;Player").lastSeen(1000L).build();
+
+        PlayersTablePage.Cursor byName = PlayersTablePage.Cursor.of(player, PlayersTablePage.Sort.NAME).orElseThrow(AssertionError::new);
+        PlayersTablePage.Cursor byLastSeen = PlayersTablePage.Cursor.of(player, PlayersTablePage.Sort.LAST_SEEN).orElseThrow(AssertionError::new);
+
+        assertEquals(byName, PlayersTablePage.Cursor.parse(byName.toString(), PlayersTablePage.Sort.NAME).orElseThrow(AssertionError::new));
+        assertEquals(byLastSeen, PlayersTablePage.Cursor.parse(byLastSeen.toString(), PlayersTablePage.Sort.LAST_SEEN).orElseThrow(AssertionError::new));
+        assertEquals("1000", byLastSeen.getValue());
+    }
+
+    @Test
+    void cursorIsMadeForPlayerWithoutValue() {
+        TablePlayer player = TablePlayer.builder().uuid(PLAYER_UUID).name("Test").build();
+
+        assertEquals("0", PlayersTablePage.Cursor.of(player, PlayersTablePage.Sort.LAST_SEEN).map(PlayersTablePage.Cursor::getValue).orElse(null));
+        assertEquals("-", PlayersTablePage.Cursor.of(player, PlayersTablePage.Sort.GEOLOCATION).map(PlayersTablePage.Cursor::getValue).orElse(null));
+    }
+
+    @Test
+    void missingValuesAreSortedLikeStoredSummary() {
+        TablePlayer seen = TablePlayer.builder().uuid(UUID.randomUUID()).name("Seen").lastSeen(1000L).build();
+        TablePlayer neverSeen = TablePlayer.builder().uuid(UUID.randomUUID()).name("Never").build();
+
+        PlayersTablePage byLastSeen = new PlayersTablePage(PlayersTablePage.Sort.LAST_SEEN, true, null, null, 0, 10);
+        assertEquals(Arrays.asList(seen, neverSeen), byLastSeen.searchAndSort(Arrays.asList(neverSeen, seen)));
+        assertEquals("COALESCE(s.last_seen,0)", PlayersTablePage.Sort.LAST_SEEN.getColumn());
+        assertEquals("COALESCE(s.geolocation,'-')", PlayersTablePage.Sort.GEOLOCATION.getColumn());
+    }
+
+    @Test
+    void searchWildcardsAreEscaped() {
+        assertEquals("%a!%b!_c!!%", ServerPlayerSummaryQueries.toLikeSearch("a%b_c!"));
+    }
+
+    @Test
+    void invalidCursorIsIgnored() {
+        assertFalse(PlayersTablePage.Cursor.parse("1000", PlayersTablePage.Sort.LAST_SEEN).isPresent());
+        assertFalse(PlayersTablePage.Cursor.parse("1000;not-uuid", PlayersTablePage.Sort.LAST_SEEN).isPresent());
+        assertFalse(PlayersTablePage.Cursor.parse("name;" + PLAYER_UUID, PlayersTablePage.Sort.LAST_SEEN).isPresent());
+        assertTrue(PlayersTablePage.Cursor.parse("name;" + PLAYER_UUID, PlayersTablePage.Sort.NAME).isPresent());
+    }
+
+    @Test
+    void unknownColumnIsSortedByLastSeen() {
+        assertEquals(PlayersTablePage.Sort.NAME, PlayersTablePage.Sort.fromColumnIndex(0));
+        assertEquals(PlayersTablePage.Sort.LAST_SEEN, PlayersTablePage.Sort.fromColumnIndex(7));
+        assertEquals(PlayersTablePage.Sort.LAST_SEEN, PlayersTablePage.Sort.fromColumnIndex(-1));
+    }
+
+    @Test
+    void playersAreSearchedAndSortedInMemory() {
+        TablePlayer first = TablePlayer.builder().uuid(UUID.randomUUID()).name("Alpha").sessionCount(5).build();
+        TablePlayer second = TablePlayer.builder().uuid(UUID.randomUUID()).name("beta").sessionCount(10).build();
+        TablePlayer third = TablePlayer.builder().uuid(UUID.randomUUID()).name("Gamma").sessionCount(1).build();
+        List<TablePlayer> players = Arrays.asList(third, first, second);
+
+        PlayersTablePage bySessions = new PlayersTablePage(PlayersTablePage.Sort.SESSIONS, true, null, null, 0, 10);
+        assertEquals(Arrays.asList(second, first, third), bySessions.searchAndSort(players));
+
+        PlayersTablePage byName = new PlayersTablePage(PlayersTablePage.Sort.NAME, false, " A ", null, 0, 10);
+        assertEquals(Arrays.asList(first, second, third), byName.searchAndSort(players));
+
+        PlayersTablePage searched = new PlayersTablePage(PlayersTablePage.Sort.NAME, false, "amm", null, 0, 10);
+        assertEquals(Arrays.asList(third), searched.searchAndSort(players));
+    }
+}
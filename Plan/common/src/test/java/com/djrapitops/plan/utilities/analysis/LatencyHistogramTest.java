@@ -0,0 +1,64 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.utilities.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link LatencyHistogram}.
+ *
+ * @author AuroraLS3
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void emptyHistogramHasNoLatency() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0L, histogram.getCount());
+        assertEquals(0.0, histogram.getAverageMs(), 0.001);
+        assertEquals(0.0, histogram.getPercentileMs(0.99), 0.001);
+    }
+
+    @Test
+    void averageIsCalculated() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+
+        assertEquals(2L, histogram.getCount());
+        assertEquals(2.0, histogram.getAverageMs(), 0.001);
+    }
+
+    @Test
+    void percentilesAreWithinFactorOfTwo() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        histogram.record(TimeUnit.SECONDS.toNanos(1));
+
+        double p50 = histogram.getPercentileMs(0.5);
+        double p100 = histogram.getPercentileMs(1.0);
+        assertEquals(1.0, p50, 1.0);
+        assertEquals(1000.0, p100, 1000.0);
+    }
+}
@@ -16,7 +16,7 @@
  */
 package utilities.dagger;
 
-import com.djrapitops.plan.delivery.webserver.cache.JSONFileStorage;
+import com.djrapitops.plan.delivery.webserver.cache.JSONMappedFileStorage;
 import com.djrapitops.plan.delivery.webserver.cache.JSONStorage;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.identification.ServerServerInfo;
@@ -40,6 +40,6 @@ public interface PlanPluginModule {
     ServerInfo bindServerInfo(ServerServerInfo serverServerInfo);
 
     @Binds
-    JSONStorage bindJSONStorage(JSONFileStorage jsonFileStorage);
+    JSONStorage bindJSONStorage(JSONMappedFileStorage jsonFileStorage);
 
 }
\ No newline at end of file
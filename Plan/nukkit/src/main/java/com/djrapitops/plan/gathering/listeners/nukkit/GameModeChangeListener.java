@@ -80,7 +80,7 @@ public class GameModeChangeListener implements Listener {
         String gameMode = GMTimes.magicNumberToGMName(event.getNewGamemode());
         String worldName = player.getLevel().getName();
 
-        dbSystem.getDatabase().executeTransaction(new WorldNameStoreTransaction(serverInfo.getServerUUID(), worldName));
+        dbSystem.getDatabase().executeBufferedTransaction(new WorldNameStoreTransaction(serverInfo.getServerUUID(), worldName));
         worldAliasSettings.addWorld(worldName);
 
         Optional<Session> cachedSession = SessionCache.getCachedSession(uuid);
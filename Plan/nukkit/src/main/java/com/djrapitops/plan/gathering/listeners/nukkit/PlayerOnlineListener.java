@@ -102,7 +102,7 @@ public class PlayerOnlineListener implements Listener {
         try {
             UUID playerUUID = event.getPlayer().getUniqueId();
             boolean operator = event.getPlayer().isOp();
-            dbSystem.getDatabase().executeTransaction(new OperatorStatusTransaction(playerUUID, operator));
+            dbSystem.getDatabase().executeBufferedTransaction(new OperatorStatusTransaction(playerUUID, operator));
         } catch (Exception e) {
             errorLogger.log(L.ERROR, e, ErrorContext.builder().related(event).build());
         }
@@ -155,7 +155,7 @@ public class PlayerOnlineListener implements Listener {
         String gm = GMTimes.magicNumberToGMName(player.getGamemode());
 
         Database database = dbSystem.getDatabase();
-        database.executeTransaction(new WorldNameStoreTransaction(serverUUID, world));
+        database.executeBufferedTransaction(new WorldNameStoreTransaction(serverUUID, world));
 
         String address = player.getAddress();
 
@@ -164,20 +164,20 @@ public class PlayerOnlineListener implements Listener {
 
         boolean gatheringGeolocations = config.isTrue(DataGatheringSettings.GEOLOCATIONS);
         if (gatheringGeolocations) {
-            database.executeTransaction(
+            database.executeBufferedTransaction(
                     new GeoInfoStoreTransaction(playerUUID, address, time, geolocationCache::getCountry)
             );
         }
 
         long registerDate = TimeUnit.SECONDS.toMillis(player.getFirstPlayed());
-        database.executeTransaction(new PlayerServerRegisterTransaction(playerUUID, () -> registerDate, playerName, serverUUID));
+        database.executeBufferedTransaction(new PlayerServerRegisterTransaction(playerUUID, () -> registerDate, playerName, serverUUID));
         Session session = new Session(playerUUID, serverUUID, time, world, gm);
         session.putRawData(SessionKeys.NAME, playerName);
         session.putRawData(SessionKeys.SERVER_NAME, serverInfo.getServer().getIdentifiableName());
         sessionCache.cacheSession(playerUUID, session)
                 .ifPresent(previousSession -> database.executeTransaction(new SessionEndTransaction(previousSession)));
 
-        database.executeTransaction(new NicknameStoreTransaction(
+        database.executeBufferedTransaction(new NicknameStoreTransaction(
                 playerUUID, new Nickname(displayName, time, serverUUID),
                 (uuid, name) -> nicknameCache.getDisplayName(playerUUID).map(name::equals).orElse(false)
         ));
@@ -216,7 +216,7 @@ public class PlayerOnlineListener implements Listener {
 
         nicknameCache.removeDisplayName(playerUUID);
 
-        dbSystem.getDatabase().executeTransaction(new BanStatusTransaction(playerUUID, player::isBanned));
+        dbSystem.getDatabase().executeBufferedTransaction(new BanStatusTransaction(playerUUID, player::isBanned));
 
         sessionCache.endSession(playerUUID, time)
                 .ifPresent(endedSession -> dbSystem.getDatabase().executeTransaction(new SessionEndTransaction(endedSession)));
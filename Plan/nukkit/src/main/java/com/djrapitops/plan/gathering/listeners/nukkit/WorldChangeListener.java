@@ -77,7 +77,7 @@ public class WorldChangeListener implements Listener {
         String worldName = player.getLevel().getName();
         String gameMode = GMTimes.magicNumberToGMName(player.getGamemode());
 
-        dbSystem.getDatabase().executeTransaction(new WorldNameStoreTransaction(serverInfo.getServerUUID(), worldName));
+        dbSystem.getDatabase().executeBufferedTransaction(new WorldNameStoreTransaction(serverInfo.getServerUUID(), worldName));
         worldAliasSettings.addWorld(worldName);
 
         Optional<Session> cachedSession = SessionCache.getCachedSession(uuid);
@@ -112,7 +112,7 @@ public class PlayerOnlineListener {
         GameProfile profile = event.getProfile();
         UUID playerUUID = profile.getUniqueId();
         boolean banned = isBanned(profile);
-        dbSystem.getDatabase().executeTransaction(new BanStatusTransaction(playerUUID, () -> banned));
+        dbSystem.getDatabase().executeBufferedTransaction(new BanStatusTransaction(playerUUID, () -> banned));
     }
 
     @Listener(order = Order.POST)
@@ -160,7 +160,7 @@ public class PlayerOnlineListener {
         String gm = gameMode.map(mode -> mode.getName().toUpperCase()).orElse("ADVENTURE");
 
         Database database = dbSystem.getDatabase();
-        database.executeTransaction(new WorldNameStoreTransaction(serverUUID, world));
+        database.executeBufferedTransaction(new WorldNameStoreTransaction(serverUUID, world));
 
         InetAddress address = player.getConnection().getAddress().getAddress();
 
@@ -169,19 +169,19 @@ public class PlayerOnlineListener {
 
         boolean gatheringGeolocations = config.isTrue(DataGatheringSettings.GEOLOCATIONS);
         if (gatheringGeolocations) {
-            database.executeTransaction(
+            database.executeBufferedTransaction(
                     new GeoInfoStoreTransaction(playerUUID, address, time, geolocationCache::getCountry)
             );
         }
 
-        database.executeTransaction(new PlayerServerRegisterTransaction(playerUUID, () -> time, playerName, serverUUID));
+        database.executeBufferedTransaction(new PlayerServerRegisterTransaction(playerUUID, () -> time, playerName, serverUUID));
         Session session = new Session(playerUUID, serverUUID, time, world, gm);
         session.putRawData(SessionKeys.NAME, playerName);
         session.putRawData(SessionKeys.SERVER_NAME, serverInfo.getServer().getIdentifiableName());
         sessionCache.cacheSession(playerUUID, session)
                 .ifPresent(previousSession -> database.executeTransaction(new SessionEndTransaction(previousSession)));
 
-        database.executeTransaction(new NicknameStoreTransaction(
+        database.executeBufferedTransaction(new NicknameStoreTransaction(
                 playerUUID, new Nickname(displayName, time, serverUUID),
                 (uuid, name) -> nicknameCache.getDisplayName(playerUUID).map(name::equals).orElse(false)
         ));
@@ -220,7 +220,7 @@ public class PlayerOnlineListener {
         nicknameCache.removeDisplayName(playerUUID);
 
         boolean banned = isBanned(player.getProfile());
-        dbSystem.getDatabase().executeTransaction(new BanStatusTransaction(playerUUID, () -> banned));
+        dbSystem.getDatabase().executeBufferedTransaction(new BanStatusTransaction(playerUUID, () -> banned));
 
         sessionCache.endSession(playerUUID, time)
                 .ifPresent(endedSession -> dbSystem.getDatabase().executeTransaction(new SessionEndTransaction(endedSession)));
@@ -76,7 +76,7 @@ public class SpongeChatListener {
         UUID uuid = player.getUniqueId();
         String displayName = player.getDisplayNameData().displayName().get().toPlain();
 
-        dbSystem.getDatabase().executeTransaction(new NicknameStoreTransaction(
+        dbSystem.getDatabase().executeBufferedTransaction(new NicknameStoreTransaction(
                 uuid, new Nickname(displayName, time, serverInfo.getServerUUID()),
                 (playerUUID, name) -> nicknameCache.getDisplayName(playerUUID).map(name::equals).orElse(false)
         ));
@@ -80,7 +80,7 @@ public class SpongeGMChangeListener {
         String gameMode = event.getGameMode().getName().toUpperCase();
         String worldName = player.getWorld().getName();
 
-        dbSystem.getDatabase().executeTransaction(new WorldNameStoreTransaction(serverInfo.getServerUUID(), worldName));
+        dbSystem.getDatabase().executeBufferedTransaction(new WorldNameStoreTransaction(serverInfo.getServerUUID(), worldName));
         worldAliasSettings.addWorld(worldName);
 
         Optional<Session> cachedSession = SessionCache.getCachedSession(uuid);
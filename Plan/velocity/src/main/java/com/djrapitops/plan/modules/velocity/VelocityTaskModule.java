@@ -17,7 +17,7 @@
 package com.djrapitops.plan.modules.velocity;
 
 import com.djrapitops.plan.TaskSystem;
-import com.djrapitops.plan.delivery.webserver.cache.JSONFileStorage;
+import com.djrapitops.plan.delivery.webserver.cache.JSONMappedFileStorage;
 import com.djrapitops.plan.extension.ExtensionServerDataUpdater;
 import com.djrapitops.plan.gathering.timed.ProxyTPSCounter;
 import com.djrapitops.plan.gathering.timed.SystemUsageBuffer;
@@ -66,5 +66,5 @@ public interface VelocityTaskModule {
 
     @Binds
     @IntoSet
-    TaskSystem.Task bindJSONFileStorageCleanTask(JSONFileStorage.CleanTask cleanTask);
+    TaskSystem.Task bindJSONFileStorageCleanTask(JSONMappedFileStorage.CleanTask cleanTask);
 }